@@ -24,7 +24,9 @@ import com.fennel.shortlink.admin.dto.req.RecycleBinRecoverReqDTO;
 import com.fennel.shortlink.admin.dto.req.RecycleBinRemoveReqDTO;
 import com.fennel.shortlink.admin.dto.req.RecycleBinSaveReqDTO;
 import com.fennel.shortlink.admin.remote.ShortLinkActualRemoteService;
+import com.fennel.shortlink.admin.remote.dto.req.ShortLinkRecycleBinCursorPageReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkRecycleBinPageReqDTO;
+import com.fennel.shortlink.admin.remote.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkPageRespDTO;
 import com.fennel.shortlink.admin.service.RecycleBinService;
 import lombok.RequiredArgsConstructor;
@@ -60,6 +62,14 @@ public class RecycleBinController {
         return recycleBinService.pageRecycleBinShortLink(requestParam);
     }
 
+    /**
+     * 游标分页查询回收站短链接
+     */
+    @GetMapping("/api/short-link/admin/v1/recycle-bin/page/cursor")
+    public Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageShortLinkByCursor(ShortLinkRecycleBinCursorPageReqDTO requestParam) {
+        return recycleBinService.pageRecycleBinShortLinkByCursor(requestParam);
+    }
+
     /**
      * 恢复短链接
      */
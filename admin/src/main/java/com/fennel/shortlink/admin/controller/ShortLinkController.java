@@ -23,8 +23,10 @@ import com.fennel.shortlink.admin.common.convention.result.Results;
 import com.fennel.shortlink.admin.remote.ShortLinkActualRemoteService;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkBatchCreateReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkCreateReqDTO;
+import com.fennel.shortlink.admin.remote.dto.req.ShortLinkCursorPageReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkPageReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkUpdateReqDTO;
+import com.fennel.shortlink.admin.remote.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkBaseInfoRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkCreateRespDTO;
@@ -86,4 +88,12 @@ public class ShortLinkController {
     public Result<Page<ShortLinkPageRespDTO>> pageShortLink(ShortLinkPageReqDTO requestParam) {
         return shortLinkActualRemoteService.pageShortLink(requestParam.getGid(), requestParam.getOrderTag(), requestParam.getCurrent(), requestParam.getSize());
     }
+
+    /**
+     * 游标分页查询短链接
+     */
+    @GetMapping("/api/short-link/admin/v1/page/cursor")
+    public Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageShortLinkByCursor(ShortLinkCursorPageReqDTO requestParam) {
+        return shortLinkActualRemoteService.pageShortLinkByCursor(requestParam.getGid(), requestParam.getCursor(), requestParam.getSize());
+    }
 }
@@ -20,10 +20,13 @@ package com.fennel.shortlink.admin.controller;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fennel.shortlink.admin.common.convention.result.Result;
 import com.fennel.shortlink.admin.remote.ShortLinkActualRemoteService;
+import com.fennel.shortlink.admin.remote.dto.req.ShortLinkGroupStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.admin.remote.dto.req.ShortLinkStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkStatsAccessRecordReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkStatsReqDTO;
+import com.fennel.shortlink.admin.remote.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkStatsAccessRecordRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkStatsRespDTO;
 import lombok.RequiredArgsConstructor;
@@ -70,4 +73,20 @@ public class ShortLinkStatsController {
     public Result<Page<ShortLinkStatsAccessRecordRespDTO>> groupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam) {
         return shortLinkActualRemoteService.groupShortLinkStatsAccessRecord(requestParam.getGid(), requestParam.getStartDate(), requestParam.getEndDate());
     }
+
+    /**
+     * 游标分页访问单个短链接指定时间内访问记录监控数据
+     */
+    @GetMapping("/api/short-link/admin/v1/stats/access-record/cursor")
+    public Result<CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> shortLinkStatsAccessRecordByCursor(ShortLinkStatsAccessRecordCursorReqDTO requestParam) {
+        return shortLinkActualRemoteService.shortLinkStatsAccessRecordByCursor(requestParam.getFullShortUrl(), requestParam.getGid(), requestParam.getStartDate(), requestParam.getEndDate(), requestParam.getCursor(), requestParam.getSize());
+    }
+
+    /**
+     * 游标分页访问分组短链接指定时间内访问记录监控数据
+     */
+    @GetMapping("/api/short-link/admin/v1/stats/access-record/group/cursor")
+    public Result<CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> groupShortLinkStatsAccessRecordByCursor(ShortLinkGroupStatsAccessRecordCursorReqDTO requestParam) {
+        return shortLinkActualRemoteService.groupShortLinkStatsAccessRecordByCursor(requestParam.getGid(), requestParam.getStartDate(), requestParam.getEndDate(), requestParam.getCursor(), requestParam.getSize());
+    }
 }
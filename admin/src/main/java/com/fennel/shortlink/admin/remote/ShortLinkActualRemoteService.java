@@ -25,6 +25,7 @@ import com.fennel.shortlink.admin.dto.req.RecycleBinSaveReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkBatchCreateReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkCreateReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkUpdateReqDTO;
+import com.fennel.shortlink.admin.remote.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkCreateRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkGroupCountQueryRespDTO;
@@ -86,6 +87,19 @@ public interface ShortLinkActualRemoteService {
                                                      @RequestParam("current") Long current,
                                                      @RequestParam("size") Long size);
 
+    /**
+     * 游标分页查询短链接
+     *
+     * @param gid    分组标识
+     * @param cursor 上一页返回的游标，首页为空
+     * @param size   当前数据多少
+     * @return 查询短链接游标分页响应
+     */
+    @GetMapping("/api/short-link/v1/page/cursor")
+    Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageShortLinkByCursor(@RequestParam("gid") String gid,
+                                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                                         @RequestParam(value = "size", required = false) Integer size);
+
     /**
      * 查询分组短链接总量
      *
@@ -125,6 +139,19 @@ public interface ShortLinkActualRemoteService {
                                                                @RequestParam("current") Long current,
                                                                @RequestParam("size") Long size);
 
+    /**
+     * 游标分页查询回收站短链接
+     *
+     * @param gidList 分组标识集合
+     * @param cursor  上一页返回的游标，首页为空
+     * @param size    当前数据多少
+     * @return 查询短链接游标分页响应
+     */
+    @GetMapping("/api/short-link/v1/recycle-bin/page/cursor")
+    Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageRecycleBinShortLinkByCursor(@RequestParam("gidList") List<String> gidList,
+                                                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                                                   @RequestParam(value = "size", required = false) Integer size);
+
     /**
      * 恢复短链接
      *
@@ -197,4 +224,40 @@ public interface ShortLinkActualRemoteService {
     Result<Page<ShortLinkStatsAccessRecordRespDTO>> groupShortLinkStatsAccessRecord(@RequestParam("gid") String gid,
                                                                                     @RequestParam("startDate") String startDate,
                                                                                     @RequestParam("endDate") String endDate);
+
+    /**
+     * 游标分页访问单个短链接指定时间内监控访问记录数据
+     *
+     * @param fullShortUrl 完整短链接
+     * @param gid          分组标识
+     * @param startDate    开始时间
+     * @param endDate      结束时间
+     * @param cursor       上一页返回的游标，首页为空
+     * @param size         当前数据多少
+     * @return 短链接监控访问记录游标分页信息
+     */
+    @GetMapping("/api/short-link/v1/stats/access-record/cursor")
+    Result<CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> shortLinkStatsAccessRecordByCursor(@RequestParam("fullShortUrl") String fullShortUrl,
+                                                                                                    @RequestParam("gid") String gid,
+                                                                                                    @RequestParam("startDate") String startDate,
+                                                                                                    @RequestParam("endDate") String endDate,
+                                                                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                                                                    @RequestParam(value = "size", required = false) Integer size);
+
+    /**
+     * 游标分页访问分组短链接指定时间内监控访问记录数据
+     *
+     * @param gid       分组标识
+     * @param startDate 开始时间
+     * @param endDate   结束时间
+     * @param cursor    上一页返回的游标，首页为空
+     * @param size      当前数据多少
+     * @return 分组短链接监控访问记录游标分页信息
+     */
+    @GetMapping("/api/short-link/v1/stats/access-record/group/cursor")
+    Result<CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> groupShortLinkStatsAccessRecordByCursor(@RequestParam("gid") String gid,
+                                                                                                         @RequestParam("startDate") String startDate,
+                                                                                                         @RequestParam("endDate") String endDate,
+                                                                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                                                                         @RequestParam(value = "size", required = false) Integer size);
 }
@@ -2,7 +2,9 @@ package com.fennel.shortlink.admin.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fennel.shortlink.admin.common.convention.result.Result;
+import com.fennel.shortlink.admin.remote.dto.req.ShortLinkRecycleBinCursorPageReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkRecycleBinPageReqDTO;
+import com.fennel.shortlink.admin.remote.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkPageRespDTO;
 
 /**
@@ -17,4 +19,12 @@ public interface RecycleBinService {
      * @return 返回参数包装
      */
     Result<Page<ShortLinkPageRespDTO>> pageRecycleBinShortLink(ShortLinkRecycleBinPageReqDTO requestParam);
+
+    /**
+     * 游标分页查询回收站短链接
+     *
+     * @param requestParam 请求参数
+     * @return 返回参数包装
+     */
+    Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageRecycleBinShortLinkByCursor(ShortLinkRecycleBinCursorPageReqDTO requestParam);
 }
\ No newline at end of file
@@ -9,7 +9,9 @@ import com.fennel.shortlink.admin.common.convention.result.Result;
 import com.fennel.shortlink.admin.dao.entity.GroupDO;
 import com.fennel.shortlink.admin.dao.mapper.GroupMapper;
 import com.fennel.shortlink.admin.remote.ShortLinkActualRemoteService;
+import com.fennel.shortlink.admin.remote.dto.req.ShortLinkRecycleBinCursorPageReqDTO;
 import com.fennel.shortlink.admin.remote.dto.req.ShortLinkRecycleBinPageReqDTO;
+import com.fennel.shortlink.admin.remote.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.admin.remote.dto.resp.ShortLinkPageRespDTO;
 import com.fennel.shortlink.admin.service.RecycleBinService;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +32,17 @@ public class RecycleBinServiceImpl implements RecycleBinService {
 
     @Override
     public Result<Page<ShortLinkPageRespDTO>> pageRecycleBinShortLink(ShortLinkRecycleBinPageReqDTO requestParam) {
+        requestParam.setGidList(listUserGid());
+        return shortLinkActualRemoteService.pageRecycleBinShortLink(requestParam.getGidList(), requestParam.getCurrent(), requestParam.getSize());
+    }
+
+    @Override
+    public Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageRecycleBinShortLinkByCursor(ShortLinkRecycleBinCursorPageReqDTO requestParam) {
+        requestParam.setGidList(listUserGid());
+        return shortLinkActualRemoteService.pageRecycleBinShortLinkByCursor(requestParam.getGidList(), requestParam.getCursor(), requestParam.getSize());
+    }
+
+    private List<String> listUserGid() {
         LambdaQueryWrapper<GroupDO> queryWrapper = Wrappers.lambdaQuery(GroupDO.class)
                 .eq(GroupDO::getUsername, UserContext.getUsername())
                 .eq(GroupDO::getDelFlag, 0);
@@ -37,7 +50,6 @@ public class RecycleBinServiceImpl implements RecycleBinService {
         if (CollUtil.isEmpty(groupDOList)) {
             throw new ServiceException("用户无分组信息");
         }
-        requestParam.setGidList(groupDOList.stream().map(GroupDO::getGid).toList());
-        return shortLinkActualRemoteService.pageRecycleBinShortLink(requestParam.getGidList(), requestParam.getCurrent(), requestParam.getSize());
+        return groupDOList.stream().map(GroupDO::getGid).toList();
     }
 }
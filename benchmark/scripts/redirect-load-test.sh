@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+#
+# 短链接跳转压测：使用相同的短链接、Host 与连接数，依次压测短链接应用的 Servlet 跳转（平台线程、可选虚拟线程）
+# 与独立跳转应用的 Netty 跳转，输出各自的吞吐量与 p50/p90/p99/p99.9 延迟。
+#
+# 前置条件：
+#   1. MySQL、Redis、RocketMQ 已启动，短链接应用（project，默认 8003）与独立跳转应用（redirect，默认 8004）连接同一套存储
+#   2. 准备短链接文件，每行一个 short-uri，且短链接域名与 HOST 一致，例如：
+#        mysql -N -e "SELECT short_uri FROM t_link_0 WHERE domain = 'nurl.ink' AND del_flag = 0 LIMIT 1000" link > /tmp/short-uris.txt
+#   3. 压测机与被测服务分开部署，否则客户端与服务端争抢 CPU，结果只能用于相对比较
+#
+# 用法：
+#   PATHS_FILE=/tmp/short-uris.txt HOST=nurl.ink CONNECTIONS=1000 DURATION=60 benchmark/scripts/redirect-load-test.sh
+#
+# 对比 Servlet 平台线程与虚拟线程：以 --server.port=8005 --short-link.web.execution.mode=virtual 参数再启动一个
+# ShortLinkApplication 实例，以虚拟线程处理请求（需要 JDK 21 及以上），例如：
+#   mvn -pl project -am install -DskipTests
+#   mvn -pl project org.springframework.boot:spring-boot-maven-plugin:3.0.7:run \
+#     -Dspring-boot.run.arguments="--server.port=8005 --short-link.web.execution.mode=virtual"
+# 并指定 SERVLET_VIRTUAL_TARGET=http://<服务端>:8005，默认 8003 实例保持 short-link.web.execution.mode=platform。
+#
+# 1 万并发连接：
+#   压测机：
+#     ulimit -n 65535                                   # 每个连接一个文件描述符，脚本会按连接数尝试调高
+#     sysctl -w net.ipv4.ip_local_port_range="1024 65000"
+#     sysctl -w net.ipv4.tcp_tw_reuse=1                 # 重连时复用 TIME_WAIT 端口
+#     单个源 IP 到同一目标最多约 2.8 万个连接（默认端口范围），超过时通过 LOCAL_ADDRESSES 绑定多个本机地址
+#   服务端：
+#     ulimit -n 65535
+#     sysctl -w net.core.somaxconn=8192
+#     sysctl -w net.ipv4.tcp_max_syn_backlog=8192
+#     Servlet 跳转受 server.tomcat.max-connections（默认配置 16384）限制，平台线程模式下请求线程数为 server.tomcat.threads.max
+#   例如：
+#     CONNECTIONS=10000 CONNECT_RATE=2000 WARMUP=20 DURATION=60 LOCAL_ADDRESSES=10.0.0.11,10.0.0.12 \
+#       PATHS_FILE=/tmp/short-uris.txt HOST=nurl.ink SERVLET_VIRTUAL_TARGET=http://10.0.0.2:8005 \
+#       SERVLET_TARGET=http://10.0.0.2:8003 NETTY_TARGET=http://10.0.0.2:8004 benchmark/scripts/redirect-load-test.sh
+#   结果中 connections 为统计结束时的活跃连接数，明显小于 CONNECTIONS 或 connectFailures 不为 0 时说明连接未全部建立，需先排查上述限制
+#
+# 可选环境变量：
+#   SERVLET_TARGET          Servlet 跳转地址（平台线程），默认 http://127.0.0.1:8003
+#   SERVLET_VIRTUAL_TARGET  Servlet 跳转地址（虚拟线程），未指定时跳过
+#   NETTY_TARGET            Netty 跳转地址，默认 http://127.0.0.1:8004
+#   WARMUP                  预热秒数，默认 10，连接数较多时需不少于 CONNECTIONS / CONNECT_RATE
+#   CONNECT_RATE            每秒新建连接数，默认 2000
+#   THREADS                 客户端 IO 线程数，默认 CPU 核数 * 2
+#   LOCAL_ADDRESSES         客户端绑定的本机地址，逗号分隔，连接轮流使用
+#   CLIENT_HEAP             客户端堆大小，默认 1g
+#   SKIP_BUILD              为 1 时直接使用已打包的 benchmark/target/benchmarks.jar
+#
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR="${ROOT_DIR}/benchmark/target/benchmarks.jar"
+
+: "${PATHS_FILE:?需要指定 PATHS_FILE，每行一个 short-uri}"
+: "${HOST:?需要指定 HOST，即短链接域名}"
+SERVLET_TARGET="${SERVLET_TARGET:-http://127.0.0.1:8003}"
+SERVLET_VIRTUAL_TARGET="${SERVLET_VIRTUAL_TARGET:-}"
+NETTY_TARGET="${NETTY_TARGET:-http://127.0.0.1:8004}"
+CONNECTIONS="${CONNECTIONS:-1000}"
+DURATION="${DURATION:-60}"
+WARMUP="${WARMUP:-10}"
+CONNECT_RATE="${CONNECT_RATE:-2000}"
+THREADS="${THREADS:-0}"
+LOCAL_ADDRESSES="${LOCAL_ADDRESSES:-}"
+CLIENT_HEAP="${CLIENT_HEAP:-1g}"
+
+# 每个连接占用一个文件描述符，尽量调高当前 shell 的上限，失败时由压测客户端给出提示
+REQUIRED_FILES=$((CONNECTIONS + 1024))
+if [ "$(ulimit -n)" != "unlimited" ] && [ "$(ulimit -n)" -lt "${REQUIRED_FILES}" ]; then
+  ulimit -n "${REQUIRED_FILES}" 2>/dev/null || echo "无法将文件描述符上限调整为 ${REQUIRED_FILES}，当前为 $(ulimit -n)"
+fi
+
+if [ "${SKIP_BUILD:-0}" != "1" ] || [ ! -f "${JAR}" ]; then
+  (cd "${ROOT_DIR}" && mvn -B -q -pl benchmark -am package -DskipTests)
+fi
+
+run() {
+  java -Xms"${CLIENT_HEAP}" -Xmx"${CLIENT_HEAP}" -cp "${JAR}" com.fennel.shortlink.benchmark.load.RedirectLoadGenerator \
+    --label="$1" \
+    --target="$2" \
+    --host="${HOST}" \
+    --paths-file="${PATHS_FILE}" \
+    --connections="${CONNECTIONS}" \
+    --connect-rate="${CONNECT_RATE}" \
+    --threads="${THREADS}" \
+    --local-addresses="${LOCAL_ADDRESSES}" \
+    --warmup="${WARMUP}" \
+    --duration="${DURATION}"
+}
+
+run servlet-platform "${SERVLET_TARGET}"
+if [ -n "${SERVLET_VIRTUAL_TARGET}" ]; then
+  run servlet-virtual "${SERVLET_VIRTUAL_TARGET}"
+fi
+run netty "${NETTY_TARGET}"
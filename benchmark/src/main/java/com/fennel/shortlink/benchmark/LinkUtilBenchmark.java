@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark;
+
+import com.fennel.shortlink.benchmark.support.BenchmarkSamples;
+import com.fennel.shortlink.project.toolkit.LinkUtil;
+import com.fennel.shortlink.project.toolkit.UserAgentClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跳转请求用户代理、IP 与网络解析基准测试
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkUtilBenchmark {
+
+    /**
+     * 是否经过反向代理，经过时真实 IP 取自 X-Forwarded-For
+     */
+    @Param({"true", "false"})
+    private boolean forwarded;
+
+    private List<Map<String, String>> headers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        headers = new ArrayList<>();
+        for (int i = 0; i < BenchmarkSamples.USER_AGENTS.length; i++) {
+            Map<String, String> each = new HashMap<>();
+            each.put("User-Agent", BenchmarkSamples.USER_AGENTS[i]);
+            if (forwarded) {
+                each.put("X-Forwarded-For", BenchmarkSamples.IPS[i]);
+            }
+            headers.add(each);
+        }
+    }
+
+    /**
+     * 一次解析出操作系统、浏览器与设备
+     */
+    @Benchmark
+    public UserAgentClassifier.Result classifyUserAgent() {
+        return UserAgentClassifier.classify(nextHeaders().get("User-Agent"));
+    }
+
+    @Benchmark
+    public String actualIp() {
+        Map<String, String> each = nextHeaders();
+        return LinkUtil.getActualIp(each::get, BenchmarkSamples.IPS[index & 7]);
+    }
+
+    @Benchmark
+    public String network() {
+        return LinkUtil.getNetwork(BenchmarkSamples.IPS[index++ & 7]);
+    }
+
+    /**
+     * 跳转请求构建访问记录时的完整解析流程
+     */
+    @Benchmark
+    public Object[] parseVisitor() {
+        Map<String, String> each = nextHeaders();
+        String remoteAddr = LinkUtil.getActualIp(each::get, BenchmarkSamples.IPS[index & 7]);
+        UserAgentClassifier.Result userAgent = UserAgentClassifier.classify(each.get("User-Agent"));
+        return new Object[]{remoteAddr, userAgent, LinkUtil.getNetwork(remoteAddr)};
+    }
+
+    private Map<String, String> nextHeaders() {
+        return headers.get(index++ & 7);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark;
+
+import com.fennel.shortlink.benchmark.support.BenchmarkSamples;
+import com.fennel.shortlink.benchmark.support.Fakes;
+import com.fennel.shortlink.project.cache.ShortLinkBloomFilter;
+import com.fennel.shortlink.project.cache.ShortLinkGotoLocalCache;
+import com.fennel.shortlink.project.cache.ShortLinkGotoRecord;
+import com.fennel.shortlink.project.config.BloomFilterReplicaConfiguration;
+import com.fennel.shortlink.project.config.GotoHotKeyConfiguration;
+import com.fennel.shortlink.project.config.GotoLocalCacheConfiguration;
+import com.fennel.shortlink.project.config.StatsProducerConfiguration;
+import com.fennel.shortlink.project.dto.biz.ShortLinkFirstVisitDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreReqDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreRespDTO;
+import com.fennel.shortlink.project.mq.producer.ShortLinkStatsSaveProducer;
+import com.fennel.shortlink.project.service.LinkUniqueVisitorService;
+import com.fennel.shortlink.project.service.impl.ShortLinkHotKeyServiceImpl;
+import com.fennel.shortlink.project.service.impl.ShortLinkServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.rocketmq.client.producer.SendResult;
+import org.apache.rocketmq.client.producer.SendStatus;
+import org.apache.rocketmq.spring.core.RocketMQTemplate;
+import org.apache.rocketmq.spring.support.RocketMQMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接跳转基准测试
+ * <p>
+ * 使用真实的跳转、本地缓存、热点探测与消息发送实现，Redis 由内存 Map 替代，消息发送只做负载序列化，不含网络往返
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestoreUrlBenchmark {
+
+    private static final int LINK_COUNT = 1024;
+
+    /**
+     * LOCAL_HIT：命中本地缓存；REDIS_HIT：关闭本地缓存，读取 Redis；NOT_FOUND：关闭本地缓存，布隆过滤器判定不存在
+     */
+    @Param({"LOCAL_HIT", "REDIS_HIT", "NOT_FOUND"})
+    private String scenario;
+
+    private ShortLinkServiceImpl shortLinkService;
+    private ShortLinkHotKeyServiceImpl shortLinkHotKeyService;
+    private ShortLinkRestoreReqDTO[] restoreReqDTOs;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        RedissonClient redissonClient = Fakes.stub(RedissonClient.class, Map.of("getTopic", args -> Fakes.noop(RTopic.class)));
+        Map<String, String> redisStore = new ConcurrentHashMap<>();
+        StringRedisTemplate stringRedisTemplate = Fakes.stringRedisTemplate(redisStore);
+        GotoLocalCacheConfiguration gotoLocalCacheConfiguration = new GotoLocalCacheConfiguration();
+        gotoLocalCacheConfiguration.setEnable("LOCAL_HIT".equals(scenario));
+        ShortLinkGotoLocalCache shortLinkGotoLocalCache = new ShortLinkGotoLocalCache(gotoLocalCacheConfiguration, redissonClient, new SimpleMeterRegistry());
+        shortLinkGotoLocalCache.afterPropertiesSet();
+        shortLinkHotKeyService = new ShortLinkHotKeyServiceImpl(new GotoHotKeyConfiguration(), shortLinkGotoLocalCache, stringRedisTemplate, redissonClient);
+        shortLinkHotKeyService.afterPropertiesSet();
+        // 接口替身只能按原始类型创建，泛型参数不参与代理方法调用
+        @SuppressWarnings("unchecked")
+        RBloomFilter<String> redissonBloomFilter = Fakes.noop(RBloomFilter.class);
+        ShortLinkBloomFilter shortLinkBloomFilter = new ShortLinkBloomFilter(redissonBloomFilter, new BloomFilterReplicaConfiguration(), redissonClient);
+        ShortLinkFirstVisitDTO firstVisit = ShortLinkFirstVisitDTO.builder().uvFirstFlag(Boolean.FALSE).uipFirstFlag(Boolean.FALSE).build();
+        LinkUniqueVisitorService linkUniqueVisitorService = Fakes.stub(LinkUniqueVisitorService.class, Map.of("recordVisit", args -> firstVisit));
+        ShortLinkStatsSaveProducer shortLinkStatsSaveProducer = Fakes.construct(ShortLinkStatsSaveProducer.class, new SerializingRocketMQTemplate(), new StatsProducerConfiguration());
+        shortLinkService = Fakes.construct(
+                ShortLinkServiceImpl.class,
+                shortLinkBloomFilter,
+                stringRedisTemplate,
+                redissonClient,
+                shortLinkStatsSaveProducer,
+                shortLinkGotoLocalCache,
+                linkUniqueVisitorService,
+                shortLinkHotKeyService
+        );
+        restoreReqDTOs = new ShortLinkRestoreReqDTO[LINK_COUNT];
+        for (int i = 0; i < LINK_COUNT; i++) {
+            String fullShortUrl = BenchmarkSamples.fullShortUrl(i);
+            ShortLinkGotoRecord gotoRecord = new ShortLinkGotoRecord("https://nageoffer.com/shortlink/articles/" + i, BenchmarkSamples.GID, null, true);
+            if (!"NOT_FOUND".equals(scenario)) {
+                redisStore.put(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl), gotoRecord.encode());
+                shortLinkGotoLocalCache.put(fullShortUrl, gotoRecord);
+            }
+            restoreReqDTOs[i] = ShortLinkRestoreReqDTO.builder()
+                    .fullShortUrl(fullShortUrl)
+                    .uv(i % 4 == 0 ? null : "6f1c2d3e-" + i)
+                    .remoteAddr(BenchmarkSamples.IPS[i & 7])
+                    .userAgent(BenchmarkSamples.USER_AGENTS[i & 7])
+                    .build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        shortLinkHotKeyService.destroy();
+    }
+
+    @Benchmark
+    public ShortLinkRestoreRespDTO restoreUrl() {
+        return shortLinkService.restoreUrl(restoreReqDTOs[index++ & (LINK_COUNT - 1)]);
+    }
+
+    /**
+     * 只把消息负载转换为 RocketMQ 消息，替代网络发送
+     */
+    private static class SerializingRocketMQTemplate extends RocketMQTemplate {
+
+        private final RocketMQMessageConverter messageConverter = new RocketMQMessageConverter();
+
+        @Override
+        public SendResult syncSend(String destination, Message<?> message, long timeout) {
+            messageConverter.getMessageConverter().toMessage(message.getPayload(), message.getHeaders());
+            SendResult sendResult = new SendResult();
+            sendResult.setSendStatus(SendStatus.SEND_OK);
+            sendResult.setMsgId(String.valueOf(new Date().getTime()));
+            return sendResult;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.fennel.shortlink.benchmark.support.BenchmarkSamples;
+import com.fennel.shortlink.benchmark.support.Fakes;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.locale.IpLocale;
+import com.fennel.shortlink.project.locale.IpLocaleResolver;
+import com.fennel.shortlink.project.mq.consumer.ShortLinkStatsBatchSaveConsumer;
+import com.fennel.shortlink.project.mq.consumer.ShortLinkStatsSaveConsumer;
+import com.fennel.shortlink.project.service.LinkGidRouteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监控消息消费构建持久化实体基准测试，数据库访问由空实现替代，只衡量消息解析、实体构建与批内聚合开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsConsumerBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+
+    private ShortLinkStatsSaveConsumer statsSaveConsumer;
+    private ShortLinkStatsBatchSaveConsumer statsBatchSaveConsumer;
+    private List<Map<String, String>> producerMaps;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        IpLocale ipLocale = new IpLocale("中国", "上海市", "上海市", "310000");
+        IpLocaleResolver ipLocaleResolver = Fakes.stub(IpLocaleResolver.class, Map.of("resolve", args -> ipLocale));
+        LinkGidRouteService linkGidRouteService = Fakes.stub(LinkGidRouteService.class, Map.of("route", args -> args[1]));
+        PlatformTransactionManager transactionManager = Fakes.stub(PlatformTransactionManager.class, Map.of("getTransaction", args -> new SimpleTransactionStatus()));
+        statsSaveConsumer = Fakes.construct(ShortLinkStatsSaveConsumer.class, ipLocaleResolver, linkGidRouteService);
+        statsBatchSaveConsumer = Fakes.construct(ShortLinkStatsBatchSaveConsumer.class, ipLocaleResolver, linkGidRouteService, new TransactionTemplate(transactionManager));
+        producerMaps = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ShortLinkStatsRecordDTO statsRecord = BenchmarkSamples.statsRecord(i);
+            Map<String, String> producerMap = new HashMap<>();
+            producerMap.put("fullShortUrl", statsRecord.getFullShortUrl());
+            producerMap.put("gid", statsRecord.getGid());
+            producerMap.put("statsRecord", JSON.toJSONString(statsRecord));
+            producerMaps.add(producerMap);
+        }
+    }
+
+    /**
+     * 逐条消费：解析消息并构建各维度统计实体与访问日志
+     */
+    @Benchmark
+    public void saveStats() {
+        Map<String, String> producerMap = producerMaps.get(index++ & (BATCH_SIZE - 1));
+        ShortLinkStatsRecordDTO statsRecord = JSON.parseObject(producerMap.get("statsRecord"), ShortLinkStatsRecordDTO.class);
+        statsSaveConsumer.actualSaveShortLinkStats(producerMap.get("fullShortUrl"), producerMap.get("gid"), statsRecord);
+    }
+
+    /**
+     * 批量消费：按条折算的解析、批内聚合与实体构建开销
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void saveStatsBatch() {
+        statsBatchSaveConsumer.actualSaveShortLinkStatsBatch(producerMaps);
+    }
+}
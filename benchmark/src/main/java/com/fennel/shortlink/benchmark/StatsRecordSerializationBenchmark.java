@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.fennel.shortlink.benchmark.support.BenchmarkSamples;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监控消息序列化基准测试
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsRecordSerializationBenchmark {
+
+    private static final int SAMPLE_COUNT = 64;
+
+    private ShortLinkStatsRecordDTO[] statsRecords;
+    private String[] statsRecordJsons;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        statsRecords = new ShortLinkStatsRecordDTO[SAMPLE_COUNT];
+        statsRecordJsons = new String[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            statsRecords[i] = BenchmarkSamples.statsRecord(i);
+            statsRecordJsons[i] = JSON.toJSONString(statsRecords[i]);
+        }
+    }
+
+    /**
+     * 与 shortLinkStats 一致，生产者构建消息体
+     */
+    @Benchmark
+    public Map<String, String> buildProducerMap() {
+        ShortLinkStatsRecordDTO statsRecord = statsRecords[index++ & (SAMPLE_COUNT - 1)];
+        Map<String, String> producerMap = new HashMap<>();
+        producerMap.put("fullShortUrl", statsRecord.getFullShortUrl());
+        producerMap.put("gid", statsRecord.getGid());
+        producerMap.put("statsRecord", JSON.toJSONString(statsRecord));
+        return producerMap;
+    }
+
+    /**
+     * 消费者解析消息中的访问记录
+     */
+    @Benchmark
+    public ShortLinkStatsRecordDTO parseStatsRecord() {
+        return JSON.parseObject(statsRecordJsons[index++ & (SAMPLE_COUNT - 1)], ShortLinkStatsRecordDTO.class);
+    }
+}
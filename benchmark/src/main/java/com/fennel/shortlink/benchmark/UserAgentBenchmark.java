@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark;
+
+import com.fennel.shortlink.benchmark.support.BenchmarkSamples;
+import com.fennel.shortlink.benchmark.support.LegacyUserAgentParser;
+import com.fennel.shortlink.project.toolkit.UserAgentClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户代理解析基准测试，对比原 LinkUtil 三次 toLowerCase 与 contains 的解析方式和单次扫描的识别器
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserAgentBenchmark {
+
+    private int index;
+
+    /**
+     * 原 LinkUtil 逻辑，操作系统、浏览器与设备分别解析
+     */
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String userAgent = nextUserAgent();
+        blackhole.consume(LegacyUserAgentParser.getOs(userAgent));
+        blackhole.consume(LegacyUserAgentParser.getBrowser(userAgent));
+        blackhole.consume(LegacyUserAgentParser.getDevice(userAgent));
+    }
+
+    /**
+     * 识别器缓存命中，User-Agent 为同一字符串实例，哈希值已缓存
+     */
+    @Benchmark
+    public UserAgentClassifier.Result classifierCached() {
+        return UserAgentClassifier.classify(nextUserAgent());
+    }
+
+    /**
+     * 识别器缓存命中，每次请求解析出新的 User-Agent 字符串实例，需要重新计算哈希值并比较内容
+     */
+    @Benchmark
+    public UserAgentClassifier.Result classifierFreshString() {
+        return UserAgentClassifier.classify(new String(nextUserAgent()));
+    }
+
+    private String nextUserAgent() {
+        return BenchmarkSamples.USER_AGENTS[index++ & 7];
+    }
+}
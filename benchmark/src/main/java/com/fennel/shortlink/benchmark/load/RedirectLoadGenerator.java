@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark.load;
+
+import com.fennel.shortlink.benchmark.support.BenchmarkSamples;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 短链接跳转压测客户端
+ * <p>
+ * 每个连接保持长连接并串行发送 GET /{short-uri}，收到响应后立即发送下一个请求；预热结束后统计吞吐量与延迟分位数。
+ * 对短链接应用的 Servlet 跳转与独立跳转应用的 Netty 跳转使用相同的短链接、Host 与连接数分别运行即可对比，
+ * 完整步骤见 benchmark/scripts/redirect-load-test.sh
+ * <pre>
+ * java -cp benchmark/target/benchmarks.jar com.fennel.shortlink.benchmark.load.RedirectLoadGenerator \
+ *     --target=http://127.0.0.1:8004 --host=nurl.ink --paths-file=/tmp/short-uris.txt \
+ *     --connections=10000 --local-addresses=10.0.0.11,10.0.0.12 --warmup=10 --duration=60
+ * </pre>
+ * 单个源 IP 到同一目标地址与端口最多约 2.8 万个连接（受本地临时端口范围限制），指定多个本机地址后连接轮流绑定，
+ * 可突破该限制；文件描述符上限不足时启动前给出提示
+ */
+public final class RedirectLoadGenerator {
+
+    private final Map<String, String> options;
+    private final URI target;
+    private final String host;
+    private final List<String> paths;
+    private final int connections;
+    private final List<InetSocketAddress> localAddresses;
+
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger connectIndex = new AtomicInteger();
+
+    private EventLoopGroup eventLoopGroup;
+    private Bootstrap bootstrap;
+    private volatile boolean measuring;
+    private volatile boolean running;
+
+    private RedirectLoadGenerator(Map<String, String> options) throws IOException {
+        this.options = options;
+        target = URI.create(required("target"));
+        host = options.getOrDefault("host", target.getPort() > 0 ? target.getHost() + ":" + target.getPort() : target.getHost());
+        paths = options.containsKey("paths-file")
+                ? Files.readAllLines(Paths.get(options.get("paths-file")), StandardCharsets.UTF_8).stream().map(String::trim).filter(each -> !each.isEmpty()).toList()
+                : Arrays.stream(required("paths").split(",")).map(String::trim).filter(each -> !each.isEmpty()).toList();
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("至少需要一个短链接");
+        }
+        connections = intOption("connections", 1000);
+        localAddresses = Arrays.stream(options.getOrDefault("local-addresses", "").split(","))
+                .map(String::trim)
+                .filter(each -> !each.isEmpty())
+                .map(each -> new InetSocketAddress(each, 0))
+                .toList();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String each : args) {
+            int index = each.indexOf('=');
+            if (!each.startsWith("--") || index < 0) {
+                throw new IllegalArgumentException("参数格式为 --name=value：" + each);
+            }
+            options.put(each.substring(2, index), each.substring(index + 1));
+        }
+        new RedirectLoadGenerator(options).run();
+    }
+
+    private void run() throws InterruptedException {
+        checkFileDescriptorLimit();
+        eventLoopGroup = new NioEventLoopGroup(intOption("threads", 0));
+        bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
+                .handler(new ChannelInitializer<Channel>() {
+
+                    @Override
+                    protected void initChannel(Channel channel) {
+                        channel.pipeline()
+                                .addLast(new HttpClientCodec())
+                                .addLast(new HttpObjectAggregator(64 * 1024))
+                                .addLast(new LoadHandler());
+                    }
+                });
+        running = true;
+        try {
+            connectAll();
+            TimeUnit.SECONDS.sleep(intOption("warmup", 10));
+            recorder.reset();
+            completed.reset();
+            errors.reset();
+            measuring = true;
+            long startTime = System.nanoTime();
+            TimeUnit.SECONDS.sleep(intOption("duration", 30));
+            measuring = false;
+            report(recorder.getIntervalHistogram(), System.nanoTime() - startTime);
+        } finally {
+            running = false;
+            eventLoopGroup.shutdownGracefully(0L, 5L, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    /**
+     * 按建连速率逐个建立连接，避免瞬间发起大量握手被服务端 backlog 拒绝
+     */
+    private void connectAll() throws InterruptedException {
+        long connectInterval = TimeUnit.SECONDS.toNanos(1L) / Math.max(1, intOption("connect-rate", 2000));
+        long startTime = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            long sleepNanos = startTime + i * connectInterval - System.nanoTime();
+            if (sleepNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            }
+            connect();
+        }
+        System.out.printf("已发起连接：%d，预热 %d 秒后开始统计%n", connections, intOption("warmup", 10));
+    }
+
+    private void connect() {
+        InetSocketAddress remoteAddress = new InetSocketAddress(target.getHost(), target.getPort() > 0 ? target.getPort() : 80);
+        ChannelFuture connectFuture = localAddresses.isEmpty()
+                ? bootstrap.connect(remoteAddress)
+                : bootstrap.connect(remoteAddress, localAddresses.get(connectIndex.getAndIncrement() % localAddresses.size()));
+        connectFuture.addListener(future -> {
+            if (!future.isSuccess()) {
+                connectFailures.increment();
+                if (running) {
+                    eventLoopGroup.schedule(this::connect, 1L, TimeUnit.SECONDS);
+                }
+            }
+        });
+    }
+
+    /**
+     * 每个连接占用一个文件描述符，上限不足时连接会以 Too many open files 失败并不断重连，结果失真
+     */
+    private void checkFileDescriptorLimit() {
+        OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystem instanceof com.sun.management.UnixOperatingSystemMXBean unixOperatingSystem) {
+            long maxFileDescriptors = unixOperatingSystem.getMaxFileDescriptorCount();
+            if (maxFileDescriptors < connections + 256L) {
+                System.out.printf("警告：文件描述符上限 %d 小于连接数 %d，请先执行 ulimit -n %d%n", maxFileDescriptors, connections, connections + 1024);
+            }
+        }
+    }
+
+    private void report(Histogram histogram, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("[%s] connections=%d duration=%.1fs requests=%d throughput=%.1f req/s errors=%d connectFailures=%d "
+                        + "p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                options.getOrDefault("label", target.toString()),
+                activeConnections.get(),
+                seconds,
+                completed.sum(),
+                completed.sum() / seconds,
+                errors.sum(),
+                connectFailures.sum(),
+                millis(histogram.getValueAtPercentile(50D)),
+                millis(histogram.getValueAtPercentile(90D)),
+                millis(histogram.getValueAtPercentile(99D)),
+                millis(histogram.getValueAtPercentile(99.9D)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private String required(String name) {
+        String value = options.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("缺少参数：--" + name);
+        }
+        return value;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * 单个连接上的闭环请求，服务端关闭连接后重新建连
+     */
+    private class LoadHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+
+        private int index = ThreadLocalRandom.current().nextInt(paths.size());
+        private long sentTime;
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            activeConnections.incrementAndGet();
+            send(ctx);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            activeConnections.decrementAndGet();
+            if (running) {
+                connect();
+            }
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+            if (measuring) {
+                recorder.recordValue(System.nanoTime() - sentTime);
+                completed.increment();
+                if (response.status().codeClass() != HttpStatusClass.REDIRECTION) {
+                    errors.increment();
+                }
+            }
+            if (!running) {
+                ctx.close();
+            } else if (HttpUtil.isKeepAlive(response)) {
+                send(ctx);
+            } else {
+                ctx.close();
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            if (measuring) {
+                errors.increment();
+            }
+            ctx.close();
+        }
+
+        private void send(ChannelHandlerContext ctx) {
+            int sample = index % BenchmarkSamples.USER_AGENTS.length;
+            FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/" + paths.get(index));
+            index = (index + 1) % paths.size();
+            request.headers()
+                    .set(HttpHeaderNames.HOST, host)
+                    .set(HttpHeaderNames.USER_AGENT, BenchmarkSamples.USER_AGENTS[sample])
+                    .set("X-Forwarded-For", BenchmarkSamples.IPS[sample]);
+            sentTime = System.nanoTime();
+            ctx.writeAndFlush(request);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark.support;
+
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+
+import java.util.Date;
+
+/**
+ * 基准测试样本数据，覆盖常见终端的用户代理与内外网 IP
+ */
+public final class BenchmarkSamples {
+
+    public static final String GID = "k7Xq2c";
+
+    public static final String DOMAIN = "nurl.ink";
+
+    public static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 13; V2309A Build/TP1A.220624.014; wv) AppleWebKit/537.36 (KHTML, like Gecko) Version/4.0 Chrome/116.0.0.0 Mobile Safari/537.36 MicroMessenger/8.0.47.2560(0x28002F35) WeChat/arm64 Weixin NetType/WIFI Language/zh_CN ABI/arm64",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36 Edg/124.0.0.0",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:125.0) Gecko/20100101 Firefox/125.0",
+            "Mozilla/5.0 (iPad; CPU OS 16_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/16.6 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (compatible; Baiduspider/2.0; +http://www.baidu.com/search/spider.html)",
+            "Mozilla/5.0 (Windows NT 6.1; Trident/7.0; rv:11.0) like Gecko"
+    };
+
+    public static final String[] IPS = {
+            "112.64.13.27",
+            "192.168.3.18",
+            "36.110.147.86",
+            "10.12.0.41",
+            "223.104.63.195",
+            "183.192.201.7",
+            "27.18.220.113",
+            "117.136.38.154"
+    };
+
+    private BenchmarkSamples() {
+    }
+
+    /**
+     * 第 index 个完整短链接
+     */
+    public static String fullShortUrl(int index) {
+        return DOMAIN + "/" + Integer.toString(1_000_000 + index, 36);
+    }
+
+    /**
+     * 第 index 条访问记录，UV 与 UIP 首次访问标识交替出现
+     */
+    public static ShortLinkStatsRecordDTO statsRecord(int index) {
+        return ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl(fullShortUrl(index % 64))
+                .gid(GID)
+                .uv("6f1c2d3e-" + Integer.toHexString(index))
+                .uvFirstFlag(index % 3 == 0)
+                .uipFirstFlag(index % 5 == 0)
+                .remoteAddr(IPS[index % IPS.length])
+                .os("Windows")
+                .browser("Chrome")
+                .device("PC")
+                .network("Mobile")
+                .currentDate(new Date())
+                .build();
+    }
+}
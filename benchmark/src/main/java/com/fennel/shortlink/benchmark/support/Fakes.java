@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark.support;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 基准测试内存替身
+ * <p>
+ * 接口依赖用动态代理替代，未声明的方法返回类型默认值；被测组件按构造器参数类型装配，
+ * 组件新增依赖时只要不在被测路径上就无需修改基准测试
+ */
+public final class Fakes {
+
+    private Fakes() {
+    }
+
+    /**
+     * 所有方法都返回类型默认值的接口替身
+     */
+    public static <T> T noop(Class<T> type) {
+        return stub(type, Map.of());
+    }
+
+    /**
+     * 按方法名返回指定结果的接口替身，未声明的方法返回类型默认值
+     */
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            return answer != null ? answer.apply(args) : defaultValue(proxy, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * 基于内存 Map 的 StringRedisTemplate，只支持字符串读取
+     */
+    public static StringRedisTemplate stringRedisTemplate(Map<String, String> store) {
+        InvocationHandler connectionHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "get" -> {
+                String value = store.get(new String((byte[]) args[0], StandardCharsets.UTF_8));
+                yield value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+            }
+            case "stringCommands" -> proxy;
+            default -> defaultValue(proxy, method, args);
+        };
+        RedisConnection connection = (RedisConnection) Proxy.newProxyInstance(
+                Fakes.class.getClassLoader(),
+                new Class<?>[]{RedisConnection.class, RedisStringCommands.class},
+                connectionHandler
+        );
+        RedisConnectionFactory connectionFactory = stub(RedisConnectionFactory.class, Map.of("getConnection", args -> connection));
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.afterPropertiesSet();
+        return stringRedisTemplate;
+    }
+
+    /**
+     * 按构造器参数类型装配组件：优先使用传入的依赖，其次创建配置类默认实例，接口依赖使用 {@link #noop(Class)}，其余为 null
+     */
+    public static <T> T construct(Class<T> type, Object... dependencies) {
+        Constructor<?> constructor = type.getDeclaredConstructors()[0];
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            args[i] = resolve(parameterTypes[i], dependencies);
+        }
+        try {
+            constructor.setAccessible(true);
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("无法创建基准测试组件：" + type.getName(), ex);
+        }
+    }
+
+    private static Object resolve(Class<?> parameterType, Object[] dependencies) {
+        for (Object each : dependencies) {
+            if (parameterType.isInstance(each)) {
+                return each;
+            }
+        }
+        if (parameterType.isAnnotationPresent(ConfigurationProperties.class)) {
+            try {
+                return parameterType.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("无法创建配置类：" + parameterType.getName(), ex);
+            }
+        }
+        return parameterType.isInterface() ? noop(parameterType) : null;
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> proxy.getClass().getInterfaces()[0].getSimpleName() + "@fake";
+            };
+        }
+        Class<?> returnType = method.getReturnType();
+        if (!returnType.isPrimitive() || returnType == void.class) {
+            return null;
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == char.class) {
+            return '\0';
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == float.class) {
+            return 0F;
+        }
+        if (returnType == double.class) {
+            return 0D;
+        }
+        if (returnType == byte.class) {
+            return (byte) 0;
+        }
+        if (returnType == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.benchmark.support;
+
+import com.fennel.shortlink.project.toolkit.UserAgentClassifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 用户代理识别器与原 LinkUtil 解析逻辑一致性测试
+ */
+class LegacyUserAgentParserTest {
+
+    private static final int SAMPLE_COUNT = 200_000;
+
+    private static final String[] REAL_USER_AGENTS = {
+            "Mozilla/5.0 (Linux; Android 14; SM-S9180) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.6312.118 Mobile Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/109.0.0.0 Safari/537.36 OPR/95.0.0.0",
+            "Opera/9.80 (Windows NT 6.1; U; zh-cn) Presto/2.9.168 Version/11.50",
+            "Mozilla/4.0 (compatible; MSIE 8.0; Windows NT 6.1; Trident/4.0)",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) CriOS/124.0.6367.88 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:124.0) Gecko/20100101 Firefox/124.0",
+            "Dalvik/2.1.0 (Linux; U; Android 12; PGBM10 Build/SP1A.210812.016)",
+            "curl/8.4.0",
+            "okhttp/4.12.0",
+            "Googlebot/2.1 (+http://www.google.com/bot.html)",
+            ""
+    };
+
+    private static final String[] FRAGMENTS = {
+            "windows", "mac", "linux", "android", "iphone", "ipad",
+            "edg", "chrome", "firefox", "safari", "opera", "msie", "trident", "mobile",
+            "win", "dows", "ma", "andro", "ipho", "ed", "chrom", "fire", "safar", "oper", "tri", "mobil", "ms", "ie",
+            "macintosh", "edge", "edga", "xwindowsx", "iphoneipad", "chromesafari",
+            "Mozilla/5.0", "AppleWebKit/537.36", "(KHTML, like Gecko)", "Version/4.0", "NT 10.0", "x86_64",
+            " ", "/", ";", "(", ")", "_", "-", ".", "0", "9",
+            "İ", "K", "ß", "ı", "中文", "😀"
+    };
+
+    @Test
+    void sampleUserAgentsMatchLegacy() {
+        for (String each : BenchmarkSamples.USER_AGENTS) {
+            assertMatchesLegacy(each);
+        }
+        for (String each : REAL_USER_AGENTS) {
+            assertMatchesLegacy(each);
+        }
+    }
+
+    @Test
+    void randomUserAgentsMatchLegacy() {
+        Random random = new Random(20240501L);
+        List<String> userAgents = new ArrayList<>(SAMPLE_COUNT);
+        while (userAgents.size() < SAMPLE_COUNT) {
+            userAgents.add(randomUserAgent(random));
+        }
+        userAgents.forEach(LegacyUserAgentParserTest::assertMatchesLegacy);
+    }
+
+    /**
+     * 真实用户代理与关键字片段随机拼接，片段随机变换大小写，覆盖关键字相邻、重叠、被截断与非 ASCII 字符的情况
+     */
+    private static String randomUserAgent(Random random) {
+        StringBuilder userAgent = new StringBuilder();
+        if (random.nextInt(4) == 0) {
+            userAgent.append(randomCase(REAL_USER_AGENTS[random.nextInt(REAL_USER_AGENTS.length)], random));
+        }
+        int fragmentCount = random.nextInt(12);
+        for (int i = 0; i < fragmentCount; i++) {
+            userAgent.append(randomCase(FRAGMENTS[random.nextInt(FRAGMENTS.length)], random));
+        }
+        return userAgent.toString();
+    }
+
+    private static String randomCase(String value, Random random) {
+        int mode = random.nextInt(3);
+        if (mode == 0) {
+            return value;
+        }
+        if (mode == 1) {
+            return value.toUpperCase();
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char each = value.charAt(i);
+            result.append(random.nextBoolean() ? Character.toUpperCase(each) : each);
+        }
+        return result.toString();
+    }
+
+    private static void assertMatchesLegacy(String userAgent) {
+        UserAgentClassifier.Result result = UserAgentClassifier.classify(userAgent);
+        assertEquals(LegacyUserAgentParser.getOs(userAgent), result.os(), userAgent);
+        assertEquals(LegacyUserAgentParser.getBrowser(userAgent), result.browser(), userAgent);
+        assertEquals(LegacyUserAgentParser.getDevice(userAgent), result.device(), userAgent);
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.archive;
+
+import cn.hutool.core.util.StrUtil;
+import com.fennel.shortlink.project.common.convention.errorcode.BaseErrorCode;
+import com.fennel.shortlink.project.common.convention.exception.ServiceException;
+import com.fennel.shortlink.project.config.StatsArchiveConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.STATS_ACCESS_LOGS_ARCHIVE_TOPIC_KEY;
+
+/**
+ * 访问日志冷数据存储
+ * 每个归档日期对应一个或多个列式分段文件，分段的最早与最晚访问时间常驻内存，查询时先按时间裁剪分段，
+ * 再按头部字典裁剪不包含目标分组或短链接的分段，最后只解压过滤与返回需要的列
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessLogArchiveStore implements InitializingBean {
+
+    private static final String FILE_PREFIX = "access-logs-";
+    private static final String FILE_SUFFIX = ".seg";
+    private static final DateTimeFormatter FILE_DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final StatsArchiveConfiguration statsArchiveConfiguration;
+    private final RedissonClient redissonClient;
+
+    private final NavigableSet<AccessLogSegment> segments = new ConcurrentSkipListSet<>(
+            Comparator.comparing(AccessLogSegment::day).thenComparingInt(AccessLogSegment::sequence));
+
+    private Path directory;
+    private RTopic registerTopic;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!statsArchiveConfiguration.getEnable()) {
+            return;
+        }
+        if (StrUtil.isBlank(statsArchiveConfiguration.getDirectory())) {
+            throw new IllegalStateException("开启访问日志归档时必须配置分段文件目录 short-link.stats.archive.directory");
+        }
+        directory = Paths.get(statsArchiveConfiguration.getDirectory());
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path each : files.toList()) {
+                String fileName = each.getFileName().toString();
+                if (fileName.endsWith(FILE_SUFFIX + ".tmp")) {
+                    // 写入中断留下的临时文件，对应访问日志尚未删除，下次归档会重新写入
+                    Files.deleteIfExists(each);
+                } else if (fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_SUFFIX)) {
+                    load(fileName);
+                }
+            }
+        }
+        // 分段目录为多节点共享目录时，其他节点写入的分段通过通知登记到本节点索引
+        registerTopic = redissonClient.getTopic(STATS_ACCESS_LOGS_ARCHIVE_TOPIC_KEY, StringCodec.INSTANCE);
+        registerTopic.addListener(String.class, (channel, fileName) -> {
+            try {
+                load(fileName);
+            } catch (Throwable ex) {
+                log.error("访问日志归档分段登记失败，分段：{}", fileName, ex);
+            }
+        });
+        log.info("访问日志归档分段加载完成，分段数：{}", segments.size());
+    }
+
+    /**
+     * 是否存在归档数据
+     */
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * 冷热分界时间，早于该时间的访问日志在冷数据中，不早于该时间的在 MySQL 中
+     *
+     * @return 最后一个归档日期次日零点，没有归档数据时返回 null
+     */
+    public Date watermark() {
+        if (segments.isEmpty()) {
+            return null;
+        }
+        LocalDate nextDay = segments.last().day().plusDays(1);
+        return Date.from(nextDay.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * 判断查询时间范围是否包含归档数据
+     */
+    public boolean overlaps(Date startTime, Date endTime) {
+        Date watermark = watermark();
+        return watermark != null && startTime.before(watermark) && segments.stream()
+                .anyMatch(each -> each.overlaps(startTime.getTime(), endTime.getTime()));
+    }
+
+    /**
+     * 读取目录中指定日期的全部分段，包括上次归档中断时写入但尚未登记的分段
+     */
+    public List<AccessLogSegment> listSegments(LocalDate day) throws IOException {
+        String prefix = FILE_PREFIX + day.format(FILE_DATE_FORMATTER) + "-";
+        List<AccessLogSegment> daySegments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path each : files.toList()) {
+                String fileName = each.getFileName().toString();
+                if (fileName.startsWith(prefix) && fileName.endsWith(FILE_SUFFIX)) {
+                    try (AccessLogSegmentReader reader = AccessLogSegmentReader.open(each)) {
+                        daySegments.add(reader.segment());
+                    }
+                }
+            }
+        }
+        return daySegments;
+    }
+
+    /**
+     * 写入分段文件，写入后需调用 {@link #register(List)} 登记才会参与查询
+     *
+     * @param day      归档日期
+     * @param sequence 分段序号
+     * @param rows     访问日志
+     */
+    public AccessLogSegment write(LocalDate day, int sequence, List<LinkAccessLogsDO> rows) throws IOException {
+        Path file = directory.resolve(FILE_PREFIX + day.format(FILE_DATE_FORMATTER) + "-" + sequence + FILE_SUFFIX);
+        return AccessLogSegmentWriter.write(file, day, sequence, rows);
+    }
+
+    /**
+     * 登记同一归档日期的全部分段并通知其他节点，整天写完后再登记，避免冷热分界提前越过尚未归档完的日期
+     */
+    public void register(List<AccessLogSegment> daySegments) {
+        segments.addAll(daySegments);
+        daySegments.forEach(each -> {
+            try {
+                registerTopic.publish(each.path().getFileName().toString());
+            } catch (Throwable ex) {
+                log.error("访问日志归档分段登记通知发送失败，分段：{}", each.path(), ex);
+            }
+        });
+    }
+
+    /**
+     * 重新从分段目录读取指定日期的全部分段并解压每一列，用于删除热数据前确认冷数据可以正常读取
+     *
+     * @return 可读取的访问日志条数
+     */
+    public long verifyReadable(LocalDate day) throws IOException {
+        long rowCount = 0L;
+        for (AccessLogSegment each : listSegments(day)) {
+            try (AccessLogSegmentReader reader = AccessLogSegmentReader.open(each.path())) {
+                reader.readLongColumn(AccessLogColumn.ID);
+                reader.readLongColumn(AccessLogColumn.CREATE_TIME);
+                reader.readIndexColumn(AccessLogColumn.GID);
+                reader.readIndexColumn(AccessLogColumn.FULL_SHORT_URL);
+                for (AccessLogColumn column : EnumSet.range(AccessLogColumn.USER, AccessLogColumn.LOCALE)) {
+                    reader.readStringColumn(column);
+                }
+                rowCount += reader.segment().rowCount();
+            }
+        }
+        return rowCount;
+    }
+
+    /**
+     * 获取分段中已归档的访问日志 id，用于重新归档时去重
+     */
+    public Set<Long> archivedIds(List<AccessLogSegment> daySegments) throws IOException {
+        Set<Long> archivedIds = new HashSet<>();
+        for (AccessLogSegment each : daySegments) {
+            try (AccessLogSegmentReader reader = AccessLogSegmentReader.open(each.path())) {
+                for (long id : reader.readLongColumn(AccessLogColumn.ID)) {
+                    archivedIds.add(id);
+                }
+            }
+        }
+        return archivedIds;
+    }
+
+    /**
+     * 按时间顺序遍历冷数据中的访问日志
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接，为空时遍历分组下全部短链接
+     * @param startTime    开始时间，包含
+     * @param endTime      结束时间，包含
+     * @param descending   是否按 (访问时间, id) 倒序遍历
+     * @param columns      需要返回的列，分组标识、完整短链接与访问时间总会返回
+     * @param visitor      访问日志处理，返回 false 时停止遍历
+     */
+    public void scan(String gid, String fullShortUrl, Date startTime, Date endTime, boolean descending,
+                     Set<AccessLogColumn> columns, Predicate<LinkAccessLogsDO> visitor) {
+        long start = startTime.getTime();
+        long end = endTime.getTime();
+        Iterator<AccessLogSegment> iterator = descending ? segments.descendingIterator() : segments.iterator();
+        LocalDate currentDay = null;
+        List<LinkAccessLogsDO> dayRows = new ArrayList<>();
+        while (iterator.hasNext()) {
+            AccessLogSegment segment = iterator.next();
+            if (!segment.overlaps(start, end)) {
+                continue;
+            }
+            if (!segment.day().equals(currentDay)) {
+                if (!visitDay(dayRows, descending, visitor)) {
+                    return;
+                }
+                currentDay = segment.day();
+            }
+            try {
+                readSegment(segment, gid, fullShortUrl, start, end, columns, dayRows);
+            } catch (IOException ex) {
+                throw new ServiceException("访问日志归档读取失败：" + segment.path(), ex, BaseErrorCode.SERVICE_ERROR);
+            }
+        }
+        visitDay(dayRows, descending, visitor);
+    }
+
+    /**
+     * 统计冷数据中的访问日志条数，分段完整落在查询范围内且只包含目标分组或短链接时直接使用头部条数，
+     * 否则只读取访问时间与字典下标列计数
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接，为空时统计分组下全部短链接
+     * @param startTime    开始时间，包含
+     * @param endTime      结束时间，包含
+     */
+    public long count(String gid, String fullShortUrl, Date startTime, Date endTime) {
+        long start = startTime.getTime();
+        long end = endTime.getTime();
+        long count = 0L;
+        for (AccessLogSegment segment : segments) {
+            if (!segment.overlaps(start, end)) {
+                continue;
+            }
+            try (AccessLogSegmentReader reader = AccessLogSegmentReader.open(segment.path())) {
+                int gidIndex = reader.gidIndex(gid);
+                int fullShortUrlIndex = fullShortUrl != null ? reader.fullShortUrlIndex(fullShortUrl) : -1;
+                if (gidIndex < 0 || (fullShortUrl != null && fullShortUrlIndex < 0)) {
+                    continue;
+                }
+                boolean covered = segment.minTime() >= start && segment.maxTime() <= end;
+                if (covered && reader.singleGid() && (fullShortUrl == null || reader.singleFullShortUrl())) {
+                    count += segment.rowCount();
+                    continue;
+                }
+                long[] createTimes = reader.readLongColumn(AccessLogColumn.CREATE_TIME);
+                int from = lowerBound(createTimes, start);
+                int to = end == Long.MAX_VALUE ? createTimes.length : lowerBound(createTimes, end + 1);
+                if (from >= to) {
+                    continue;
+                }
+                int[] gids = reader.readIndexColumn(AccessLogColumn.GID);
+                int[] fullShortUrls = fullShortUrl != null ? reader.readIndexColumn(AccessLogColumn.FULL_SHORT_URL) : null;
+                for (int i = from; i < to; i++) {
+                    if (gids[i] == gidIndex && (fullShortUrls == null || fullShortUrls[i] == fullShortUrlIndex)) {
+                        count++;
+                    }
+                }
+            } catch (IOException ex) {
+                throw new ServiceException("访问日志归档读取失败：" + segment.path(), ex, BaseErrorCode.SERVICE_ERROR);
+            }
+        }
+        return count;
+    }
+
+    private void load(String fileName) throws IOException {
+        Path file = directory.resolve(fileName);
+        if (segments.stream().anyMatch(each -> each.path().equals(file))) {
+            return;
+        }
+        try (AccessLogSegmentReader reader = AccessLogSegmentReader.open(file)) {
+            segments.add(reader.segment());
+        }
+    }
+
+    /**
+     * 同一日期迟到日志归档为多个分段，合并后整体排序，保证跨分段遍历顺序与 MySQL 一致
+     */
+    private boolean visitDay(List<LinkAccessLogsDO> dayRows, boolean descending, Predicate<LinkAccessLogsDO> visitor) {
+        if (dayRows.isEmpty()) {
+            return true;
+        }
+        Comparator<LinkAccessLogsDO> comparator = Comparator.comparing(LinkAccessLogsDO::getCreateTime)
+                .thenComparing(LinkAccessLogsDO::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+        dayRows.sort(descending ? comparator.reversed() : comparator);
+        try {
+            for (LinkAccessLogsDO each : dayRows) {
+                if (!visitor.test(each)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            dayRows.clear();
+        }
+    }
+
+    private void readSegment(AccessLogSegment segment, String gid, String fullShortUrl, long start, long end,
+                             Set<AccessLogColumn> columns, List<LinkAccessLogsDO> result) throws IOException {
+        try (AccessLogSegmentReader reader = AccessLogSegmentReader.open(segment.path())) {
+            int gidIndex = reader.gidIndex(gid);
+            int fullShortUrlIndex = fullShortUrl != null ? reader.fullShortUrlIndex(fullShortUrl) : -1;
+            if (gidIndex < 0 || (fullShortUrl != null && fullShortUrlIndex < 0)) {
+                return;
+            }
+            long[] createTimes = reader.readLongColumn(AccessLogColumn.CREATE_TIME);
+            // 分段内按访问时间升序存放，二分定位查询范围
+            int from = lowerBound(createTimes, start);
+            int to = end == Long.MAX_VALUE ? createTimes.length : lowerBound(createTimes, end + 1);
+            if (from >= to) {
+                return;
+            }
+            int[] gids = reader.readIndexColumn(AccessLogColumn.GID);
+            int[] fullShortUrls = reader.readIndexColumn(AccessLogColumn.FULL_SHORT_URL);
+            List<Integer> matchedRows = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                if (gids[i] == gidIndex && (fullShortUrl == null || fullShortUrls[i] == fullShortUrlIndex)) {
+                    matchedRows.add(i);
+                }
+            }
+            if (matchedRows.isEmpty()) {
+                return;
+            }
+            long[] ids = columns.contains(AccessLogColumn.ID) ? reader.readLongColumn(AccessLogColumn.ID) : null;
+            String[] users = readStringColumn(reader, columns, AccessLogColumn.USER);
+            String[] browsers = readStringColumn(reader, columns, AccessLogColumn.BROWSER);
+            String[] oses = readStringColumn(reader, columns, AccessLogColumn.OS);
+            String[] ips = readStringColumn(reader, columns, AccessLogColumn.IP);
+            String[] networks = readStringColumn(reader, columns, AccessLogColumn.NETWORK);
+            String[] devices = readStringColumn(reader, columns, AccessLogColumn.DEVICE);
+            String[] locales = readStringColumn(reader, columns, AccessLogColumn.LOCALE);
+            for (int row : matchedRows) {
+                LinkAccessLogsDO linkAccessLogsDO = LinkAccessLogsDO.builder()
+                        .id(ids != null ? ids[row] : null)
+                        .gid(reader.gid(gids[row]))
+                        .fullShortUrl(reader.fullShortUrl(fullShortUrls[row]))
+                        .user(users != null ? users[row] : null)
+                        .browser(browsers != null ? browsers[row] : null)
+                        .os(oses != null ? oses[row] : null)
+                        .ip(ips != null ? ips[row] : null)
+                        .network(networks != null ? networks[row] : null)
+                        .device(devices != null ? devices[row] : null)
+                        .locale(locales != null ? locales[row] : null)
+                        .build();
+                linkAccessLogsDO.setCreateTime(new Date(createTimes[row]));
+                linkAccessLogsDO.setUpdateTime(linkAccessLogsDO.getCreateTime());
+                linkAccessLogsDO.setDelFlag(0);
+                result.add(linkAccessLogsDO);
+            }
+        }
+    }
+
+    private static String[] readStringColumn(AccessLogSegmentReader reader, Set<AccessLogColumn> columns, AccessLogColumn column) throws IOException {
+        return columns.contains(column) ? reader.readStringColumn(column) : null;
+    }
+
+    private static int lowerBound(long[] values, long target) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
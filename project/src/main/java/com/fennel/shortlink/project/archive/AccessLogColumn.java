@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.archive;
+
+/**
+ * 访问日志分段文件列，顺序即列块在文件中的存储顺序
+ */
+public enum AccessLogColumn {
+
+    /**
+     * id
+     */
+    ID,
+
+    /**
+     * 访问时间
+     */
+    CREATE_TIME,
+
+    /**
+     * 分组标识
+     */
+    GID,
+
+    /**
+     * 完整短链接
+     */
+    FULL_SHORT_URL,
+
+    /**
+     * 用户信息
+     */
+    USER,
+
+    /**
+     * 浏览器
+     */
+    BROWSER,
+
+    /**
+     * 操作系统
+     */
+    OS,
+
+    /**
+     * ip
+     */
+    IP,
+
+    /**
+     * 访问网络
+     */
+    NETWORK,
+
+    /**
+     * 访问设备
+     */
+    DEVICE,
+
+    /**
+     * 地区
+     */
+    LOCALE;
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.archive;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * 访问日志分段文件元数据，常驻内存作为按时间裁剪分段的最小最大值索引
+ *
+ * @param path     分段文件路径
+ * @param day      归档日期
+ * @param sequence 同一日期的分段序号，迟到日志再次归档时递增
+ * @param minTime  最早访问时间，单位：毫秒
+ * @param maxTime  最晚访问时间，单位：毫秒
+ * @param rowCount 访问日志条数
+ */
+public record AccessLogSegment(Path path, LocalDate day, int sequence, long minTime, long maxTime, int rowCount) {
+
+    /**
+     * 判断分段时间范围与查询时间范围是否有交集
+     */
+    public boolean overlaps(long startTime, long endTime) {
+        return minTime <= endTime && maxTime >= startTime;
+    }
+}
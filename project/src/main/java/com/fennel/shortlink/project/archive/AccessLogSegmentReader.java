@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.fennel.shortlink.project.archive.AccessLogSegmentWriter.MAGIC;
+import static com.fennel.shortlink.project.archive.AccessLogSegmentWriter.VERSION;
+
+/**
+ * 访问日志分段文件读取，打开时只读取头部，列块按需读取并解压
+ */
+public final class AccessLogSegmentReader implements Closeable {
+
+    private static final int PREAMBLE_LENGTH = 9;
+
+    private final FileChannel channel;
+    private final AccessLogSegment segment;
+    private final String[] gidDictionary;
+    private final String[] fullShortUrlDictionary;
+    private final int[] rawLengths;
+    private final int[] compressedLengths;
+    private final long[] offsets;
+
+    private AccessLogSegmentReader(FileChannel channel, AccessLogSegment segment, String[] gidDictionary, String[] fullShortUrlDictionary,
+                                   int[] rawLengths, int[] compressedLengths, long[] offsets) {
+        this.channel = channel;
+        this.segment = segment;
+        this.gidDictionary = gidDictionary;
+        this.fullShortUrlDictionary = fullShortUrlDictionary;
+        this.rawLengths = rawLengths;
+        this.compressedLengths = compressedLengths;
+        this.offsets = offsets;
+    }
+
+    /**
+     * 打开分段文件并读取头部
+     */
+    public static AccessLogSegmentReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer preamble = read(channel, 0L, PREAMBLE_LENGTH);
+            if (preamble.getInt() != MAGIC || preamble.get() != VERSION) {
+                throw new IOException("访问日志分段文件格式不合法：" + file);
+            }
+            int headerLength = preamble.getInt();
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(read(channel, PREAMBLE_LENGTH, headerLength).array()));
+            LocalDate day = LocalDate.ofEpochDay(header.readLong());
+            int sequence = header.readInt();
+            int rowCount = header.readInt();
+            long minTime = header.readLong();
+            long maxTime = header.readLong();
+            String[] gidDictionary = readDictionary(header);
+            String[] fullShortUrlDictionary = readDictionary(header);
+            int columnCount = AccessLogColumn.values().length;
+            int[] rawLengths = new int[columnCount];
+            int[] compressedLengths = new int[columnCount];
+            long[] offsets = new long[columnCount];
+            long offset = PREAMBLE_LENGTH + headerLength;
+            for (int i = 0; i < columnCount; i++) {
+                rawLengths[i] = header.readInt();
+                compressedLengths[i] = header.readInt();
+                offsets[i] = offset;
+                offset += compressedLengths[i];
+            }
+            AccessLogSegment segment = new AccessLogSegment(file, day, sequence, minTime, maxTime, rowCount);
+            return new AccessLogSegmentReader(channel, segment, gidDictionary, fullShortUrlDictionary, rawLengths, compressedLengths, offsets);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public AccessLogSegment segment() {
+        return segment;
+    }
+
+    /**
+     * 分组标识在字典中的位置，分段不包含该分组时返回 -1
+     */
+    public int gidIndex(String gid) {
+        return indexOf(gidDictionary, gid);
+    }
+
+    /**
+     * 完整短链接在字典中的位置，分段不包含该短链接时返回 -1
+     */
+    public int fullShortUrlIndex(String fullShortUrl) {
+        return indexOf(fullShortUrlDictionary, fullShortUrl);
+    }
+
+    /**
+     * 分段是否只包含一个分组
+     */
+    public boolean singleGid() {
+        return gidDictionary.length == 1;
+    }
+
+    /**
+     * 分段是否只包含一个完整短链接
+     */
+    public boolean singleFullShortUrl() {
+        return fullShortUrlDictionary.length == 1;
+    }
+
+    public String gid(int index) {
+        return gidDictionary[index];
+    }
+
+    public String fullShortUrl(int index) {
+        return fullShortUrlDictionary[index];
+    }
+
+    /**
+     * 读取 id 或访问时间列
+     */
+    public long[] readLongColumn(AccessLogColumn column) throws IOException {
+        DataInputStream in = openColumn(column);
+        long[] values = new long[segment.rowCount()];
+        long previous = 0L;
+        for (int i = 0; i < values.length; i++) {
+            long encoded = readVarLong(in);
+            previous += (encoded >>> 1) ^ -(encoded & 1);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    /**
+     * 读取分组标识或完整短链接列的字典下标
+     */
+    public int[] readIndexColumn(AccessLogColumn column) throws IOException {
+        return readIndexes(openColumn(column), segment.rowCount());
+    }
+
+    /**
+     * 读取字典编码的字符串列
+     */
+    public String[] readStringColumn(AccessLogColumn column) throws IOException {
+        DataInputStream in = openColumn(column);
+        String[] dictionary = readDictionary(in);
+        int[] indexes = readIndexes(in, segment.rowCount());
+        String[] values = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            values[i] = dictionary[indexes[i]];
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private DataInputStream openColumn(AccessLogColumn column) throws IOException {
+        int ordinal = column.ordinal();
+        byte[] compressed = read(channel, offsets[ordinal], compressedLengths[ordinal]).array();
+        byte[] raw = new byte[rawLengths[ordinal]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length) {
+                throw new IOException("访问日志分段文件列数据不完整：" + segment.path());
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("访问日志分段文件列数据损坏：" + segment.path(), ex);
+        } finally {
+            inflater.end();
+        }
+        return new DataInputStream(new ByteArrayInputStream(raw));
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("访问日志分段文件不完整");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        String[] dictionary = new String[(int) readVarLong(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        return dictionary;
+    }
+
+    private static int[] readIndexes(DataInputStream in, int rowCount) throws IOException {
+        int[] indexes = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            indexes[i] = (int) readVarLong(in);
+        }
+        return indexes;
+    }
+
+    private static int indexOf(String[] dictionary, String value) {
+        if (value == null) {
+            return -1;
+        }
+        // 每次打开分段只查找一次，顺序比较比构建哈希表开销更小
+        for (int i = 0; i < dictionary.length; i++) {
+            if (value.equals(dictionary[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0L;
+        int shift = 0;
+        while (true) {
+            byte each = in.readByte();
+            value |= (long) (each & 0x7F) << shift;
+            if ((each & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
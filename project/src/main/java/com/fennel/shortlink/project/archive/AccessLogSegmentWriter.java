@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.archive;
+
+import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 访问日志分段文件写入
+ * <p>
+ * 文件结构：魔数、版本、头部长度、头部、各列压缩块。头部包含归档日期、分段序号、条数、最早与最晚访问时间、
+ * 分组标识与完整短链接字典以及各列块长度；列块按 {@link AccessLogColumn} 顺序存放，id 与访问时间为差值变长整数，
+ * 字符串列为字典编码，每列独立 Deflate 压缩，读取时只解压需要的列
+ */
+public final class AccessLogSegmentWriter {
+
+    static final int MAGIC = 0x534C414C;
+    static final byte VERSION = 1;
+
+    private AccessLogSegmentWriter() {
+    }
+
+    /**
+     * 写入分段文件，先写临时文件并刷盘再原子重命名，重命名后同步目录，返回时分段在掉电后仍然存在，
+     * 调用方可以安全删除对应的热数据
+     *
+     * @param file     分段文件路径
+     * @param day      归档日期
+     * @param sequence 同一日期的分段序号
+     * @param rows     访问日志，不能为空
+     * @return 分段文件元数据
+     */
+    public static AccessLogSegment write(Path file, LocalDate day, int sequence, List<LinkAccessLogsDO> rows) throws IOException {
+        List<LinkAccessLogsDO> sortedRows = new ArrayList<>(rows);
+        sortedRows.sort(Comparator.comparing(LinkAccessLogsDO::getCreateTime).thenComparing(LinkAccessLogsDO::getId));
+        int rowCount = sortedRows.size();
+        long minTime = sortedRows.get(0).getCreateTime().getTime();
+        long maxTime = sortedRows.get(rowCount - 1).getCreateTime().getTime();
+        Dictionary gidDictionary = new Dictionary();
+        Dictionary fullShortUrlDictionary = new Dictionary();
+        byte[][] rawColumns = new byte[AccessLogColumn.values().length][];
+        rawColumns[AccessLogColumn.ID.ordinal()] = encodeDelta(sortedRows, LinkAccessLogsDO::getId);
+        rawColumns[AccessLogColumn.CREATE_TIME.ordinal()] = encodeDelta(sortedRows, each -> each.getCreateTime().getTime());
+        rawColumns[AccessLogColumn.GID.ordinal()] = encodeIndexes(sortedRows, LinkAccessLogsDO::getGid, gidDictionary);
+        rawColumns[AccessLogColumn.FULL_SHORT_URL.ordinal()] = encodeIndexes(sortedRows, LinkAccessLogsDO::getFullShortUrl, fullShortUrlDictionary);
+        rawColumns[AccessLogColumn.USER.ordinal()] = encodeStrings(sortedRows, LinkAccessLogsDO::getUser);
+        rawColumns[AccessLogColumn.BROWSER.ordinal()] = encodeStrings(sortedRows, LinkAccessLogsDO::getBrowser);
+        rawColumns[AccessLogColumn.OS.ordinal()] = encodeStrings(sortedRows, LinkAccessLogsDO::getOs);
+        rawColumns[AccessLogColumn.IP.ordinal()] = encodeStrings(sortedRows, LinkAccessLogsDO::getIp);
+        rawColumns[AccessLogColumn.NETWORK.ordinal()] = encodeStrings(sortedRows, LinkAccessLogsDO::getNetwork);
+        rawColumns[AccessLogColumn.DEVICE.ordinal()] = encodeStrings(sortedRows, LinkAccessLogsDO::getDevice);
+        rawColumns[AccessLogColumn.LOCALE.ordinal()] = encodeStrings(sortedRows, LinkAccessLogsDO::getLocale);
+        byte[][] columns = new byte[rawColumns.length][];
+        for (int i = 0; i < rawColumns.length; i++) {
+            columns[i] = compress(rawColumns[i]);
+        }
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeLong(day.toEpochDay());
+        header.writeInt(sequence);
+        header.writeInt(rowCount);
+        header.writeLong(minTime);
+        header.writeLong(maxTime);
+        gidDictionary.writeTo(header);
+        fullShortUrlDictionary.writeTo(header);
+        for (int i = 0; i < columns.length; i++) {
+            header.writeInt(rawColumns[i].length);
+            header.writeInt(columns[i].length);
+        }
+        header.flush();
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream fileOutputStream = new FileOutputStream(tempFile.toFile());
+             DataOutputStream out = new DataOutputStream(fileOutputStream)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(headerBytes.size());
+            headerBytes.writeTo(out);
+            for (byte[] each : columns) {
+                out.write(each);
+            }
+            out.flush();
+            fileOutputStream.getChannel().force(true);
+        }
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(file.toAbsolutePath().getParent());
+        return new AccessLogSegment(file, day, sequence, minTime, maxTime, rowCount);
+    }
+
+    /**
+     * 同步目录项，使重命名结果落盘，不支持以只读方式打开目录的平台（Windows）跳过
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            if (!System.getProperty("os.name", "").startsWith("Windows")) {
+                throw ex;
+            }
+        }
+    }
+
+    private static byte[] encodeDelta(List<LinkAccessLogsDO> rows, Function<LinkAccessLogsDO, Long> getter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size() * 3);
+        DataOutputStream out = new DataOutputStream(bytes);
+        long previous = 0L;
+        for (LinkAccessLogsDO each : rows) {
+            long value = getter.apply(each);
+            writeVarLong(out, zigZag(value - previous));
+            previous = value;
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeIndexes(List<LinkAccessLogsDO> rows, Function<LinkAccessLogsDO, String> getter, Dictionary dictionary) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (LinkAccessLogsDO each : rows) {
+            writeVarLong(out, dictionary.indexOf(getter.apply(each)));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeStrings(List<LinkAccessLogsDO> rows, Function<LinkAccessLogsDO, String> getter) throws IOException {
+        Dictionary dictionary = new Dictionary();
+        byte[] indexes = encodeIndexes(rows, getter, dictionary);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(indexes.length + dictionary.values.size() * 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        dictionary.writeTo(out);
+        out.write(indexes);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(byte[] raw) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * 字符串字典，null 单独标记
+     */
+    private static class Dictionary {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int nullIndex = -1;
+
+        private int indexOf(String value) {
+            if (value == null) {
+                if (nullIndex < 0) {
+                    nullIndex = values.size();
+                    values.add(null);
+                }
+                return nullIndex;
+            }
+            return indexes.computeIfAbsent(value, each -> {
+                values.add(each);
+                return values.size() - 1;
+            });
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            writeVarLong(out, values.size());
+            for (String each : values) {
+                out.writeBoolean(each != null);
+                if (each != null) {
+                    out.writeUTF(each);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.cache;
+
+import com.fennel.shortlink.project.config.BloomFilterReplicaConfiguration;
+import io.netty.buffer.ByteBuf;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamReadArgs;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.BLOOM_FILTER_REPLICA_STREAM_KEY;
+
+/**
+ * 短链接布隆过滤器
+ * 默认直接访问 Redisson 布隆过滤器。开启本地副本后，各节点在内存映射文件中保存与 Redis 相同布局的位图：
+ * 启动时按块读取 Redis 位图快照并按位或合并，之后从增量 Stream 读取其他节点新增的元素，判断是否存在只访问本地内存。
+ * 位图只会置位不会清零，快照与增量重复应用结果不变；副本加载完成前或增量读取落后于 Stream 保留范围时回退到 Redis。
+ * 增量发布失败的元素由定期合并的快照补齐，补齐前跳转路径上的本地未命中再向 Redis 确认
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkBloomFilter implements InitializingBean, DisposableBean {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final String STREAM_FIELD = "values";
+    private static final char STREAM_VALUE_SEPARATOR = '\n';
+
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final BloomFilterReplicaConfiguration bloomFilterReplicaConfiguration;
+    private final RedissonClient redissonClient;
+
+    private RStream<String, String> replicaStream;
+    private MappedByteBuffer bits;
+    private long size;
+    private int hashIterations;
+    private Thread replicaThread;
+    private volatile boolean ready;
+    private volatile boolean running;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!bloomFilterReplicaConfiguration.getEnable()) {
+            return;
+        }
+        String bloomFilterName = shortUriCreateCachePenetrationBloomFilter.getName();
+        replicaStream = redissonClient.getStream(String.format(BLOOM_FILTER_REPLICA_STREAM_KEY, bloomFilterName), StringCodec.INSTANCE);
+        size = shortUriCreateCachePenetrationBloomFilter.getSize();
+        hashIterations = shortUriCreateCachePenetrationBloomFilter.getHashIterations();
+        // Redis 字符串最大 512MB，位图字节数不会超过单个映射区域上限，按 long 对齐便于原子置位
+        long byteLength = ((size + 63) >>> 6) << 3;
+        Path directory = Paths.get(bloomFilterReplicaConfiguration.getDirectory());
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(bloomFilterName + ".bits"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.truncate(0L);
+            bits = channel.map(FileChannel.MapMode.READ_WRITE, 0L, byteLength);
+        }
+        running = true;
+        replicaThread = new Thread(this::replicate, "short-link-bloom-filter-replica");
+        replicaThread.setDaemon(true);
+        replicaThread.start();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (replicaThread != null) {
+            replicaThread.interrupt();
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在
+     */
+    public boolean contains(String value) {
+        if (!ready) {
+            return shortUriCreateCachePenetrationBloomFilter.contains(value);
+        }
+        long[] indexes = indexes(value);
+        for (long each : indexes) {
+            if (!testBit(each)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 跳转路径判断元素是否可能存在，本地副本未命中时以 Redis 位图为准
+     */
+    public boolean containsConfirmed(String value) {
+        if (contains(value)) {
+            return true;
+        }
+        return ready && bloomFilterReplicaConfiguration.getConfirmMiss() && shortUriCreateCachePenetrationBloomFilter.contains(value);
+    }
+
+    /**
+     * 新增元素
+     */
+    public void add(String value) {
+        shortUriCreateCachePenetrationBloomFilter.add(value);
+        if (bits != null) {
+            setBits(value);
+            publish(value);
+        }
+    }
+
+    /**
+     * 批量新增元素
+     */
+    public void add(Collection<String> values) {
+        shortUriCreateCachePenetrationBloomFilter.add(values);
+        if (bits != null) {
+            values.forEach(this::setBits);
+            publish(String.join(String.valueOf(STREAM_VALUE_SEPARATOR), values));
+        }
+    }
+
+    private void publish(String values) {
+        try {
+            replicaStream.add(StreamAddArgs.entry(STREAM_FIELD, values)
+                    .trimNonStrict()
+                    .maxLen(bloomFilterReplicaConfiguration.getStreamMaxLength())
+                    .noLimit());
+        } catch (Throwable ex) {
+            // Redis 位图已写入，其他节点副本缺少该元素时由定期合并的快照补齐，期间跳转路径的本地未命中会回查 Redis
+            log.error("布隆过滤器本地副本增量发布失败", ex);
+        }
+    }
+
+    private void replicate() {
+        StreamMessageId lastId = null;
+        boolean checkTrimmed = false;
+        long nextSnapshotTime = Long.MAX_VALUE;
+        while (running) {
+            try {
+                if (lastId != null && checkTrimmed && isTrimmed(lastId)) {
+                    lastId = null;
+                }
+                checkTrimmed = false;
+                if (lastId == null) {
+                    ready = false;
+                    lastId = loadSnapshot();
+                    ready = true;
+                    nextSnapshotTime = nextSnapshotTime();
+                } else if (System.currentTimeMillis() >= nextSnapshotTime) {
+                    // 快照只会补位，合并期间副本继续对外提供判断，增量仍从当前位置读取
+                    loadSnapshot();
+                    nextSnapshotTime = nextSnapshotTime();
+                }
+                Map<StreamMessageId, Map<String, String>> messages = replicaStream.read(StreamReadArgs.greaterThan(lastId)
+                        .count(bloomFilterReplicaConfiguration.getReadBatchSize())
+                        .timeout(Duration.ofMillis(bloomFilterReplicaConfiguration.getReadTimeout())));
+                if (messages == null || messages.isEmpty()) {
+                    continue;
+                }
+                for (Map.Entry<StreamMessageId, Map<String, String>> entry : messages.entrySet()) {
+                    applyMessage(entry.getValue().get(STREAM_FIELD));
+                    lastId = entry.getKey();
+                }
+                // 读满一批说明存在积压，下次读取前确认未读部分没有被裁剪
+                checkTrimmed = messages.size() >= bloomFilterReplicaConfiguration.getReadBatchSize();
+            } catch (Throwable ex) {
+                if (!running) {
+                    return;
+                }
+                log.error("布隆过滤器本地副本同步异常", ex);
+                checkTrimmed = true;
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * 先记录当前最新增量位置再读取快照，位置之前的元素已写入 Redis 位图，之后的元素由增量补齐
+     */
+    private StreamMessageId loadSnapshot() throws IOException {
+        Map<StreamMessageId, Map<String, String>> latest = replicaStream.rangeReversed(1, StreamMessageId.MAX, StreamMessageId.MIN);
+        StreamMessageId lastId = latest.isEmpty() ? new StreamMessageId(0L, 0L) : latest.keySet().iterator().next();
+        int chunkSize = Math.max(8, bloomFilterReplicaConfiguration.getSnapshotChunkSize() & ~7);
+        ByteBuffer chunk = ByteBuffer.allocate(chunkSize);
+        long position = 0L;
+        long capacity = bits.capacity();
+        long startTime = System.currentTimeMillis();
+        SeekableByteChannel channel = redissonClient.getBinaryStream(shortUriCreateCachePenetrationBloomFilter.getName()).getChannel();
+        while (running && position < capacity) {
+            chunk.clear();
+            channel.position(position);
+            int read = channel.read(chunk);
+            if (read <= 0) {
+                break;
+            }
+            for (int offset = 0; offset < read; offset += 8) {
+                long word = offset + 8 <= read ? chunk.getLong(offset) : tailWord(chunk, offset, read);
+                if (word != 0L && position + offset < capacity) {
+                    LONG_VIEW.getAndBitwiseOr(bits, (int) (position + offset), word);
+                }
+            }
+            position += read;
+        }
+        log.info("布隆过滤器本地副本快照加载完成，字节数：{}，耗时：{}ms，增量起始位置：{}", position, System.currentTimeMillis() - startTime, lastId);
+        return lastId;
+    }
+
+    private long nextSnapshotTime() {
+        long resnapshotInterval = bloomFilterReplicaConfiguration.getResnapshotInterval();
+        return resnapshotInterval > 0 ? System.currentTimeMillis() + resnapshotInterval : Long.MAX_VALUE;
+    }
+
+    /**
+     * Stream 从最早的元素开始裁剪，最早位置仍不晚于已读位置时，已读位置之后的元素都还在
+     */
+    private boolean isTrimmed(StreamMessageId lastId) {
+        Map<StreamMessageId, Map<String, String>> first = replicaStream.range(1, StreamMessageId.MIN, StreamMessageId.MAX);
+        if (first.isEmpty()) {
+            return false;
+        }
+        StreamMessageId firstId = first.keySet().iterator().next();
+        boolean trimmed = firstId.getId0() > lastId.getId0() || (firstId.getId0() == lastId.getId0() && firstId.getId1() > lastId.getId1());
+        if (trimmed) {
+            log.warn("布隆过滤器本地副本增量落后于 Stream 保留范围，重新加载快照，当前位置：{}，最早位置：{}", lastId, firstId);
+        }
+        return trimmed;
+    }
+
+    private void applyMessage(String values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        int start = 0;
+        int end;
+        while ((end = values.indexOf(STREAM_VALUE_SEPARATOR, start)) >= 0) {
+            setBits(values.substring(start, end));
+            start = end + 1;
+        }
+        setBits(values.substring(start));
+    }
+
+    private void setBits(String value) {
+        for (long each : indexes(value)) {
+            LONG_VIEW.getAndBitwiseOr(bits, (int) ((each >>> 6) << 3), 1L << (63 - (each & 63)));
+        }
+    }
+
+    private boolean testBit(long index) {
+        long word = (long) LONG_VIEW.get(bits, (int) ((index >>> 6) << 3));
+        return (word & (1L << (63 - (index & 63)))) != 0L;
+    }
+
+    /**
+     * 与 Redisson 布隆过滤器相同的位下标计算：按过滤器编码器序列化后取 128 位 HighwayHash，双重哈希生成各位下标
+     */
+    private long[] indexes(String value) {
+        ByteBuf state;
+        try {
+            state = shortUriCreateCachePenetrationBloomFilter.getCodec().getValueEncoder().encode(value);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+        long[] hashes;
+        try {
+            hashes = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+        long[] indexes = new long[hashIterations];
+        long hash = hashes[0];
+        for (int i = 0; i < hashIterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            hash += i % 2 == 0 ? hashes[1] : hashes[0];
+        }
+        return indexes;
+    }
+
+    private static long tailWord(ByteBuffer chunk, int offset, int read) {
+        long word = 0L;
+        for (int i = 0; i < 8; i++) {
+            word <<= 8;
+            if (offset + i < read) {
+                word |= chunk.get(offset + i) & 0xFFL;
+            }
+        }
+        return word;
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.SECONDS.sleep(1L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fennel.shortlink.project.common.convention.errorcode.BaseErrorCode;
+import com.fennel.shortlink.project.common.convention.exception.ServiceException;
+import com.fennel.shortlink.project.config.GotoLoadConfiguration;
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import com.fennel.shortlink.project.dao.entity.ShortLinkGotoDO;
+import com.fennel.shortlink.project.dao.mapper.ShortLinkGotoMapper;
+import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.fennel.shortlink.project.toolkit.LinkUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接跳转回源加载器
+ * 同一节点内相同短链接的并发回源合并为一次数据库查询，其余请求等待同一结果，跨节点分布式锁按配置开启
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoLoader implements InitializingBean, DisposableBean {
+
+    private final GotoLoadConfiguration gotoLoadConfiguration;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedissonClient redissonClient;
+    private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final ShortLinkMapper shortLinkMapper;
+
+    private final ConcurrentHashMap<String, CompletableFuture<ShortLinkGotoRecord>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Set<String> inFlightRefreshes = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(
+                gotoLoadConfiguration.getRefreshThreads(),
+                gotoLoadConfiguration.getRefreshThreads(),
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(gotoLoadConfiguration.getRefreshQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "short-link-goto-refresh-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 回源加载短链接跳转记录，同一短链接同时只有一个线程查询数据库
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转记录，短链接不存在或已失效返回 null
+     */
+    public ShortLinkGotoRecord load(String fullShortUrl) {
+        CompletableFuture<ShortLinkGotoRecord> loadFuture = new CompletableFuture<>();
+        CompletableFuture<ShortLinkGotoRecord> inFlightFuture = inFlightLoads.putIfAbsent(fullShortUrl, loadFuture);
+        if (inFlightFuture != null) {
+            return awaitLoad(inFlightFuture);
+        }
+        try {
+            ShortLinkGotoRecord gotoRecord = loadFromSource(fullShortUrl);
+            loadFuture.complete(gotoRecord);
+            return gotoRecord;
+        } catch (Throwable ex) {
+            loadFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightLoads.remove(fullShortUrl, loadFuture);
+        }
+    }
+
+    /**
+     * 异步刷新本地缓存，调用方继续使用旧值跳转，已有进行中回源、同一短链接已在刷新或刷新队列已满时直接忽略
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void refreshAsync(String fullShortUrl) {
+        if (inFlightLoads.containsKey(fullShortUrl) || !inFlightRefreshes.add(fullShortUrl)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(fullShortUrl));
+        } catch (RejectedExecutionException ex) {
+            inFlightRefreshes.remove(fullShortUrl);
+        }
+    }
+
+    private void refresh(String fullShortUrl) {
+        try {
+            // 先读版本号再读 Redis，读取期间发生的失效会改变版本号，过期的刷新结果不会覆盖失效
+            long version = shortLinkGotoLocalCache.version(fullShortUrl);
+            ShortLinkGotoRecord gotoRecord = ShortLinkGotoRecord.decode(stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl)));
+            if (gotoRecord != null && gotoRecord.gid() != null) {
+                shortLinkGotoLocalCache.replace(fullShortUrl, version, gotoRecord);
+                return;
+            }
+            load(fullShortUrl);
+        } catch (Throwable ex) {
+            log.error("短链接跳转本地缓存异步刷新失败，短链接：{}", fullShortUrl, ex);
+        } finally {
+            inFlightRefreshes.remove(fullShortUrl);
+        }
+    }
+
+    private ShortLinkGotoRecord awaitLoad(CompletableFuture<ShortLinkGotoRecord> inFlightFuture) {
+        try {
+            return inFlightFuture.get(gotoLoadConfiguration.getWaitTimeout(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ServiceException("短链接跳转回源超时", ex, BaseErrorCode.SERVICE_TIMEOUT_ERROR);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("短链接跳转回源中断", ex, BaseErrorCode.SERVICE_ERROR);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServiceException("短链接跳转回源异常", ex.getCause(), BaseErrorCode.SERVICE_ERROR);
+        }
+    }
+
+    private ShortLinkGotoRecord loadFromSource(String fullShortUrl) {
+        RLock lock = null;
+        if (gotoLoadConfiguration.getDistributedLock()) {
+            lock = redissonClient.getLock(String.format(LOCK_GOTO_SHORT_LINK_KEY, fullShortUrl));
+            lock.lock();
+        }
+        try {
+            ShortLinkGotoRecord cachedRecord = ShortLinkGotoRecord.decode(stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl)));
+            // 旧格式缓存不含分组标识，回源数据库按新格式重建
+            if (cachedRecord != null && cachedRecord.gid() != null) {
+                shortLinkGotoLocalCache.put(fullShortUrl, cachedRecord);
+                return cachedRecord;
+            }
+            LambdaQueryWrapper<ShortLinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                    .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
+            ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(linkGotoQueryWrapper);
+            if (shortLinkGotoDO == null) {
+                cacheNull(fullShortUrl);
+                return null;
+            }
+            LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                    .eq(ShortLinkDO::getGid, shortLinkGotoDO.getGid())
+                    .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+                    .eq(ShortLinkDO::getDelFlag, 0)
+                    .eq(ShortLinkDO::getEnableStatus, 0);
+            ShortLinkDO shortLinkDO = shortLinkMapper.selectOne(queryWrapper);
+            if (shortLinkDO == null || (shortLinkDO.getValidDate() != null && shortLinkDO.getValidDate().before(new Date()))) {
+                cacheNull(fullShortUrl);
+                return null;
+            }
+            ShortLinkGotoRecord gotoRecord = ShortLinkGotoRecord.of(shortLinkDO);
+            stringRedisTemplate.opsForValue().set(
+                    String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+                    gotoRecord.encode(),
+                    LinkUtil.getLinkCacheValidTime(shortLinkDO.getValidDate()), TimeUnit.MILLISECONDS
+            );
+            shortLinkGotoLocalCache.put(fullShortUrl, gotoRecord);
+            return gotoRecord;
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void cacheNull(String fullShortUrl) {
+        stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
+        shortLinkGotoLocalCache.putNull(fullShortUrl);
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.cache;
+
+import com.fennel.shortlink.project.config.GotoLocalCacheConfiguration;
+import com.fennel.shortlink.project.toolkit.LinkUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_LOCAL_CACHE_INVALIDATE_TOPIC_KEY;
+
+/**
+ * 短链接跳转本地缓存
+ * 位于 Redis 之前的一级缓存，同时缓存跳转记录与短链接不存在的空值，多节点之间通过 Redis 发布订阅失效
+ * 缓存项超过刷新时间后仍可读取，由调用方异步刷新，避免缓存集中过期时请求阻塞在回源上。
+ * 热点短链接可以固定在本地：固定的缓存项不受容量淘汰与最长有效时间影响，只在短链接过期或收到失效通知时移除。
+ * 每次写入分配递增版本号，异步刷新只替换刷新开始时读到的版本，刷新期间缓存项被失效或重新加载时放弃写入
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoLocalCache implements InitializingBean {
+
+    /**
+     * 短链接不存在空值标识
+     */
+    public static final ShortLinkGotoRecord NULL_VALUE = new ShortLinkGotoRecord("-", null, null, false);
+
+    private final GotoLocalCacheConfiguration gotoLocalCacheConfiguration;
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, GotoEntry> pinnedEntries = new ConcurrentHashMap<>();
+    private final Set<String> pinnedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private Cache<String, GotoEntry> localCache;
+    private RTopic invalidateTopic;
+
+    @Override
+    public void afterPropertiesSet() {
+        localCache = Caffeine.newBuilder()
+                .maximumWeight(gotoLocalCacheConfiguration.getMaximumWeight())
+                .weigher((String key, GotoEntry value) -> key.length() + value.value().originUrl().length() + (value.value().gid() != null ? value.value().gid().length() : 0))
+                .expireAfter(new Expiry<String, GotoEntry>() {
+
+                    @Override
+                    public long expireAfterCreate(String key, GotoEntry value, long currentTime) {
+                        return value.ttl();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, GotoEntry value, long currentTime, long currentDuration) {
+                        return value.ttl();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, GotoEntry value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "short-link-goto");
+        invalidateTopic = redissonClient.getTopic(GOTO_LOCAL_CACHE_INVALIDATE_TOPIC_KEY, StringCodec.INSTANCE);
+        invalidateTopic.addListener(String.class, (channel, fullShortUrl) -> invalidateLocal(fullShortUrl));
+    }
+
+    /**
+     * 获取本地缓存的跳转记录
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转记录，短链接不存在时返回 {@link #NULL_VALUE}，未命中返回 null
+     */
+    public ShortLinkGotoRecord getIfPresent(String fullShortUrl) {
+        if (!gotoLocalCacheConfiguration.getEnable()) {
+            return null;
+        }
+        GotoEntry entry = localCache.getIfPresent(fullShortUrl);
+        if (entry == null && !pinnedEntries.isEmpty()) {
+            entry = pinnedEntries.get(fullShortUrl);
+            if (entry != null && System.nanoTime() - entry.validUntil() >= 0) {
+                pinnedEntries.remove(fullShortUrl, entry);
+                entry = null;
+            }
+        }
+        return entry != null ? entry.value() : null;
+    }
+
+    /**
+     * 判断本地缓存的跳转记录是否超过刷新时间，超过后仍可使用但需要异步刷新
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 缓存存在且已超过刷新时间返回 true
+     */
+    public boolean needsRefresh(String fullShortUrl) {
+        if (!gotoLocalCacheConfiguration.getEnable()) {
+            return false;
+        }
+        // asMap 读取不计入命中率统计
+        GotoEntry entry = localCache.asMap().get(fullShortUrl);
+        if (entry == null) {
+            entry = pinnedEntries.get(fullShortUrl);
+        }
+        return entry != null
+                && System.nanoTime() - entry.loadTime() >= TimeUnit.SECONDS.toNanos(gotoLocalCacheConfiguration.getRefreshAfter());
+    }
+
+    /**
+     * 缓存跳转记录，有效期取短链接有效期与本地缓存最长有效时间的较小值
+     *
+     * @param fullShortUrl 完整短链接
+     * @param gotoRecord   跳转记录
+     */
+    public void put(String fullShortUrl, ShortLinkGotoRecord gotoRecord) {
+        if (!gotoLocalCacheConfiguration.getEnable()) {
+            return;
+        }
+        GotoEntry entry = newEntry(gotoRecord);
+        if (entry == null) {
+            return;
+        }
+        localCache.put(fullShortUrl, entry);
+        if (pinnedKeys.contains(fullShortUrl)) {
+            pinnedEntries.put(fullShortUrl, entry);
+        }
+    }
+
+    /**
+     * 获取缓存项当前版本号，异步刷新开始前读取
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 版本号，缓存项不存在返回 -1
+     */
+    public long version(String fullShortUrl) {
+        if (!gotoLocalCacheConfiguration.getEnable()) {
+            return -1L;
+        }
+        GotoEntry entry = localCache.asMap().get(fullShortUrl);
+        if (entry == null) {
+            entry = pinnedEntries.get(fullShortUrl);
+        }
+        return entry != null ? entry.version() : -1L;
+    }
+
+    /**
+     * 缓存项仍为指定版本时替换为刷新后的跳转记录，刷新期间被失效或重新写入时不替换
+     *
+     * @param fullShortUrl 完整短链接
+     * @param version      刷新开始前读取的版本号
+     * @param gotoRecord   跳转记录
+     */
+    public void replace(String fullShortUrl, long version, ShortLinkGotoRecord gotoRecord) {
+        if (!gotoLocalCacheConfiguration.getEnable() || version < 0) {
+            return;
+        }
+        GotoEntry entry = newEntry(gotoRecord);
+        localCache.asMap().computeIfPresent(fullShortUrl, (key, current) -> current.version() != version ? current : entry);
+        pinnedEntries.computeIfPresent(fullShortUrl, (key, current) -> current.version() != version ? current : entry);
+    }
+
+    /**
+     * 创建缓存项，有效期取短链接有效期与本地缓存最长有效时间的较小值，短链接已过期返回 null
+     */
+    private GotoEntry newEntry(ShortLinkGotoRecord gotoRecord) {
+        long linkValidTime = LinkUtil.getLinkCacheValidTime(gotoRecord.validDate());
+        long validTime = Math.min(linkValidTime, TimeUnit.SECONDS.toMillis(gotoLocalCacheConfiguration.getMaxTtl()));
+        if (validTime <= 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        return new GotoEntry(gotoRecord, now, now + TimeUnit.MILLISECONDS.toNanos(linkValidTime),
+                TimeUnit.MILLISECONDS.toNanos(validTime), versionSequence.incrementAndGet());
+    }
+
+    /**
+     * 缓存短链接不存在空值
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void putNull(String fullShortUrl) {
+        if (!gotoLocalCacheConfiguration.getEnable()) {
+            return;
+        }
+        localCache.put(fullShortUrl, new GotoEntry(NULL_VALUE, System.nanoTime(), Long.MAX_VALUE,
+                TimeUnit.SECONDS.toNanos(gotoLocalCacheConfiguration.getNullTtl()), versionSequence.incrementAndGet()));
+    }
+
+    /**
+     * 判断缓存值是否为短链接不存在空值
+     */
+    public boolean isNullValue(ShortLinkGotoRecord cacheValue) {
+        return cacheValue == NULL_VALUE;
+    }
+
+    /**
+     * 失效所有节点的本地缓存
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void invalidate(String fullShortUrl) {
+        invalidateLocal(fullShortUrl);
+        try {
+            invalidateTopic.publish(fullShortUrl);
+        } catch (Throwable ex) {
+            log.error("短链接跳转本地缓存失效通知发送失败，短链接：{}", fullShortUrl, ex);
+        }
+    }
+
+    /**
+     * 固定热点短链接，已有缓存项立即固定，否则在下次写入时固定
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void pin(String fullShortUrl) {
+        if (!gotoLocalCacheConfiguration.getEnable() || !pinnedKeys.add(fullShortUrl)) {
+            return;
+        }
+        GotoEntry entry = localCache.asMap().get(fullShortUrl);
+        if (entry != null && !isNullValue(entry.value())) {
+            pinnedEntries.putIfAbsent(fullShortUrl, entry);
+        }
+    }
+
+    /**
+     * 取消固定，缓存项交回容量淘汰与有效期管理
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void unpin(String fullShortUrl) {
+        pinnedKeys.remove(fullShortUrl);
+        pinnedEntries.remove(fullShortUrl);
+    }
+
+    private void invalidateLocal(String fullShortUrl) {
+        localCache.invalidate(fullShortUrl);
+        pinnedEntries.remove(fullShortUrl);
+    }
+
+    /**
+     * 本地缓存项
+     *
+     * @param value      跳转记录或空值标识
+     * @param loadTime   写入时间，单位：纳秒
+     * @param validUntil 短链接有效截止时间，单位：纳秒，只用于固定的缓存项
+     * @param ttl        本地缓存有效时间，单位：纳秒
+     * @param version    写入版本号
+     */
+    private record GotoEntry(ShortLinkGotoRecord value, long loadTime, long validUntil, long ttl, long version) {
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.cache;
+
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * 短链接跳转缓存记录
+ * Redis 中以紧凑字符串保存：版本标识、分组标识、有效期时间戳、启用标识与原始链接以 | 分隔，原始链接放在最后，
+ * 其中出现的分隔符不需要转义。不带版本标识的旧值整体视为原始链接，分组标识为空，由消费者回查跳转表
+ *
+ * @param originUrl 原始链接
+ * @param gid       分组标识，旧格式缓存为 null
+ * @param validDate 有效期，永久有效为 null
+ * @param enable    是否启用
+ */
+public record ShortLinkGotoRecord(String originUrl, String gid, Date validDate, boolean enable) {
+
+    private static final String VERSION_PREFIX = "@1|";
+    private static final char SEPARATOR = '|';
+
+    public static ShortLinkGotoRecord of(ShortLinkDO shortLinkDO) {
+        return new ShortLinkGotoRecord(
+                shortLinkDO.getOriginUrl(),
+                shortLinkDO.getGid(),
+                shortLinkDO.getValidDate(),
+                Objects.equals(shortLinkDO.getEnableStatus(), 0)
+        );
+    }
+
+    /**
+     * 编码为 Redis 缓存值
+     */
+    public String encode() {
+        return VERSION_PREFIX + (gid != null ? gid : "") + SEPARATOR + (validDate != null ? validDate.getTime() : "") + SEPARATOR + (enable ? '1' : '0') + SEPARATOR + originUrl;
+    }
+
+    /**
+     * 解析 Redis 缓存值
+     *
+     * @param value 缓存值
+     * @return 跳转缓存记录，缓存值为空或格式不合法返回 null
+     */
+    public static ShortLinkGotoRecord decode(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        if (!value.startsWith(VERSION_PREFIX)) {
+            return new ShortLinkGotoRecord(value, null, null, true);
+        }
+        int gidEnd = value.indexOf(SEPARATOR, VERSION_PREFIX.length());
+        int validDateEnd = gidEnd < 0 ? -1 : value.indexOf(SEPARATOR, gidEnd + 1);
+        int enableEnd = validDateEnd < 0 ? -1 : value.indexOf(SEPARATOR, validDateEnd + 1);
+        if (enableEnd < 0 || enableEnd + 1 >= value.length()) {
+            return null;
+        }
+        String gid = value.substring(VERSION_PREFIX.length(), gidEnd);
+        Date validDate;
+        try {
+            validDate = validDateEnd > gidEnd + 1 ? new Date(Long.parseLong(value, gidEnd + 1, validDateEnd, 10)) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        boolean enable = value.charAt(validDateEnd + 1) == '1';
+        return new ShortLinkGotoRecord(value.substring(enableEnd + 1), gid.isEmpty() ? null : gid, validDate, enable);
+    }
+}
@@ -27,11 +27,21 @@ public class RedisKeyConstant {
      */
     public static final String GOTO_SHORT_LINK_KEY = "short-link:goto:%s";
 
+    /**
+     * 热点短链接跳转缓存副本前缀 Key
+     */
+    public static final String GOTO_SHORT_LINK_REPLICA_KEY = "short-link:goto:%s:replica:%d";
+
     /**
      * 短链接空值跳转前缀 Key
      */
     public static final String GOTO_IS_NULL_SHORT_LINK_KEY = "short-link:is-null:goto_%s";
 
+    /**
+     * 短链接跳转本地缓存失效通知 Topic
+     */
+    public static final String GOTO_LOCAL_CACHE_INVALIDATE_TOPIC_KEY = "short-link:goto:local-cache:invalidate";
+
     /**
      * 短链接跳转锁前缀 Key
      */
@@ -57,6 +67,31 @@ public class RedisKeyConstant {
      */
     public static final String SHORT_LINK_STATS_UIP_KEY = "short-link:stats:uip:";
 
+    /**
+     * 短链接统计独立访客 HyperLogLog 缓存标识
+     */
+    public static final String SHORT_LINK_STATS_UV_HLL_KEY = "short-link:stats:uv-hll:%s";
+
+    /**
+     * 短链接统计按天独立访客 HyperLogLog 缓存标识
+     */
+    public static final String SHORT_LINK_STATS_UV_DAILY_HLL_KEY = "short-link:stats:uv-hll:%s:%s";
+
+    /**
+     * 短链接统计独立 IP HyperLogLog 缓存标识
+     */
+    public static final String SHORT_LINK_STATS_UIP_HLL_KEY = "short-link:stats:uip-hll:%s";
+
+    /**
+     * 短链接统计按天独立 IP HyperLogLog 缓存标识
+     */
+    public static final String SHORT_LINK_STATS_UIP_DAILY_HLL_KEY = "short-link:stats:uip-hll:%s:%s";
+
+    /**
+     * 短链接统计历史 Set 迁移锁标识
+     */
+    public static final String LOCK_STATS_UNIQUE_VISITOR_MIGRATE_KEY = "short-link:lock:stats-unique-visitor-migrate";
+
     /**
      * 短链接监控消息保存队列 Topic 缓存标识
      */
@@ -71,4 +106,69 @@ public class RedisKeyConstant {
      * 创建短链接锁标识
      */
     public static final String SHORT_LINK_CREATE_LOCK_KEY = "short-link:lock:create";
+
+    /**
+     * 短链接后缀号段分配序列标识
+     */
+    public static final String SHORT_LINK_SUFFIX_SEQUENCE_KEY = "short-link:sequence:suffix";
+
+    /**
+     * 短链接分组累计访问排行榜标识，参数为分组标识与指标名，分组标识作为 hash tag 保证同组 Key 位于同一槽位
+     */
+    public static final String SHORT_LINK_RANK_TOTAL_KEY = "short-link:rank:{%s}:total-%s";
+
+    /**
+     * 短链接分组按天访问排行榜标识，参数为分组标识、指标名与日期
+     */
+    public static final String SHORT_LINK_RANK_DAILY_KEY = "short-link:rank:{%s}:daily-%s:%s";
+
+    /**
+     * 短链接分组排行榜空标记，分组下没有可排行的短链接时写入，避免每次分页都回源重建
+     */
+    public static final String SHORT_LINK_RANK_EMPTY_KEY = "short-link:rank:{%s}:empty";
+
+    /**
+     * 短链接分组排行榜重建锁标识
+     */
+    public static final String LOCK_SHORT_LINK_RANK_REBUILD_KEY = "short-link:lock:rank-rebuild:%s";
+
+    /**
+     * 按天汇总统计完整覆盖的起始日期标识，首次开启汇总写入时写入次日日期，补齐历史汇总后可改为更早的日期
+     */
+    public static final String STATS_DAILY_COVERED_FROM_KEY = "short-link:stats:daily:covered-from";
+
+    /**
+     * 访问日志归档锁标识
+     */
+    public static final String LOCK_STATS_ACCESS_LOGS_ARCHIVE_KEY = "short-link:lock:stats-access-logs-archive";
+
+    /**
+     * 访问日志归档分段登记通知 Topic
+     */
+    public static final String STATS_ACCESS_LOGS_ARCHIVE_TOPIC_KEY = "short-link:stats:access-logs-archive";
+
+    /**
+     * 短链接分组路由标识
+     */
+    public static final String SHORT_LINK_GID_ROUTE_KEY = "short-link:gid-route";
+
+    /**
+     * 短链接分组路由版本号标识
+     */
+    public static final String SHORT_LINK_GID_ROUTE_EPOCH_KEY = "short-link:gid-route:epoch";
+
+    /**
+     * 短链接分组路由发布通知 Topic
+     */
+    public static final String SHORT_LINK_GID_ROUTE_TOPIC_KEY = "short-link:gid-route:topic";
+
+    /**
+     * 短链接分组路由补偿锁标识
+     */
+    public static final String LOCK_GID_ROUTE_RECONCILE_KEY = "short-link:lock:gid-route-reconcile:%s";
+
+    /**
+     * 布隆过滤器本地副本增量 Stream
+     */
+    public static final String BLOOM_FILTER_REPLICA_STREAM_KEY = "short-link:bloom-filter:replica-stream:%s";
 }
@@ -31,4 +31,19 @@ public class ShortLinkConstant {
      * 高德获取地区接口地址
      */
     public static final String AMAP_REMOTE_URL = "https://restapi.amap.com/v3/ip";
+
+    /**
+     * 短链接不存在时跳转页面
+     */
+    public static final String GOTO_NOT_FOUND_PATH = "/page/notfound";
+
+    /**
+     * UV 标识 Cookie 名称
+     */
+    public static final String UV_COOKIE_NAME = "uv";
+
+    /**
+     * UV 标识 Cookie 有效时间，单位：秒，默认一个月
+     */
+    public static final int UV_COOKIE_MAX_AGE = 60 * 60 * 24 * 30;
 }
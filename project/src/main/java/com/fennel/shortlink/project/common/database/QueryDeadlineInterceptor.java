@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.common.database;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 查询截止时间拦截器
+ * 中断线程无法终止正在执行的 JDBC 查询，在截止时间内执行的查询按剩余时间设置语句超时，由驱动在超时后取消数据库端查询
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class QueryDeadlineInterceptor implements Interceptor {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    /**
+     * 在截止时间内执行查询，期间当前线程发出的 SQL 语句超时不超过剩余时间
+     *
+     * @param deadlineNanos 截止时间，与 {@link System#nanoTime()} 相同时间基准
+     * @param query         查询
+     * @return 查询结果
+     */
+    public static <T> T callWithDeadline(long deadlineNanos, Supplier<T> query) {
+        Long previous = DEADLINE_NANOS.get();
+        DEADLINE_NANOS.set(deadlineNanos);
+        try {
+            return query.get();
+        } finally {
+            if (previous != null) {
+                DEADLINE_NANOS.set(previous);
+            } else {
+                DEADLINE_NANOS.remove();
+            }
+        }
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Statement statement = (Statement) invocation.proceed();
+        Long deadlineNanos = DEADLINE_NANOS.get();
+        if (deadlineNanos != null) {
+            // JDBC 语句超时以秒为单位，不足一秒按一秒处理，0 表示不限制
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            int timeoutSeconds = (int) Math.max(1L, (remainingMillis + 999L) / 1000L);
+            int currentTimeout = statement.getQueryTimeout();
+            if (currentTimeout == 0 || currentTimeout > timeoutSeconds) {
+                statement.setQueryTimeout(timeoutSeconds);
+            }
+        }
+        return statement;
+    }
+}
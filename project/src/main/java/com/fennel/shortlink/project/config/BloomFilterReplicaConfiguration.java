@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 布隆过滤器本地副本配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.bloom-filter.local-replica")
+public class BloomFilterReplicaConfiguration {
+
+    /**
+     * 是否开启布隆过滤器本地副本，开启后新增元素同时写入增量 Stream，所有节点需保持一致
+     */
+    private Boolean enable = Boolean.FALSE;
+
+    /**
+     * 本地副本内存映射文件目录
+     */
+    private String directory = "./data/bloom-filter-replica";
+
+    /**
+     * 从 Redis 加载位图快照的分块大小，单位：字节
+     */
+    private Integer snapshotChunkSize = 4 * 1024 * 1024;
+
+    /**
+     * 增量 Stream 最大保留条数，副本落后超过该条数时重新加载快照
+     */
+    private Integer streamMaxLength = 100000;
+
+    /**
+     * 每次读取增量 Stream 的最大条数
+     */
+    private Integer readBatchSize = 256;
+
+    /**
+     * 增量 Stream 阻塞读取超时时间，单位：毫秒
+     */
+    private Long readTimeout = 1000L;
+
+    /**
+     * 定期重新合并 Redis 位图快照的间隔，补齐增量发布失败遗漏的元素，小于等于 0 时不定期合并，单位：毫秒
+     */
+    private Long resnapshotInterval = 3600000L;
+
+    /**
+     * 跳转时本地副本判断不存在是否再向 Redis 确认，避免副本遗漏元素导致已存在的短链接被判断为不存在
+     */
+    private Boolean confirmMiss = Boolean.TRUE;
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转热点识别配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto.hot-key")
+public class GotoHotKeyConfiguration {
+
+    /**
+     * 是否开启热点短链接识别
+     */
+    private Boolean enable = Boolean.TRUE;
+
+    /**
+     * Count-Min Sketch 哈希行数
+     */
+    private Integer sketchDepth = 4;
+
+    /**
+     * Count-Min Sketch 每行计数器数量
+     */
+    private Integer sketchWidth = 8192;
+
+    /**
+     * 滑动窗口长度，单位：秒
+     */
+    private Integer windowSeconds = 60;
+
+    /**
+     * 滑动窗口拆分的子窗口数量，每个子窗口结束时重新计算热点集合
+     */
+    private Integer windowCount = 6;
+
+    /**
+     * 单节点窗口内跳转次数达到该值视为热点
+     */
+    private Integer threshold = 3000;
+
+    /**
+     * 热点集合最大数量，超过时保留次数最高的短链接
+     */
+    private Integer topK = 64;
+
+    /**
+     * 热点短链接 Redis 跳转缓存副本数量，副本 Key 分散在不同槽位
+     */
+    private Integer replicaCount = 8;
+
+    /**
+     * 副本有效时间，单位：秒，热点期间每个子窗口续期；修改短链接时与复制并发的副本最多在该时间内保留旧值
+     */
+    private Long replicaTtl = 60L;
+}
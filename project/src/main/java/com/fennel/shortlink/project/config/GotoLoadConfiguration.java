@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转回源配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto.load")
+public class GotoLoadConfiguration {
+
+    /**
+     * 回源时是否额外加跨节点分布式锁，默认仅在本节点内合并并发回源
+     */
+    private Boolean distributedLock = Boolean.FALSE;
+
+    /**
+     * 等待同一短链接进行中回源结果的最长时间，单位：毫秒
+     */
+    private Long waitTimeout = 3000L;
+
+    /**
+     * 异步刷新线程数
+     */
+    private Integer refreshThreads = 4;
+
+    /**
+     * 异步刷新队列容量，队列满时丢弃刷新任务，继续使用旧值
+     */
+    private Integer refreshQueueCapacity = 1024;
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转本地缓存配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto.local-cache")
+public class GotoLocalCacheConfiguration {
+
+    /**
+     * 是否开启短链接跳转本地缓存
+     */
+    private Boolean enable = Boolean.TRUE;
+
+    /**
+     * 本地缓存最大权重，按短链接与原始链接字符数估算
+     */
+    private Long maximumWeight = 64L * 1024 * 1024;
+
+    /**
+     * 本地缓存最长有效时间，单位：秒，避免失效通知丢失时长期读到旧值
+     */
+    private Long maxTtl = 600L;
+
+    /**
+     * 本地缓存刷新时间，单位：秒，超过后继续返回旧值并异步刷新
+     */
+    private Long refreshAfter = 300L;
+
+    /**
+     * 短链接不存在时本地空值缓存有效时间，单位：秒
+     */
+    private Long nullTtl = 60L;
+}
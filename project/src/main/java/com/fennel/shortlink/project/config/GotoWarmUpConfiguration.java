@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转缓存预热配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto.warm-up")
+public class GotoWarmUpConfiguration {
+
+    /**
+     * 是否在服务启动时预热，预热完成前服务不对外报告就绪
+     */
+    private Boolean enable = Boolean.TRUE;
+
+    /**
+     * 预热访问量最高的短链接数量
+     */
+    private Integer topN = 10000;
+
+    /**
+     * 按最近多少天的访问量排序
+     */
+    private Integer statsDays = 7;
+
+    /**
+     * 每批查询与写入缓存的短链接数量，同一批次属于同一分组，只查询一张分表
+     */
+    private Integer batchSize = 500;
+
+    /**
+     * 并行加载批次数
+     */
+    private Integer parallelism = 4;
+
+    /**
+     * 预热最长时间，单位：毫秒，超时后未完成的批次放弃，由跳转请求按需回源
+     */
+    private Long timeout = 60000L;
+}
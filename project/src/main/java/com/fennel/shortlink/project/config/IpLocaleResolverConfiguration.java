@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import com.fennel.shortlink.project.locale.AmapIpLocaleResolver;
+import com.fennel.shortlink.project.locale.CachingIpLocaleResolver;
+import com.fennel.shortlink.project.locale.IpLocaleResolver;
+import com.fennel.shortlink.project.locale.OfflineIpLocaleResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * IP 地区解析器配置
+ */
+@Slf4j
+@Configuration
+public class IpLocaleResolverConfiguration {
+
+    /**
+     * 按配置创建 IP 地区解析器
+     */
+    @Bean
+    public IpLocaleResolver ipLocaleResolver(StatsLocaleConfiguration statsLocaleConfiguration, ResourceLoader resourceLoader) throws IOException {
+        if ("offline".equalsIgnoreCase(statsLocaleConfiguration.getResolver())) {
+            Path databasePath = resolveDatabasePath(resourceLoader.getResource(statsLocaleConfiguration.getOfflineDatabase()));
+            log.info("使用离线 IP 数据库解析访问地区：{}", databasePath);
+            return new OfflineIpLocaleResolver(databasePath);
+        }
+        IpLocaleResolver amapIpLocaleResolver = new AmapIpLocaleResolver(statsLocaleConfiguration.getAmapKey());
+        if (statsLocaleConfiguration.getCacheMaximumSize() <= 0) {
+            return amapIpLocaleResolver;
+        }
+        return new CachingIpLocaleResolver(amapIpLocaleResolver, statsLocaleConfiguration.getCacheMaximumSize(), statsLocaleConfiguration.getCacheTtl());
+    }
+
+    /**
+     * 内存映射需要真实文件，打包在 Jar 内的数据库先复制到临时文件
+     */
+    private Path resolveDatabasePath(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            return resource.getFile().toPath();
+        }
+        Path tempFile = Files.createTempFile("ip-locale-", ".db");
+        tempFile.toFile().deleteOnExit();
+        try (InputStream inputStream = resource.getInputStream()) {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return tempFile;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接创建配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.create")
+public class ShortLinkCreateConfiguration implements InitializingBean {
+
+    /**
+     * 短链接后缀生成方式，hash：哈希后通过布隆过滤器判重，segment：号段分配序列号编码
+     */
+    private String suffixMode = "hash";
+
+    /**
+     * 每次从 Redis 租用的号段大小
+     */
+    private Integer segmentStep = 1000;
+
+    /**
+     * 当前号段剩余比例低于该值时异步预取下一号段，单位：百分比
+     */
+    private Integer segmentPrefetchPercent = 20;
+
+    /**
+     * 是否置乱序列号，避免后缀连续可被遍历
+     */
+    private Boolean scramble = Boolean.TRUE;
+
+    /**
+     * 置乱密钥，上线后不可修改，否则可能与已生成的后缀冲突；不提供默认值，号段模式开启置乱时必须配置，
+     * 公开的密钥可以由后缀反推序列号
+     */
+    private Long scrambleSalt;
+
+    /**
+     * 批量创建时每片处理的短链接数量，每片一次批量写库并流式返回结果
+     */
+    private Integer batchChunkSize = 500;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (isSegmentMode() && scramble && scrambleSalt == null) {
+            throw new IllegalStateException("号段模式开启置乱时必须配置置乱密钥 short-link.create.scramble-salt");
+        }
+    }
+
+    public boolean isSegmentMode() {
+        return "segment".equalsIgnoreCase(suffixMode);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接分组访问排行榜配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.rank")
+public class ShortLinkRankConfiguration {
+
+    /**
+     * 是否使用 Redis 排行榜分页查询按访问数排序的短链接
+     */
+    private Boolean enable = Boolean.FALSE;
+
+    /**
+     * 累计访问排行榜有效时间，单位：秒，过期后按数据库重建以修正偏差
+     */
+    private Long totalTtl = 86400L;
+
+    /**
+     * 按天访问排行榜有效时间，单位：秒
+     */
+    private Long dailyTtl = 172800L;
+
+    /**
+     * 分组排行榜空标记有效时间，单位：秒，分组新增短链接时提前删除
+     */
+    private Long emptyTtl = 300L;
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接访问日志冷热分层配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.archive")
+public class StatsArchiveConfiguration {
+
+    /**
+     * 是否开启访问日志归档，开启后超过热数据保留天数的访问日志压缩为列式分段文件并从 MySQL 删除
+     */
+    private Boolean enable = Boolean.FALSE;
+
+    /**
+     * MySQL 中保留的访问日志天数，包含当天
+     */
+    private Integer hotDays = 7;
+
+    /**
+     * 分段文件目录，开启归档时必须显式配置，多个节点部署时需挂载为共享目录，
+     * 归档后的访问日志只保存在该目录中，不能指向随实例销毁的本地临时目录
+     */
+    private String directory;
+
+    /**
+     * 归档任务执行间隔，单位：毫秒
+     */
+    private Long checkInterval = 3600000L;
+
+    /**
+     * 归档时每批读取的访问日志条数
+     */
+    private Integer fetchBatchSize = 5000;
+
+    /**
+     * 单个分段文件最多包含的访问日志条数，限制归档与查询时单个分段占用的内存
+     */
+    private Integer segmentMaxRows = 100000;
+
+    /**
+     * 归档后每批删除的访问日志条数，避免大事务与长时间锁表
+     */
+    private Integer deleteBatchSize = 2000;
+
+    /**
+     * 访问日志表是否已按天分区，开启后维护未来分区，归档后直接删除分区
+     */
+    private Boolean partitionEnable = Boolean.FALSE;
+
+    /**
+     * 预先创建的未来分区天数
+     */
+    private Integer partitionPreCreateDays = 7;
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接监控消息消费者配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.consumer")
+public class StatsConsumerConfiguration {
+
+    /**
+     * 消费模式，single：逐条消费，batch：批量拉取并在内存中预聚合后批量写库
+     */
+    private String mode = "single";
+
+    /**
+     * 批量模式单次消费最大消息数
+     */
+    private Integer batchSize = 256;
+
+    /**
+     * 批量模式单次拉取最大消息数
+     */
+    private Integer pullBatchSize = 512;
+
+    /**
+     * 批量模式最小消费线程数
+     */
+    private Integer consumeThreadMin = 4;
+
+    /**
+     * 批量模式最大消费线程数
+     */
+    private Integer consumeThreadMax = 8;
+
+    /**
+     * 消息消费中状态有效时间，单位：秒，消费者异常退出未释放时到期后允许重新消费
+     */
+    private Long consumingTtl = 600L;
+
+    /**
+     * 消息已消费状态有效时间，单位：秒
+     */
+    private Long accomplishedTtl = 3600L;
+
+    /**
+     * 本地已消费消息 Key 最大数量，重复投递命中时不访问 Redis
+     */
+    private Long localAccomplishedSize = 100000L;
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接访问计数异步回写配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.counter")
+public class StatsCounterConfiguration {
+
+    /**
+     * 是否维护短链接累计访问数与今日访问数
+     */
+    private Boolean enable = Boolean.TRUE;
+
+    /**
+     * 内存计数回写数据库间隔，单位：毫秒
+     */
+    private Long flushInterval = 1000L;
+
+    /**
+     * 单条批量 SQL 最多包含的短链接数量
+     */
+    private Integer flushBatchSize = 500;
+}
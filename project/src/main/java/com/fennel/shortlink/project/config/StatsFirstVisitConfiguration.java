@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接访客首次访问索引配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.first-visit")
+public class StatsFirstVisitConfiguration {
+
+    /**
+     * 是否由监控消息消费者维护访客首次访问索引
+     */
+    private Boolean writeEnable = Boolean.FALSE;
+
+    /**
+     * 新老访客判断是否从首次访问索引读取，需在索引写入并回填历史访问日志后开启
+     */
+    private Boolean readEnable = Boolean.FALSE;
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接监控分组路由配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.gid-route")
+public class StatsGidRouteConfiguration {
+
+    /**
+     * 检查路由版本号并补偿迟到统计的间隔，单位：毫秒，发布订阅通知丢失时最迟在该间隔后生效，小于等于 0 时不定期检查
+     */
+    private Long refreshInterval = 5000L;
+
+    /**
+     * 修改分组后延迟补偿的时间，单位：毫秒，需大于消息消费耗时、访问计数回写间隔与路由检查间隔之和。
+     * 补偿按迟到访问日志迁移各维度统计、按天汇总与首次访问索引，访问统计中的 UV、UIP、原分组按天汇总的 UV、UIP 估算
+     * 与原分组维度的首次访问索引无法按访问日志还原，仍计入原分组
+     */
+    private Long reconcileDelay = 60000L;
+
+    /**
+     * 分组路由保留时间，单位：秒，需大于监控消息最长重试时间
+     */
+    private Long routeTtl = 604800L;
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接访问地区解析配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.locale")
+public class StatsLocaleConfiguration {
+
+    /**
+     * 高德开放平台 Key
+     */
+    private String amapKey;
+
+    /**
+     * 地区解析器，amap：高德开放平台接口，offline：本地离线 IP 数据库
+     */
+    private String resolver = "amap";
+
+    /**
+     * 离线 IP 数据库文件，支持 classpath: 前缀
+     */
+    private String offlineDatabase = "classpath:ip/ip-locale-sample.db";
+
+    /**
+     * 高德解析结果本地缓存最大条目数，小于等于 0 时不开启缓存
+     */
+    private Long cacheMaximumSize = 100000L;
+
+    /**
+     * 高德解析结果本地缓存有效时间，单位：秒
+     */
+    private Long cacheTtl = 86400L;
+}
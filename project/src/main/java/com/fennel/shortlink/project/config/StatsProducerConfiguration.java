@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接监控消息生产者配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.producer")
+public class StatsProducerConfiguration {
+
+    /**
+     * 发送模式，sync：请求线程同步发送，async：写入本地环形队列后由后台线程批量发送
+     */
+    private String mode = "sync";
+
+    /**
+     * 异步模式环形队列容量
+     */
+    private Integer bufferSize = 65536;
+
+    /**
+     * 异步模式单批次最大消息数
+     */
+    private Integer batchSize = 256;
+
+    /**
+     * 异步模式批次最长等待时间，单位：毫秒
+     */
+    private Long maxBatchDelay = 100L;
+
+    /**
+     * 批量发送超时时间，单位：毫秒
+     */
+    private Long sendTimeout = 3000L;
+
+    /**
+     * 队列溢出或发送失败时的处理策略，drop：丢弃并计数，spill：追加写入本地磁盘，待 Broker 恢复后重放
+     */
+    private String overflowPolicy = "drop";
+
+    /**
+     * 本地溢出文件路径
+     */
+    private String spillPath = "./data/stats-producer-spill.log";
+
+    /**
+     * 判断是否异步发送模式
+     */
+    public boolean isAsyncMode() {
+        return "async".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 判断是否溢出落盘策略
+     */
+    public boolean isSpillPolicy() {
+        return "spill".equalsIgnoreCase(overflowPolicy);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接监控查询配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.query")
+public class StatsQueryConfiguration {
+
+    /**
+     * 是否并发执行监控面板各维度查询
+     */
+    private Boolean concurrentEnable = Boolean.FALSE;
+
+    /**
+     * 是否优先使用虚拟线程执行查询，仅 JDK 21 及以上生效，否则退化为固定大小线程池
+     */
+    private Boolean virtualThreads = Boolean.TRUE;
+
+    /**
+     * 查询并发上限，线程池大小与虚拟线程同时执行的查询数均受此限制，建议不超过数据库连接池大小
+     */
+    private Integer poolSize = 32;
+
+    /**
+     * 查询线程池队列容量，队列满时拒绝查询并提示繁忙
+     */
+    private Integer queueCapacity = 256;
+
+    /**
+     * 单次监控请求整体超时时间，单位：毫秒，同时作为各条 SQL 的语句超时上限
+     */
+    private Long timeout = 3000L;
+}
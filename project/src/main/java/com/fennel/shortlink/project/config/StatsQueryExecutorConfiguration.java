@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 短链接监控查询线程池配置
+ * <p>
+ * 虚拟线程与固定大小线程池使用相同的并发上限与排队容量，超出时拒绝提交，由调用方返回繁忙而不是占用请求线程执行
+ */
+@Slf4j
+@Configuration
+public class StatsQueryExecutorConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService statsQueryExecutor(StatsQueryConfiguration statsQueryConfiguration) {
+        if (statsQueryConfiguration.getVirtualThreads()) {
+            try {
+                // 编译目标为 JDK 17，通过反射在 JDK 21 及以上运行时启用虚拟线程
+                ExecutorService executorService = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("短链接监控查询使用虚拟线程执行");
+                return new BoundedExecutorService(executorService, statsQueryConfiguration.getPoolSize(), statsQueryConfiguration.getQueueCapacity());
+            } catch (ReflectiveOperationException ignored) {
+            }
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                statsQueryConfiguration.getPoolSize(),
+                statsQueryConfiguration.getPoolSize(),
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(statsQueryConfiguration.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "short-link-stats-query-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 限制并发数的执行器，每个任务仍由独立虚拟线程执行，但同时执行的查询不超过并发上限，等待执行的任务不超过排队容量
+     */
+    static final class BoundedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        /**
+         * 执行中与等待执行的任务总数
+         */
+        private final Semaphore admissionPermits;
+
+        /**
+         * 执行中的任务数，避免虚拟线程同时发起的查询超过数据库连接池大小
+         */
+        private final Semaphore runningPermits;
+
+        BoundedExecutorService(ExecutorService delegate, int concurrency, int queueCapacity) {
+            this.delegate = delegate;
+            this.admissionPermits = new Semaphore(concurrency + queueCapacity);
+            this.runningPermits = new Semaphore(concurrency);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!admissionPermits.tryAcquire()) {
+                throw new RejectedExecutionException("监控查询任务已达排队上限");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        runningPermits.acquire();
+                        try {
+                            command.run();
+                        } finally {
+                            runningPermits.release();
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        admissionPermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                admissionPermits.release();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
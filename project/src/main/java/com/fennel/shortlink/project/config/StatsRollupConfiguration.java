@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接按天汇总统计配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.rollup")
+public class StatsRollupConfiguration {
+
+    /**
+     * 是否由监控消息消费者维护按天汇总统计
+     */
+    private Boolean writeEnable = Boolean.FALSE;
+
+    /**
+     * 监控接口是否从按天汇总统计读取 PV、UV、UIP、高频 IP 与新老访客数据，
+     * 查询范围早于汇总写入完整覆盖的起始日期时仍回源访问日志查询
+     */
+    private Boolean readEnable = Boolean.FALSE;
+
+    /**
+     * 单条消费模式下内存增量合并写入按天汇总统计的间隔，单位：毫秒
+     */
+    private Long flushInterval = 1000L;
+}
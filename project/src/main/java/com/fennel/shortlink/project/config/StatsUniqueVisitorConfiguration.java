@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接独立访客与独立 IP 统计配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.unique-visitor")
+public class StatsUniqueVisitorConfiguration {
+
+    /**
+     * 统计模式，set：Redis Set 精确去重，hll：HyperLogLog 基数估算
+     */
+    private String mode = "set";
+
+    /**
+     * HyperLogLog 模式按天统计 Key 保留天数
+     */
+    private Integer dailyRetentionDays = 31;
+
+    /**
+     * HyperLogLog 模式下是否将历史 Set 迁移为 HyperLogLog 并删除
+     */
+    private Boolean migrateLegacySet = Boolean.FALSE;
+
+    /**
+     * 历史 Set 迁移时单次扫描数量
+     */
+    private Integer migrateScanCount = 500;
+
+    /**
+     * 判断是否 HyperLogLog 模式
+     */
+    public boolean isHllMode() {
+        return "hll".equalsIgnoreCase(mode);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 短链接接口请求执行方式配置
+ * <p>
+ * 虚拟线程模式下 Tomcat 仍由平台线程负责网络读写，请求处理交给虚拟线程，跳转链路上阻塞的 Redis、数据库与消息发送调用只挂起虚拟线程，
+ * 不再占用线程池中的平台线程；并发上限改由 Tomcat 最大连接数与数据库连接池约束
+ */
+@Slf4j
+@Configuration
+public class WebExecutionModeConfiguration {
+
+    private static final String VIRTUAL_MODE = "virtual";
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> shortLinkProtocolHandlerCustomizer(WebExecutionConfiguration webExecutionConfiguration) {
+        return protocolHandler -> {
+            if (!VIRTUAL_MODE.equals(webExecutionConfiguration.getMode())) {
+                return;
+            }
+            ExecutorService executorService = newVirtualThreadExecutor();
+            if (executorService == null) {
+                log.warn("当前运行时不支持虚拟线程，短链接接口请求继续使用平台线程池执行");
+                return;
+            }
+            protocolHandler.setExecutor(executorService);
+            log.info("短链接接口请求使用虚拟线程执行");
+        };
+    }
+
+    /**
+     * 编译目标为 JDK 17，通过反射在 JDK 21 及以上运行时创建带名称前缀的虚拟线程执行器
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "short-link-web-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ReflectiveOperationException ignored) {
+            return null;
+        }
+    }
+}
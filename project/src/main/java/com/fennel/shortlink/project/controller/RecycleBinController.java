@@ -23,7 +23,9 @@ import com.fennel.shortlink.project.common.convention.result.Results;
 import com.fennel.shortlink.project.dto.req.RecycleBinRecoverReqDTO;
 import com.fennel.shortlink.project.dto.req.RecycleBinRemoveReqDTO;
 import com.fennel.shortlink.project.dto.req.RecycleBinSaveReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkRecycleBinCursorPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkRecycleBinPageReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkPageRespDTO;
 import com.fennel.shortlink.project.service.RecycleBinService;
 import lombok.RequiredArgsConstructor;
@@ -58,6 +60,14 @@ public class RecycleBinController {
         return Results.success(recycleBinService.pageShortLink(requestParam));
     }
 
+    /**
+     * 游标分页查询回收站短链接
+     */
+    @GetMapping("/api/short-link/v1/recycle-bin/page/cursor")
+    public Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageShortLinkByCursor(ShortLinkRecycleBinCursorPageReqDTO requestParam) {
+        return Results.success(recycleBinService.pageShortLinkByCursor(requestParam));
+    }
+
     /**
      * 恢复短链接
      */
@@ -18,19 +18,26 @@
 package com.fennel.shortlink.project.controller;
 
 import com.alibaba.csp.sentinel.annotation.SentinelResource;
+import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.fennel.shortlink.project.common.convention.result.Result;
 import com.fennel.shortlink.project.common.convention.result.Results;
 import com.fennel.shortlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkCreateReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkCursorPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkUpdateReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkCreateRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkGroupCountQueryRespDTO;
+import com.fennel.shortlink.project.dto.resp.ShortLinkHotKeyRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkPageRespDTO;
+import com.fennel.shortlink.project.dto.resp.ShortLinkWarmUpRespDTO;
 import com.fennel.shortlink.project.handler.CustomBlockHandler;
+import com.fennel.shortlink.project.service.ShortLinkHotKeyService;
 import com.fennel.shortlink.project.service.ShortLinkService;
+import com.fennel.shortlink.project.service.ShortLinkWarmUpService;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -40,7 +47,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -51,6 +61,8 @@ import java.util.List;
 public class ShortLinkController {
 
     private final ShortLinkService shortLinkService;
+    private final ShortLinkWarmUpService shortLinkWarmUpService;
+    private final ShortLinkHotKeyService shortLinkHotKeyService;
 
     /**
      * 短链接跳转原始链接
@@ -89,6 +101,22 @@ public class ShortLinkController {
         return Results.success(shortLinkService.batchCreateShortLink(requestParam));
     }
 
+    /**
+     * 批量创建短链接，按分片以 NDJSON 流式返回每片创建结果
+     */
+    @PostMapping(value = "/api/short-link/v1/create/batch/stream", produces = "application/x-ndjson")
+    public StreamingResponseBody streamBatchCreateShortLink(@RequestBody ShortLinkBatchCreateReqDTO requestParam) {
+        return outputStream -> shortLinkService.batchCreateShortLink(requestParam, chunkResult -> {
+            try {
+                outputStream.write(JSON.toJSONBytes(chunkResult));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
     /**
      * 修改短链接
      */
@@ -106,6 +134,14 @@ public class ShortLinkController {
         return Results.success(shortLinkService.pageShortLink(requestParam));
     }
 
+    /**
+     * 游标分页查询短链接
+     */
+    @GetMapping("/api/short-link/v1/page/cursor")
+    public Result<CursorPageRespDTO<ShortLinkPageRespDTO>> pageShortLinkByCursor(ShortLinkCursorPageReqDTO requestParam) {
+        return Results.success(shortLinkService.pageShortLinkByCursor(requestParam));
+    }
+
     /**
      * 查询短链接分组内数量
      */
@@ -113,4 +149,20 @@ public class ShortLinkController {
     public Result<List<ShortLinkGroupCountQueryRespDTO>> listGroupShortLinkCount(@RequestParam("requestParam") List<String> requestParam) {
         return Results.success(shortLinkService.listGroupShortLinkCount(requestParam));
     }
+
+    /**
+     * 预热短链接跳转缓存，Redis 故障恢复后按需调用
+     */
+    @PostMapping("/api/short-link/v1/goto/warm-up")
+    public Result<ShortLinkWarmUpRespDTO> warmUpGotoCache() {
+        return Results.success(shortLinkWarmUpService.warmUp());
+    }
+
+    /**
+     * 查询当前节点的热点短链接
+     */
+    @GetMapping("/api/short-link/v1/goto/hot-keys")
+    public Result<List<ShortLinkHotKeyRespDTO>> listHotKeys() {
+        return Results.success(shortLinkHotKeyService.listHotKeys());
+    }
 }
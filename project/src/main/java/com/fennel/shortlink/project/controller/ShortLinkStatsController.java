@@ -20,10 +20,13 @@ package com.fennel.shortlink.project.controller;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.fennel.shortlink.project.common.convention.result.Result;
 import com.fennel.shortlink.project.common.convention.result.Results;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkStatsAccessRecordReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsAccessRecordRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsRespDTO;
 import com.fennel.shortlink.project.service.ShortLinkStatsService;
@@ -71,4 +74,20 @@ public class ShortLinkStatsController {
     public Result<IPage<ShortLinkStatsAccessRecordRespDTO>> groupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam) {
         return Results.success(shortLinkStatsService.groupShortLinkStatsAccessRecord(requestParam));
     }
+
+    /**
+     * 游标分页访问单个短链接指定时间内访问记录监控数据
+     */
+    @GetMapping("/api/short-link/v1/stats/access-record/cursor")
+    public Result<CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> shortLinkStatsAccessRecordByCursor(ShortLinkStatsAccessRecordCursorReqDTO requestParam) {
+        return Results.success(shortLinkStatsService.shortLinkStatsAccessRecordByCursor(requestParam));
+    }
+
+    /**
+     * 游标分页访问分组短链接指定时间内访问记录监控数据
+     */
+    @GetMapping("/api/short-link/v1/stats/access-record/group/cursor")
+    public Result<CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO>> groupShortLinkStatsAccessRecordByCursor(ShortLinkGroupStatsAccessRecordCursorReqDTO requestParam) {
+        return Results.success(shortLinkStatsService.groupShortLinkStatsAccessRecordByCursor(requestParam));
+    }
 }
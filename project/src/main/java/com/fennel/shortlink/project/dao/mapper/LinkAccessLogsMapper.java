@@ -22,9 +22,13 @@ import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
 import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
 import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -183,4 +187,141 @@ public interface LinkAccessLogsMapper extends BaseMapper<LinkAccessLogsDO> {
             "GROUP BY " +
             "    gid;")
     LinkAccessStatsDO findPvUvUidStatsByGroup(@Param("param") ShortLinkGroupStatsReqDTO requestParam);
+
+    /**
+     * 获取指定时间范围内PV、UV、UIP数据，完整短链接为空时统计分组下全部短链接
+     */
+    @Select("<script> " +
+            "SELECT " +
+            "    COUNT(user) AS pv, " +
+            "    COUNT(DISTINCT user) AS uv, " +
+            "    COUNT(DISTINCT ip) AS uip " +
+            "FROM " +
+            "    t_link_access_logs " +
+            "WHERE " +
+            "    gid = #{gid} " +
+            "    <if test='fullShortUrl != null'> AND full_short_url = #{fullShortUrl} </if> " +
+            "    AND create_time BETWEEN #{startTime} AND #{endTime} " +
+            "    AND del_flag = 0 " +
+            "GROUP BY " +
+            "    gid;" +
+            "</script>")
+    LinkAccessStatsDO findPvUvUipStats(@Param("gid") String gid,
+                                       @Param("fullShortUrl") String fullShortUrl,
+                                       @Param("startTime") Date startTime,
+                                       @Param("endTime") Date endTime);
+
+    /**
+     * 统计指定时间范围内出现过的给定访客数量
+     */
+    @Select("<script> " +
+            "SELECT " +
+            "    COUNT(DISTINCT user) " +
+            "FROM " +
+            "    t_link_access_logs " +
+            "WHERE " +
+            "    gid = #{gid} " +
+            "    <if test='fullShortUrl != null'> AND full_short_url = #{fullShortUrl} </if> " +
+            "    AND create_time BETWEEN #{startTime} AND #{endTime} " +
+            "    AND del_flag = 0 " +
+            "    AND user IN " +
+            "    <foreach item='item' collection='users' open='(' separator=',' close=')'> " +
+            "        #{item} " +
+            "    </foreach>" +
+            "</script>")
+    long countUsersIn(@Param("gid") String gid,
+                      @Param("fullShortUrl") String fullShortUrl,
+                      @Param("startTime") Date startTime,
+                      @Param("endTime") Date endTime,
+                      @Param("users") Collection<String> users);
+
+    /**
+     * 按 IP 统计指定时间范围内的访问次数
+     *
+     * @param ips   只统计给定 IP，为空时统计全部 IP
+     * @param limit 按访问次数倒序返回的条数，为空时返回全部
+     */
+    @Select("<script> " +
+            "SELECT " +
+            "    ip, " +
+            "    COUNT(ip) AS count " +
+            "FROM " +
+            "    t_link_access_logs " +
+            "WHERE " +
+            "    gid = #{gid} " +
+            "    <if test='fullShortUrl != null'> AND full_short_url = #{fullShortUrl} </if> " +
+            "    AND create_time BETWEEN #{startTime} AND #{endTime} " +
+            "    AND del_flag = 0 " +
+            "    AND ip IS NOT NULL " +
+            "    <if test='ips != null'> " +
+            "        AND ip IN " +
+            "        <foreach item='item' collection='ips' open='(' separator=',' close=')'> " +
+            "            #{item} " +
+            "        </foreach> " +
+            "    </if> " +
+            "GROUP BY " +
+            "    ip " +
+            "<if test='limit != null'> ORDER BY count DESC LIMIT #{limit} </if>" +
+            "</script>")
+    List<HashMap<String, Object>> listIpCount(@Param("gid") String gid,
+                                              @Param("fullShortUrl") String fullShortUrl,
+                                              @Param("startTime") Date startTime,
+                                              @Param("endTime") Date endTime,
+                                              @Param("ips") Collection<String> ips,
+                                              @Param("limit") Integer limit);
+
+    /**
+     * 按访客统计指定时间之后的最早与最晚访问时间
+     */
+    @Select("SELECT " +
+            "    user, " +
+            "    MIN(create_time) AS minTime, " +
+            "    MAX(create_time) AS maxTime " +
+            "FROM " +
+            "    t_link_access_logs " +
+            "WHERE " +
+            "    full_short_url = #{fullShortUrl} " +
+            "    AND gid = #{gid} " +
+            "    AND create_time >= #{startTime} " +
+            "    AND user IS NOT NULL " +
+            "GROUP BY " +
+            "    user;")
+    List<Map<String, Object>> listUserVisitSpan(@Param("gid") String gid,
+                                                @Param("fullShortUrl") String fullShortUrl,
+                                                @Param("startTime") Date startTime);
+
+    /**
+     * 获取最早的访问日志时间
+     */
+    @Select("SELECT MIN(create_time) FROM t_link_access_logs;")
+    Date findMinCreateTime();
+
+    /**
+     * 统计指定时间前 id 大于指定值的访问日志数量，用于判断归档期间是否有迟到日志写入
+     */
+    @Select("SELECT COUNT(*) FROM t_link_access_logs WHERE create_time < #{endTime} AND id > #{maxId};")
+    long countArrivedAfter(@Param("endTime") Date endTime, @Param("maxId") Long maxId);
+
+    /**
+     * 分批删除已归档的访问日志
+     */
+    @Delete("DELETE FROM t_link_access_logs WHERE create_time >= #{startTime} AND create_time < #{endTime} AND id <= #{maxId} LIMIT #{limit};")
+    int deleteArchived(@Param("startTime") Date startTime, @Param("endTime") Date endTime, @Param("maxId") Long maxId, @Param("limit") int limit);
+
+    /**
+     * 从最大值分区拆分出按天分区
+     *
+     * @param partitionName 分区名称，格式为 pyyyyMMdd
+     * @param lessThan      分区上界，格式为 yyyy-MM-dd
+     */
+    @Update("ALTER TABLE t_link_access_logs REORGANIZE PARTITION p_max INTO (PARTITION ${partitionName} VALUES LESS THAN ('${lessThan}'), PARTITION p_max VALUES LESS THAN (MAXVALUE));")
+    void addPartition(@Param("partitionName") String partitionName, @Param("lessThan") String lessThan);
+
+    /**
+     * 删除按天分区
+     *
+     * @param partitionName 分区名称，格式为 pyyyyMMdd
+     */
+    @Update("ALTER TABLE t_link_access_logs DROP PARTITION ${partitionName};")
+    void dropPartition(@Param("partitionName") String partitionName);
 }
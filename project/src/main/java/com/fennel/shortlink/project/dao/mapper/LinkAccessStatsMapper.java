@@ -25,6 +25,7 @@ import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -41,6 +42,36 @@ public interface LinkAccessStatsMapper extends BaseMapper<LinkAccessStatsDO> {
             "uip = uip + #{linkAccessStats.uip};")
     void shortLinkStats(@Param("linkAccessStats") LinkAccessStatsDO linkAccessStatsDO);
 
+    /**
+     * 批量记录基础访问监控数据，相同唯一键累加计数
+     */
+    @Insert({"<script>",
+            "INSERT INTO t_link_access_stats (full_short_url, gid, date, pv, uv, uip, hour, weekday, create_time, update_time, del_flag) VALUES ",
+            "<foreach collection='list' item='item' separator=','>",
+            "(#{item.fullShortUrl}, #{item.gid}, #{item.date}, #{item.pv}, #{item.uv}, #{item.uip}, #{item.hour}, #{item.weekday}, NOW(), NOW(), 0)",
+            "</foreach>",
+            " ON DUPLICATE KEY UPDATE pv = pv + VALUES(pv), uv = uv + VALUES(uv), uip = uip + VALUES(uip), update_time = NOW()",
+            "</script>"})
+    void shortLinkStatsBatch(@Param("list") List<LinkAccessStatsDO> linkAccessStatsList);
+
+    /**
+     * 获取指定日期之后访问量最高的短链接
+     */
+    @Select("SELECT " +
+            "    full_short_url, " +
+            "    gid, " +
+            "    SUM(pv) AS pv " +
+            "FROM " +
+            "    t_link_access_stats " +
+            "WHERE " +
+            "    date >= #{startDate} " +
+            "GROUP BY " +
+            "    full_short_url, gid " +
+            "ORDER BY " +
+            "    pv DESC " +
+            "LIMIT #{limit};")
+    List<LinkAccessStatsDO> listTopPvShortLink(@Param("startDate") Date startDate, @Param("limit") int limit);
+
     /**
      * 根据短链接获取指定日期内基础监控数据
      */
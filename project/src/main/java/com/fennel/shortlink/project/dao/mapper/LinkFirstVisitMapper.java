@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.fennel.shortlink.project.dao.entity.LinkFirstVisitDO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 访客首次访问索引持久层
+ */
+public interface LinkFirstVisitMapper extends BaseMapper<LinkFirstVisitDO> {
+
+    /**
+     * 批量合并访客访问时间，消息乱序时取最早与最晚时间，任一访问日期与首次访问日期不同即标记为多日访问
+     */
+    @Insert({"<script>",
+            "INSERT INTO t_link_first_visit (full_short_url, gid, user, first_visit_time, last_visit_time, multi_day, create_time, update_time, del_flag) VALUES ",
+            "<foreach collection='list' item='item' separator=','>",
+            "(#{item.fullShortUrl}, #{item.gid}, #{item.user}, #{item.firstVisitTime}, #{item.lastVisitTime}, #{item.multiDay}, NOW(), NOW(), 0)",
+            "</foreach>",
+            " ON DUPLICATE KEY UPDATE ",
+            "multi_day = IF(multi_day = 1 OR VALUES(multi_day) = 1 OR DATE(VALUES(first_visit_time)) &lt;&gt; DATE(first_visit_time) OR DATE(VALUES(last_visit_time)) &lt;&gt; DATE(first_visit_time), 1, 0), ",
+            "first_visit_time = LEAST(first_visit_time, VALUES(first_visit_time)), ",
+            "last_visit_time = GREATEST(last_visit_time, VALUES(last_visit_time)), ",
+            "update_time = NOW()",
+            "</script>"})
+    void saveFirstVisitBatch(@Param("list") List<LinkFirstVisitDO> linkFirstVisitList);
+
+    /**
+     * 获取用户信息是否新老访客，完整短链接为空字符串时按分组判断
+     */
+    @Select("<script> " +
+            "SELECT " +
+            "    user, " +
+            "    CASE " +
+            "        WHEN first_visit_time BETWEEN #{startDate} AND #{endDate} THEN '新访客' " +
+            "        ELSE '老访客' " +
+            "    END AS uvType " +
+            "FROM " +
+            "    t_link_first_visit " +
+            "WHERE " +
+            "    full_short_url = #{fullShortUrl} " +
+            "    AND gid = #{gid} " +
+            "    AND user IN " +
+            "    <foreach item='item' index='index' collection='userAccessLogsList' open='(' separator=',' close=')'> " +
+            "        #{item} " +
+            "    </foreach>;" +
+            "    </script>"
+    )
+    List<Map<String, Object>> selectUvTypeByUsers(
+            @Param("gid") String gid,
+            @Param("fullShortUrl") String fullShortUrl,
+            @Param("startDate") String startDate,
+            @Param("endDate") String endDate,
+            @Param("userAccessLogsList") List<String> userAccessLogsList
+    );
+
+    /**
+     * 根据短链接获取指定日期内新旧访客数据
+     */
+    @Select("SELECT " +
+            "    SUM(CASE WHEN multi_day = 1 THEN 1 ELSE 0 END) AS oldUserCnt, " +
+            "    SUM(CASE WHEN multi_day = 0 AND last_visit_time >= #{param.startDate} AND last_visit_time <= #{param.endDate} THEN 1 ELSE 0 END) AS newUserCnt " +
+            "FROM " +
+            "    t_link_first_visit " +
+            "WHERE " +
+            "    full_short_url = #{param.fullShortUrl} " +
+            "    AND gid = #{param.gid};")
+    HashMap<String, Object> findUvTypeCntByShortLink(@Param("param") ShortLinkStatsReqDTO requestParam);
+}
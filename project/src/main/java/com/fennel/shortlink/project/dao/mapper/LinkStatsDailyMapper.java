@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.fennel.shortlink.project.dao.entity.LinkStatsDailyDO;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 短链接按天汇总统计持久层
+ */
+public interface LinkStatsDailyMapper extends BaseMapper<LinkStatsDailyDO> {
+
+    /**
+     * 初始化按天汇总记录，已存在时忽略
+     */
+    @Insert("INSERT IGNORE INTO t_link_stats_daily (full_short_url, gid, date, pv, new_uv, create_time, update_time, del_flag) " +
+            "VALUES( #{fullShortUrl}, #{gid}, #{date}, 0, 0, NOW(), NOW(), 0);")
+    void initStatsDaily(@Param("fullShortUrl") String fullShortUrl, @Param("gid") String gid, @Param("date") Date date);
+
+    /**
+     * 加锁查询按天汇总记录
+     */
+    @Select("SELECT " +
+            "    * " +
+            "FROM " +
+            "    t_link_stats_daily " +
+            "WHERE " +
+            "    full_short_url = #{fullShortUrl} " +
+            "    AND gid = #{gid} " +
+            "    AND date = #{date} " +
+            "FOR UPDATE;")
+    LinkStatsDailyDO selectForUpdate(@Param("fullShortUrl") String fullShortUrl, @Param("gid") String gid, @Param("date") Date date);
+
+    /**
+     * 更新合并后的按天汇总记录
+     */
+    @Update("UPDATE t_link_stats_daily SET " +
+            "    pv = #{statsDaily.pv}, " +
+            "    new_uv = #{statsDaily.newUv}, " +
+            "    uv_sketch = #{statsDaily.uvSketch}, " +
+            "    uip_sketch = #{statsDaily.uipSketch}, " +
+            "    top_ip = #{statsDaily.topIp}, " +
+            "    update_time = NOW() " +
+            "WHERE " +
+            "    id = #{statsDaily.id};")
+    void updateStatsDaily(@Param("statsDaily") LinkStatsDailyDO linkStatsDailyDO);
+
+    /**
+     * 根据短链接获取指定日期内按天汇总数据
+     */
+    @Select("SELECT " +
+            "    * " +
+            "FROM " +
+            "    t_link_stats_daily " +
+            "WHERE " +
+            "    full_short_url = #{param.fullShortUrl} " +
+            "    AND gid = #{param.gid} " +
+            "    AND date BETWEEN #{param.startDate} and #{param.endDate};")
+    List<LinkStatsDailyDO> listStatsDailyByShortLink(@Param("param") ShortLinkStatsReqDTO requestParam);
+
+    /**
+     * 根据分组获取指定日期内按天汇总数据
+     */
+    @Select("SELECT " +
+            "    * " +
+            "FROM " +
+            "    t_link_stats_daily " +
+            "WHERE " +
+            "    full_short_url = '' " +
+            "    AND gid = #{param.gid} " +
+            "    AND date BETWEEN #{param.startDate} and #{param.endDate};")
+    List<LinkStatsDailyDO> listStatsDailyByGroup(@Param("param") ShortLinkGroupStatsReqDTO requestParam);
+}
@@ -24,6 +24,9 @@ import com.fennel.shortlink.project.dto.req.ShortLinkPageReqDTO;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Date;
+import java.util.List;
+
 /**
  * 短链接持久层
  */
@@ -45,4 +48,19 @@ public interface ShortLinkMapper extends BaseMapper<ShortLinkDO> {
      * 分页统计短链接
      */
     IPage<ShortLinkDO> pageLink(ShortLinkPageReqDTO requestParam);
+
+    /**
+     * 游标分页查询短链接
+     *
+     * @param gid        分组标识
+     * @param cursorTime 上一页最后一条记录的创建时间，首页为空
+     * @param cursorId   上一页最后一条记录的 id，首页为空
+     * @param limit      查询条数
+     */
+    List<ShortLinkDO> cursorPageLink(
+            @Param("gid") String gid,
+            @Param("cursorTime") Date cursorTime,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
+    );
 }
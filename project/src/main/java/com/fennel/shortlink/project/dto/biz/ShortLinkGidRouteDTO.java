@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.dto.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接分组路由
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkGidRouteDTO {
+
+    /**
+     * 原分组标识
+     */
+    private String originGid;
+
+    /**
+     * 当前分组标识
+     */
+    private String gid;
+
+    /**
+     * 路由版本号，全局递增
+     */
+    private Long epoch;
+
+    /**
+     * 原分组短链接记录的删除时间戳
+     */
+    private Long delTime;
+
+    /**
+     * 迁移时复制到新记录的累计访问量
+     */
+    private Integer totalPv;
+
+    /**
+     * 迁移时复制到新记录的累计独立访客数
+     */
+    private Integer totalUv;
+
+    /**
+     * 迁移时复制到新记录的累计独立 IP 数
+     */
+    private Integer totalUip;
+
+    /**
+     * 修改分组时间戳
+     */
+    private Long movedTime;
+
+    /**
+     * 迟到统计是否已补偿到当前分组
+     */
+    private Boolean reconciled;
+}
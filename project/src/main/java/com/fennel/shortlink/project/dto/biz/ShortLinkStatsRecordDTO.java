@@ -22,6 +22,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Date;
+
 /**
  * 短链接统计实体
  */
@@ -36,6 +38,11 @@ public class ShortLinkStatsRecordDTO {
      */
     private String fullShortUrl;
 
+    /**
+     * 分组标识
+     */
+    private String gid;
+
     /**
      * 访问用户IP
      */
@@ -76,6 +83,11 @@ public class ShortLinkStatsRecordDTO {
      */
     private Boolean uipFirstFlag;
 
+    /**
+     * 访问时间
+     */
+    private Date currentDate;
+
     /**
      * 消息队列唯一标识
      */
@@ -42,4 +42,14 @@ public class ShortLinkBatchCreateRespDTO {
      * 批量创建返回参数
      */
     private List<ShortLinkBaseInfoRespDTO> baseLinkInfos;
+
+    /**
+     * 失败数量
+     */
+    private Integer failTotal;
+
+    /**
+     * 创建失败明细
+     */
+    private List<ShortLinkBatchCreateFailRespDTO> failLinkInfos;
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.initialize;
+
+import com.fennel.shortlink.project.config.GotoWarmUpConfiguration;
+import com.fennel.shortlink.project.service.ShortLinkWarmUpService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 服务启动时预热短链接跳转缓存
+ * 启动阶段的 ApplicationRunner 执行完成后 Spring Boot 才发布就绪状态，预热完成前就绪探针不会通过
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoWarmUpTask implements ApplicationRunner {
+
+    private final GotoWarmUpConfiguration gotoWarmUpConfiguration;
+    private final ShortLinkWarmUpService shortLinkWarmUpService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!gotoWarmUpConfiguration.getEnable()) {
+            return;
+        }
+        try {
+            shortLinkWarmUpService.warmUp();
+        } catch (Throwable ex) {
+            // 预热失败不阻止服务启动，未预热的短链接由跳转请求按需回源
+            log.error("短链接跳转缓存启动预热失败", ex);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.initialize;
+
+import com.fennel.shortlink.project.config.StatsUniqueVisitorConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_STATS_UNIQUE_VISITOR_MIGRATE_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_HLL_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_HLL_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_KEY;
+
+/**
+ * 历史独立访客 Set 迁移为 HyperLogLog
+ * 后台线程逐个扫描历史 Set，分批写入对应短链接的全量 HyperLogLog 后删除原 Set，多节点通过分布式锁保证只有一个节点执行
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsUniqueVisitorMigrateTask implements InitializingBean {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedissonClient redissonClient;
+    private final StatsUniqueVisitorConfiguration statsUniqueVisitorConfiguration;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!statsUniqueVisitorConfiguration.isHllMode() || !statsUniqueVisitorConfiguration.getMigrateLegacySet()) {
+            return;
+        }
+        Thread migrateThread = new Thread(this::migrate, "short-link_stats-unique-visitor-migrate");
+        migrateThread.setDaemon(true);
+        migrateThread.start();
+    }
+
+    private void migrate() {
+        RLock lock = redissonClient.getLock(LOCK_STATS_UNIQUE_VISITOR_MIGRATE_KEY);
+        if (!lock.tryLock()) {
+            log.info("其他节点正在迁移历史独立访客 Set，本节点跳过");
+            return;
+        }
+        try {
+            long uvCount = migratePrefix(SHORT_LINK_STATS_UV_KEY, SHORT_LINK_STATS_UV_HLL_KEY);
+            long uipCount = migratePrefix(SHORT_LINK_STATS_UIP_KEY, SHORT_LINK_STATS_UIP_HLL_KEY);
+            log.info("历史独立访客 Set 迁移完成，UV Set 数量：{}，UIP Set 数量：{}", uvCount, uipCount);
+        } catch (Throwable ex) {
+            log.error("历史独立访客 Set 迁移异常", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long migratePrefix(String setKeyPrefix, String hllKeyFormat) {
+        long migratedCount = 0L;
+        ScanOptions keyScanOptions = ScanOptions.scanOptions().match(setKeyPrefix + "*").count(statsUniqueVisitorConfiguration.getMigrateScanCount()).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(keyScanOptions)) {
+            while (cursor.hasNext()) {
+                String setKey = cursor.next();
+                migrateSet(setKey, String.format(hllKeyFormat, setKey.substring(setKeyPrefix.length())));
+                migratedCount++;
+            }
+        }
+        return migratedCount;
+    }
+
+    private void migrateSet(String setKey, String hllKey) {
+        int scanCount = statsUniqueVisitorConfiguration.getMigrateScanCount();
+        List<String> members = new ArrayList<>(scanCount);
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(setKey, ScanOptions.scanOptions().count(scanCount).build())) {
+            while (cursor.hasNext()) {
+                members.add(cursor.next());
+                if (members.size() >= scanCount) {
+                    stringRedisTemplate.opsForHyperLogLog().add(hllKey, members.toArray(String[]::new));
+                    members.clear();
+                }
+            }
+        }
+        if (!members.isEmpty()) {
+            stringRedisTemplate.opsForHyperLogLog().add(hllKey, members.toArray(String[]::new));
+        }
+        stringRedisTemplate.unlink(setKey);
+    }
+}
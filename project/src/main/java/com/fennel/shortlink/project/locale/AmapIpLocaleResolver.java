@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.locale;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.HttpUtil;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.AMAP_REMOTE_URL;
+
+/**
+ * 高德开放平台 IP 地区解析器
+ * 远程调用失败时直接抛出异常，由调用方决定是否重试，避免缓存装饰类把瞬时故障当作无法解析缓存下来
+ */
+@RequiredArgsConstructor
+public class AmapIpLocaleResolver implements IpLocaleResolver {
+
+    private static final String UNKNOWN = "未知";
+
+    private final String amapKey;
+
+    @Override
+    public IpLocale resolve(String ip) {
+        Map<String, Object> localeParamMap = new HashMap<>();
+        localeParamMap.put("key", amapKey);
+        localeParamMap.put("ip", ip);
+        JSONObject localeResultObj = JSON.parseObject(HttpUtil.get(AMAP_REMOTE_URL, localeParamMap));
+        if (localeResultObj == null || !StrUtil.equals(localeResultObj.getString("infocode"), "10000")) {
+            return null;
+        }
+        String province = localeResultObj.getString("province");
+        if (StrUtil.equals(province, "[]")) {
+            return new IpLocale("中国", UNKNOWN, UNKNOWN, UNKNOWN);
+        }
+        return new IpLocale("中国", province, localeResultObj.getString("city"), localeResultObj.getString("adcode"));
+    }
+}
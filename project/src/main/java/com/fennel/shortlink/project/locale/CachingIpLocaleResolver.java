@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.locale;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带本地缓存的 IP 地区解析器装饰类，无法解析的 IP 同样缓存，避免重复请求远程接口
+ */
+public class CachingIpLocaleResolver implements IpLocaleResolver {
+
+    private final IpLocaleResolver delegate;
+    private final Cache<String, Optional<IpLocale>> localeCache;
+
+    public CachingIpLocaleResolver(IpLocaleResolver delegate, long maximumSize, long ttlSeconds) {
+        this.delegate = delegate;
+        this.localeCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public IpLocale resolve(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        return localeCache.get(ip, each -> Optional.ofNullable(delegate.resolve(each))).orElse(null);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.locale;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 离线 IP 地区数据库构建工具
+ * 输入为 CSV 文件，每行格式：起始IP,结束IP,国家,省份,城市,城市编码，以 # 开头的行为注释
+ * 输出文件格式（大端序）：
+ * <pre>
+ * int 魔数 | int 版本 | int 地区数量 | int IP 段数量
+ * 地区表：每个地区依次为国家、省份、城市、城市编码，字符串以 unsigned short 长度 + UTF-8 字节存储
+ * int[IP 段数量] 起始 IP | int[IP 段数量] 结束 IP | int[IP 段数量] 地区下标，按起始 IP 无符号升序
+ * </pre>
+ * 用法：java IpLocaleDatabaseBuilder &lt;csv&gt; &lt;db&gt;
+ */
+public final class IpLocaleDatabaseBuilder {
+
+    static final int MAGIC = 0x534C4950;
+    static final int VERSION = 1;
+
+    private IpLocaleDatabaseBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: IpLocaleDatabaseBuilder <csv> <db>");
+            System.exit(1);
+        }
+        build(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * 将 CSV 格式 IP 段数据构建为离线数据库文件
+     */
+    public static void build(Path csvPath, Path databasePath) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        List<IpLocale> locales = new ArrayList<>();
+        Map<IpLocale, Integer> localeIndexMap = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                if (columns.length != 6) {
+                    throw new IOException("Illegal column count at line " + lineNumber);
+                }
+                long startIp = OfflineIpLocaleResolver.parseIpv4(columns[0].trim());
+                long endIp = OfflineIpLocaleResolver.parseIpv4(columns[1].trim());
+                if (startIp < 0 || endIp < 0 || startIp > endIp) {
+                    throw new IOException("Illegal ip range at line " + lineNumber);
+                }
+                IpLocale locale = new IpLocale(columns[2].trim(), columns[3].trim(), columns[4].trim(), columns[5].trim());
+                Integer localeIndex = localeIndexMap.computeIfAbsent(locale, each -> {
+                    locales.add(each);
+                    return locales.size() - 1;
+                });
+                ranges.add(new long[]{startIp, endIp, localeIndex});
+            }
+        }
+        ranges.sort(Comparator.comparingLong(each -> each[0]));
+        for (int i = 1; i < ranges.size(); i++) {
+            if (ranges.get(i)[0] <= ranges.get(i - 1)[1]) {
+                throw new IOException("Overlapping ip range starting at " + ranges.get(i)[0]);
+            }
+        }
+        Path parent = databasePath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream outputStream = Files.newOutputStream(databasePath);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(locales.size());
+            output.writeInt(ranges.size());
+            for (IpLocale each : locales) {
+                writeString(output, each.country());
+                writeString(output, each.province());
+                writeString(output, each.city());
+                writeString(output, each.adcode());
+            }
+            for (long[] each : ranges) {
+                output.writeInt((int) each[0]);
+            }
+            for (long[] each : ranges) {
+                output.writeInt((int) each[1]);
+            }
+            for (long[] each : ranges) {
+                output.writeInt((int) each[2]);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+}
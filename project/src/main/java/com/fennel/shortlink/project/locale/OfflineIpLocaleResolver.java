@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.locale;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 离线 IP 地区解析器
+ * 将 IP 段数据库文件内存映射为按起始地址有序的 int 数组，通过二分查找定位 IP 段，地区结果在加载时预先构建，查询过程不产生对象分配
+ * 数据库文件格式见 {@link IpLocaleDatabaseBuilder}
+ */
+public class OfflineIpLocaleResolver implements IpLocaleResolver {
+
+    private final IpLocale[] locales;
+    private final IntBuffer startIps;
+    private final IntBuffer endIps;
+    private final IntBuffer localeIndexes;
+    private final int rangeCount;
+
+    public OfflineIpLocaleResolver(Path databasePath) throws IOException {
+        MappedByteBuffer mappedBuffer;
+        try (FileChannel channel = FileChannel.open(databasePath, StandardOpenOption.READ)) {
+            mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mappedBuffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.getInt() != IpLocaleDatabaseBuilder.MAGIC || buffer.getInt() != IpLocaleDatabaseBuilder.VERSION) {
+            throw new IOException("Unsupported ip locale database: " + databasePath);
+        }
+        int localeCount = buffer.getInt();
+        rangeCount = buffer.getInt();
+        locales = new IpLocale[localeCount];
+        for (int i = 0; i < localeCount; i++) {
+            locales[i] = new IpLocale(readString(buffer), readString(buffer), readString(buffer), readString(buffer));
+        }
+        startIps = slice(buffer, rangeCount);
+        endIps = slice(buffer, rangeCount);
+        localeIndexes = slice(buffer, rangeCount);
+    }
+
+    @Override
+    public IpLocale resolve(String ip) {
+        long address = parseIpv4(ip);
+        if (address < 0) {
+            return null;
+        }
+        int target = (int) address;
+        int low = 0;
+        int high = rangeCount - 1;
+        int matched = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Integer.compareUnsigned(startIps.get(mid), target) <= 0) {
+                matched = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (matched < 0 || Integer.compareUnsigned(endIps.get(matched), target) < 0) {
+            return null;
+        }
+        return locales[localeIndexes.get(matched)];
+    }
+
+    /**
+     * 不借助 split 解析点分十进制 IPv4 地址
+     *
+     * @return 无符号地址，非法地址返回 -1
+     */
+    static long parseIpv4(String ip) {
+        if (ip == null) {
+            return -1;
+        }
+        int length = ip.length();
+        if (length < 7 || length > 15) {
+            return -1;
+        }
+        long address = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = ip.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                octet = octet * 10 + (ch - '0');
+                if (++digits > 3 || octet > 255) {
+                    return -1;
+                }
+            } else if (ch == '.' && digits > 0 && ++dots <= 3) {
+                address = (address << 8) | octet;
+                octet = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            return -1;
+        }
+        return (address << 8) | octet;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IntBuffer slice(ByteBuffer buffer, int count) {
+        ByteBuffer section = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        section.limit(count * Integer.BYTES);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return section.asIntBuffer();
+    }
+}
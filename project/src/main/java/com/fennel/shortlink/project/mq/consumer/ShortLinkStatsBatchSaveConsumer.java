@@ -0,0 +1,374 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.mq.consumer;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.TypeReference;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fennel.shortlink.project.config.StatsConsumerConfiguration;
+import com.fennel.shortlink.project.config.StatsFirstVisitConfiguration;
+import com.fennel.shortlink.project.config.StatsRollupConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
+import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkBrowserStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkDeviceStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkLocaleStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkNetworkStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkOsStatsDO;
+import com.fennel.shortlink.project.dao.entity.ShortLinkGotoDO;
+import com.fennel.shortlink.project.dao.mapper.LinkAccessStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkBrowserStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkDeviceStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkLocaleStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkNetworkStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkOsStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.ShortLinkGotoMapper;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.locale.IpLocale;
+import com.fennel.shortlink.project.locale.IpLocaleResolver;
+import com.fennel.shortlink.project.mq.idempotent.MessageQueueIdempotentHandler;
+import com.fennel.shortlink.project.service.LinkAccessLogsService;
+import com.fennel.shortlink.project.service.LinkFirstVisitService;
+import com.fennel.shortlink.project.service.LinkGidRouteService;
+import com.fennel.shortlink.project.service.LinkStatsCounterService;
+import com.fennel.shortlink.project.service.LinkStatsDailyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
+import org.apache.rocketmq.client.consumer.listener.ConsumeConcurrentlyStatus;
+import org.apache.rocketmq.client.consumer.listener.MessageListenerConcurrently;
+import org.apache.rocketmq.client.exception.MQClientException;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 短链接监控状态批量保存消息队列消费者
+ * 一次拉取多条消息，按短链接、分组、日期、小时与统计维度在内存中预聚合后，每张统计表执行一次多行写入
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "short-link.stats.consumer", name = "mode", havingValue = "batch")
+public class ShortLinkStatsBatchSaveConsumer implements SmartLifecycle {
+
+    private static final String UNKNOWN = "未知";
+
+    private final StatsConsumerConfiguration statsConsumerConfiguration;
+    private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final LinkAccessStatsMapper linkAccessStatsMapper;
+    private final LinkLocaleStatsMapper linkLocaleStatsMapper;
+    private final LinkOsStatsMapper linkOsStatsMapper;
+    private final LinkBrowserStatsMapper linkBrowserStatsMapper;
+    private final LinkDeviceStatsMapper linkDeviceStatsMapper;
+    private final LinkNetworkStatsMapper linkNetworkStatsMapper;
+    private final LinkAccessLogsService linkAccessLogsService;
+    private final TransactionTemplate transactionTemplate;
+    private final IpLocaleResolver ipLocaleResolver;
+    private final LinkStatsDailyService linkStatsDailyService;
+    private final StatsRollupConfiguration statsRollupConfiguration;
+    private final StatsFirstVisitConfiguration statsFirstVisitConfiguration;
+    private final LinkFirstVisitService linkFirstVisitService;
+    private final LinkStatsCounterService linkStatsCounterService;
+    private final LinkGidRouteService linkGidRouteService;
+    private final MessageQueueIdempotentHandler messageQueueIdempotentHandler;
+
+    @Value("${rocketmq.name-server}")
+    private String nameServer;
+
+    @Value("${rocketmq.producer.topic}")
+    private String statsSaveTopic;
+
+    @Value("${rocketmq.consumer.group}")
+    private String consumerGroup;
+
+    private DefaultMQPushConsumer consumer;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        consumer = new DefaultMQPushConsumer(consumerGroup);
+        consumer.setNamesrvAddr(nameServer);
+        consumer.setConsumeMessageBatchMaxSize(statsConsumerConfiguration.getBatchSize());
+        consumer.setPullBatchSize(statsConsumerConfiguration.getPullBatchSize());
+        consumer.setConsumeThreadMin(statsConsumerConfiguration.getConsumeThreadMin());
+        consumer.setConsumeThreadMax(statsConsumerConfiguration.getConsumeThreadMax());
+        consumer.registerMessageListener((MessageListenerConcurrently) (messages, context) -> onMessages(messages));
+        try {
+            consumer.subscribe(statsSaveTopic, "*");
+            consumer.start();
+        } catch (MQClientException ex) {
+            throw new IllegalStateException("短链接监控批量消费者启动失败", ex);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (consumer != null) {
+            consumer.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private ConsumeConcurrentlyStatus onMessages(List<MessageExt> messages) {
+        Map<String, Map<String, String>> producerMaps = new HashMap<>(messages.size());
+        for (MessageExt each : messages) {
+            Map<String, String> producerMap = JSON.parseObject(new String(each.getBody(), StandardCharsets.UTF_8), new TypeReference<Map<String, String>>() {
+            });
+            producerMaps.put(Optional.ofNullable(producerMap.get("keys")).orElse(each.getMsgId()), producerMap);
+        }
+        MessageQueueIdempotentHandler.ClaimResult claimResult = messageQueueIdempotentHandler.claim(producerMaps.keySet());
+        List<String> claimedKeys = claimResult.claimedKeys();
+        if (!claimedKeys.isEmpty()) {
+            try {
+                actualSaveShortLinkStatsBatch(claimedKeys.stream().map(producerMaps::get).toList());
+            } catch (Throwable ex) {
+                log.error("批量记录短链接监控消费异常，消息数量：{}", claimedKeys.size(), ex);
+                messageQueueIdempotentHandler.release(claimedKeys);
+                return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+            }
+            messageQueueIdempotentHandler.accomplish(claimedKeys);
+        }
+        if (!claimResult.consumingKeys().isEmpty()) {
+            // 其他节点可能异常退出，重新投递后由消费中状态到期或已消费状态决定是否需要消费
+            log.warn("批量消费中有消息正在被其他节点处理，稍后重新投递，消息数量：{}", claimResult.consumingKeys().size());
+            return ConsumeConcurrentlyStatus.RECONSUME_LATER;
+        }
+        return ConsumeConcurrentlyStatus.CONSUME_SUCCESS;
+    }
+
+    public void actualSaveShortLinkStatsBatch(List<Map<String, String>> producerMaps) {
+        List<StatsEvent> events = new ArrayList<>(producerMaps.size());
+        for (Map<String, String> each : producerMaps) {
+            ShortLinkStatsRecordDTO statsRecord = JSON.parseObject(each.get("statsRecord"), ShortLinkStatsRecordDTO.class);
+            if (statsRecord == null) {
+                continue;
+            }
+            String fullShortUrl = Optional.ofNullable(each.get("fullShortUrl")).orElse(statsRecord.getFullShortUrl());
+            if (StrUtil.isBlank(fullShortUrl)) {
+                continue;
+            }
+            Date currentDate = Optional.ofNullable(statsRecord.getCurrentDate()).orElseGet(Date::new);
+            events.add(new StatsEvent(fullShortUrl, each.get("gid"), currentDate, statsRecord));
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<String, String> gidMap = resolveGid(events);
+        Map<String, IpLocale> localeMap = resolveLocale(events);
+        Map<String, LinkAccessStatsDO> accessStatsMap = new TreeMap<>();
+        Map<String, LinkLocaleStatsDO> localeStatsMap = new TreeMap<>();
+        Map<String, LinkOsStatsDO> osStatsMap = new TreeMap<>();
+        Map<String, LinkBrowserStatsDO> browserStatsMap = new TreeMap<>();
+        Map<String, LinkDeviceStatsDO> deviceStatsMap = new TreeMap<>();
+        Map<String, LinkNetworkStatsDO> networkStatsMap = new TreeMap<>();
+        List<LinkAccessLogsDO> accessLogsList = new ArrayList<>(events.size());
+        List<ShortLinkStatsRecordDTO> statsDailyRecords = new ArrayList<>(events.size());
+        for (StatsEvent event : events) {
+            String fullShortUrl = event.fullShortUrl();
+            String gid = StrUtil.isNotBlank(event.gid()) ? event.gid() : gidMap.get(fullShortUrl);
+            if (StrUtil.isBlank(gid)) {
+                log.warn("短链接 [{}] 跳转记录不存在，忽略监控数据", fullShortUrl);
+                continue;
+            }
+            // 与单条消费一致，分组迁移期间按路由写入新分组，避免同一批次内新旧分组拆成两行
+            gid = linkGidRouteService.route(fullShortUrl, gid);
+            ShortLinkStatsRecordDTO statsRecord = event.statsRecord();
+            Date date = DateUtil.beginOfDay(event.currentDate());
+            int hour = DateUtil.hour(event.currentDate(), true);
+            String dayKey = StrUtil.join("|", fullShortUrl, gid, DateUtil.formatDate(date));
+            accessStatsMap.merge(dayKey + "|" + hour, LinkAccessStatsDO.builder()
+                    .pv(1)
+                    .uv(Boolean.TRUE.equals(statsRecord.getUvFirstFlag()) ? 1 : 0)
+                    .uip(Boolean.TRUE.equals(statsRecord.getUipFirstFlag()) ? 1 : 0)
+                    .hour(hour)
+                    .weekday(DateUtil.dayOfWeekEnum(date).getIso8601Value())
+                    .fullShortUrl(fullShortUrl)
+                    .gid(gid)
+                    .date(date)
+                    .build(), (oldValue, newValue) -> {
+                oldValue.setPv(oldValue.getPv() + newValue.getPv());
+                oldValue.setUv(oldValue.getUv() + newValue.getUv());
+                oldValue.setUip(oldValue.getUip() + newValue.getUip());
+                return oldValue;
+            });
+            IpLocale locale = localeMap.get(statsRecord.getRemoteAddr());
+            if (locale != null) {
+                localeStatsMap.merge(StrUtil.join("|", dayKey, locale.country(), locale.province(), locale.city(), locale.adcode()), LinkLocaleStatsDO.builder()
+                        .province(locale.province())
+                        .city(locale.city())
+                        .adcode(locale.adcode())
+                        .cnt(1)
+                        .fullShortUrl(fullShortUrl)
+                        .country(locale.country())
+                        .gid(gid)
+                        .date(date)
+                        .build(), mergeCnt(LinkLocaleStatsDO::getCnt, LinkLocaleStatsDO::setCnt));
+            }
+            osStatsMap.merge(dayKey + "|" + statsRecord.getOs(), LinkOsStatsDO.builder()
+                    .os(statsRecord.getOs())
+                    .cnt(1)
+                    .gid(gid)
+                    .fullShortUrl(fullShortUrl)
+                    .date(date)
+                    .build(), mergeCnt(LinkOsStatsDO::getCnt, LinkOsStatsDO::setCnt));
+            browserStatsMap.merge(dayKey + "|" + statsRecord.getBrowser(), LinkBrowserStatsDO.builder()
+                    .browser(statsRecord.getBrowser())
+                    .cnt(1)
+                    .gid(gid)
+                    .fullShortUrl(fullShortUrl)
+                    .date(date)
+                    .build(), mergeCnt(LinkBrowserStatsDO::getCnt, LinkBrowserStatsDO::setCnt));
+            deviceStatsMap.merge(dayKey + "|" + statsRecord.getDevice(), LinkDeviceStatsDO.builder()
+                    .device(statsRecord.getDevice())
+                    .cnt(1)
+                    .gid(gid)
+                    .fullShortUrl(fullShortUrl)
+                    .date(date)
+                    .build(), mergeCnt(LinkDeviceStatsDO::getCnt, LinkDeviceStatsDO::setCnt));
+            networkStatsMap.merge(dayKey + "|" + statsRecord.getNetwork(), LinkNetworkStatsDO.builder()
+                    .network(statsRecord.getNetwork())
+                    .cnt(1)
+                    .gid(gid)
+                    .fullShortUrl(fullShortUrl)
+                    .date(date)
+                    .build(), mergeCnt(LinkNetworkStatsDO::getCnt, LinkNetworkStatsDO::setCnt));
+            LinkAccessLogsDO linkAccessLogsDO = LinkAccessLogsDO.builder()
+                    .user(statsRecord.getUv())
+                    .ip(statsRecord.getRemoteAddr())
+                    .browser(statsRecord.getBrowser())
+                    .os(statsRecord.getOs())
+                    .network(statsRecord.getNetwork())
+                    .device(statsRecord.getDevice())
+                    .locale(locale != null ? StrUtil.join("-", locale.country(), locale.province(), locale.city()) : StrUtil.join("-", UNKNOWN, UNKNOWN, UNKNOWN))
+                    .gid(gid)
+                    .fullShortUrl(fullShortUrl)
+                    .build();
+            linkAccessLogsDO.setCreateTime(event.currentDate());
+            accessLogsList.add(linkAccessLogsDO);
+            statsRecord.setFullShortUrl(fullShortUrl);
+            statsRecord.setGid(gid);
+            statsRecord.setCurrentDate(event.currentDate());
+            statsDailyRecords.add(statsRecord);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!accessStatsMap.isEmpty()) {
+                linkAccessStatsMapper.shortLinkStatsBatch(new ArrayList<>(accessStatsMap.values()));
+            }
+            if (!localeStatsMap.isEmpty()) {
+                linkLocaleStatsMapper.shortLinkLocaleStateBatch(new ArrayList<>(localeStatsMap.values()));
+            }
+            if (!osStatsMap.isEmpty()) {
+                linkOsStatsMapper.shortLinkOsStateBatch(new ArrayList<>(osStatsMap.values()));
+            }
+            if (!browserStatsMap.isEmpty()) {
+                linkBrowserStatsMapper.shortLinkBrowserStateBatch(new ArrayList<>(browserStatsMap.values()));
+            }
+            if (!deviceStatsMap.isEmpty()) {
+                linkDeviceStatsMapper.shortLinkDeviceStateBatch(new ArrayList<>(deviceStatsMap.values()));
+            }
+            if (!networkStatsMap.isEmpty()) {
+                linkNetworkStatsMapper.shortLinkNetworkStateBatch(new ArrayList<>(networkStatsMap.values()));
+            }
+            if (!accessLogsList.isEmpty()) {
+                linkAccessLogsService.saveBatch(accessLogsList, accessLogsList.size());
+            }
+            if (statsRollupConfiguration.getWriteEnable() && !statsDailyRecords.isEmpty()) {
+                linkStatsDailyService.saveStatsDaily(statsDailyRecords);
+            }
+            if (statsFirstVisitConfiguration.getWriteEnable() && !statsDailyRecords.isEmpty()) {
+                linkFirstVisitService.saveFirstVisits(statsDailyRecords);
+            }
+        });
+        accessStatsMap.values().forEach(each -> linkStatsCounterService.increment(each.getGid(), each.getFullShortUrl(), each.getDate(), each.getPv(), each.getUv(), each.getUip()));
+    }
+
+    /**
+     * 批量查询消息中缺失的分组标识
+     */
+    private Map<String, String> resolveGid(List<StatsEvent> events) {
+        List<String> fullShortUrls = events.stream()
+                .filter(each -> StrUtil.isBlank(each.gid()))
+                .map(StatsEvent::fullShortUrl)
+                .distinct()
+                .toList();
+        if (fullShortUrls.isEmpty()) {
+            return Map.of();
+        }
+        List<ShortLinkGotoDO> shortLinkGotoDOList = shortLinkGotoMapper.selectList(Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                .in(ShortLinkGotoDO::getFullShortUrl, fullShortUrls));
+        return shortLinkGotoDOList.stream()
+                .collect(Collectors.toMap(ShortLinkGotoDO::getFullShortUrl, ShortLinkGotoDO::getGid, (oldValue, newValue) -> newValue));
+    }
+
+    /**
+     * 批次内相同 IP 只解析一次地区，解析失败的 IP 不在结果中
+     */
+    private Map<String, IpLocale> resolveLocale(List<StatsEvent> events) {
+        Map<String, IpLocale> localeMap = new HashMap<>();
+        events.stream()
+                .map(each -> each.statsRecord().getRemoteAddr())
+                .filter(StrUtil::isNotBlank)
+                .distinct()
+                .forEach(each -> {
+                    try {
+                        IpLocale ipLocale = ipLocaleResolver.resolve(each);
+                        if (ipLocale != null) {
+                            localeMap.put(each, ipLocale);
+                        }
+                    } catch (Throwable ex) {
+                        log.error("短链接访问地区解析异常，IP：{}", each, ex);
+                    }
+                });
+        return localeMap;
+    }
+
+    private static <T> BinaryOperator<T> mergeCnt(Function<T, Integer> getter, BiConsumer<T, Integer> setter) {
+        return (oldValue, newValue) -> {
+            setter.accept(oldValue, getter.apply(oldValue) + getter.apply(newValue));
+            return oldValue;
+        };
+    }
+
+    private record StatsEvent(String fullShortUrl, String gid, Date currentDate, ShortLinkStatsRecordDTO statsRecord) {
+    }
+}
@@ -20,12 +20,12 @@ package com.fennel.shortlink.project.mq.consumer;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.date.Week;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.http.HttpUtil;
 import com.alibaba.fastjson2.JSON;
-import com.alibaba.fastjson2.JSONObject;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.fennel.shortlink.project.common.convention.exception.ServiceException;
+import com.fennel.shortlink.project.config.StatsFirstVisitConfiguration;
+import com.fennel.shortlink.project.config.StatsRollupConfiguration;
 import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
 import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
 import com.fennel.shortlink.project.dao.entity.LinkBrowserStatsDO;
@@ -46,23 +46,22 @@ import com.fennel.shortlink.project.dao.mapper.LinkStatsTodayMapper;
 import com.fennel.shortlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
 import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.locale.IpLocale;
+import com.fennel.shortlink.project.locale.IpLocaleResolver;
+import com.fennel.shortlink.project.mq.idempotent.MessageQueueIdempotentHandler;
+import com.fennel.shortlink.project.service.LinkFirstVisitService;
+import com.fennel.shortlink.project.service.LinkGidRouteService;
+import com.fennel.shortlink.project.service.LinkStatsCounterService;
+import com.fennel.shortlink.project.service.LinkStatsDailyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
 import org.apache.rocketmq.spring.core.RocketMQListener;
-import org.redisson.api.RBucket;
-import org.redisson.api.RLock;
-import org.redisson.api.RReadWriteLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-
-import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_GID_UPDATE_KEY;
-import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.AMAP_REMOTE_URL;
 
 /**
  * 短链接监控状态保存消息队列消费者
@@ -70,6 +69,7 @@ import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.AMA
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "short-link.stats.consumer", name = "mode", havingValue = "single", matchIfMissing = true)
 @RocketMQMessageListener(
         topic = "${rocketmq.producer.topic}",
         consumerGroup = "${rocketmq.consumer.group}"
@@ -78,7 +78,6 @@ public class ShortLinkStatsSaveConsumer implements RocketMQListener<Map<String,
 
     private final ShortLinkMapper shortLinkMapper;
     private final ShortLinkGotoMapper shortLinkGotoMapper;
-    private final RedissonClient redissonClient;
     private final LinkAccessStatsMapper linkAccessStatsMapper;
     private final LinkLocaleStatsMapper linkLocaleStatsMapper;
     private final LinkOsStatsMapper linkOsStatsMapper;
@@ -87,147 +86,158 @@ public class ShortLinkStatsSaveConsumer implements RocketMQListener<Map<String,
     private final LinkDeviceStatsMapper linkDeviceStatsMapper;
     private final LinkNetworkStatsMapper linkNetworkStatsMapper;
     private final LinkStatsTodayMapper linkStatsTodayMapper;
-
-    @Value("${short-link.stats.locale.amap-key}")
-    private String statsLocaleAmapKey;
-
-    private static final String LOCK_KEY_PREFIX = "short-link:lock:mq:";
-    private static final String ACCOMPLISHED_KEY_PREFIX = "short-link:accomplished:mq:";
+    private final IpLocaleResolver ipLocaleResolver;
+    private final LinkStatsDailyService linkStatsDailyService;
+    private final StatsRollupConfiguration statsRollupConfiguration;
+    private final StatsFirstVisitConfiguration statsFirstVisitConfiguration;
+    private final LinkFirstVisitService linkFirstVisitService;
+    private final LinkStatsCounterService linkStatsCounterService;
+    private final LinkGidRouteService linkGidRouteService;
+    private final MessageQueueIdempotentHandler messageQueueIdempotentHandler;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public void onMessage(Map<String, String> producerMap) {
         String keys = producerMap.get("keys");
-        RBucket<String> accomplishedBucket = redissonClient.getBucket(ACCOMPLISHED_KEY_PREFIX + keys);
-        if (accomplishedBucket.isExists()) {
+        MessageQueueIdempotentHandler.ClaimResult claimResult = messageQueueIdempotentHandler.claim(List.of(keys));
+        if (!claimResult.consumingKeys().isEmpty()) {
+            log.warn("消息 [{}] 正在被其他节点处理，稍后重试。", keys);
+            throw new ServiceException("消息正在被处理，稍后重试");
+        }
+        if (claimResult.claimedKeys().isEmpty()) {
             log.info("消息 [{}] 已成功消费，幂等拦截。", keys);
             return;
         }
-
-        RLock lock = redissonClient.getLock(LOCK_KEY_PREFIX + keys);
-        if (!lock.tryLock()) {
-            log.warn("消息 [{}] 获取锁失败，可能正在被其他节点处理。", keys);
-            throw new ServiceException("获取锁失败，消息正在被处理，稍后重试");
-        }
         try {
-            if (accomplishedBucket.isExists()) {
-                log.info("消息 [{}] 获取锁后发现已被消费，幂等拦截。", keys);
-                return;
-            }
             String fullShortUrl = producerMap.get("fullShortUrl");
             if (StrUtil.isNotBlank(fullShortUrl)) {
                 String gid = producerMap.get("gid");
                 ShortLinkStatsRecordDTO statsRecord = JSON.parseObject(producerMap.get("statsRecord"), ShortLinkStatsRecordDTO.class);
                 actualSaveShortLinkStats(fullShortUrl, gid, statsRecord);
             }
-            accomplishedBucket.set("1", Duration.ofHours(1));
-
         } catch (Throwable ex) {
             log.error("记录短链接监控消费异常，消息key: {}", keys, ex);
+            messageQueueIdempotentHandler.release(claimResult.claimedKeys());
             throw ex;
-        } finally {
-            if (lock.isLocked() && lock.isHeldByCurrentThread()) {
-                lock.unlock();
-            }
         }
+        messageQueueIdempotentHandler.accomplish(claimResult.claimedKeys());
     }
 
+    /**
+     * 统计写入在同一事务中完成，内存中的访问计数与按天汇总增量在事务提交后累加，写入失败时异常抛出由消息重新投递
+     */
     public void actualSaveShortLinkStats(String fullShortUrl, String gid, ShortLinkStatsRecordDTO statsRecord) {
         fullShortUrl = Optional.ofNullable(fullShortUrl).orElse(statsRecord.getFullShortUrl());
-        RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(String.format(LOCK_GID_UPDATE_KEY, fullShortUrl));
-        RLock rLock = readWriteLock.readLock();
-        rLock.lock();
-        try {
-            if (StrUtil.isBlank(gid)) {
-                LambdaQueryWrapper<ShortLinkGotoDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
-                        .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
-                ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(queryWrapper);
-                gid = shortLinkGotoDO.getGid();
-            }
-            int hour = DateUtil.hour(new Date(), true);
-            Week week = DateUtil.dayOfWeekEnum(new Date());
-            int weekValue = week.getIso8601Value();
-            LinkAccessStatsDO linkAccessStatsDO = LinkAccessStatsDO.builder()
-                    .pv(1)
-                    .uv(statsRecord.getUvFirstFlag() ? 1 : 0)
-                    .uip(statsRecord.getUipFirstFlag() ? 1 : 0)
-                    .hour(hour)
-                    .weekday(weekValue)
-                    .fullShortUrl(fullShortUrl)
-                    .gid(gid)
-                    .date(new Date())
-                    .build();
-            linkAccessStatsMapper.shortLinkStats(linkAccessStatsDO);
-            Map<String, Object> localeParamMap = new HashMap<>();
-            localeParamMap.put("key", statsLocaleAmapKey);
-            localeParamMap.put("ip", statsRecord.getRemoteAddr());
-            String localeResultStr = HttpUtil.get(AMAP_REMOTE_URL, localeParamMap);
-            JSONObject localeResultObj = JSON.parseObject(localeResultStr);
-            String infoCode = localeResultObj.getString("infocode");
-            String actualProvince = "未知";
-            String actualCity = "未知";
-            if (StrUtil.isNotBlank(infoCode) && StrUtil.equals(infoCode, "10000")) {
-                String province = localeResultObj.getString("province");
-                boolean unknownFlag = StrUtil.equals(province, "[]");
-                LinkLocaleStatsDO linkLocaleStatsDO = LinkLocaleStatsDO.builder()
-                        .province(actualProvince = unknownFlag ? actualProvince : province)
-                        .city(actualCity = unknownFlag ? actualCity : localeResultObj.getString("city"))
-                        .adcode(unknownFlag ? "未知" : localeResultObj.getString("adcode"))
-                        .cnt(1)
-                        .fullShortUrl(fullShortUrl)
-                        .country("中国")
-                        .gid(gid)
-                        .date(new Date())
-                        .build();
-                linkLocaleStatsMapper.shortLinkLocaleState(linkLocaleStatsDO);
-            }
-            LinkOsStatsDO linkOsStatsDO = LinkOsStatsDO.builder()
-                    .os(statsRecord.getOs())
-                    .cnt(1)
-                    .gid(gid)
-                    .fullShortUrl(fullShortUrl)
-                    .date(new Date())
-                    .build();
-            linkOsStatsMapper.shortLinkOsState(linkOsStatsDO);
-            LinkBrowserStatsDO linkBrowserStatsDO = LinkBrowserStatsDO.builder()
-                    .browser(statsRecord.getBrowser())
-                    .cnt(1)
-                    .gid(gid)
-                    .fullShortUrl(fullShortUrl)
-                    .date(new Date())
-                    .build();
-            linkBrowserStatsMapper.shortLinkBrowserState(linkBrowserStatsDO);
-            LinkDeviceStatsDO linkDeviceStatsDO = LinkDeviceStatsDO.builder()
-                    .device(statsRecord.getDevice())
-                    .cnt(1)
-                    .gid(gid)
-                    .fullShortUrl(fullShortUrl)
-                    .date(new Date())
-                    .build();
-            linkDeviceStatsMapper.shortLinkDeviceState(linkDeviceStatsDO);
-            LinkNetworkStatsDO linkNetworkStatsDO = LinkNetworkStatsDO.builder()
-                    .network(statsRecord.getNetwork())
+        if (StrUtil.isBlank(gid)) {
+            LambdaQueryWrapper<ShortLinkGotoDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                    .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
+            ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(queryWrapper);
+            gid = shortLinkGotoDO.getGid();
+        }
+        gid = linkGidRouteService.route(fullShortUrl, gid);
+        Date currentDate = Optional.ofNullable(statsRecord.getCurrentDate()).orElseGet(Date::new);
+        statsRecord.setFullShortUrl(fullShortUrl);
+        statsRecord.setGid(gid);
+        statsRecord.setCurrentDate(currentDate);
+        LinkAccessStatsDO linkAccessStatsDO = transactionTemplate.execute(status -> saveStats(statsRecord));
+        linkStatsCounterService.increment(gid, fullShortUrl, currentDate, 1, linkAccessStatsDO.getUv(), linkAccessStatsDO.getUip());
+        if (statsRollupConfiguration.getWriteEnable()) {
+            linkStatsDailyService.bufferStatsDaily(statsRecord);
+        }
+    }
+
+    private LinkAccessStatsDO saveStats(ShortLinkStatsRecordDTO statsRecord) {
+        String fullShortUrl = statsRecord.getFullShortUrl();
+        String gid = statsRecord.getGid();
+        Date currentDate = statsRecord.getCurrentDate();
+        int hour = DateUtil.hour(currentDate, true);
+        Week week = DateUtil.dayOfWeekEnum(currentDate);
+        int weekValue = week.getIso8601Value();
+        LinkAccessStatsDO linkAccessStatsDO = LinkAccessStatsDO.builder()
+                .pv(1)
+                .uv(statsRecord.getUvFirstFlag() ? 1 : 0)
+                .uip(statsRecord.getUipFirstFlag() ? 1 : 0)
+                .hour(hour)
+                .weekday(weekValue)
+                .fullShortUrl(fullShortUrl)
+                .gid(gid)
+                .date(currentDate)
+                .build();
+        linkAccessStatsMapper.shortLinkStats(linkAccessStatsDO);
+        IpLocale ipLocale = resolveLocale(statsRecord.getRemoteAddr());
+        String actualCountry = "未知";
+        String actualProvince = "未知";
+        String actualCity = "未知";
+        if (ipLocale != null) {
+            LinkLocaleStatsDO linkLocaleStatsDO = LinkLocaleStatsDO.builder()
+                    .province(actualProvince = ipLocale.province())
+                    .city(actualCity = ipLocale.city())
+                    .adcode(ipLocale.adcode())
                     .cnt(1)
-                    .gid(gid)
                     .fullShortUrl(fullShortUrl)
-                    .date(new Date())
-                    .build();
-            linkNetworkStatsMapper.shortLinkNetworkState(linkNetworkStatsDO);
-            LinkAccessLogsDO linkAccessLogsDO = LinkAccessLogsDO.builder()
-                    .user(statsRecord.getUv())
-                    .ip(statsRecord.getRemoteAddr())
-                    .browser(statsRecord.getBrowser())
-                    .os(statsRecord.getOs())
-                    .network(statsRecord.getNetwork())
-                    .device(statsRecord.getDevice())
-                    .locale(StrUtil.join("-", "中国", actualProvince, actualCity))
+                    .country(actualCountry = ipLocale.country())
                     .gid(gid)
-                    .fullShortUrl(fullShortUrl)
+                    .date(currentDate)
                     .build();
-            linkAccessLogsMapper.insert(linkAccessLogsDO);
+            linkLocaleStatsMapper.shortLinkLocaleState(linkLocaleStatsDO);
+        }
+        LinkOsStatsDO linkOsStatsDO = LinkOsStatsDO.builder()
+                .os(statsRecord.getOs())
+                .cnt(1)
+                .gid(gid)
+                .fullShortUrl(fullShortUrl)
+                .date(currentDate)
+                .build();
+        linkOsStatsMapper.shortLinkOsState(linkOsStatsDO);
+        LinkBrowserStatsDO linkBrowserStatsDO = LinkBrowserStatsDO.builder()
+                .browser(statsRecord.getBrowser())
+                .cnt(1)
+                .gid(gid)
+                .fullShortUrl(fullShortUrl)
+                .date(currentDate)
+                .build();
+        linkBrowserStatsMapper.shortLinkBrowserState(linkBrowserStatsDO);
+        LinkDeviceStatsDO linkDeviceStatsDO = LinkDeviceStatsDO.builder()
+                .device(statsRecord.getDevice())
+                .cnt(1)
+                .gid(gid)
+                .fullShortUrl(fullShortUrl)
+                .date(currentDate)
+                .build();
+        linkDeviceStatsMapper.shortLinkDeviceState(linkDeviceStatsDO);
+        LinkNetworkStatsDO linkNetworkStatsDO = LinkNetworkStatsDO.builder()
+                .network(statsRecord.getNetwork())
+                .cnt(1)
+                .gid(gid)
+                .fullShortUrl(fullShortUrl)
+                .date(currentDate)
+                .build();
+        linkNetworkStatsMapper.shortLinkNetworkState(linkNetworkStatsDO);
+        LinkAccessLogsDO linkAccessLogsDO = LinkAccessLogsDO.builder()
+                .user(statsRecord.getUv())
+                .ip(statsRecord.getRemoteAddr())
+                .browser(statsRecord.getBrowser())
+                .os(statsRecord.getOs())
+                .network(statsRecord.getNetwork())
+                .device(statsRecord.getDevice())
+                .locale(StrUtil.join("-", actualCountry, actualProvince, actualCity))
+                .gid(gid)
+                .fullShortUrl(fullShortUrl)
+                .build();
+        linkAccessLogsDO.setCreateTime(currentDate);
+        linkAccessLogsMapper.insert(linkAccessLogsDO);
+        if (statsFirstVisitConfiguration.getWriteEnable()) {
+            linkFirstVisitService.saveFirstVisits(List.of(statsRecord));
+        }
+        return linkAccessStatsDO;
+    }
+
+    private IpLocale resolveLocale(String remoteAddr) {
+        try {
+            return ipLocaleResolver.resolve(remoteAddr);
         } catch (Throwable ex) {
-            log.error("短链接访问量统计异常", ex);
-        } finally {
-            rLock.unlock();
+            log.error("短链接访问地区解析异常，IP：{}", remoteAddr, ex);
+            return null;
         }
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.mq.idempotent;
+
+import com.fennel.shortlink.project.config.StatsConsumerConfiguration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 消息队列幂等处理器
+ * 一批消息通过一次 Redis 管道以 SET NX EX 抢占消费中状态，消费完成后一次管道写入已消费状态；
+ * 本节点已消费的消息 Key 记录在本地缓存，重复投递时不访问 Redis
+ */
+@Component
+public class MessageQueueIdempotentHandler {
+
+    private static final String IDEMPOTENT_KEY_PREFIX = "short-link:accomplished:mq:";
+    private static final String CONSUMING = "0";
+    private static final String ACCOMPLISHED = "1";
+
+    private final RedissonClient redissonClient;
+    private final Duration consumingTtl;
+    private final Duration accomplishedTtl;
+    private final Cache<String, Boolean> localAccomplished;
+
+    public MessageQueueIdempotentHandler(RedissonClient redissonClient, StatsConsumerConfiguration statsConsumerConfiguration) {
+        this.redissonClient = redissonClient;
+        this.consumingTtl = Duration.ofSeconds(statsConsumerConfiguration.getConsumingTtl());
+        this.accomplishedTtl = Duration.ofSeconds(statsConsumerConfiguration.getAccomplishedTtl());
+        this.localAccomplished = Caffeine.newBuilder()
+                .maximumSize(statsConsumerConfiguration.getLocalAccomplishedSize())
+                .expireAfterWrite(accomplishedTtl)
+                .build();
+    }
+
+    /**
+     * 抢占消息消费权
+     *
+     * @param messageKeys 消息 Key
+     * @return 抢占结果，已消费的消息不出现在结果中
+     */
+    public ClaimResult claim(Collection<String> messageKeys) {
+        List<String> pendingKeys = messageKeys.stream()
+                .filter(each -> localAccomplished.getIfPresent(each) == null)
+                .toList();
+        List<String> claimedKeys = new ArrayList<>(pendingKeys.size());
+        List<String> consumingKeys = new ArrayList<>();
+        if (pendingKeys.isEmpty()) {
+            return new ClaimResult(claimedKeys, consumingKeys);
+        }
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<Boolean>> claimFutures = new ArrayList<>(pendingKeys.size());
+        List<RFuture<String>> stateFutures = new ArrayList<>(pendingKeys.size());
+        for (String each : pendingKeys) {
+            RBucketAsync<String> bucket = batch.getBucket(IDEMPOTENT_KEY_PREFIX + each, StringCodec.INSTANCE);
+            claimFutures.add(bucket.setIfAbsentAsync(CONSUMING, consumingTtl));
+            stateFutures.add(bucket.getAsync());
+        }
+        // execute 返回时批次内的结果均已完成，join 不会阻塞
+        batch.execute();
+        for (int i = 0; i < pendingKeys.size(); i++) {
+            String messageKey = pendingKeys.get(i);
+            if (Boolean.TRUE.equals(claimFutures.get(i).toCompletableFuture().join())) {
+                claimedKeys.add(messageKey);
+            } else if (ACCOMPLISHED.equals(stateFutures.get(i).toCompletableFuture().join())) {
+                localAccomplished.put(messageKey, Boolean.TRUE);
+            } else {
+                consumingKeys.add(messageKey);
+            }
+        }
+        return new ClaimResult(claimedKeys, consumingKeys);
+    }
+
+    /**
+     * 标记消息已消费
+     */
+    public void accomplish(Collection<String> messageKeys) {
+        if (messageKeys.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        messageKeys.forEach(each -> batch.getBucket(IDEMPOTENT_KEY_PREFIX + each, StringCodec.INSTANCE).setAsync(ACCOMPLISHED, accomplishedTtl));
+        batch.execute();
+        messageKeys.forEach(each -> localAccomplished.put(each, Boolean.TRUE));
+    }
+
+    /**
+     * 消费失败时释放消费权，允许消息重新投递后再次消费
+     */
+    public void release(Collection<String> messageKeys) {
+        if (messageKeys.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        messageKeys.forEach(each -> batch.getBucket(IDEMPOTENT_KEY_PREFIX + each, StringCodec.INSTANCE).deleteAsync());
+        batch.execute();
+    }
+
+    /**
+     * 消费权抢占结果
+     *
+     * @param claimedKeys   本次抢占成功、需要消费的消息 Key
+     * @param consumingKeys 正在被其他消费者处理的消息 Key，需要稍后重新投递确认结果
+     */
+    public record ClaimResult(List<String> claimedKeys, List<String> consumingKeys) {
+    }
+}
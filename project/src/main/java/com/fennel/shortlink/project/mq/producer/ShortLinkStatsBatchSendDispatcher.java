@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.mq.producer;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.TypeReference;
+import com.fennel.shortlink.project.config.StatsProducerConfiguration;
+import com.fennel.shortlink.project.toolkit.BoundedRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.client.producer.SendResult;
+import org.apache.rocketmq.common.message.MessageConst;
+import org.apache.rocketmq.spring.core.RocketMQTemplate;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 短链接监控消息异步批量发送调度器
+ * 请求线程只负责写入有界无锁环形队列，由后台线程按批次大小与等待时间阈值聚合后批量发送到 RocketMQ
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsBatchSendDispatcher implements InitializingBean, DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SPILL_REPLAY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final RocketMQTemplate rocketMQTemplate;
+    private final StatsProducerConfiguration statsProducerConfiguration;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${rocketmq.producer.topic}")
+    private String statsSaveTopic;
+
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private BoundedRingBuffer<Map<String, String>> ringBuffer;
+    private Thread drainThread;
+    private volatile boolean running;
+    private volatile boolean spillPending;
+    private Path spillPath;
+    private Counter sentCounter;
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!statsProducerConfiguration.isAsyncMode()) {
+            return;
+        }
+        ringBuffer = new BoundedRingBuffer<>(statsProducerConfiguration.getBufferSize());
+        spillPath = Paths.get(statsProducerConfiguration.getSpillPath());
+        spillPending = Files.exists(spillPath) || Files.exists(replayingPath());
+        sentCounter = meterRegistry.counter("short-link.stats.producer.sent");
+        droppedCounter = meterRegistry.counter("short-link.stats.producer.dropped");
+        spilledCounter = meterRegistry.counter("short-link.stats.producer.spilled");
+        Gauge.builder("short-link.stats.producer.buffer.size", ringBuffer, BoundedRingBuffer::size).register(meterRegistry);
+        running = true;
+        drainThread = new Thread(this::drainLoop, "short-link_stats-producer-drainer");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    /**
+     * 写入环形队列，不会阻塞等待 Broker
+     */
+    public void dispatch(Map<String, String> producerMap) {
+        producerMap.putIfAbsent("keys", UUID.randomUUID().toString());
+        if (!running || !ringBuffer.offer(producerMap)) {
+            overflow(List.of(producerMap));
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = statsProducerConfiguration.getBatchSize();
+        long maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(statsProducerConfiguration.getMaxBatchDelay());
+        List<Map<String, String>> batch = new ArrayList<>(batchSize);
+        long batchStartNanos = 0L;
+        long lastReplayNanos = System.nanoTime() - SPILL_REPLAY_INTERVAL_NANOS;
+        while (running) {
+            int before = batch.size();
+            ringBuffer.drainTo(batch, batchSize - before);
+            if (before == 0 && !batch.isEmpty()) {
+                batchStartNanos = System.nanoTime();
+            }
+            if (batch.size() >= batchSize || (!batch.isEmpty() && System.nanoTime() - batchStartNanos >= maxBatchDelayNanos)) {
+                flush(batch);
+                batch.clear();
+                continue;
+            }
+            if (batch.size() == before) {
+                if (batch.isEmpty() && spillPending && System.nanoTime() - lastReplayNanos >= SPILL_REPLAY_INTERVAL_NANOS) {
+                    lastReplayNanos = System.nanoTime();
+                    replaySpill();
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (ringBuffer.drainTo(batch, batchSize - batch.size()) > 0 || !batch.isEmpty()) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Map<String, String>> batch) {
+        try {
+            doSend(batch);
+        } catch (Throwable ex) {
+            log.error("[消息访问统计监控] 批量消息发送失败，消息数量：{}", batch.size(), ex);
+            overflow(batch);
+        }
+    }
+
+    private void doSend(List<Map<String, String>> batch) {
+        List<Message<Map<String, String>>> messages = new ArrayList<>(batch.size());
+        for (Map<String, String> each : batch) {
+            messages.add(MessageBuilder
+                    .withPayload(each)
+                    .setHeader(MessageConst.PROPERTY_KEYS, each.get("keys"))
+                    .build());
+        }
+        SendResult sendResult = rocketMQTemplate.syncSend(statsSaveTopic, messages, statsProducerConfiguration.getSendTimeout());
+        sentCounter.increment(batch.size());
+        log.info("[消息访问统计监控] 批量消息发送结果：{}，消息ID：{}，消息数量：{}", sendResult.getSendStatus(), sendResult.getMsgId(), batch.size());
+    }
+
+    private void overflow(List<Map<String, String>> producerMaps) {
+        if (!statsProducerConfiguration.isSpillPolicy()) {
+            droppedCounter.increment(producerMaps.size());
+            return;
+        }
+        spillLock.lock();
+        try {
+            Path parent = spillPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Map<String, String> each : producerMaps) {
+                    writer.write(JSON.toJSONString(each));
+                    writer.newLine();
+                }
+            }
+            spillPending = true;
+            spilledCounter.increment(producerMaps.size());
+        } catch (IOException ex) {
+            log.error("[消息访问统计监控] 消息溢出落盘失败，消息数量：{}", producerMaps.size(), ex);
+            droppedCounter.increment(producerMaps.size());
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * 重放本地溢出文件，发送失败的剩余消息重新追加回溢出文件
+     */
+    private void replaySpill() {
+        Path replayingPath = replayingPath();
+        spillLock.lock();
+        try {
+            if (!Files.exists(replayingPath)) {
+                if (!Files.exists(spillPath)) {
+                    spillPending = false;
+                    return;
+                }
+                Files.move(spillPath, replayingPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            spillPending = false;
+        } catch (IOException ex) {
+            log.error("[消息访问统计监控] 溢出文件重放准备失败", ex);
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+        int batchSize = statsProducerConfiguration.getBatchSize();
+        List<Map<String, String>> batch = new ArrayList<>(batchSize);
+        boolean failed = false;
+        try (BufferedReader reader = Files.newBufferedReader(replayingPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(JSON.parseObject(line, new TypeReference<HashMap<String, String>>() {
+                }));
+                if (batch.size() < batchSize) {
+                    continue;
+                }
+                if (!failed) {
+                    try {
+                        doSend(batch);
+                    } catch (Throwable ex) {
+                        log.error("[消息访问统计监控] 溢出文件重放发送失败，剩余消息重新落盘", ex);
+                        failed = true;
+                    }
+                }
+                if (failed) {
+                    overflow(batch);
+                }
+                batch.clear();
+            }
+            if (!batch.isEmpty()) {
+                if (failed) {
+                    overflow(batch);
+                } else {
+                    flush(batch);
+                }
+            }
+            Files.deleteIfExists(replayingPath);
+        } catch (IOException ex) {
+            log.error("[消息访问统计监控] 溢出文件重放失败", ex);
+            spillPending = true;
+        }
+    }
+
+    private Path replayingPath() {
+        return Paths.get(statsProducerConfiguration.getSpillPath() + ".replaying");
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (drainThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainThread);
+        drainThread.join(statsProducerConfiguration.getSendTimeout() * 2);
+    }
+}
@@ -18,6 +18,7 @@
 package com.fennel.shortlink.project.mq.producer;
 
 import com.alibaba.fastjson2.JSON;
+import com.fennel.shortlink.project.config.StatsProducerConfiguration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.rocketmq.client.producer.SendResult;
@@ -40,6 +41,8 @@ import java.util.UUID;
 public class ShortLinkStatsSaveProducer {
 
     private final RocketMQTemplate rocketMQTemplate;
+    private final StatsProducerConfiguration statsProducerConfiguration;
+    private final ShortLinkStatsBatchSendDispatcher shortLinkStatsBatchSendDispatcher;
 
     @Value("${rocketmq.producer.topic}")
     private String statsSaveTopic;
@@ -48,6 +51,10 @@ public class ShortLinkStatsSaveProducer {
      * 发送延迟消费短链接统计
      */
     public void send(Map<String, String> producerMap) {
+        if (statsProducerConfiguration.isAsyncMode()) {
+            shortLinkStatsBatchSendDispatcher.dispatch(producerMap);
+            return;
+        }
         String keys = UUID.randomUUID().toString();
         producerMap.put("keys", keys);
         Message<Map<String, String>> build = MessageBuilder
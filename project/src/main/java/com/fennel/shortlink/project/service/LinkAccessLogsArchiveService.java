@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+/**
+ * 短链接访问日志归档接口层
+ * 超过热数据保留天数的访问日志按天压缩为列式分段文件后从 MySQL 删除
+ */
+public interface LinkAccessLogsArchiveService {
+
+    /**
+     * 归档超过热数据保留天数的访问日志
+     */
+    void archive();
+
+    /**
+     * 预先创建未来的按天分区，访问日志表未分区时不执行
+     */
+    void maintainPartitions();
+}
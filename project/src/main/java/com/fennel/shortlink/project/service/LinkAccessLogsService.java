@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
+import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 短链接访问日志接口层
+ * 查询时间范围包含已归档日期时合并 MySQL 热数据与分段文件冷数据，未开启归档或范围内没有归档数据时直接查询 MySQL
+ */
+public interface LinkAccessLogsService extends IService<LinkAccessLogsDO> {
+
+    /**
+     * 分页查询访问日志，按访问时间倒序
+     *
+     * @param page         分页参数
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接，为空时查询分组下全部短链接
+     * @param startDate    开始时间
+     * @param endDate      结束时间
+     * @return 访问日志分页结果
+     */
+    IPage<LinkAccessLogsDO> pageAccessLogs(IPage<LinkAccessLogsDO> page, String gid, String fullShortUrl, String startDate, String endDate);
+
+    /**
+     * 游标查询访问日志，按 (访问时间, id) 倒序，多返回一条用于判断是否还有下一页
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接，为空时查询分组下全部短链接
+     * @param startDate    开始时间
+     * @param endDate      结束时间
+     * @param cursor       上一页返回的游标
+     * @param size         每页数量
+     * @return 最多 size + 1 条访问日志
+     */
+    List<LinkAccessLogsDO> listAccessLogsByCursor(String gid, String fullShortUrl, String startDate, String endDate, String cursor, int size);
+
+    /**
+     * 根据短链接获取指定日期内PV、UV、UIP数据
+     */
+    LinkAccessStatsDO findPvUvUidStatsByShortLink(ShortLinkStatsReqDTO requestParam);
+
+    /**
+     * 根据分组获取指定日期内PV、UV、UIP数据
+     */
+    LinkAccessStatsDO findPvUvUidStatsByGroup(ShortLinkGroupStatsReqDTO requestParam);
+
+    /**
+     * 根据短链接获取指定日期内高频访问IP数据
+     */
+    List<HashMap<String, Object>> listTopIpByShortLink(ShortLinkStatsReqDTO requestParam);
+
+    /**
+     * 根据分组获取指定日期内高频访问IP数据
+     */
+    List<HashMap<String, Object>> listTopIpByGroup(ShortLinkGroupStatsReqDTO requestParam);
+
+    /**
+     * 根据短链接获取指定日期内新旧访客数据
+     */
+    HashMap<String, Object> findUvTypeCntByShortLink(ShortLinkStatsReqDTO requestParam);
+
+    /**
+     * 获取用户信息是否新老访客
+     */
+    List<Map<String, Object>> selectUvTypeByUsers(String gid, String fullShortUrl, String startDate, String endDate, List<String> userAccessLogsList);
+
+    /**
+     * 获取分组用户信息是否新老访客
+     */
+    List<Map<String, Object>> selectGroupUvTypeByUsers(String gid, String startDate, String endDate, List<String> userAccessLogsList);
+}
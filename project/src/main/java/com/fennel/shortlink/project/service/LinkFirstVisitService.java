@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 访客首次访问索引接口层
+ * 按 (分组标识, 完整短链接, 访客) 记录首次与最近访问时间，新老访客判断由扫描访问日志变为按访客查询索引
+ */
+public interface LinkFirstVisitService {
+
+    /**
+     * 将访问记录合并到短链接与分组维度的首次访问索引
+     *
+     * @param statsRecords 访问记录，需包含完整短链接、分组标识与访问时间
+     */
+    void saveFirstVisits(List<ShortLinkStatsRecordDTO> statsRecords);
+
+    /**
+     * 获取用户信息是否新老访客
+     */
+    List<Map<String, Object>> selectUvTypeByUsers(String gid, String fullShortUrl, String startDate, String endDate, List<String> userAccessLogsList);
+
+    /**
+     * 获取分组用户信息是否新老访客
+     */
+    List<Map<String, Object>> selectGroupUvTypeByUsers(String gid, String startDate, String endDate, List<String> userAccessLogsList);
+
+    /**
+     * 根据短链接获取指定日期内新旧访客数据
+     */
+    HashMap<String, Object> findUvTypeCntByShortLink(ShortLinkStatsReqDTO requestParam);
+}
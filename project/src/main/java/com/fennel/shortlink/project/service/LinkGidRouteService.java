@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+
+/**
+ * 短链接监控分组路由接口层
+ * 修改分组时递增全局版本号并发布路由，监控写入按本地路由改写分组标识，不再与修改分组互斥；
+ * 路由生效前按原分组写入的迟到统计在延迟后补偿到当前分组
+ */
+public interface LinkGidRouteService {
+
+    /**
+     * 获取短链接当前分组标识，只读取本地路由
+     *
+     * @param fullShortUrl 完整短链接
+     * @param gid          监控消息携带的分组标识
+     * @return 短链接修改过分组时返回最新分组标识，否则返回原值
+     */
+    String route(String fullShortUrl, String gid);
+
+    /**
+     * 发布分组路由，存在事务时在事务提交后发布
+     *
+     * @param originShortLink 修改分组前的短链接记录，累计访问数据为复制到新记录的值
+     * @param delTime         原分组短链接记录的删除时间戳
+     * @param gid             新分组标识
+     */
+    void publishRoute(ShortLinkDO originShortLink, long delTime, String gid);
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.fennel.shortlink.project.dao.entity.LinkStatsTodayDO;
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import com.fennel.shortlink.project.dto.req.ShortLinkPageReqDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 短链接分组访问排行榜接口层
+ * 按分组维护今日与累计 PV、UV、UIP 的 Redis 有序集合，排序分页不再依赖数据库排序
+ */
+public interface LinkRankService {
+
+    /**
+     * 判断排序标识是否由排行榜提供分页
+     *
+     * @param orderTag 排序标识
+     * @return 排行榜开启且排序标识为今日或累计访问数时返回 true
+     */
+    boolean isRankedOrderTag(String orderTag);
+
+    /**
+     * 按排行榜分页查询短链接，排行榜不存在时从数据库重建
+     *
+     * @param requestParam 分页请求参数
+     * @return 分页结果
+     */
+    IPage<ShortLinkDO> pageLink(ShortLinkPageReqDTO requestParam);
+
+    /**
+     * 累加排行榜分数，仅更新已存在的排行榜
+     *
+     * @param deltas 按短链接与日期汇总的访问数增量
+     */
+    void incrementScores(List<LinkStatsTodayDO> deltas);
+
+    /**
+     * 新建短链接加入分组排行榜，初始分数为 0
+     *
+     * @param gid           分组标识
+     * @param fullShortUrls 完整短链接集合
+     */
+    void addMembers(String gid, Collection<String> fullShortUrls);
+
+    /**
+     * 分组内短链接发生移入、移出时删除排行榜，下次查询时重建
+     *
+     * @param gid 分组标识
+     */
+    void invalidate(String gid);
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import java.util.Date;
+
+/**
+ * 短链接访问计数异步回写接口层
+ * 维护 t_link 累计访问数与 t_link_stats_today 今日访问数
+ */
+public interface LinkStatsCounterService {
+
+    /**
+     * 累加短链接访问计数，仅写入内存，由定时任务批量回写数据库
+     *
+     * @param gid          分组标识
+     * @param fullShortUrl 完整短链接
+     * @param date         访问日期
+     * @param pv           访问次数增量
+     * @param uv           独立访客增量
+     * @param uip          独立 IP 增量
+     */
+    void increment(String gid, String fullShortUrl, Date date, int pv, int uv, int uip);
+
+    /**
+     * 立即将内存计数回写数据库
+     */
+    void flush();
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsDailySummaryDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+
+import java.util.List;
+
+/**
+ * 短链接按天汇总统计接口层
+ */
+public interface LinkStatsDailyService {
+
+    /**
+     * 将访问记录合并到短链接按天汇总统计，分组按天汇总统计的增量在事务提交后累加到内存，按周期合并写入
+     *
+     * @param statsRecords 访问记录，需包含完整短链接、分组标识与访问时间
+     */
+    void saveStatsDaily(List<ShortLinkStatsRecordDTO> statsRecords);
+
+    /**
+     * 将单条访问记录累加到内存增量，按周期合并写入按天汇总统计
+     *
+     * @param statsRecord 访问记录，需包含完整短链接、分组标识与访问时间
+     */
+    void bufferStatsDaily(ShortLinkStatsRecordDTO statsRecord);
+
+    /**
+     * 将迁移分组后写入原分组的访问记录合并到当前分组，并从原分组扣减访问次数与高频 IP，原分组的 UV、UIP 估算无法扣减
+     *
+     * @param statsRecords 访问记录，分组标识为当前分组
+     * @param originGid    原分组标识
+     */
+    void rerouteStatsDaily(List<ShortLinkStatsRecordDTO> statsRecords, String originGid);
+
+    /**
+     * 合并短链接指定日期内按天汇总统计
+     *
+     * @return 合并结果，没有汇总数据时返回 null
+     */
+    ShortLinkStatsDailySummaryDTO summarizeByShortLink(ShortLinkStatsReqDTO requestParam);
+
+    /**
+     * 合并分组指定日期内按天汇总统计
+     *
+     * @return 合并结果，没有汇总数据时返回 null
+     */
+    ShortLinkStatsDailySummaryDTO summarizeByGroup(ShortLinkGroupStatsReqDTO requestParam);
+}
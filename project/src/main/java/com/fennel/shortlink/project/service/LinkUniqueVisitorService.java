@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.fennel.shortlink.project.dto.biz.ShortLinkFirstVisitDTO;
+
+/**
+ * 短链接独立访客统计接口层
+ */
+public interface LinkUniqueVisitorService {
+
+    /**
+     * 记录一次访问并判断是否为首次访问
+     *
+     * @param fullShortUrl    完整短链接
+     * @param uv              访客标识
+     * @param uvCookieCreated 本次请求是否新下发访客 Cookie
+     * @param remoteAddr      访问 IP
+     * @return 首次访问标识
+     */
+    ShortLinkFirstVisitDTO recordVisit(String fullShortUrl, String uv, boolean uvCookieCreated, String remoteAddr);
+
+    /**
+     * 统计日期范围内独立访客数
+     *
+     * @return 独立访客数，非 HyperLogLog 模式或超出保留天数时返回 null
+     */
+    Long countUv(String fullShortUrl, String startDate, String endDate);
+
+    /**
+     * 统计日期范围内独立 IP 数
+     *
+     * @return 独立 IP 数，非 HyperLogLog 模式或超出保留天数时返回 null
+     */
+    Long countUip(String fullShortUrl, String startDate, String endDate);
+}
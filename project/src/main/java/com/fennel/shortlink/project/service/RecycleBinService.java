@@ -23,7 +23,9 @@ import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
 import com.fennel.shortlink.project.dto.req.RecycleBinRecoverReqDTO;
 import com.fennel.shortlink.project.dto.req.RecycleBinRemoveReqDTO;
 import com.fennel.shortlink.project.dto.req.RecycleBinSaveReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkRecycleBinCursorPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkRecycleBinPageReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkPageRespDTO;
 
 /**
@@ -46,6 +48,14 @@ public interface RecycleBinService extends IService<ShortLinkDO> {
      */
     IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkRecycleBinPageReqDTO requestParam);
 
+    /**
+     * 游标分页查询短链接，按移入回收站时间倒序，不统计总数
+     *
+     * @param requestParam 游标分页查询短链接请求参数
+     * @return 短链接游标分页返回结果
+     */
+    CursorPageRespDTO<ShortLinkPageRespDTO> pageShortLinkByCursor(ShortLinkRecycleBinCursorPageReqDTO requestParam);
+
     /**
      * 从回收站恢复短链接
      *
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.fennel.shortlink.project.dto.resp.ShortLinkHotKeyRespDTO;
+
+import java.util.List;
+
+/**
+ * 热点短链接识别接口层
+ */
+public interface ShortLinkHotKeyService {
+
+    /**
+     * 记录一次跳转
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    void record(String fullShortUrl);
+
+    /**
+     * 读取 Redis 跳转缓存，热点短链接随机读取一个副本，副本不存在时读取原 Key
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存值，不存在返回 null
+     */
+    String getGotoCache(String fullShortUrl);
+
+    /**
+     * 删除热点短链接的跳转缓存副本
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    void deleteGotoCacheReplicas(String fullShortUrl);
+
+    /**
+     * 查询当前节点的热点短链接，按估算跳转次数倒序
+     */
+    List<ShortLinkHotKeyRespDTO> listHotKeys();
+}
@@ -20,11 +20,15 @@ package com.fennel.shortlink.project.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreReqDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreRespDTO;
 import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkCreateReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkCursorPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkUpdateReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkCreateRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkGroupCountQueryRespDTO;
@@ -33,6 +37,7 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 短链接接口层
@@ -63,6 +68,14 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
      */
     ShortLinkBatchCreateRespDTO batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam);
 
+    /**
+     * 分片批量创建短链接，每处理完一片即回调该片结果，用于流式返回
+     *
+     * @param requestParam        批量创建短链接请求参数
+     * @param chunkResultConsumer 分片结果回调
+     */
+    void batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam, Consumer<ShortLinkBatchCreateRespDTO> chunkResultConsumer);
+
     /**
      * 修改短链接
      *
@@ -78,6 +91,14 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
      */
     IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam);
 
+    /**
+     * 游标分页查询短链接，按创建时间倒序，不统计总数
+     *
+     * @param requestParam 游标分页查询短链接请求参数
+     * @return 短链接游标分页返回结果
+     */
+    CursorPageRespDTO<ShortLinkPageRespDTO> pageShortLinkByCursor(ShortLinkCursorPageReqDTO requestParam);
+
     /**
      * 查询短链接分组内数量
      *
@@ -95,6 +116,14 @@ public interface ShortLinkService extends IService<ShortLinkDO> {
      */
     void restoreUrl(String shortUri, ServletRequest request, ServletResponse response);
 
+    /**
+     * 短链接跳转，不依赖 HTTP 容器，供 Servlet 与独立跳转服务共用
+     *
+     * @param requestParam 短链接跳转请求参数
+     * @return 短链接跳转结果
+     */
+    ShortLinkRestoreRespDTO restoreUrl(ShortLinkRestoreReqDTO requestParam);
+
     /**
      * 短链接统计
      *
@@ -18,10 +18,13 @@
 package com.fennel.shortlink.project.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkStatsAccessRecordReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsAccessRecordRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsRespDTO;
 
@@ -61,4 +64,20 @@ public interface ShortLinkStatsService {
      * @return 分组访问记录监控数据
      */
     IPage<ShortLinkStatsAccessRecordRespDTO> groupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam);
+
+    /**
+     * 游标分页访问单个短链接指定时间内访问记录监控数据，不统计总数
+     *
+     * @param requestParam 游标分页获取短链接监控访问记录数据入参
+     * @return 访问记录监控数据
+     */
+    CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> shortLinkStatsAccessRecordByCursor(ShortLinkStatsAccessRecordCursorReqDTO requestParam);
+
+    /**
+     * 游标分页访问分组短链接指定时间内访问记录监控数据，不统计总数
+     *
+     * @param requestParam 游标分页获取分组短链接监控访问记录数据入参
+     * @return 分组访问记录监控数据
+     */
+    CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> groupShortLinkStatsAccessRecordByCursor(ShortLinkGroupStatsAccessRecordCursorReqDTO requestParam);
 }
@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service;
+
+import com.fennel.shortlink.project.dto.resp.ShortLinkWarmUpRespDTO;
+
+/**
+ * 短链接跳转缓存预热接口层
+ */
+public interface ShortLinkWarmUpService {
+
+    /**
+     * 按最近访问量加载热点短链接到 Redis 与本地跳转缓存，Redis 中已存在的跳转缓存不覆盖
+     *
+     * @return 预热结果
+     */
+    ShortLinkWarmUpRespDTO warmUp();
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fennel.shortlink.project.archive.AccessLogArchiveStore;
+import com.fennel.shortlink.project.archive.AccessLogSegment;
+import com.fennel.shortlink.project.config.StatsArchiveConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
+import com.fennel.shortlink.project.dao.mapper.LinkAccessLogsMapper;
+import com.fennel.shortlink.project.service.LinkAccessLogsArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_STATS_ACCESS_LOGS_ARCHIVE_KEY;
+
+/**
+ * 短链接访问日志归档接口实现层
+ * 按天从最早的访问日志开始归档：按 (访问时间, id) 分批读取，每满一个分段写一个文件，整天写完后登记分段，
+ * 再删除对应分区或分批删除已归档的访问日志。删除前中断时，重新归档按已有分段中的 id 去重
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LinkAccessLogsArchiveServiceImpl implements LinkAccessLogsArchiveService, InitializingBean, DisposableBean {
+
+    private static final DateTimeFormatter PARTITION_NAME_FORMATTER = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final long INITIAL_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final StatsArchiveConfiguration statsArchiveConfiguration;
+    private final AccessLogArchiveStore accessLogArchiveStore;
+    private final LinkAccessLogsMapper linkAccessLogsMapper;
+    private final RedissonClient redissonClient;
+
+    private final Set<LocalDate> createdPartitions = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService archiveExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!statsArchiveConfiguration.getEnable()) {
+            return;
+        }
+        archiveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-link-access-logs-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        archiveExecutor.scheduleWithFixedDelay(this::runQuietly, INITIAL_DELAY, statsArchiveConfiguration.getCheckInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (archiveExecutor == null) {
+            return;
+        }
+        archiveExecutor.shutdownNow();
+        archiveExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void archive() {
+        RLock lock = redissonClient.getLock(LOCK_STATS_ACCESS_LOGS_ARCHIVE_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            Date minCreateTime = linkAccessLogsMapper.findMinCreateTime();
+            if (minCreateTime == null) {
+                return;
+            }
+            LocalDate hotStartDay = LocalDate.now().minusDays(statsArchiveConfiguration.getHotDays() - 1L);
+            for (LocalDate day = toLocalDate(minCreateTime); day.isBefore(hotStartDay); day = day.plusDays(1)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                archiveDay(day);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void maintainPartitions() {
+        if (!statsArchiveConfiguration.getPartitionEnable()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i <= statsArchiveConfiguration.getPartitionPreCreateDays(); i++) {
+            LocalDate day = today.plusDays(i);
+            if (createdPartitions.contains(day)) {
+                continue;
+            }
+            try {
+                linkAccessLogsMapper.addPartition(day.format(PARTITION_NAME_FORMATTER), day.plusDays(1).toString());
+            } catch (RuntimeException ex) {
+                // 分区已存在时 MySQL 返回重复分区错误，其他节点已创建或上次已创建
+                log.debug("访问日志分区创建跳过，日期：{}，原因：{}", day, ex.getMessage());
+            }
+            createdPartitions.add(day);
+        }
+        createdPartitions.removeIf(each -> each.isBefore(today));
+    }
+
+    private void runQuietly() {
+        try {
+            maintainPartitions();
+            archive();
+        } catch (Throwable ex) {
+            log.error("访问日志归档失败", ex);
+        }
+    }
+
+    private void archiveDay(LocalDate day) {
+        Date startTime = toDate(day);
+        Date endTime = toDate(day.plusDays(1));
+        try {
+            List<AccessLogSegment> daySegments = accessLogArchiveStore.listSegments(day);
+            Set<Long> archivedIds = accessLogArchiveStore.archivedIds(daySegments);
+            int sequence = daySegments.stream().mapToInt(each -> each.sequence() + 1).max().orElse(0);
+            int segmentMaxRows = statsArchiveConfiguration.getSegmentMaxRows();
+            List<LinkAccessLogsDO> segmentRows = new ArrayList<>();
+            long maxId = Long.MIN_VALUE;
+            LinkAccessLogsDO last = null;
+            int archivedCount = 0;
+            while (true) {
+                List<LinkAccessLogsDO> batch = linkAccessLogsMapper.selectList(buildFetchWrapper(startTime, endTime, last));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (LinkAccessLogsDO each : batch) {
+                    maxId = Math.max(maxId, each.getId());
+                    if (archivedIds.contains(each.getId()) || Integer.valueOf(1).equals(each.getDelFlag())) {
+                        continue;
+                    }
+                    segmentRows.add(each);
+                    if (segmentRows.size() >= segmentMaxRows) {
+                        daySegments.add(accessLogArchiveStore.write(day, sequence++, segmentRows));
+                        archivedCount += segmentRows.size();
+                        segmentRows = new ArrayList<>();
+                    }
+                }
+                last = batch.get(batch.size() - 1);
+            }
+            if (!segmentRows.isEmpty()) {
+                daySegments.add(accessLogArchiveStore.write(day, sequence, segmentRows));
+                archivedCount += segmentRows.size();
+            }
+            if (CollUtil.isNotEmpty(daySegments)) {
+                accessLogArchiveStore.register(daySegments);
+            }
+            // 分段写入返回前已同步文件与目录，删除热数据前再从分段目录完整读取一次，确认冷数据可读且条数齐全
+            if (maxId != Long.MIN_VALUE) {
+                long readableCount = accessLogArchiveStore.verifyReadable(day);
+                if (readableCount < archivedIds.size() + archivedCount) {
+                    throw new IOException("访问日志归档分段校验失败，可读取条数：" + readableCount + "，应归档条数：" + (archivedIds.size() + archivedCount));
+                }
+                deleteArchived(day, startTime, endTime, maxId);
+            }
+            log.info("访问日志归档完成，日期：{}，归档条数：{}", day, archivedCount);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("访问日志归档写入失败，日期：" + day, ex);
+        }
+    }
+
+    /**
+     * 按 (访问时间, id) 升序分批读取，已删除的访问日志也需要读取，以便统一删除
+     */
+    private LambdaQueryWrapper<LinkAccessLogsDO> buildFetchWrapper(Date startTime, Date endTime, LinkAccessLogsDO last) {
+        LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = Wrappers.lambdaQuery(LinkAccessLogsDO.class)
+                .ge(LinkAccessLogsDO::getCreateTime, startTime)
+                .lt(LinkAccessLogsDO::getCreateTime, endTime);
+        if (last != null) {
+            queryWrapper.and(wrapper -> wrapper.gt(LinkAccessLogsDO::getCreateTime, last.getCreateTime())
+                    .or(each -> each.eq(LinkAccessLogsDO::getCreateTime, last.getCreateTime()).gt(LinkAccessLogsDO::getId, last.getId())));
+        }
+        return queryWrapper.orderByAsc(LinkAccessLogsDO::getCreateTime)
+                .orderByAsc(LinkAccessLogsDO::getId)
+                .last("LIMIT " + statsArchiveConfiguration.getFetchBatchSize());
+    }
+
+    /**
+     * 分区中没有归档期间写入的迟到日志时直接删除分区，否则分批删除 id 不大于已读取最大 id 的访问日志
+     */
+    private void deleteArchived(LocalDate day, Date startTime, Date endTime, long maxId) {
+        if (statsArchiveConfiguration.getPartitionEnable() && linkAccessLogsMapper.countArrivedAfter(endTime, maxId) == 0) {
+            try {
+                linkAccessLogsMapper.dropPartition(day.format(PARTITION_NAME_FORMATTER));
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("访问日志分区删除失败，改为分批删除，日期：{}，原因：{}", day, ex.getMessage());
+            }
+        }
+        int deleteBatchSize = statsArchiveConfiguration.getDeleteBatchSize();
+        while (linkAccessLogsMapper.deleteArchived(startTime, endTime, maxId, deleteBatchSize) >= deleteBatchSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
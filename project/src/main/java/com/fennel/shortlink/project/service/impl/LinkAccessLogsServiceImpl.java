@@ -0,0 +1,465 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fennel.shortlink.project.archive.AccessLogArchiveStore;
+import com.fennel.shortlink.project.archive.AccessLogColumn;
+import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
+import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.fennel.shortlink.project.dao.mapper.LinkAccessLogsMapper;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.fennel.shortlink.project.service.LinkAccessLogsService;
+import com.fennel.shortlink.project.toolkit.CursorUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 短链接访问日志接口实现层
+ */
+@Service
+@RequiredArgsConstructor
+public class LinkAccessLogsServiceImpl extends ServiceImpl<LinkAccessLogsMapper, LinkAccessLogsDO> implements LinkAccessLogsService {
+
+    private static final int TOP_IP_SIZE = 5;
+    private static final String NEW_USER = "新访客";
+    private static final String OLD_USER = "老访客";
+    private static final Set<AccessLogColumn> RECORD_COLUMNS = EnumSet.allOf(AccessLogColumn.class);
+    private static final Set<AccessLogColumn> USER_IP_COLUMNS = EnumSet.of(AccessLogColumn.USER, AccessLogColumn.IP);
+    private static final Set<AccessLogColumn> USER_COLUMNS = EnumSet.of(AccessLogColumn.USER);
+    private static final Set<AccessLogColumn> ID_COLUMNS = EnumSet.of(AccessLogColumn.ID);
+    private static final int IN_BATCH_SIZE = 1000;
+
+    private final AccessLogArchiveStore accessLogArchiveStore;
+
+    @Override
+    public IPage<LinkAccessLogsDO> pageAccessLogs(IPage<LinkAccessLogsDO> page, String gid, String fullShortUrl, String startDate, String endDate) {
+        TierRange range = splitTier(startDate, endDate);
+        if (range == null) {
+            LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = buildQueryWrapper(gid, fullShortUrl, startDate, endDate)
+                    .orderByDesc(LinkAccessLogsDO::getCreateTime);
+            return baseMapper.selectPage(page, queryWrapper);
+        }
+        List<LinkAccessLogsDO> records = new ArrayList<>();
+        long hotTotal = 0L;
+        if (range.hasHot()) {
+            LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = buildQueryWrapper(gid, fullShortUrl, range.hotStartTime(), range.endTime())
+                    .orderByDesc(LinkAccessLogsDO::getCreateTime)
+                    .orderByDesc(LinkAccessLogsDO::getId);
+            IPage<LinkAccessLogsDO> hotPage = baseMapper.selectPage(new Page<>(page.getCurrent(), page.getSize()), queryWrapper);
+            hotTotal = hotPage.getTotal();
+            records.addAll(hotPage.getRecords());
+        }
+        // 冷数据紧接在热数据之后，总数只读取分段头部或访问时间与字典下标列，完整记录只读取当前页
+        long coldTotal = accessLogArchiveStore.count(gid, fullShortUrl, range.startTime(), range.coldEndTime());
+        long coldOffset = Math.max(0L, (page.getCurrent() - 1) * page.getSize() - hotTotal);
+        long coldLimit = page.getSize() - records.size();
+        if (coldLimit > 0 && coldOffset < coldTotal) {
+            records.addAll(readColdPage(gid, fullShortUrl, range, coldOffset, coldLimit));
+        }
+        page.setRecords(records);
+        page.setTotal(hotTotal + coldTotal);
+        return page;
+    }
+
+    @Override
+    public List<LinkAccessLogsDO> listAccessLogsByCursor(String gid, String fullShortUrl, String startDate, String endDate, String cursor, int size) {
+        TierRange range = splitTier(startDate, endDate);
+        if (range == null) {
+            LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = buildQueryWrapper(gid, fullShortUrl, startDate, endDate);
+            CursorUtil.keyset(queryWrapper, cursor, size, LinkAccessLogsDO::getCreateTime, LinkAccessLogsDO::getId);
+            return baseMapper.selectList(queryWrapper);
+        }
+        CursorUtil.Cursor decoded = CursorUtil.decode(cursor);
+        List<LinkAccessLogsDO> rows = new ArrayList<>(size + 1);
+        // 游标已经落在冷数据中时热数据不会再有符合条件的记录
+        if (range.hasHot() && (decoded == null || !decoded.time().before(range.watermark()))) {
+            LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = buildQueryWrapper(gid, fullShortUrl, range.hotStartTime(), range.endTime());
+            CursorUtil.keyset(queryWrapper, cursor, size, LinkAccessLogsDO::getCreateTime, LinkAccessLogsDO::getId);
+            rows.addAll(baseMapper.selectList(queryWrapper));
+        }
+        if (rows.size() <= size) {
+            accessLogArchiveStore.scan(gid, fullShortUrl, range.startTime(), range.coldEndTime(), true, RECORD_COLUMNS, each -> {
+                if (decoded == null || isBeforeCursor(each, decoded)) {
+                    rows.add(each);
+                }
+                return rows.size() <= size;
+            });
+        }
+        return rows;
+    }
+
+    @Override
+    public LinkAccessStatsDO findPvUvUidStatsByShortLink(ShortLinkStatsReqDTO requestParam) {
+        TierRange range = splitTier(requestParam.getStartDate(), requestParam.getEndDate());
+        if (range == null) {
+            return baseMapper.findPvUvUidStatsByShortLink(requestParam);
+        }
+        return collectUserIp(requestParam.getGid(), requestParam.getFullShortUrl(), range).toPvUvUipStats();
+    }
+
+    @Override
+    public LinkAccessStatsDO findPvUvUidStatsByGroup(ShortLinkGroupStatsReqDTO requestParam) {
+        TierRange range = splitTier(requestParam.getStartDate(), requestParam.getEndDate());
+        if (range == null) {
+            return baseMapper.findPvUvUidStatsByGroup(requestParam);
+        }
+        return collectUserIp(requestParam.getGid(), null, range).toPvUvUipStats();
+    }
+
+    @Override
+    public List<HashMap<String, Object>> listTopIpByShortLink(ShortLinkStatsReqDTO requestParam) {
+        TierRange range = splitTier(requestParam.getStartDate(), requestParam.getEndDate());
+        if (range == null) {
+            return baseMapper.listTopIpByShortLink(requestParam);
+        }
+        return collectUserIp(requestParam.getGid(), requestParam.getFullShortUrl(), range).toTopIpList();
+    }
+
+    @Override
+    public List<HashMap<String, Object>> listTopIpByGroup(ShortLinkGroupStatsReqDTO requestParam) {
+        TierRange range = splitTier(requestParam.getStartDate(), requestParam.getEndDate());
+        if (range == null) {
+            return baseMapper.listTopIpByGroup(requestParam);
+        }
+        return collectUserIp(requestParam.getGid(), null, range).toTopIpList();
+    }
+
+    @Override
+    public HashMap<String, Object> findUvTypeCntByShortLink(ShortLinkStatsReqDTO requestParam) {
+        TierRange range = splitTier(requestParam.getStartDate(), requestParam.getEndDate());
+        if (range == null) {
+            return baseMapper.findUvTypeCntByShortLink(requestParam);
+        }
+        // 热数据在 MySQL 中按访客聚合最早与最晚访问时间，冷数据只遍历查询范围内的部分，早于查询范围的归档访问不参与判断
+        Map<String, UserVisit> userVisits = new HashMap<>();
+        accessLogArchiveStore.scan(requestParam.getGid(), requestParam.getFullShortUrl(), range.startTime(), range.coldEndTime(),
+                false, USER_COLUMNS, each -> {
+                    if (each.getUser() != null) {
+                        long time = each.getCreateTime().getTime();
+                        visit(userVisits, each.getUser(), time, time);
+                    }
+                    return true;
+                });
+        baseMapper.listUserVisitSpan(requestParam.getGid(), requestParam.getFullShortUrl(), range.watermark())
+                .forEach(each -> visit(userVisits, String.valueOf(each.get("user")),
+                        toMillis(each.get("minTime")), toMillis(each.get("maxTime"))));
+        long startTime = range.startTime().getTime();
+        long endTime = range.endTime().getTime();
+        int oldUserCnt = 0;
+        int newUserCnt = 0;
+        for (UserVisit each : userVisits.values()) {
+            if (each.multiDay()) {
+                oldUserCnt++;
+            } else if (each.maxTime >= startTime && each.maxTime <= endTime) {
+                newUserCnt++;
+            }
+        }
+        HashMap<String, Object> result = new HashMap<>();
+        result.put("oldUserCnt", oldUserCnt);
+        result.put("newUserCnt", newUserCnt);
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> selectUvTypeByUsers(String gid, String fullShortUrl, String startDate, String endDate, List<String> userAccessLogsList) {
+        List<Map<String, Object>> hotResult = baseMapper.selectUvTypeByUsers(gid, fullShortUrl, startDate, endDate, userAccessLogsList);
+        return mergeUvType(hotResult, gid, fullShortUrl, startDate, endDate, userAccessLogsList);
+    }
+
+    @Override
+    public List<Map<String, Object>> selectGroupUvTypeByUsers(String gid, String startDate, String endDate, List<String> userAccessLogsList) {
+        List<Map<String, Object>> hotResult = baseMapper.selectGroupUvTypeByUsers(gid, startDate, endDate, userAccessLogsList);
+        return mergeUvType(hotResult, gid, null, startDate, endDate, userAccessLogsList);
+    }
+
+    /**
+     * 根据冷数据中的首次访问时间修正 MySQL 中的新老访客判断
+     */
+    private List<Map<String, Object>> mergeUvType(List<Map<String, Object>> hotResult, String gid, String fullShortUrl,
+                                                  String startDate, String endDate, List<String> userAccessLogsList) {
+        Date watermark = accessLogArchiveStore.watermark();
+        if (watermark == null || userAccessLogsList.isEmpty()) {
+            return hotResult;
+        }
+        Date startTime = DateUtil.parse(startDate);
+        Date endTime = DateUtil.parse(endDate);
+        Date coldEndTime = new Date(Math.min(endTime.getTime(), watermark.getTime() - 1L));
+        Set<String> pendingUsers = new HashSet<>(userAccessLogsList);
+        Map<String, Long> coldFirstVisits = new HashMap<>();
+        // 正序遍历，第一次遇到的即为首次访问时间，全部用户找到后提前结束
+        accessLogArchiveStore.scan(gid, fullShortUrl, new Date(0L), coldEndTime, false, USER_COLUMNS, each -> {
+            if (pendingUsers.remove(each.getUser())) {
+                coldFirstVisits.put(each.getUser(), each.getCreateTime().getTime());
+            }
+            return !pendingUsers.isEmpty();
+        });
+        if (coldFirstVisits.isEmpty()) {
+            return hotResult;
+        }
+        Map<String, String> hotUvTypes = new HashMap<>();
+        hotResult.forEach(each -> hotUvTypes.putIfAbsent(String.valueOf(each.get("user")), String.valueOf(each.get("uvType"))));
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (String user : new LinkedHashSet<>(userAccessLogsList)) {
+            Long coldFirstVisit = coldFirstVisits.get(user);
+            String hotUvType = hotUvTypes.get(user);
+            String uvType;
+            if (coldFirstVisit == null) {
+                if (hotUvType == null) {
+                    continue;
+                }
+                uvType = hotUvType;
+            } else if (hotUvType != null) {
+                uvType = OLD_USER.equals(hotUvType) || coldFirstVisit < startTime.getTime() ? OLD_USER : NEW_USER;
+            } else {
+                uvType = coldFirstVisit >= startTime.getTime() ? NEW_USER : OLD_USER;
+            }
+            Map<String, Object> each = new HashMap<>();
+            each.put("user", user);
+            each.put("uvType", uvType);
+            result.add(each);
+        }
+        return result;
+    }
+
+    /**
+     * 冷数据倒序中第 offset 条起的 limit 条完整记录，先只读取 id 列定位当前页，再只对当前页的时间范围读取完整记录
+     */
+    private List<LinkAccessLogsDO> readColdPage(String gid, String fullShortUrl, TierRange range, long offset, long limit) {
+        List<LinkAccessLogsDO> keys = new ArrayList<>();
+        long[] position = {0L};
+        accessLogArchiveStore.scan(gid, fullShortUrl, range.startTime(), range.coldEndTime(), true, ID_COLUMNS, each -> {
+            if (position[0]++ >= offset) {
+                keys.add(each);
+            }
+            return keys.size() < limit;
+        });
+        if (keys.isEmpty()) {
+            return keys;
+        }
+        Set<Long> pageIds = new HashSet<>();
+        keys.forEach(each -> pageIds.add(each.getId()));
+        List<LinkAccessLogsDO> records = new ArrayList<>(keys.size());
+        Date pageStartTime = keys.get(keys.size() - 1).getCreateTime();
+        Date pageEndTime = keys.get(0).getCreateTime();
+        accessLogArchiveStore.scan(gid, fullShortUrl, pageStartTime, pageEndTime, true, RECORD_COLUMNS, each -> {
+            if (pageIds.remove(each.getId())) {
+                records.add(each);
+            }
+            return !pageIds.isEmpty();
+        });
+        return records;
+    }
+
+    /**
+     * 热数据在 MySQL 中聚合，冷数据遍历查询范围内的访客与 IP，再只把冷数据中出现的访客与 IP 回查热数据去重
+     */
+    private UserIpCollector collectUserIp(String gid, String fullShortUrl, TierRange range) {
+        UserIpCollector collector = new UserIpCollector();
+        accessLogArchiveStore.scan(gid, fullShortUrl, range.startTime(), range.coldEndTime(), false, USER_IP_COLUMNS, each -> {
+            collector.accept(each);
+            return true;
+        });
+        if (!range.hasHot()) {
+            return collector;
+        }
+        Date hotStartTime = range.hotStartTime();
+        collector.hotStats = baseMapper.findPvUvUipStats(gid, fullShortUrl, hotStartTime, range.endTime());
+        if (collector.hotStats == null) {
+            return collector;
+        }
+        collector.hotTopIps = baseMapper.listIpCount(gid, fullShortUrl, hotStartTime, range.endTime(), null, TOP_IP_SIZE);
+        CollUtil.split(collector.users, IN_BATCH_SIZE).forEach(each ->
+                collector.hotUserOverlap += baseMapper.countUsersIn(gid, fullShortUrl, hotStartTime, range.endTime(), each));
+        CollUtil.split(collector.ipCounts.keySet(), IN_BATCH_SIZE).forEach(each ->
+                baseMapper.listIpCount(gid, fullShortUrl, hotStartTime, range.endTime(), each, null)
+                        .forEach(ipCount -> collector.hotIpCounts.put(String.valueOf(ipCount.get("ip")), toInt(ipCount.get("count")))));
+        return collector;
+    }
+
+    private LambdaQueryWrapper<LinkAccessLogsDO> buildQueryWrapper(String gid, String fullShortUrl, Object startTime, Object endTime) {
+        return Wrappers.lambdaQuery(LinkAccessLogsDO.class)
+                .eq(LinkAccessLogsDO::getGid, gid)
+                .eq(fullShortUrl != null, LinkAccessLogsDO::getFullShortUrl, fullShortUrl)
+                .between(LinkAccessLogsDO::getCreateTime, startTime, endTime)
+                .eq(LinkAccessLogsDO::getDelFlag, 0);
+    }
+
+    /**
+     * 拆分查询时间范围，范围内没有归档数据时返回 null
+     */
+    private TierRange splitTier(String startDate, String endDate) {
+        Date startTime = DateUtil.parse(startDate);
+        Date endTime = DateUtil.parse(endDate);
+        if (!accessLogArchiveStore.overlaps(startTime, endTime)) {
+            return null;
+        }
+        return new TierRange(startTime, endTime, accessLogArchiveStore.watermark());
+    }
+
+    private static boolean isBeforeCursor(LinkAccessLogsDO each, CursorUtil.Cursor cursor) {
+        int compare = each.getCreateTime().compareTo(cursor.time());
+        return compare < 0 || (compare == 0 && each.getId() < cursor.id());
+    }
+
+    private static void visit(Map<String, UserVisit> userVisits, String user, long minTime, long maxTime) {
+        UserVisit userVisit = userVisits.get(user);
+        if (userVisit == null) {
+            userVisits.put(user, new UserVisit(minTime, maxTime));
+            return;
+        }
+        userVisit.minTime = Math.min(userVisit.minTime, minTime);
+        userVisit.maxTime = Math.max(userVisit.maxTime, maxTime);
+    }
+
+    private static long toMillis(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return ((Date) value).getTime();
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    /**
+     * 冷热分界后的查询范围，冷数据为 [startTime, watermark)，热数据为 [max(startTime, watermark), endTime]
+     */
+    private record TierRange(Date startTime, Date endTime, Date watermark) {
+
+        boolean hasHot() {
+            return !endTime.before(watermark);
+        }
+
+        Date hotStartTime() {
+            return startTime.after(watermark) ? startTime : watermark;
+        }
+
+        Date coldEndTime() {
+            return new Date(Math.min(endTime.getTime(), watermark.getTime() - 1L));
+        }
+    }
+
+    /**
+     * 访客最早与最晚访问时间汇总，两者不在同一天即为多日访问
+     */
+    private static class UserVisit {
+
+        private long minTime;
+        private long maxTime;
+
+        private UserVisit(long minTime, long maxTime) {
+            this.minTime = minTime;
+            this.maxTime = maxTime;
+        }
+
+        private boolean multiDay() {
+            return toDay(minTime) != toDay(maxTime);
+        }
+
+        private static long toDay(long time) {
+            return LocalDate.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()).toEpochDay();
+        }
+    }
+
+    /**
+     * 冷数据访客与 IP 汇总并合并热数据聚合结果，口径与访问日志 SQL 统计一致：PV 与 UV 忽略空访客，高频 IP 忽略空 IP
+     */
+    private static class UserIpCollector {
+
+        private int rowCount;
+        private int pv;
+        private final Set<String> users = new HashSet<>();
+        private final Map<String, Integer> ipCounts = new HashMap<>();
+        private LinkAccessStatsDO hotStats;
+        private List<HashMap<String, Object>> hotTopIps = List.of();
+        private int hotUserOverlap;
+        private final Map<String, Integer> hotIpCounts = new HashMap<>();
+
+        private void accept(LinkAccessLogsDO each) {
+            rowCount++;
+            if (each.getUser() != null) {
+                pv++;
+                users.add(each.getUser());
+            }
+            if (each.getIp() != null) {
+                ipCounts.merge(each.getIp(), 1, Integer::sum);
+            }
+        }
+
+        private LinkAccessStatsDO toPvUvUipStats() {
+            if (hotStats == null) {
+                return rowCount == 0 ? null : LinkAccessStatsDO.builder()
+                        .pv(pv)
+                        .uv(users.size())
+                        .uip(ipCounts.size())
+                        .build();
+            }
+            return LinkAccessStatsDO.builder()
+                    .pv(hotStats.getPv() + pv)
+                    .uv(hotStats.getUv() + users.size() - hotUserOverlap)
+                    .uip(hotStats.getUip() + ipCounts.size() - hotIpCounts.size())
+                    .build();
+        }
+
+        /**
+         * 热数据前 N 名之外的 IP 热数据次数不超过第 N 名，只有冷数据中出现的 IP 可能反超，因此合并热数据前 N 名与冷数据 IP 即可得到准确排名
+         */
+        private List<HashMap<String, Object>> toTopIpList() {
+            Map<String, Integer> totals = new HashMap<>();
+            ipCounts.forEach((ip, count) -> totals.put(ip, count + hotIpCounts.getOrDefault(ip, 0)));
+            hotTopIps.forEach(each -> {
+                String ip = String.valueOf(each.get("ip"));
+                totals.put(ip, toInt(each.get("count")) + ipCounts.getOrDefault(ip, 0));
+            });
+            return totals.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                    .limit(TOP_IP_SIZE)
+                    .map(each -> {
+                        HashMap<String, Object> item = new HashMap<>();
+                        item.put("ip", each.getKey());
+                        item.put("count", each.getValue());
+                        return item;
+                    })
+                    .toList();
+        }
+    }
+}
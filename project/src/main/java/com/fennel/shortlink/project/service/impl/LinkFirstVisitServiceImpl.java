@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.fennel.shortlink.project.dao.entity.LinkFirstVisitDO;
+import com.fennel.shortlink.project.dao.mapper.LinkFirstVisitMapper;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.fennel.shortlink.project.service.LinkFirstVisitService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 访客首次访问索引接口实现层
+ * 同一批次内相同访客先在内存中合并，再按唯一键顺序批量写入，避免并发批次互相死锁
+ */
+@Service
+@RequiredArgsConstructor
+public class LinkFirstVisitServiceImpl implements LinkFirstVisitService {
+
+    /**
+     * 分组维度记录的完整短链接
+     */
+    private static final String GROUP_FULL_SHORT_URL = "";
+
+    private final LinkFirstVisitMapper linkFirstVisitMapper;
+
+    @Override
+    public void saveFirstVisits(List<ShortLinkStatsRecordDTO> statsRecords) {
+        Map<String, LinkFirstVisitDO> firstVisitMap = new TreeMap<>();
+        for (ShortLinkStatsRecordDTO each : statsRecords) {
+            if (StrUtil.isBlank(each.getUv())) {
+                continue;
+            }
+            Date visitTime = Optional.ofNullable(each.getCurrentDate()).orElseGet(Date::new);
+            for (String fullShortUrl : new String[]{each.getFullShortUrl(), GROUP_FULL_SHORT_URL}) {
+                firstVisitMap.merge(
+                        StrUtil.join("|", fullShortUrl, each.getGid(), each.getUv()),
+                        LinkFirstVisitDO.builder()
+                                .fullShortUrl(fullShortUrl)
+                                .gid(each.getGid())
+                                .user(each.getUv())
+                                .firstVisitTime(visitTime)
+                                .lastVisitTime(visitTime)
+                                .multiDay(0)
+                                .build(),
+                        LinkFirstVisitServiceImpl::mergeVisit
+                );
+            }
+        }
+        if (!firstVisitMap.isEmpty()) {
+            linkFirstVisitMapper.saveFirstVisitBatch(new ArrayList<>(firstVisitMap.values()));
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> selectUvTypeByUsers(String gid, String fullShortUrl, String startDate, String endDate, List<String> userAccessLogsList) {
+        if (CollUtil.isEmpty(userAccessLogsList)) {
+            return new ArrayList<>();
+        }
+        return linkFirstVisitMapper.selectUvTypeByUsers(gid, fullShortUrl, startDate, endDate, userAccessLogsList);
+    }
+
+    @Override
+    public List<Map<String, Object>> selectGroupUvTypeByUsers(String gid, String startDate, String endDate, List<String> userAccessLogsList) {
+        return selectUvTypeByUsers(gid, GROUP_FULL_SHORT_URL, startDate, endDate, userAccessLogsList);
+    }
+
+    @Override
+    public HashMap<String, Object> findUvTypeCntByShortLink(ShortLinkStatsReqDTO requestParam) {
+        return linkFirstVisitMapper.findUvTypeCntByShortLink(requestParam);
+    }
+
+    private static LinkFirstVisitDO mergeVisit(LinkFirstVisitDO existing, LinkFirstVisitDO visit) {
+        if (visit.getFirstVisitTime().before(existing.getFirstVisitTime())) {
+            existing.setFirstVisitTime(visit.getFirstVisitTime());
+        }
+        if (visit.getLastVisitTime().after(existing.getLastVisitTime())) {
+            existing.setLastVisitTime(visit.getLastVisitTime());
+        }
+        if (!DateUtil.isSameDay(existing.getFirstVisitTime(), existing.getLastVisitTime())) {
+            existing.setMultiDay(1);
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,443 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fennel.shortlink.project.config.StatsFirstVisitConfiguration;
+import com.fennel.shortlink.project.config.StatsGidRouteConfiguration;
+import com.fennel.shortlink.project.config.StatsRollupConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
+import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkBrowserStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkDeviceStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkFirstVisitDO;
+import com.fennel.shortlink.project.dao.entity.LinkLocaleStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkNetworkStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkOsStatsDO;
+import com.fennel.shortlink.project.dao.entity.LinkStatsTodayDO;
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import com.fennel.shortlink.project.dao.mapper.LinkAccessLogsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkAccessStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkBrowserStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkDeviceStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkFirstVisitMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkLocaleStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkNetworkStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkOsStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.LinkStatsTodayMapper;
+import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.fennel.shortlink.project.dto.biz.ShortLinkGidRouteDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.service.LinkFirstVisitService;
+import com.fennel.shortlink.project.service.LinkGidRouteService;
+import com.fennel.shortlink.project.service.LinkStatsDailyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_GID_ROUTE_RECONCILE_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_GID_ROUTE_EPOCH_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_GID_ROUTE_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_GID_ROUTE_TOPIC_KEY;
+
+/**
+ * 短链接监控分组路由接口实现层
+ * 路由保存在 Redis Hash 中，各节点在本地保存一份副本：发布路由时通过 Topic 通知各节点加载，同时定时比较全局版本号，
+ * 通知丢失时最迟一个检查间隔后全量重新加载。同一短链接的多条路由以版本号大者为准
+ * <p>
+ * 路由生效前已解析出原分组的监控写入会落到原分组：t_link 累计访问数写入已删除的原记录，今日统计与各维度统计写入原分组。
+ * 延迟补偿将原记录相对迁移时复制值的增量加到新记录并将原记录恢复为复制值，将原分组今日统计合并到当前分组；
+ * 原分组中访问时间不早于迁移时间的访问日志即迟到访问，按访问日志将访问、地区、操作系统、浏览器、设备、网络统计从原分组扣减并累加到当前分组，
+ * 合并到当前分组的按天汇总与首次访问索引，再将访问日志改为当前分组，重复执行结果不变。
+ * 访问日志不记录 UV、UIP 首次访问标记，迟到访问计入的 UV、UIP 仍留在原分组的访问统计中；HyperLogLog 无法扣减，
+ * 原分组按天汇总的 UV、UIP 估算与原分组维度的首次访问索引仍包含迟到访客
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LinkGidRouteServiceImpl implements LinkGidRouteService, InitializingBean, DisposableBean {
+
+    private final StatsGidRouteConfiguration statsGidRouteConfiguration;
+    private final RedissonClient redissonClient;
+    private final ShortLinkMapper shortLinkMapper;
+    private final LinkStatsTodayMapper linkStatsTodayMapper;
+    private final LinkAccessLogsMapper linkAccessLogsMapper;
+    private final LinkAccessStatsMapper linkAccessStatsMapper;
+    private final LinkLocaleStatsMapper linkLocaleStatsMapper;
+    private final LinkOsStatsMapper linkOsStatsMapper;
+    private final LinkBrowserStatsMapper linkBrowserStatsMapper;
+    private final LinkDeviceStatsMapper linkDeviceStatsMapper;
+    private final LinkNetworkStatsMapper linkNetworkStatsMapper;
+    private final LinkFirstVisitMapper linkFirstVisitMapper;
+    private final LinkFirstVisitService linkFirstVisitService;
+    private final LinkStatsDailyService linkStatsDailyService;
+    private final StatsRollupConfiguration statsRollupConfiguration;
+    private final StatsFirstVisitConfiguration statsFirstVisitConfiguration;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<String, ShortLinkGidRouteDTO> routes = new ConcurrentHashMap<>();
+
+    private RMap<String, String> routeMap;
+    private RAtomicLong routeEpoch;
+    private RTopic routeTopic;
+    private ScheduledExecutorService refreshExecutor;
+    private volatile long loadedEpoch = -1L;
+
+    @Override
+    public void afterPropertiesSet() {
+        routeMap = redissonClient.getMap(SHORT_LINK_GID_ROUTE_KEY, StringCodec.INSTANCE);
+        routeEpoch = redissonClient.getAtomicLong(SHORT_LINK_GID_ROUTE_EPOCH_KEY);
+        routeTopic = redissonClient.getTopic(SHORT_LINK_GID_ROUTE_TOPIC_KEY, StringCodec.INSTANCE);
+        routeTopic.addListener(String.class, (channel, fullShortUrl) -> loadRoute(fullShortUrl));
+        refreshQuietly();
+        long refreshInterval = statsGidRouteConfiguration.getRefreshInterval();
+        if (refreshInterval <= 0) {
+            return;
+        }
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-link-gid-route-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshExecutor.scheduleWithFixedDelay(this::refreshQuietly, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public String route(String fullShortUrl, String gid) {
+        ShortLinkGidRouteDTO route = routes.get(fullShortUrl);
+        return route != null ? route.getGid() : gid;
+    }
+
+    @Override
+    public void publishRoute(ShortLinkDO originShortLink, long delTime, String gid) {
+        Runnable publishTask = () -> {
+            ShortLinkGidRouteDTO route = ShortLinkGidRouteDTO.builder()
+                    .originGid(originShortLink.getGid())
+                    .gid(gid)
+                    .epoch(routeEpoch.incrementAndGet())
+                    .delTime(delTime)
+                    .totalPv(originShortLink.getTotalPv())
+                    .totalUv(originShortLink.getTotalUv())
+                    .totalUip(originShortLink.getTotalUip())
+                    .movedTime(System.currentTimeMillis())
+                    .reconciled(Boolean.FALSE)
+                    .build();
+            routeMap.fastPut(originShortLink.getFullShortUrl(), JSON.toJSONString(route));
+            applyRoute(originShortLink.getFullShortUrl(), route);
+            routeTopic.publish(originShortLink.getFullShortUrl());
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishTask.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                publishTask.run();
+            }
+        });
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Throwable ex) {
+            log.error("短链接分组路由刷新失败", ex);
+        }
+    }
+
+    private void refresh() {
+        long currentEpoch = routeEpoch.get();
+        if (currentEpoch != loadedEpoch) {
+            Map<String, ShortLinkGidRouteDTO> loadedRoutes = new HashMap<>();
+            routeMap.readAllMap().forEach((fullShortUrl, value) -> loadedRoutes.put(fullShortUrl, JSON.parseObject(value, ShortLinkGidRouteDTO.class)));
+            routes.keySet().retainAll(loadedRoutes.keySet());
+            loadedRoutes.forEach(this::applyRoute);
+            loadedEpoch = currentEpoch;
+        }
+        long now = System.currentTimeMillis();
+        long routeTtl = TimeUnit.SECONDS.toMillis(statsGidRouteConfiguration.getRouteTtl());
+        routes.forEach((fullShortUrl, route) -> {
+            if (route.getMovedTime() + routeTtl < now) {
+                routeMap.fastRemove(fullShortUrl);
+                routes.remove(fullShortUrl, route);
+            } else if (!route.getReconciled() && route.getMovedTime() + statsGidRouteConfiguration.getReconcileDelay() <= now) {
+                reconcile(fullShortUrl, route);
+            }
+        });
+    }
+
+    private void loadRoute(String fullShortUrl) {
+        try {
+            String value = routeMap.get(fullShortUrl);
+            if (value != null) {
+                applyRoute(fullShortUrl, JSON.parseObject(value, ShortLinkGidRouteDTO.class));
+            }
+        } catch (Throwable ex) {
+            log.error("短链接分组路由加载失败，完整短链接：{}", fullShortUrl, ex);
+        }
+    }
+
+    /**
+     * 版本号更大的路由覆盖本地路由，同一版本号以补偿状态更新
+     */
+    private void applyRoute(String fullShortUrl, ShortLinkGidRouteDTO route) {
+        routes.merge(fullShortUrl, route, (oldValue, newValue) -> newValue.getEpoch() >= oldValue.getEpoch() ? newValue : oldValue);
+    }
+
+    private void reconcile(String fullShortUrl, ShortLinkGidRouteDTO route) {
+        RLock lock = redissonClient.getLock(String.format(LOCK_GID_ROUTE_RECONCILE_KEY, fullShortUrl));
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            String value = routeMap.get(fullShortUrl);
+            ShortLinkGidRouteDTO latestRoute = value != null ? JSON.parseObject(value, ShortLinkGidRouteDTO.class) : null;
+            if (latestRoute == null || !latestRoute.getEpoch().equals(route.getEpoch()) || latestRoute.getReconciled()) {
+                // 其他节点已完成补偿或短链接再次修改分组，以 Redis 中的路由为准
+                if (latestRoute != null) {
+                    applyRoute(fullShortUrl, latestRoute);
+                }
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                reconcileTotalStats(fullShortUrl, route);
+                reconcileTodayStats(fullShortUrl, route);
+                reconcileLateAccess(fullShortUrl, route);
+            });
+            route.setReconciled(Boolean.TRUE);
+            routeMap.fastPut(fullShortUrl, JSON.toJSONString(route));
+            applyRoute(fullShortUrl, route);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reconcileTotalStats(String fullShortUrl, ShortLinkGidRouteDTO route) {
+        ShortLinkDO originShortLink = shortLinkMapper.selectOne(Wrappers.lambdaQuery(ShortLinkDO.class)
+                .eq(ShortLinkDO::getGid, route.getOriginGid())
+                .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+                .eq(ShortLinkDO::getDelTime, route.getDelTime()));
+        if (originShortLink == null) {
+            return;
+        }
+        int pvDelta = originShortLink.getTotalPv() - route.getTotalPv();
+        int uvDelta = originShortLink.getTotalUv() - route.getTotalUv();
+        int uipDelta = originShortLink.getTotalUip() - route.getTotalUip();
+        if (pvDelta == 0 && uvDelta == 0 && uipDelta == 0) {
+            return;
+        }
+        shortLinkMapper.incrementStats(route.getGid(), fullShortUrl, pvDelta, uvDelta, uipDelta);
+        shortLinkMapper.update(null, Wrappers.lambdaUpdate(ShortLinkDO.class)
+                .set(ShortLinkDO::getTotalPv, route.getTotalPv())
+                .set(ShortLinkDO::getTotalUv, route.getTotalUv())
+                .set(ShortLinkDO::getTotalUip, route.getTotalUip())
+                .eq(ShortLinkDO::getGid, route.getOriginGid())
+                .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+                .eq(ShortLinkDO::getDelTime, route.getDelTime()));
+        log.info("短链接 [{}] 修改分组后补偿累计访问数据，PV：{}，UV：{}，UIP：{}", fullShortUrl, pvDelta, uvDelta, uipDelta);
+    }
+
+    private void reconcileTodayStats(String fullShortUrl, ShortLinkGidRouteDTO route) {
+        List<LinkStatsTodayDO> originTodayStatsList = linkStatsTodayMapper.selectList(Wrappers.lambdaQuery(LinkStatsTodayDO.class)
+                .eq(LinkStatsTodayDO::getGid, route.getOriginGid())
+                .eq(LinkStatsTodayDO::getFullShortUrl, fullShortUrl)
+                .eq(LinkStatsTodayDO::getDelFlag, 0));
+        if (originTodayStatsList.isEmpty()) {
+            return;
+        }
+        linkStatsTodayMapper.deleteBatchIds(originTodayStatsList.stream().map(LinkStatsTodayDO::getId).toList());
+        originTodayStatsList.forEach(each -> each.setGid(route.getGid()));
+        linkStatsTodayMapper.shortLinkTodayStateBatch(originTodayStatsList);
+        log.info("短链接 [{}] 修改分组后补偿今日统计，记录数：{}", fullShortUrl, originTodayStatsList.size());
+    }
+
+    /**
+     * 按原分组中的迟到访问日志迁移各维度统计，原分组扣减与当前分组累加使用同一批量写入语句，数量为负即扣减
+     */
+    private void reconcileLateAccess(String fullShortUrl, ShortLinkGidRouteDTO route) {
+        List<LinkAccessLogsDO> lateAccessLogs = linkAccessLogsMapper.selectList(Wrappers.lambdaQuery(LinkAccessLogsDO.class)
+                .eq(LinkAccessLogsDO::getGid, route.getOriginGid())
+                .eq(LinkAccessLogsDO::getFullShortUrl, fullShortUrl)
+                .ge(LinkAccessLogsDO::getCreateTime, new Date(route.getMovedTime()))
+                .eq(LinkAccessLogsDO::getDelFlag, 0));
+        if (lateAccessLogs.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> accessCnt = new TreeMap<>();
+        Map<String, Integer> osCnt = new TreeMap<>();
+        Map<String, Integer> browserCnt = new TreeMap<>();
+        Map<String, Integer> deviceCnt = new TreeMap<>();
+        Map<String, Integer> networkCnt = new TreeMap<>();
+        Map<String, Integer> localeCnt = new TreeMap<>();
+        Set<Date> dates = new HashSet<>();
+        List<ShortLinkStatsRecordDTO> statsRecords = new ArrayList<>(lateAccessLogs.size());
+        for (LinkAccessLogsDO each : lateAccessLogs) {
+            Date date = DateUtil.beginOfDay(each.getCreateTime());
+            String day = DateUtil.formatDate(date);
+            dates.add(date);
+            accessCnt.merge(StrUtil.join("|", day, DateUtil.hour(each.getCreateTime(), true)), 1, Integer::sum);
+            osCnt.merge(StrUtil.join("|", day, each.getOs()), 1, Integer::sum);
+            browserCnt.merge(StrUtil.join("|", day, each.getBrowser()), 1, Integer::sum);
+            deviceCnt.merge(StrUtil.join("|", day, each.getDevice()), 1, Integer::sum);
+            networkCnt.merge(StrUtil.join("|", day, each.getNetwork()), 1, Integer::sum);
+            localeCnt.merge(StrUtil.join("|", day, each.getLocale()), 1, Integer::sum);
+            statsRecords.add(ShortLinkStatsRecordDTO.builder()
+                    .fullShortUrl(fullShortUrl)
+                    .gid(route.getGid())
+                    .uv(each.getUser())
+                    .remoteAddr(each.getIp())
+                    .os(each.getOs())
+                    .browser(each.getBrowser())
+                    .device(each.getDevice())
+                    .network(each.getNetwork())
+                    .uvFirstFlag(Boolean.FALSE)
+                    .uipFirstFlag(Boolean.FALSE)
+                    .currentDate(each.getCreateTime())
+                    .build());
+        }
+        // 访问日志只记录地区名称，地区编码取原分组同一天同一地区的统计记录，未解析出地区的访问没有地区统计
+        Map<String, LinkLocaleStatsDO> originLocaleMap = new HashMap<>();
+        linkLocaleStatsMapper.selectList(Wrappers.lambdaQuery(LinkLocaleStatsDO.class)
+                        .eq(LinkLocaleStatsDO::getGid, route.getOriginGid())
+                        .eq(LinkLocaleStatsDO::getFullShortUrl, fullShortUrl)
+                        .in(LinkLocaleStatsDO::getDate, dates))
+                .forEach(each -> originLocaleMap.putIfAbsent(StrUtil.join("|", DateUtil.formatDate(each.getDate()),
+                        StrUtil.join("-", each.getCountry(), each.getProvince(), each.getCity())), each));
+        for (String gid : new String[]{route.getGid(), route.getOriginGid()}) {
+            int sign = gid.equals(route.getGid()) ? 1 : -1;
+            linkAccessStatsMapper.shortLinkStatsBatch(accessCnt.entrySet().stream().map(each -> {
+                Date date = DateUtil.parseDate(StrUtil.subBefore(each.getKey(), "|", true));
+                return LinkAccessStatsDO.builder()
+                        .fullShortUrl(fullShortUrl)
+                        .gid(gid)
+                        .date(date)
+                        .hour(Integer.parseInt(StrUtil.subAfter(each.getKey(), "|", true)))
+                        .weekday(DateUtil.dayOfWeekEnum(date).getIso8601Value())
+                        .pv(sign * each.getValue())
+                        .uv(0)
+                        .uip(0)
+                        .build();
+            }).toList());
+            linkOsStatsMapper.shortLinkOsStateBatch(osCnt.entrySet().stream().map(each -> LinkOsStatsDO.builder()
+                    .fullShortUrl(fullShortUrl)
+                    .gid(gid)
+                    .date(parseDay(each.getKey()))
+                    .os(parseValue(each.getKey()))
+                    .cnt(sign * each.getValue())
+                    .build()).toList());
+            linkBrowserStatsMapper.shortLinkBrowserStateBatch(browserCnt.entrySet().stream().map(each -> LinkBrowserStatsDO.builder()
+                    .fullShortUrl(fullShortUrl)
+                    .gid(gid)
+                    .date(parseDay(each.getKey()))
+                    .browser(parseValue(each.getKey()))
+                    .cnt(sign * each.getValue())
+                    .build()).toList());
+            linkDeviceStatsMapper.shortLinkDeviceStateBatch(deviceCnt.entrySet().stream().map(each -> LinkDeviceStatsDO.builder()
+                    .fullShortUrl(fullShortUrl)
+                    .gid(gid)
+                    .date(parseDay(each.getKey()))
+                    .device(parseValue(each.getKey()))
+                    .cnt(sign * each.getValue())
+                    .build()).toList());
+            linkNetworkStatsMapper.shortLinkNetworkStateBatch(networkCnt.entrySet().stream().map(each -> LinkNetworkStatsDO.builder()
+                    .fullShortUrl(fullShortUrl)
+                    .gid(gid)
+                    .date(parseDay(each.getKey()))
+                    .network(parseValue(each.getKey()))
+                    .cnt(sign * each.getValue())
+                    .build()).toList());
+            List<LinkLocaleStatsDO> localeStatsList = localeCnt.entrySet().stream()
+                    .filter(each -> originLocaleMap.containsKey(each.getKey()))
+                    .map(each -> {
+                        LinkLocaleStatsDO originLocale = originLocaleMap.get(each.getKey());
+                        return LinkLocaleStatsDO.builder()
+                                .fullShortUrl(fullShortUrl)
+                                .gid(gid)
+                                .date(originLocale.getDate())
+                                .country(originLocale.getCountry())
+                                .province(originLocale.getProvince())
+                                .city(originLocale.getCity())
+                                .adcode(originLocale.getAdcode())
+                                .cnt(sign * each.getValue())
+                                .build();
+                    }).toList();
+            if (!localeStatsList.isEmpty()) {
+                linkLocaleStatsMapper.shortLinkLocaleStateBatch(localeStatsList);
+            }
+        }
+        if (statsRollupConfiguration.getWriteEnable()) {
+            linkStatsDailyService.rerouteStatsDaily(statsRecords, route.getOriginGid());
+        }
+        if (statsFirstVisitConfiguration.getWriteEnable()) {
+            linkFirstVisitService.saveFirstVisits(statsRecords);
+            // 首次访问在迁移之后的访客只有迟到访问，原分组短链接维度的索引整条删除
+            linkFirstVisitMapper.delete(Wrappers.lambdaQuery(LinkFirstVisitDO.class)
+                    .eq(LinkFirstVisitDO::getGid, route.getOriginGid())
+                    .eq(LinkFirstVisitDO::getFullShortUrl, fullShortUrl)
+                    .ge(LinkFirstVisitDO::getFirstVisitTime, new Date(route.getMovedTime())));
+        }
+        linkAccessLogsMapper.update(null, Wrappers.lambdaUpdate(LinkAccessLogsDO.class)
+                .set(LinkAccessLogsDO::getGid, route.getGid())
+                .in(LinkAccessLogsDO::getId, lateAccessLogs.stream().map(LinkAccessLogsDO::getId).toList()));
+        log.info("短链接 [{}] 修改分组后补偿迟到访问，访问日志数：{}", fullShortUrl, lateAccessLogs.size());
+    }
+
+    private static Date parseDay(String key) {
+        return DateUtil.parseDate(StrUtil.subBefore(key, "|", false));
+    }
+
+    private static String parseValue(String key) {
+        return StrUtil.subAfter(key, "|", false);
+    }
+}
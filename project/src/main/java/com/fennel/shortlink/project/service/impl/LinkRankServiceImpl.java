@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fennel.shortlink.project.config.ShortLinkRankConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkStatsTodayDO;
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import com.fennel.shortlink.project.dao.mapper.LinkStatsTodayMapper;
+import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.fennel.shortlink.project.dto.req.ShortLinkPageReqDTO;
+import com.fennel.shortlink.project.service.LinkRankService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_SHORT_LINK_RANK_REBUILD_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_RANK_DAILY_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_RANK_EMPTY_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_RANK_TOTAL_KEY;
+
+/**
+ * 短链接分组访问排行榜接口实现层
+ * 排行榜只在不存在时整体从数据库重建，增量只累加到已存在的排行榜，避免部分成员的排行榜被误认为完整；
+ * 分组为空时写入空标记代替排行榜，分页查询发现已失效的成员时从排行榜中移除
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LinkRankServiceImpl implements LinkRankService {
+
+    private static final String[] METRICS = {"pv", "uv", "uip"};
+
+    /**
+     * 排序标识对应的指标名与是否按天排行
+     */
+    private static final Map<String, RankTag> RANK_TAGS = Map.of(
+            "todayPv", new RankTag("pv", true),
+            "todayUv", new RankTag("uv", true),
+            "todayUip", new RankTag("uip", true),
+            "totalPv", new RankTag("pv", false),
+            "totalUv", new RankTag("uv", false),
+            "totalUip", new RankTag("uip", false)
+    );
+
+    /**
+     * KEYS 为排行榜，ARGV[1] 为短链接，ARGV[i + 1] 为 KEYS[i] 的增量
+     */
+    private static final String INCREMENT_SCRIPT =
+            "for i, key in ipairs(KEYS) do " +
+                    "if ARGV[i + 1] ~= '0' and redis.call('exists', key) == 1 then redis.call('zincrby', key, ARGV[i + 1], ARGV[1]) end " +
+                    "end " +
+                    "return 0";
+
+    /**
+     * KEYS 为排行榜，ARGV[1] 为短链接
+     */
+    private static final String ADD_MEMBER_SCRIPT =
+            "for i, key in ipairs(KEYS) do " +
+                    "if redis.call('exists', key) == 1 then redis.call('zadd', key, 'NX', 0, ARGV[1]) end " +
+                    "end " +
+                    "return 0";
+
+    private final ShortLinkRankConfiguration shortLinkRankConfiguration;
+    private final RedissonClient redissonClient;
+    private final ShortLinkMapper shortLinkMapper;
+    private final LinkStatsTodayMapper linkStatsTodayMapper;
+
+    @Override
+    public boolean isRankedOrderTag(String orderTag) {
+        return shortLinkRankConfiguration.getEnable() && orderTag != null && RANK_TAGS.containsKey(orderTag);
+    }
+
+    @Override
+    public IPage<ShortLinkDO> pageLink(ShortLinkPageReqDTO requestParam) {
+        String gid = requestParam.getGid();
+        Date today = DateUtil.beginOfDay(new Date());
+        RankTag rankTag = RANK_TAGS.get(requestParam.getOrderTag());
+        String rankKey = rankTag.daily() ? dailyKey(gid, rankTag.metric(), today) : totalKey(gid, rankTag.metric());
+        RScoredSortedSet<String> rank = redissonClient.getScoredSortedSet(rankKey, StringCodec.INSTANCE);
+        if (!rank.isExists() && !isEmptyMarked(gid)) {
+            rebuild(gid, today, rankKey);
+        }
+        Page<ShortLinkDO> resultPage = new Page<>(requestParam.getCurrent(), requestParam.getSize(), rank.size());
+        long offset = (requestParam.getCurrent() - 1) * requestParam.getSize();
+        if (offset >= resultPage.getTotal()) {
+            return resultPage;
+        }
+        List<String> fullShortUrls = new ArrayList<>(rank.valueRangeReversed((int) offset, (int) (offset + requestParam.getSize() - 1)));
+        if (fullShortUrls.isEmpty()) {
+            return resultPage;
+        }
+        Map<String, ShortLinkDO> shortLinkMap = shortLinkMapper.selectList(Wrappers.lambdaQuery(ShortLinkDO.class)
+                        .eq(ShortLinkDO::getGid, gid)
+                        .in(ShortLinkDO::getFullShortUrl, fullShortUrls)
+                        .eq(ShortLinkDO::getEnableStatus, 0)
+                        .eq(ShortLinkDO::getDelFlag, 0))
+                .stream()
+                .collect(Collectors.toMap(ShortLinkDO::getFullShortUrl, Function.identity(), (oldValue, newValue) -> oldValue));
+        Map<String, LinkStatsTodayDO> statsTodayMap = listStatsToday(gid, today, fullShortUrls).stream()
+                .collect(Collectors.toMap(LinkStatsTodayDO::getFullShortUrl, Function.identity(), (oldValue, newValue) -> oldValue));
+        List<ShortLinkDO> records = new ArrayList<>(fullShortUrls.size());
+        List<String> staleMembers = new ArrayList<>();
+        for (String each : fullShortUrls) {
+            ShortLinkDO shortLinkDO = shortLinkMap.get(each);
+            if (shortLinkDO == null) {
+                // 已移出分组、停用或删除的成员
+                staleMembers.add(each);
+                continue;
+            }
+            LinkStatsTodayDO statsTodayDO = statsTodayMap.get(each);
+            shortLinkDO.setTodayPv(statsTodayDO != null ? statsTodayDO.getTodayPv() : 0);
+            shortLinkDO.setTodayUv(statsTodayDO != null ? statsTodayDO.getTodayUv() : 0);
+            shortLinkDO.setTodayUip(statsTodayDO != null ? statsTodayDO.getTodayUip() : 0);
+            records.add(shortLinkDO);
+        }
+        removeMembers(gid, today, staleMembers);
+        resultPage.setRecords(records);
+        return resultPage;
+    }
+
+    @Override
+    public void incrementScores(List<LinkStatsTodayDO> deltas) {
+        if (!shortLinkRankConfiguration.getEnable() || CollUtil.isEmpty(deltas)) {
+            return;
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            for (LinkStatsTodayDO each : deltas) {
+                List<Object> keys = rankKeys(each.getGid(), each.getDate());
+                batch.getScript(StringCodec.INSTANCE).evalAsync(
+                        RScript.Mode.READ_WRITE,
+                        INCREMENT_SCRIPT,
+                        RScript.ReturnType.INTEGER,
+                        keys,
+                        each.getFullShortUrl(),
+                        String.valueOf(each.getTodayPv()), String.valueOf(each.getTodayUv()), String.valueOf(each.getTodayUip()),
+                        String.valueOf(each.getTodayPv()), String.valueOf(each.getTodayUv()), String.valueOf(each.getTodayUip())
+                );
+            }
+            batch.execute();
+        } catch (Throwable ex) {
+            log.error("短链接分组排行榜分数累加失败", ex);
+        }
+    }
+
+    @Override
+    public void addMembers(String gid, Collection<String> fullShortUrls) {
+        if (!shortLinkRankConfiguration.getEnable() || CollUtil.isEmpty(fullShortUrls)) {
+            return;
+        }
+        try {
+            List<Object> keys = rankKeys(gid, new Date());
+            RBatch batch = redissonClient.createBatch();
+            fullShortUrls.forEach(each -> batch.getScript(StringCodec.INSTANCE)
+                    .evalAsync(RScript.Mode.READ_WRITE, ADD_MEMBER_SCRIPT, RScript.ReturnType.INTEGER, keys, each));
+            // 空分组新增短链接后由下次分页重建排行榜
+            batch.getBucket(emptyKey(gid), StringCodec.INSTANCE).deleteAsync();
+            batch.execute();
+        } catch (Throwable ex) {
+            log.error("短链接加入分组排行榜失败，分组标识：{}", gid, ex);
+        }
+    }
+
+    @Override
+    public void invalidate(String gid) {
+        if (!shortLinkRankConfiguration.getEnable()) {
+            return;
+        }
+        try {
+            List<Object> keys = rankKeys(gid, new Date());
+            keys.add(emptyKey(gid));
+            redissonClient.getKeys().delete(keys.stream().map(String::valueOf).toArray(String[]::new));
+        } catch (Throwable ex) {
+            log.error("短链接分组排行榜失效失败，分组标识：{}", gid, ex);
+        }
+    }
+
+    /**
+     * 从数据库重建分组今日与累计排行榜，先写临时 Key 再重命名，查询方不会读到半成品；分组为空时只写入空标记
+     */
+    private void rebuild(String gid, Date today, String rankKey) {
+        RLock lock = redissonClient.getLock(String.format(LOCK_SHORT_LINK_RANK_REBUILD_KEY, gid));
+        lock.lock();
+        try {
+            if (redissonClient.getScoredSortedSet(rankKey, StringCodec.INSTANCE).isExists()) {
+                return;
+            }
+            List<ShortLinkDO> shortLinkDOList = shortLinkMapper.selectList(Wrappers.lambdaQuery(ShortLinkDO.class)
+                    .select(ShortLinkDO::getFullShortUrl, ShortLinkDO::getTotalPv, ShortLinkDO::getTotalUv, ShortLinkDO::getTotalUip)
+                    .eq(ShortLinkDO::getGid, gid)
+                    .eq(ShortLinkDO::getEnableStatus, 0)
+                    .eq(ShortLinkDO::getDelFlag, 0));
+            if (shortLinkDOList.isEmpty()) {
+                redissonClient.getBucket(emptyKey(gid), StringCodec.INSTANCE)
+                        .set("1", Duration.ofSeconds(shortLinkRankConfiguration.getEmptyTtl()));
+                return;
+            }
+            Map<String, LinkStatsTodayDO> statsTodayMap = listStatsToday(gid, today, null).stream()
+                    .collect(Collectors.toMap(LinkStatsTodayDO::getFullShortUrl, Function.identity(), (oldValue, newValue) -> oldValue));
+            List<Map<String, Double>> scoreMaps = new ArrayList<>(METRICS.length * 2);
+            for (int i = 0; i < METRICS.length * 2; i++) {
+                scoreMaps.add(new HashMap<>(shortLinkDOList.size() * 2));
+            }
+            for (ShortLinkDO each : shortLinkDOList) {
+                String fullShortUrl = each.getFullShortUrl();
+                LinkStatsTodayDO statsTodayDO = statsTodayMap.get(fullShortUrl);
+                scoreMaps.get(0).put(fullShortUrl, score(each.getTotalPv()));
+                scoreMaps.get(1).put(fullShortUrl, score(each.getTotalUv()));
+                scoreMaps.get(2).put(fullShortUrl, score(each.getTotalUip()));
+                scoreMaps.get(3).put(fullShortUrl, score(statsTodayDO != null ? statsTodayDO.getTodayPv() : null));
+                scoreMaps.get(4).put(fullShortUrl, score(statsTodayDO != null ? statsTodayDO.getTodayUv() : null));
+                scoreMaps.get(5).put(fullShortUrl, score(statsTodayDO != null ? statsTodayDO.getTodayUip() : null));
+            }
+            List<Object> keys = rankKeys(gid, today);
+            RBatch batch = redissonClient.createBatch();
+            for (int i = 0; i < keys.size(); i++) {
+                String key = (String) keys.get(i);
+                String rebuildingKey = key + ":rebuilding";
+                Duration ttl = Duration.ofSeconds(i < METRICS.length ? shortLinkRankConfiguration.getTotalTtl() : shortLinkRankConfiguration.getDailyTtl());
+                RScoredSortedSetAsync<String> rebuildingRank = batch.getScoredSortedSet(rebuildingKey, StringCodec.INSTANCE);
+                rebuildingRank.deleteAsync();
+                rebuildingRank.addAllAsync(scoreMaps.get(i));
+                rebuildingRank.expireAsync(ttl);
+                rebuildingRank.renameAsync(key);
+            }
+            batch.execute();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isEmptyMarked(String gid) {
+        return redissonClient.getBucket(emptyKey(gid), StringCodec.INSTANCE).isExists();
+    }
+
+    /**
+     * 从分组全部排行榜中移除已失效的成员，失败只影响排序结果中的空位，不影响分页查询
+     */
+    private void removeMembers(String gid, Date today, List<String> fullShortUrls) {
+        if (fullShortUrls.isEmpty()) {
+            return;
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            rankKeys(gid, today).forEach(each -> batch.getScoredSortedSet((String) each, StringCodec.INSTANCE).removeAllAsync(fullShortUrls));
+            batch.execute();
+        } catch (Throwable ex) {
+            log.error("短链接分组排行榜失效成员移除失败，分组标识：{}", gid, ex);
+        }
+    }
+
+    private List<LinkStatsTodayDO> listStatsToday(String gid, Date today, List<String> fullShortUrls) {
+        return linkStatsTodayMapper.selectList(Wrappers.lambdaQuery(LinkStatsTodayDO.class)
+                .eq(LinkStatsTodayDO::getGid, gid)
+                .eq(LinkStatsTodayDO::getDate, today)
+                .in(fullShortUrls != null, LinkStatsTodayDO::getFullShortUrl, fullShortUrls != null ? fullShortUrls : Collections.emptyList())
+                .eq(LinkStatsTodayDO::getDelFlag, 0));
+    }
+
+    /**
+     * 分组的三个累计排行榜与指定日期的三个按天排行榜
+     */
+    private List<Object> rankKeys(String gid, Date date) {
+        List<Object> keys = new ArrayList<>(METRICS.length * 2);
+        for (String each : METRICS) {
+            keys.add(totalKey(gid, each));
+        }
+        for (String each : METRICS) {
+            keys.add(dailyKey(gid, each, date));
+        }
+        return keys;
+    }
+
+    private String totalKey(String gid, String metric) {
+        return String.format(SHORT_LINK_RANK_TOTAL_KEY, gid, metric);
+    }
+
+    private String emptyKey(String gid) {
+        return String.format(SHORT_LINK_RANK_EMPTY_KEY, gid);
+    }
+
+    private String dailyKey(String gid, String metric, Date date) {
+        return String.format(SHORT_LINK_RANK_DAILY_KEY, gid, metric, DateUtil.format(date, "yyyyMMdd"));
+    }
+
+    private double score(Integer value) {
+        return value != null ? value : 0D;
+    }
+
+    private record RankTag(String metric, boolean daily) {
+    }
+}
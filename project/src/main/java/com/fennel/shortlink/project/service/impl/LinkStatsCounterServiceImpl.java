@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.fennel.shortlink.project.config.StatsCounterConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkStatsTodayDO;
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import com.fennel.shortlink.project.dao.mapper.LinkStatsTodayMapper;
+import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.fennel.shortlink.project.service.LinkGidRouteService;
+import com.fennel.shortlink.project.service.LinkRankService;
+import com.fennel.shortlink.project.service.LinkStatsCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 短链接访问计数异步回写接口实现层
+ * 消费线程只累加内存中的计数器，定时任务按固定间隔取出增量，在一个事务内批量执行 t_link 累计访问数自增
+ * 与 t_link_stats_today 多值 upsert，热点短链接每个周期只产生一次行锁。
+ * 历史日期的计数器移除时先关闭，已取到计数器引用的线程累加失败后重新创建计数器，增量留到下个周期
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LinkStatsCounterServiceImpl implements LinkStatsCounterService, InitializingBean, DisposableBean {
+
+    private static final Log MYBATIS_LOG = LogFactory.getLog(LinkStatsCounterServiceImpl.class);
+
+    private final StatsCounterConfiguration statsCounterConfiguration;
+    private final LinkStatsTodayMapper linkStatsTodayMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final LinkRankService linkRankService;
+    private final LinkGidRouteService linkGidRouteService;
+
+    private final ConcurrentHashMap<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private ScheduledExecutorService flushExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!statsCounterConfiguration.getEnable()) {
+            return;
+        }
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-link-stats-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushInterval = statsCounterConfiguration.getFlushInterval();
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (flushExecutor == null) {
+            return;
+        }
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    @Override
+    public void increment(String gid, String fullShortUrl, Date date, int pv, int uv, int uip) {
+        if (!statsCounterConfiguration.getEnable()) {
+            return;
+        }
+        CounterKey key = new CounterKey(gid, fullShortUrl, DateUtil.beginOfDay(date).getTime());
+        // 取到的计数器可能刚被回写线程移除并关闭，已关闭时重新创建
+        while (!counters.computeIfAbsent(key, each -> new Counter()).offer(pv, uv, uip)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<CounterDelta> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                write(deltas);
+            } catch (Throwable ex) {
+                // 回写失败时增量放回内存，下个周期重试
+                deltas.forEach(each -> increment(each.key().gid(), each.key().fullShortUrl(), new Date(each.key().day()), (int) each.pv(), (int) each.uv(), (int) each.uip()));
+                throw ex;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable ex) {
+            log.error("短链接访问计数回写失败", ex);
+        }
+    }
+
+    /**
+     * 取出所有计数增量，历史日期且已无增量的计数器从内存移除
+     */
+    private List<CounterDelta> drain() {
+        long today = DateUtil.beginOfDay(new Date()).getTime();
+        List<CounterDelta> deltas = new ArrayList<>();
+        counters.forEach((key, counter) -> {
+            CounterDelta delta = counter.drain(key);
+            if (delta != null) {
+                deltas.add(delta);
+                return;
+            }
+            if (key.day() < today && counters.remove(key, counter)) {
+                // 移除前已取到计数器引用的线程可能刚完成累加，关闭后取出剩余增量，之后的累加转到新计数器
+                CounterDelta leftover = counter.close(key);
+                if (leftover != null) {
+                    deltas.add(leftover);
+                }
+            }
+        });
+        return deltas;
+    }
+
+    private void write(List<CounterDelta> deltas) {
+        Map<String, ShortLinkDO> totalStatsMap = new TreeMap<>();
+        List<LinkStatsTodayDO> todayStatsList = new ArrayList<>(deltas.size());
+        for (CounterDelta each : deltas) {
+            CounterKey key = each.key();
+            // 计数累加后短链接可能已修改分组，回写时按最新路由确定分组
+            String gid = linkGidRouteService.route(key.fullShortUrl(), key.gid());
+            totalStatsMap.merge(gid + "|" + key.fullShortUrl(), ShortLinkDO.builder()
+                    .gid(gid)
+                    .fullShortUrl(key.fullShortUrl())
+                    .totalPv((int) each.pv())
+                    .totalUv((int) each.uv())
+                    .totalUip((int) each.uip())
+                    .build(), (oldValue, newValue) -> {
+                oldValue.setTotalPv(oldValue.getTotalPv() + newValue.getTotalPv());
+                oldValue.setTotalUv(oldValue.getTotalUv() + newValue.getTotalUv());
+                oldValue.setTotalUip(oldValue.getTotalUip() + newValue.getTotalUip());
+                return oldValue;
+            });
+            todayStatsList.add(LinkStatsTodayDO.builder()
+                    .gid(gid)
+                    .fullShortUrl(key.fullShortUrl())
+                    .date(new Date(key.day()))
+                    .todayPv((int) each.pv())
+                    .todayUv((int) each.uv())
+                    .todayUip((int) each.uip())
+                    .build());
+        }
+        // 固定加锁顺序，避免多节点同时回写时互相死锁
+        todayStatsList.sort(Comparator.comparing(LinkStatsTodayDO::getGid)
+                .thenComparing(LinkStatsTodayDO::getFullShortUrl)
+                .thenComparing(LinkStatsTodayDO::getDate));
+        int batchSize = statsCounterConfiguration.getFlushBatchSize();
+        transactionTemplate.executeWithoutResult(status -> {
+            SqlHelper.executeBatch(ShortLinkDO.class, MYBATIS_LOG, totalStatsMap.values(), batchSize, (sqlSession, each) ->
+                    sqlSession.getMapper(ShortLinkMapper.class).incrementStats(each.getGid(), each.getFullShortUrl(), each.getTotalPv(), each.getTotalUv(), each.getTotalUip()));
+            // 多值 upsert 由 ShardingSphere 按分组标识拆分到各分表
+            CollUtil.split(todayStatsList, batchSize).forEach(linkStatsTodayMapper::shortLinkTodayStateBatch);
+        });
+        linkRankService.incrementScores(todayStatsList);
+    }
+
+    private record CounterKey(String gid, String fullShortUrl, long day) {
+    }
+
+    private record CounterDelta(CounterKey key, long pv, long uv, long uip) {
+    }
+
+    private static class Counter {
+
+        private long pv;
+        private long uv;
+        private long uip;
+        private boolean closed;
+
+        /**
+         * 并发累加计数，已被回写线程移除时返回 false
+         */
+        private synchronized boolean offer(long pvDelta, long uvDelta, long uipDelta) {
+            if (closed) {
+                return false;
+            }
+            pv += pvDelta;
+            uv += uvDelta;
+            uip += uipDelta;
+            return true;
+        }
+
+        /**
+         * 取出并清零计数，无增量时返回 null
+         */
+        private synchronized CounterDelta drain(CounterKey key) {
+            if (pv == 0 && uv == 0 && uip == 0) {
+                return null;
+            }
+            CounterDelta delta = new CounterDelta(key, pv, uv, uip);
+            pv = 0;
+            uv = 0;
+            uip = 0;
+            return delta;
+        }
+
+        /**
+         * 关闭后不再接收计数，返回关闭前的剩余增量
+         */
+        private synchronized CounterDelta close(CounterKey key) {
+            closed = true;
+            return drain(key);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.TypeReference;
+import com.fennel.shortlink.project.config.StatsRollupConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkStatsDailyDO;
+import com.fennel.shortlink.project.dao.mapper.LinkStatsDailyMapper;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsDailySummaryDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.fennel.shortlink.project.service.LinkStatsDailyService;
+import com.fennel.shortlink.project.toolkit.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.STATS_DAILY_COVERED_FROM_KEY;
+
+/**
+ * 短链接按天汇总统计接口实现层
+ * 汇总记录先以 INSERT IGNORE 保证存在，再加行锁读取、在内存中合并 HyperLogLog 与高频 IP 后写回，多条记录按唯一键顺序加锁避免死锁。
+ * 单条消费模式下访问记录先累加到内存增量，定时任务按周期合并写入，热点短链接汇总记录每个周期只加锁一次。
+ * 分组汇总记录是同一分组全部短链接的热点行，不随访问记录或消费批次写入，而是在回写周期内由短链接增量预聚合后每个周期只写一次
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LinkStatsDailyServiceImpl implements LinkStatsDailyService, InitializingBean, DisposableBean {
+
+    /**
+     * 每天保留的高频访问 IP 数量
+     */
+    private static final int TOP_IP_CAPACITY = 20;
+
+    /**
+     * 监控接口展示的高频访问 IP 数量
+     */
+    private static final int TOP_IP_DISPLAY_SIZE = 5;
+
+    /**
+     * 分组汇总记录的完整短链接
+     */
+    private static final String GROUP_FULL_SHORT_URL = "";
+
+    private final LinkStatsDailyMapper linkStatsDailyMapper;
+    private final StatsRollupConfiguration statsRollupConfiguration;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ConcurrentHashMap<String, StatsDailyAccumulator> pendingAccumulators = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private ScheduledExecutorService flushExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!statsRollupConfiguration.getWriteEnable()) {
+            return;
+        }
+        // 开启写入当天的汇总只包含开启之后的访问，从次日起汇总才完整覆盖，已有标记时保留更早的日期
+        stringRedisTemplate.opsForValue().setIfAbsent(STATS_DAILY_COVERED_FROM_KEY, LocalDate.now().plusDays(1).toString());
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-link-stats-daily-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushInterval = statsRollupConfiguration.getFlushInterval();
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (flushExecutor == null) {
+            return;
+        }
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public void saveStatsDaily(List<ShortLinkStatsRecordDTO> statsRecords) {
+        Map<String, StatsDailyAccumulator> accumulatorMap = new TreeMap<>();
+        for (ShortLinkStatsRecordDTO each : statsRecords) {
+            Date date = DateUtil.beginOfDay(Optional.ofNullable(each.getCurrentDate()).orElseGet(Date::new));
+            accumulatorMap.computeIfAbsent(
+                    buildKey(each.getFullShortUrl(), each.getGid(), date),
+                    key -> new StatsDailyAccumulator(each.getFullShortUrl(), each.getGid(), date)
+            ).add(each);
+        }
+        accumulatorMap.values().forEach(this::mergeStatsDaily);
+        bufferGroupAfterCommit(accumulatorMap);
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public void rerouteStatsDaily(List<ShortLinkStatsRecordDTO> statsRecords, String originGid) {
+        saveStatsDaily(statsRecords);
+        Map<String, StatsDailyAccumulator> accumulatorMap = new TreeMap<>();
+        for (ShortLinkStatsRecordDTO each : statsRecords) {
+            Date date = DateUtil.beginOfDay(Optional.ofNullable(each.getCurrentDate()).orElseGet(Date::new));
+            accumulatorMap.computeIfAbsent(
+                    buildKey(each.getFullShortUrl(), originGid, date),
+                    key -> new StatsDailyAccumulator(each.getFullShortUrl(), originGid, date)
+            ).subtract(each);
+        }
+        accumulatorMap.values().forEach(this::mergeStatsDaily);
+        bufferGroupAfterCommit(accumulatorMap);
+    }
+
+    /**
+     * 分组增量在事务提交后放入内存，由回写周期合并写入，事务回滚重新消费时不会重复累加
+     */
+    private void bufferGroupAfterCommit(Map<String, StatsDailyAccumulator> accumulatorMap) {
+        Map<String, StatsDailyAccumulator> groupAccumulatorMap = aggregateGroup(accumulatorMap);
+        Runnable bufferTask = () -> groupAccumulatorMap.forEach(this::buffer);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bufferTask.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                bufferTask.run();
+            }
+        });
+    }
+
+    @Override
+    public void bufferStatsDaily(ShortLinkStatsRecordDTO statsRecord) {
+        Date date = DateUtil.beginOfDay(Optional.ofNullable(statsRecord.getCurrentDate()).orElseGet(Date::new));
+        String key = buildKey(statsRecord.getFullShortUrl(), statsRecord.getGid(), date);
+        // 取到的累加器可能刚被回写线程取走，已关闭时重新创建
+        while (!pendingAccumulators.computeIfAbsent(key, each -> new StatsDailyAccumulator(statsRecord.getFullShortUrl(), statsRecord.getGid(), date)).offer(statsRecord)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 合并写入内存中的汇总增量，分组汇总记录由本周期的短链接增量预聚合后只写一次，写入失败时增量放回内存，下个周期重试
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<String, StatsDailyAccumulator> accumulatorMap = new TreeMap<>();
+            pendingAccumulators.forEach((key, accumulator) -> {
+                if (pendingAccumulators.remove(key, accumulator)) {
+                    accumulator.close();
+                    accumulatorMap.put(key, accumulator);
+                }
+            });
+            if (accumulatorMap.isEmpty()) {
+                return;
+            }
+            // 预聚合结果是新建的累加器，失败时只放回取出的原始增量，避免分组增量重复累加
+            Map<String, StatsDailyAccumulator> mergeMap = new TreeMap<>(accumulatorMap);
+            mergeMap.putAll(aggregateGroup(accumulatorMap));
+            try {
+                transactionTemplate.executeWithoutResult(status -> mergeMap.values().forEach(this::mergeStatsDaily));
+            } catch (Throwable ex) {
+                accumulatorMap.forEach(this::buffer);
+                throw ex;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 将短链接增量与已有的分组增量按分组与日期合并为分组汇总记录增量
+     */
+    private static Map<String, StatsDailyAccumulator> aggregateGroup(Map<String, StatsDailyAccumulator> accumulatorMap) {
+        Map<String, StatsDailyAccumulator> groupAccumulatorMap = new TreeMap<>();
+        accumulatorMap.values().forEach(each -> groupAccumulatorMap.computeIfAbsent(
+                buildKey(GROUP_FULL_SHORT_URL, each.gid, each.date),
+                key -> new StatsDailyAccumulator(GROUP_FULL_SHORT_URL, each.gid, each.date)
+        ).merge(each));
+        return groupAccumulatorMap;
+    }
+
+    private void buffer(String key, StatsDailyAccumulator accumulator) {
+        while (!pendingAccumulators.computeIfAbsent(key, each -> new StatsDailyAccumulator(accumulator.fullShortUrl, accumulator.gid, accumulator.date)).offer(accumulator)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static String buildKey(String fullShortUrl, String gid, Date date) {
+        return StrUtil.join("|", fullShortUrl, gid, DateUtil.formatDate(date));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable ex) {
+            log.error("短链接按天汇总统计合并写入失败", ex);
+        }
+    }
+
+    private void mergeStatsDaily(StatsDailyAccumulator accumulator) {
+        linkStatsDailyMapper.initStatsDaily(accumulator.fullShortUrl, accumulator.gid, accumulator.date);
+        LinkStatsDailyDO linkStatsDailyDO = linkStatsDailyMapper.selectForUpdate(accumulator.fullShortUrl, accumulator.gid, accumulator.date);
+        HyperLogLog uvSketch = HyperLogLog.fromBytes(linkStatsDailyDO.getUvSketch());
+        uvSketch.merge(accumulator.uvSketch);
+        HyperLogLog uipSketch = HyperLogLog.fromBytes(linkStatsDailyDO.getUipSketch());
+        uipSketch.merge(accumulator.uipSketch);
+        Map<String, Long> topIp = parseTopIp(linkStatsDailyDO.getTopIp());
+        accumulator.ipCnt.forEach((ip, cnt) -> topIp.merge(ip, cnt, Long::sum));
+        topIp.values().removeIf(cnt -> cnt <= 0);
+        linkStatsDailyDO.setPv(Optional.ofNullable(linkStatsDailyDO.getPv()).orElse(0) + accumulator.pv);
+        linkStatsDailyDO.setNewUv(Optional.ofNullable(linkStatsDailyDO.getNewUv()).orElse(0) + accumulator.newUv);
+        linkStatsDailyDO.setUvSketch(uvSketch.toBytes());
+        linkStatsDailyDO.setUipSketch(uipSketch.toBytes());
+        linkStatsDailyDO.setTopIp(JSON.toJSONString(topN(topIp, TOP_IP_CAPACITY)));
+        linkStatsDailyMapper.updateStatsDaily(linkStatsDailyDO);
+    }
+
+    @Override
+    public ShortLinkStatsDailySummaryDTO summarizeByShortLink(ShortLinkStatsReqDTO requestParam) {
+        if (!isCovered(requestParam.getStartDate())) {
+            return null;
+        }
+        return summarize(linkStatsDailyMapper.listStatsDailyByShortLink(requestParam));
+    }
+
+    @Override
+    public ShortLinkStatsDailySummaryDTO summarizeByGroup(ShortLinkGroupStatsReqDTO requestParam) {
+        if (!isCovered(requestParam.getStartDate())) {
+            return null;
+        }
+        return summarize(linkStatsDailyMapper.listStatsDailyByGroup(requestParam));
+    }
+
+    /**
+     * 汇总记录只在有访问的日期存在，缺少记录无法区分没有访问还是汇总尚未开启，
+     * 因此只有查询开始日期不早于汇总完整覆盖的起始日期时才使用汇总数据，否则回源访问日志查询
+     */
+    private boolean isCovered(String startDate) {
+        String coveredFrom = stringRedisTemplate.opsForValue().get(STATS_DAILY_COVERED_FROM_KEY);
+        return coveredFrom != null && !DateUtil.parse(startDate).toLocalDateTime().toLocalDate().isBefore(LocalDate.parse(coveredFrom));
+    }
+
+    private ShortLinkStatsDailySummaryDTO summarize(List<LinkStatsDailyDO> statsDailyList) {
+        if (CollUtil.isEmpty(statsDailyList)) {
+            return null;
+        }
+        int pv = 0;
+        int newUv = 0;
+        HyperLogLog uvSketch = new HyperLogLog();
+        HyperLogLog uipSketch = new HyperLogLog();
+        Map<String, Long> topIp = new HashMap<>();
+        for (LinkStatsDailyDO each : statsDailyList) {
+            pv += Optional.ofNullable(each.getPv()).orElse(0);
+            newUv += Optional.ofNullable(each.getNewUv()).orElse(0);
+            uvSketch.merge(HyperLogLog.fromBytes(each.getUvSketch()));
+            uipSketch.merge(HyperLogLog.fromBytes(each.getUipSketch()));
+            parseTopIp(each.getTopIp()).forEach((ip, cnt) -> topIp.merge(ip, cnt, Long::sum));
+        }
+        return ShortLinkStatsDailySummaryDTO.builder()
+                .pv(pv)
+                .uv((int) Math.min(uvSketch.cardinality(), pv))
+                .uip((int) Math.min(uipSketch.cardinality(), pv))
+                .newUv(newUv)
+                .topIp(topN(topIp, TOP_IP_DISPLAY_SIZE))
+                .build();
+    }
+
+    private static Map<String, Long> parseTopIp(String topIp) {
+        if (StrUtil.isBlank(topIp)) {
+            return new HashMap<>();
+        }
+        return JSON.parseObject(topIp, new TypeReference<HashMap<String, Long>>() {
+        });
+    }
+
+    private static LinkedHashMap<String, Long> topN(Map<String, Long> ipCnt, int size) {
+        LinkedHashMap<String, Long> result = new LinkedHashMap<>();
+        ipCnt.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                .limit(size)
+                .forEach(each -> result.put(each.getKey(), each.getValue()));
+        return result;
+    }
+
+    /**
+     * 单条汇总记录在本批次或本周期内的增量
+     */
+    private static class StatsDailyAccumulator {
+
+        private final String fullShortUrl;
+        private final String gid;
+        private final Date date;
+        private final HyperLogLog uvSketch = new HyperLogLog();
+        private final HyperLogLog uipSketch = new HyperLogLog();
+        private final Map<String, Long> ipCnt = new HashMap<>();
+        private int pv;
+        private int newUv;
+        private boolean closed;
+
+        private StatsDailyAccumulator(String fullShortUrl, String gid, Date date) {
+            this.fullShortUrl = fullShortUrl;
+            this.gid = gid;
+            this.date = date;
+        }
+
+        /**
+         * 并发累加访问记录，已被回写线程取走时返回 false
+         */
+        private synchronized boolean offer(ShortLinkStatsRecordDTO statsRecord) {
+            if (closed) {
+                return false;
+            }
+            add(statsRecord);
+            return true;
+        }
+
+        /**
+         * 并发合并回写失败的增量，已被回写线程取走时返回 false
+         */
+        private synchronized boolean offer(StatsDailyAccumulator other) {
+            if (closed) {
+                return false;
+            }
+            merge(other);
+            return true;
+        }
+
+        /**
+         * 关闭后不再接收增量，之前的累加对回写线程可见
+         */
+        private synchronized void close() {
+            closed = true;
+        }
+
+        private void merge(StatsDailyAccumulator other) {
+            pv += other.pv;
+            newUv += other.newUv;
+            uvSketch.merge(other.uvSketch);
+            uipSketch.merge(other.uipSketch);
+            other.ipCnt.forEach((ip, cnt) -> ipCnt.merge(ip, cnt, Long::sum));
+        }
+
+        /**
+         * 扣减访问记录，HyperLogLog 无法扣减，只扣减访问次数与 IP 访问次数
+         */
+        private void subtract(ShortLinkStatsRecordDTO statsRecord) {
+            pv--;
+            if (StrUtil.isNotBlank(statsRecord.getRemoteAddr())) {
+                ipCnt.merge(statsRecord.getRemoteAddr(), -1L, Long::sum);
+            }
+        }
+
+        private void add(ShortLinkStatsRecordDTO statsRecord) {
+            pv++;
+            if (Boolean.TRUE.equals(statsRecord.getUvFirstFlag())) {
+                newUv++;
+            }
+            uvSketch.add(statsRecord.getUv());
+            uipSketch.add(statsRecord.getRemoteAddr());
+            if (StrUtil.isNotBlank(statsRecord.getRemoteAddr())) {
+                ipCnt.merge(statsRecord.getRemoteAddr(), 1L, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.date.DateField;
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.fennel.shortlink.project.config.StatsUniqueVisitorConfiguration;
+import com.fennel.shortlink.project.dto.biz.ShortLinkFirstVisitDTO;
+import com.fennel.shortlink.project.service.LinkUniqueVisitorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_DAILY_HLL_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_HLL_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_DAILY_HLL_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_HLL_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_KEY;
+
+/**
+ * 短链接独立访客统计接口实现层
+ * HyperLogLog 模式下内存占用与访客数量无关：全量与按天 Key 单个最多 12KB，按天 Key 到期自动删除。
+ * 全量 Key 判断首次访问，与集合模式一样按短链接全部历史判断，寄存器未变化即视为已访问过，少量新访客会因哈希碰撞被视为旧访客；
+ * 按天 Key 用于统计任意日期范围内的去重访客数
+ */
+@Service
+@RequiredArgsConstructor
+public class LinkUniqueVisitorServiceImpl implements LinkUniqueVisitorService {
+
+    private static final String DAILY_KEY_DATE_PATTERN = "yyyyMMdd";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StatsUniqueVisitorConfiguration statsUniqueVisitorConfiguration;
+
+    @Override
+    public ShortLinkFirstVisitDTO recordVisit(String fullShortUrl, String uv, boolean uvCookieCreated, String remoteAddr) {
+        byte[] uvBytes = bytes(uv);
+        byte[] remoteAddrBytes = bytes(remoteAddr);
+        if (!statsUniqueVisitorConfiguration.isHllMode()) {
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.setCommands().sAdd(bytes(SHORT_LINK_STATS_UV_KEY + fullShortUrl), uvBytes);
+                connection.setCommands().sAdd(bytes(SHORT_LINK_STATS_UIP_KEY + fullShortUrl), remoteAddrBytes);
+                return null;
+            });
+            return ShortLinkFirstVisitDTO.builder()
+                    .uvFirstFlag(uvCookieCreated || added(results.get(0)))
+                    .uipFirstFlag(added(results.get(1)))
+                    .build();
+        }
+        String today = DateUtil.format(new Date(), DAILY_KEY_DATE_PATTERN);
+        byte[] uvDailyKey = bytes(String.format(SHORT_LINK_STATS_UV_DAILY_HLL_KEY, fullShortUrl, today));
+        byte[] uipDailyKey = bytes(String.format(SHORT_LINK_STATS_UIP_DAILY_HLL_KEY, fullShortUrl, today));
+        long dailyTtl = TimeUnit.DAYS.toSeconds(statsUniqueVisitorConfiguration.getDailyRetentionDays() + 1L);
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hyperLogLogCommands().pfAdd(bytes(String.format(SHORT_LINK_STATS_UV_HLL_KEY, fullShortUrl)), uvBytes);
+            connection.hyperLogLogCommands().pfAdd(uvDailyKey, uvBytes);
+            connection.hyperLogLogCommands().pfAdd(bytes(String.format(SHORT_LINK_STATS_UIP_HLL_KEY, fullShortUrl)), remoteAddrBytes);
+            connection.hyperLogLogCommands().pfAdd(uipDailyKey, remoteAddrBytes);
+            connection.keyCommands().expire(uvDailyKey, dailyTtl);
+            connection.keyCommands().expire(uipDailyKey, dailyTtl);
+            return null;
+        });
+        return ShortLinkFirstVisitDTO.builder()
+                .uvFirstFlag(uvCookieCreated || added(results.get(0)))
+                .uipFirstFlag(added(results.get(2)))
+                .build();
+    }
+
+    @Override
+    public Long countUv(String fullShortUrl, String startDate, String endDate) {
+        return countDaily(SHORT_LINK_STATS_UV_DAILY_HLL_KEY, fullShortUrl, startDate, endDate);
+    }
+
+    @Override
+    public Long countUip(String fullShortUrl, String startDate, String endDate) {
+        return countDaily(SHORT_LINK_STATS_UIP_DAILY_HLL_KEY, fullShortUrl, startDate, endDate);
+    }
+
+    /**
+     * 合并日期范围内按天 HyperLogLog 统计基数，相同访客跨天只计一次
+     */
+    private Long countDaily(String keyFormat, String fullShortUrl, String startDate, String endDate) {
+        if (!statsUniqueVisitorConfiguration.isHllMode()) {
+            return null;
+        }
+        Date start = DateUtil.beginOfDay(DateUtil.parse(startDate));
+        Date end = DateUtil.beginOfDay(DateUtil.parse(endDate));
+        Date earliestRetained = DateUtil.offsetDay(DateUtil.beginOfDay(new Date()), 1 - statsUniqueVisitorConfiguration.getDailyRetentionDays());
+        if (start.before(earliestRetained) || start.after(end)) {
+            return null;
+        }
+        String[] keys = DateUtil.rangeToList(start, end, DateField.DAY_OF_MONTH).stream()
+                .map(each -> String.format(keyFormat, fullShortUrl, DateUtil.format(each, DAILY_KEY_DATE_PATTERN)))
+                .toArray(String[]::new);
+        return stringRedisTemplate.opsForHyperLogLog().size(keys);
+    }
+
+    private static boolean added(Object result) {
+        return result instanceof Long value && value > 0L;
+    }
+
+    private static byte[] bytes(String value) {
+        return StrUtil.nullToEmpty(value).getBytes(StandardCharsets.UTF_8);
+    }
+}
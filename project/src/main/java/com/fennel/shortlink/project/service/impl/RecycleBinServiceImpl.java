@@ -23,14 +23,20 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fennel.shortlink.project.cache.ShortLinkGotoLocalCache;
 import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
 import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
 import com.fennel.shortlink.project.dto.req.RecycleBinRecoverReqDTO;
 import com.fennel.shortlink.project.dto.req.RecycleBinRemoveReqDTO;
 import com.fennel.shortlink.project.dto.req.RecycleBinSaveReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkRecycleBinCursorPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkRecycleBinPageReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkPageRespDTO;
+import com.fennel.shortlink.project.service.LinkRankService;
 import com.fennel.shortlink.project.service.RecycleBinService;
+import com.fennel.shortlink.project.service.ShortLinkHotKeyService;
+import com.fennel.shortlink.project.toolkit.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -46,6 +52,9 @@ import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO
 public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements RecycleBinService {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final LinkRankService linkRankService;
+    private final ShortLinkHotKeyService shortLinkHotKeyService;
 
     @Override
     public void saveRecycleBin(RecycleBinSaveReqDTO requestParam) {
@@ -58,7 +67,10 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
                 .enableStatus(1)
                 .build();
         baseMapper.update(shortLinkDO, updateWrapper);
+        linkRankService.invalidate(requestParam.getGid());
         stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
+        shortLinkHotKeyService.deleteGotoCacheReplicas(requestParam.getFullShortUrl());
+        shortLinkGotoLocalCache.invalidate(requestParam.getFullShortUrl());
     }
 
     @Override
@@ -76,6 +88,21 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
         });
     }
 
+    @Override
+    public CursorPageRespDTO<ShortLinkPageRespDTO> pageShortLinkByCursor(ShortLinkRecycleBinCursorPageReqDTO requestParam) {
+        int size = CursorUtil.normalizeSize(requestParam.getSize());
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                .in(ShortLinkDO::getGid, requestParam.getGidList())
+                .eq(ShortLinkDO::getEnableStatus, 1)
+                .eq(ShortLinkDO::getDelFlag, 0);
+        CursorUtil.keyset(queryWrapper, requestParam.getCursor(), size, ShortLinkDO::getUpdateTime, ShortLinkDO::getId);
+        return CursorUtil.toCursorPage(baseMapper.selectList(queryWrapper), size, ShortLinkDO::getUpdateTime, ShortLinkDO::getId, each -> {
+            ShortLinkPageRespDTO result = BeanUtil.toBean(each, ShortLinkPageRespDTO.class);
+            result.setDomain("http://" + result.getDomain());
+            return result;
+        });
+    }
+
     @Override
     public void recoverRecycleBin(RecycleBinRecoverReqDTO requestParam) {
         LambdaUpdateWrapper<ShortLinkDO> updateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
@@ -87,7 +114,9 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
                 .enableStatus(0)
                 .build();
         baseMapper.update(shortLinkDO, updateWrapper);
+        linkRankService.invalidate(requestParam.getGid());
         stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
+        shortLinkGotoLocalCache.invalidate(requestParam.getFullShortUrl());
     }
 
     @Override
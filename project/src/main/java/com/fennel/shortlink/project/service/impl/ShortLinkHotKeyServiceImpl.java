@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import com.fennel.shortlink.project.cache.ShortLinkGotoLocalCache;
+import com.fennel.shortlink.project.cache.ShortLinkGotoRecord;
+import com.fennel.shortlink.project.config.GotoHotKeyConfiguration;
+import com.fennel.shortlink.project.dto.resp.ShortLinkHotKeyRespDTO;
+import com.fennel.shortlink.project.service.ShortLinkHotKeyService;
+import com.fennel.shortlink.project.toolkit.CountMinSketch;
+import com.fennel.shortlink.project.toolkit.LinkUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_REPLICA_KEY;
+
+/**
+ * 热点短链接识别接口实现层
+ * 跳转请求只累加滑动窗口 Count-Min Sketch，估算次数达到阈值的短链接进入候选集合；每个子窗口结束时按最新估算值用小顶堆选出前 K 个作为热点。
+ * 新识别的热点固定在本地跳转缓存，并把 Redis 跳转缓存复制到多个分散在不同槽位的副本 Key，读取时随机选择副本，单个 Key 不再承担全部流量
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortLinkHotKeyServiceImpl implements ShortLinkHotKeyService, InitializingBean, DisposableBean {
+
+    private final GotoHotKeyConfiguration gotoHotKeyConfiguration;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedissonClient redissonClient;
+
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+
+    private CountMinSketch sketch;
+    private ScheduledExecutorService refreshExecutor;
+    private volatile Map<String, Integer> hotKeys = Map.of();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!gotoHotKeyConfiguration.getEnable()) {
+            return;
+        }
+        sketch = new CountMinSketch(gotoHotKeyConfiguration.getSketchDepth(), gotoHotKeyConfiguration.getSketchWidth(), gotoHotKeyConfiguration.getWindowCount());
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "short-link-goto-hot-key");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1L, TimeUnit.SECONDS.toMillis(gotoHotKeyConfiguration.getWindowSeconds()) / gotoHotKeyConfiguration.getWindowCount());
+        refreshExecutor.scheduleAtFixedRate(this::refreshQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void record(String fullShortUrl) {
+        if (sketch == null) {
+            return;
+        }
+        int count = sketch.add(fullShortUrl);
+        if (count >= gotoHotKeyConfiguration.getThreshold()
+                && candidates.size() < gotoHotKeyConfiguration.getTopK() * 4
+                && !candidates.contains(fullShortUrl)) {
+            candidates.add(fullShortUrl);
+        }
+    }
+
+    @Override
+    public String getGotoCache(String fullShortUrl) {
+        if (hotKeys.containsKey(fullShortUrl)) {
+            int replica = ThreadLocalRandom.current().nextInt(gotoHotKeyConfiguration.getReplicaCount());
+            String value = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_REPLICA_KEY, fullShortUrl, replica));
+            if (value != null) {
+                return value;
+            }
+        }
+        return stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
+    }
+
+    @Override
+    public void deleteGotoCacheReplicas(String fullShortUrl) {
+        List<String> replicaKeys = new ArrayList<>(gotoHotKeyConfiguration.getReplicaCount());
+        for (int i = 0; i < gotoHotKeyConfiguration.getReplicaCount(); i++) {
+            replicaKeys.add(String.format(GOTO_SHORT_LINK_REPLICA_KEY, fullShortUrl, i));
+        }
+        stringRedisTemplate.delete(replicaKeys);
+    }
+
+    @Override
+    public List<ShortLinkHotKeyRespDTO> listHotKeys() {
+        return hotKeys.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(each -> ShortLinkHotKeyRespDTO.builder()
+                        .fullShortUrl(each.getKey())
+                        .count(each.getValue())
+                        .build())
+                .toList();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Throwable ex) {
+            log.error("热点短链接识别刷新失败", ex);
+        }
+    }
+
+    private void refresh() {
+        sketch.rotate();
+        PriorityQueue<Map.Entry<String, Integer>> topHeap = new PriorityQueue<>(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        for (String each : candidates) {
+            int count = sketch.estimate(each);
+            if (count < gotoHotKeyConfiguration.getThreshold()) {
+                candidates.remove(each);
+                continue;
+            }
+            topHeap.offer(Map.entry(each, count));
+            if (topHeap.size() > gotoHotKeyConfiguration.getTopK()) {
+                topHeap.poll();
+            }
+        }
+        Map<String, Integer> previousHotKeys = hotKeys;
+        Map<String, Integer> currentHotKeys = new HashMap<>(topHeap.size() * 2);
+        topHeap.forEach(each -> currentHotKeys.put(each.getKey(), each.getValue()));
+        hotKeys = Map.copyOf(currentHotKeys);
+        currentHotKeys.forEach((fullShortUrl, count) -> {
+            if (!previousHotKeys.containsKey(fullShortUrl)) {
+                log.info("识别到热点短链接 [{}]，窗口内跳转次数：{}", fullShortUrl, count);
+                shortLinkGotoLocalCache.pin(fullShortUrl);
+            }
+        });
+        previousHotKeys.keySet().stream()
+                .filter(each -> !currentHotKeys.containsKey(each))
+                .forEach(each -> {
+                    log.info("短链接 [{}] 不再是热点", each);
+                    shortLinkGotoLocalCache.unpin(each);
+                });
+        if (!currentHotKeys.isEmpty()) {
+            replicate(new ArrayList<>(currentHotKeys.keySet()));
+        }
+    }
+
+    /**
+     * 从原 Key 复制副本并续期，副本有效期不超过短链接有效期
+     */
+    private void replicate(List<String> fullShortUrls) {
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(fullShortUrls.stream()
+                .map(each -> String.format(GOTO_SHORT_LINK_KEY, each))
+                .toList());
+        if (values == null) {
+            return;
+        }
+        long replicaTtl = TimeUnit.SECONDS.toMillis(gotoHotKeyConfiguration.getReplicaTtl());
+        RBatch batch = redissonClient.createBatch();
+        int replicatedCount = 0;
+        for (int i = 0; i < fullShortUrls.size(); i++) {
+            ShortLinkGotoRecord gotoRecord = ShortLinkGotoRecord.decode(values.get(i));
+            if (gotoRecord == null) {
+                continue;
+            }
+            long ttl = Math.min(replicaTtl, LinkUtil.getLinkCacheValidTime(gotoRecord.validDate()));
+            if (ttl <= 0) {
+                continue;
+            }
+            for (int replica = 0; replica < gotoHotKeyConfiguration.getReplicaCount(); replica++) {
+                batch.getBucket(String.format(GOTO_SHORT_LINK_REPLICA_KEY, fullShortUrls.get(i), replica), StringCodec.INSTANCE)
+                        .setAsync(values.get(i), Duration.ofMillis(ttl));
+            }
+            replicatedCount++;
+        }
+        if (replicatedCount > 0) {
+            batch.execute();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import com.fennel.shortlink.project.common.convention.exception.ServiceException;
+import com.fennel.shortlink.project.config.ShortLinkCreateConfiguration;
+import com.fennel.shortlink.project.service.ShortLinkSequenceService;
+import com.fennel.shortlink.project.toolkit.ShortCodeUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_SUFFIX_SEQUENCE_KEY;
+
+/**
+ * 短链接后缀序列号分配接口实现层
+ * 每个节点通过 Redis INCRBY 批量租用号段，节点内无锁递增分配，剩余不足时异步预取下一号段（双 Buffer）
+ * 节点重启时未用完的号段直接丢弃，序列号存在空洞但不会重复
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortLinkSequenceServiceImpl implements ShortLinkSequenceService, DisposableBean {
+
+    private final ShortLinkCreateConfiguration shortLinkCreateConfiguration;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ReentrantLock switchLock = new ReentrantLock();
+    private final AtomicBoolean prefetching = new AtomicBoolean();
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "short-link-sequence-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Segment current;
+    private volatile Segment next;
+
+    @Override
+    public long nextSequence() {
+        while (true) {
+            Segment segment = current;
+            if (segment != null) {
+                long sequence = segment.cursor.getAndIncrement();
+                if (sequence < segment.end) {
+                    if (segment.end - sequence == segment.prefetchRemaining) {
+                        prefetchNext();
+                    }
+                    return sequence;
+                }
+            }
+            switchLock.lock();
+            try {
+                if (current == segment) {
+                    Segment prefetched = next;
+                    next = null;
+                    current = prefetched != null ? prefetched : leaseSegment();
+                }
+            } finally {
+                switchLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private void prefetchNext() {
+        if (!prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    Segment segment = leaseSegment();
+                    switchLock.lock();
+                    try {
+                        if (next == null) {
+                            next = segment;
+                        }
+                    } finally {
+                        switchLock.unlock();
+                    }
+                } catch (Throwable ex) {
+                    log.error("短链接后缀号段预取失败", ex);
+                } finally {
+                    prefetching.set(false);
+                }
+            });
+        } catch (Throwable ex) {
+            prefetching.set(false);
+            log.error("短链接后缀号段预取任务提交失败", ex);
+        }
+    }
+
+    private Segment leaseSegment() {
+        int step = shortLinkCreateConfiguration.getSegmentStep();
+        Long end = stringRedisTemplate.opsForValue().increment(SHORT_LINK_SUFFIX_SEQUENCE_KEY, step);
+        if (end == null) {
+            throw new ServiceException("短链接后缀号段分配失败");
+        }
+        if (end > ShortCodeUtil.MAX_SEQUENCE) {
+            throw new ServiceException("短链接后缀号段已耗尽");
+        }
+        long prefetchRemaining = Math.max(1L, (long) step * shortLinkCreateConfiguration.getSegmentPrefetchPercent() / 100);
+        return new Segment(new AtomicLong(end - step), end, prefetchRemaining);
+    }
+
+    /**
+     * 号段，取值范围 [cursor 初始值, end)
+     */
+    private record Segment(AtomicLong cursor, long end, long prefetchRemaining) {
+    }
+}
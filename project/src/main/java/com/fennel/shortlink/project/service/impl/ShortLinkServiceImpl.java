@@ -21,7 +21,6 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.lang.UUID;
 import cn.hutool.core.text.StrBuilder;
-import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
 import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
@@ -30,10 +29,16 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fennel.shortlink.project.cache.ShortLinkBloomFilter;
+import com.fennel.shortlink.project.cache.ShortLinkGotoLoader;
+import com.fennel.shortlink.project.cache.ShortLinkGotoLocalCache;
+import com.fennel.shortlink.project.cache.ShortLinkGotoRecord;
+import com.fennel.shortlink.project.common.convention.exception.AbstractException;
 import com.fennel.shortlink.project.common.convention.exception.ClientException;
 import com.fennel.shortlink.project.common.convention.exception.ServiceException;
 import com.fennel.shortlink.project.common.enums.VailDateTypeEnum;
 import com.fennel.shortlink.project.config.GotoDomainWhiteListConfiguration;
+import com.fennel.shortlink.project.config.ShortLinkCreateConfiguration;
 import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
 import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
 import com.fennel.shortlink.project.dao.entity.LinkBrowserStatsDO;
@@ -54,21 +59,36 @@ import com.fennel.shortlink.project.dao.mapper.LinkOsStatsMapper;
 import com.fennel.shortlink.project.dao.mapper.LinkStatsTodayMapper;
 import com.fennel.shortlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.fennel.shortlink.project.dto.biz.ShortLinkFirstVisitDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreReqDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreRespDTO;
 import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkCreateReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkCursorPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkPageReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkUpdateReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkBaseInfoRespDTO;
+import com.fennel.shortlink.project.dto.resp.ShortLinkBatchCreateFailRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkBatchCreateRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkCreateRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkGroupCountQueryRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkPageRespDTO;
 import com.fennel.shortlink.project.mq.producer.ShortLinkStatsSaveProducer;
+import com.fennel.shortlink.project.service.LinkGidRouteService;
+import com.fennel.shortlink.project.service.LinkRankService;
 import com.fennel.shortlink.project.service.LinkStatsTodayService;
+import com.fennel.shortlink.project.service.LinkUniqueVisitorService;
+import com.fennel.shortlink.project.service.ShortLinkGotoService;
+import com.fennel.shortlink.project.service.ShortLinkHotKeyService;
 import com.fennel.shortlink.project.service.ShortLinkService;
+import com.fennel.shortlink.project.service.ShortLinkSequenceService;
+import com.fennel.shortlink.project.toolkit.CursorUtil;
 import com.fennel.shortlink.project.toolkit.HashUtil;
 import com.fennel.shortlink.project.toolkit.LinkUtil;
+import com.fennel.shortlink.project.toolkit.ShortCodeUtil;
+import com.fennel.shortlink.project.toolkit.UserAgentClassifier;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.Cookie;
@@ -80,30 +100,31 @@ import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.redisson.api.RBloomFilter;
+import org.redisson.api.RBatch;
 import org.redisson.api.RLock;
-import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
 import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
 import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_GID_UPDATE_KEY;
-import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.LOCK_GOTO_SHORT_LINK_KEY;
 import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_CREATE_LOCK_KEY;
-import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_KEY;
-import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_KEY;
+import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.GOTO_NOT_FOUND_PATH;
+import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.UV_COOKIE_MAX_AGE;
+import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.UV_COOKIE_NAME;
 
 /**
  * 短链接接口实现层
@@ -113,7 +134,7 @@ import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.SHOR
 @RequiredArgsConstructor
 public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements ShortLinkService {
 
-    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final ShortLinkBloomFilter shortLinkBloomFilter;
     private final ShortLinkGotoMapper shortLinkGotoMapper;
     private final StringRedisTemplate stringRedisTemplate;
     private final RedissonClient redissonClient;
@@ -128,6 +149,16 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
     private final LinkStatsTodayService linkStatsTodayService;
     private final ShortLinkStatsSaveProducer shortLinkStatsSaveProducer;
     private final GotoDomainWhiteListConfiguration gotoDomainWhiteListConfiguration;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final ShortLinkGotoLoader shortLinkGotoLoader;
+    private final ShortLinkCreateConfiguration shortLinkCreateConfiguration;
+    private final ShortLinkSequenceService shortLinkSequenceService;
+    private final ShortLinkGotoService shortLinkGotoService;
+    private final TransactionTemplate transactionTemplate;
+    private final LinkRankService linkRankService;
+    private final LinkUniqueVisitorService linkUniqueVisitorService;
+    private final LinkGidRouteService linkGidRouteService;
+    private final ShortLinkHotKeyService shortLinkHotKeyService;
 
     @Value("${short-link.domain.default}")
     private String createShortLinkDefaultDomain;
@@ -141,24 +172,7 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .append("/")
                 .append(shortLinkSuffix)
                 .toString();
-        ShortLinkDO shortLinkDO = ShortLinkDO.builder()
-                .domain(createShortLinkDefaultDomain)
-                .originUrl(requestParam.getOriginUrl())
-                .gid(requestParam.getGid())
-                .createdType(requestParam.getCreatedType())
-                .validDateType(requestParam.getValidDateType())
-                .validDate(requestParam.getValidDate())
-                .describe(requestParam.getDescribe())
-                .shortUri(shortLinkSuffix)
-                .enableStatus(0)
-                .totalPv(0)
-                .totalUv(0)
-                .totalUip(0)
-                .delTime(0L)
-                .fullShortUrl(fullShortUrl)
-//                .favicon(getFavicon(requestParam.getOriginUrl()))
-                .favicon(null)
-                .build();
+        ShortLinkDO shortLinkDO = buildShortLinkDO(requestParam, shortLinkSuffix);
         ShortLinkGotoDO linkGotoDO = ShortLinkGotoDO.builder()
                 .fullShortUrl(fullShortUrl)
                 .gid(requestParam.getGid())
@@ -168,17 +182,19 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
             shortLinkGotoMapper.insert(linkGotoDO);
         } catch (DuplicateKeyException ex) {
             // 首先判断是否存在布隆过滤器，如果不存在直接新增
-            if (!shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl)) {
-                shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+            if (!shortLinkBloomFilter.contains(fullShortUrl)) {
+                shortLinkBloomFilter.add(fullShortUrl);
             }
             throw new ServiceException(String.format("短链接：%s 生成重复", fullShortUrl));
         }
         stringRedisTemplate.opsForValue().set(
                 String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                requestParam.getOriginUrl(),
+                ShortLinkGotoRecord.of(shortLinkDO).encode(),
                 LinkUtil.getLinkCacheValidTime(requestParam.getValidDate()), TimeUnit.MILLISECONDS
         );
-        shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+        evictGotoNullCache(fullShortUrl);
+        shortLinkBloomFilter.add(fullShortUrl);
+        linkRankService.addMembers(requestParam.getGid(), List.of(fullShortUrl));
         return ShortLinkCreateRespDTO.builder()
                 .fullShortUrl("http://" + shortLinkDO.getFullShortUrl())
                 .originUrl(requestParam.getOriginUrl())
@@ -188,6 +204,10 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 
     @Override
     public ShortLinkCreateRespDTO createShortLinkByLock(ShortLinkCreateReqDTO requestParam) {
+        if (shortLinkCreateConfiguration.isSegmentMode()) {
+            // 号段模式生成的后缀天然不重复，无需全局锁串行创建
+            return createShortLink(requestParam);
+        }
         verificationWhitelist(requestParam.getOriginUrl());
         String fullShortUrl;
         RLock lock = redissonClient.getLock(SHORT_LINK_CREATE_LOCK_KEY);
@@ -228,12 +248,14 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
             }
             stringRedisTemplate.opsForValue().set(
                     String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                    requestParam.getOriginUrl(),
+                    ShortLinkGotoRecord.of(shortLinkDO).encode(),
                     LinkUtil.getLinkCacheValidTime(requestParam.getValidDate()), TimeUnit.MILLISECONDS
             );
+            evictGotoNullCache(fullShortUrl);
         } finally {
             lock.unlock();
         }
+        linkRankService.addMembers(requestParam.getGid(), List.of(fullShortUrl));
         return ShortLinkCreateRespDTO.builder()
                 .fullShortUrl("http://" + fullShortUrl)
                 .originUrl(requestParam.getOriginUrl())
@@ -243,28 +265,152 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 
     @Override
     public ShortLinkBatchCreateRespDTO batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam) {
-        List<String> originUrls = requestParam.getOriginUrls();
-        List<String> describes = requestParam.getDescribes();
-        List<ShortLinkBaseInfoRespDTO> result = new ArrayList<>();
-        for (int i = 0; i < originUrls.size(); i++) {
-            ShortLinkCreateReqDTO shortLinkCreateReqDTO = BeanUtil.toBean(requestParam, ShortLinkCreateReqDTO.class);
-            shortLinkCreateReqDTO.setOriginUrl(originUrls.get(i));
-            shortLinkCreateReqDTO.setDescribe(describes.get(i));
+        List<ShortLinkBaseInfoRespDTO> baseLinkInfos = new ArrayList<>();
+        List<ShortLinkBatchCreateFailRespDTO> failLinkInfos = new ArrayList<>();
+        batchCreateShortLink(requestParam, chunkResult -> {
+            baseLinkInfos.addAll(chunkResult.getBaseLinkInfos());
+            failLinkInfos.addAll(chunkResult.getFailLinkInfos());
+        });
+        return ShortLinkBatchCreateRespDTO.builder()
+                .total(baseLinkInfos.size())
+                .baseLinkInfos(baseLinkInfos)
+                .failTotal(failLinkInfos.size())
+                .failLinkInfos(failLinkInfos)
+                .build();
+    }
+
+    @Override
+    public void batchCreateShortLink(ShortLinkBatchCreateReqDTO requestParam, Consumer<ShortLinkBatchCreateRespDTO> chunkResultConsumer) {
+        List<String> originUrls = Optional.ofNullable(requestParam.getOriginUrls()).orElse(Collections.emptyList());
+        int chunkSize = shortLinkCreateConfiguration.getBatchChunkSize();
+        for (int from = 0; from < originUrls.size(); from += chunkSize) {
+            chunkResultConsumer.accept(batchCreateChunk(requestParam, from, Math.min(from + chunkSize, originUrls.size())));
+        }
+    }
+
+    /**
+     * 批量创建一片短链接：批量生成后缀，单事务批量写入 t_link 与 t_link_goto，提交后批量预热缓存与布隆过滤器
+     * 批量写入失败（如后缀冲突）时整片回滚，逐条走单个创建流程以定位失败明细
+     */
+    private ShortLinkBatchCreateRespDTO batchCreateChunk(ShortLinkBatchCreateReqDTO requestParam, int from, int to) {
+        List<ShortLinkBaseInfoRespDTO> baseLinkInfos = new ArrayList<>();
+        List<ShortLinkBatchCreateFailRespDTO> failLinkInfos = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<ShortLinkDO> shortLinkDOs = new ArrayList<>();
+        List<ShortLinkGotoDO> linkGotoDOs = new ArrayList<>();
+        Set<String> chunkSuffixes = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            ShortLinkCreateReqDTO shortLinkCreateReqDTO = buildBatchItemReqDTO(requestParam, i);
             try {
-                ShortLinkCreateRespDTO shortLink = createShortLink(shortLinkCreateReqDTO);
-                ShortLinkBaseInfoRespDTO linkBaseInfoRespDTO = ShortLinkBaseInfoRespDTO.builder()
-                        .fullShortUrl(shortLink.getFullShortUrl())
-                        .originUrl(shortLink.getOriginUrl())
-                        .describe(describes.get(i))
-                        .build();
-                result.add(linkBaseInfoRespDTO);
+                verificationWhitelist(shortLinkCreateReqDTO.getOriginUrl());
+                String shortLinkSuffix;
+                do {
+                    shortLinkSuffix = generateBatchSuffix(shortLinkCreateReqDTO.getOriginUrl());
+                } while (!chunkSuffixes.add(shortLinkSuffix));
+                ShortLinkDO shortLinkDO = buildShortLinkDO(shortLinkCreateReqDTO, shortLinkSuffix);
+                shortLinkDOs.add(shortLinkDO);
+                linkGotoDOs.add(ShortLinkGotoDO.builder()
+                        .fullShortUrl(shortLinkDO.getFullShortUrl())
+                        .gid(shortLinkDO.getGid())
+                        .build());
+                pendingIndexes.add(i);
             } catch (Throwable ex) {
-                log.error("批量创建短链接失败，原始参数：{}", originUrls.get(i));
+                failLinkInfos.add(buildBatchFailRespDTO(i, shortLinkCreateReqDTO, ex));
+            }
+        }
+        if (!shortLinkDOs.isEmpty()) {
+            try {
+                // ShardingSphere 按路由结果将同一分表的语句合并为一次 JDBC 批量执行
+                transactionTemplate.executeWithoutResult(status -> {
+                    saveBatch(shortLinkDOs, shortLinkDOs.size());
+                    shortLinkGotoService.saveBatch(linkGotoDOs, linkGotoDOs.size());
+                });
+            } catch (Throwable ex) {
+                log.warn("批量创建短链接整片写入失败，降级逐条创建，下标范围：[{}, {})", from, to, ex);
+                for (Integer index : pendingIndexes) {
+                    ShortLinkCreateReqDTO shortLinkCreateReqDTO = buildBatchItemReqDTO(requestParam, index);
+                    try {
+                        ShortLinkCreateRespDTO shortLink = createShortLink(shortLinkCreateReqDTO);
+                        baseLinkInfos.add(ShortLinkBaseInfoRespDTO.builder()
+                                .fullShortUrl(shortLink.getFullShortUrl())
+                                .originUrl(shortLink.getOriginUrl())
+                                .describe(shortLinkCreateReqDTO.getDescribe())
+                                .build());
+                    } catch (Throwable itemEx) {
+                        failLinkInfos.add(buildBatchFailRespDTO(index, shortLinkCreateReqDTO, itemEx));
+                    }
+                }
+                return ShortLinkBatchCreateRespDTO.builder()
+                        .total(baseLinkInfos.size())
+                        .baseLinkInfos(baseLinkInfos)
+                        .failTotal(failLinkInfos.size())
+                        .failLinkInfos(failLinkInfos)
+                        .build();
             }
+            warmUpBatchCreated(shortLinkDOs);
+            shortLinkDOs.forEach(each -> baseLinkInfos.add(ShortLinkBaseInfoRespDTO.builder()
+                    .fullShortUrl("http://" + each.getFullShortUrl())
+                    .originUrl(each.getOriginUrl())
+                    .describe(each.getDescribe())
+                    .build()));
         }
         return ShortLinkBatchCreateRespDTO.builder()
-                .total(result.size())
-                .baseLinkInfos(result)
+                .total(baseLinkInfos.size())
+                .baseLinkInfos(baseLinkInfos)
+                .failTotal(failLinkInfos.size())
+                .failLinkInfos(failLinkInfos)
+                .build();
+    }
+
+    /**
+     * 创建前访问过的短链接已缓存空值，删除 Redis 空值标记并失效所有节点的本地缓存，避免新建短链接在空值过期前无法跳转
+     */
+    private void evictGotoNullCache(String fullShortUrl) {
+        stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
+        shortLinkGotoLocalCache.invalidate(fullShortUrl);
+    }
+
+    /**
+     * 批量写入布隆过滤器并通过 Redis 管道预热跳转缓存，同时清除空值缓存
+     */
+    private void warmUpBatchCreated(List<ShortLinkDO> shortLinkDOs) {
+        try {
+            shortLinkBloomFilter.add(shortLinkDOs.stream().map(ShortLinkDO::getFullShortUrl).toList());
+        } catch (Throwable ex) {
+            log.error("批量创建短链接布隆过滤器写入失败，逐条补偿", ex);
+            shortLinkDOs.forEach(each -> shortLinkBloomFilter.add(each.getFullShortUrl()));
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            shortLinkDOs.forEach(each -> {
+                batch.getBucket(String.format(GOTO_SHORT_LINK_KEY, each.getFullShortUrl()), StringCodec.INSTANCE)
+                        .setAsync(ShortLinkGotoRecord.of(each).encode(), Duration.ofMillis(LinkUtil.getLinkCacheValidTime(each.getValidDate())));
+                batch.getBucket(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, each.getFullShortUrl()), StringCodec.INSTANCE).deleteAsync();
+            });
+            batch.execute();
+        } catch (Throwable ex) {
+            // 跳转缓存未命中时会回源数据库重建，预热失败不影响创建结果
+            log.error("批量创建短链接跳转缓存预热失败", ex);
+        }
+        shortLinkDOs.forEach(each -> shortLinkGotoLocalCache.invalidate(each.getFullShortUrl()));
+        linkRankService.addMembers(shortLinkDOs.get(0).getGid(), shortLinkDOs.stream().map(ShortLinkDO::getFullShortUrl).toList());
+    }
+
+    private ShortLinkCreateReqDTO buildBatchItemReqDTO(ShortLinkBatchCreateReqDTO requestParam, int index) {
+        List<String> describes = requestParam.getDescribes();
+        ShortLinkCreateReqDTO shortLinkCreateReqDTO = BeanUtil.toBean(requestParam, ShortLinkCreateReqDTO.class);
+        shortLinkCreateReqDTO.setOriginUrl(requestParam.getOriginUrls().get(index));
+        shortLinkCreateReqDTO.setDescribe(describes != null && index < describes.size() ? describes.get(index) : null);
+        return shortLinkCreateReqDTO;
+    }
+
+    private ShortLinkBatchCreateFailRespDTO buildBatchFailRespDTO(int index, ShortLinkCreateReqDTO requestParam, Throwable ex) {
+        log.error("批量创建短链接失败，原始参数：{}", requestParam.getOriginUrl(), ex);
+        return ShortLinkBatchCreateFailRespDTO.builder()
+                .index(index)
+                .originUrl(requestParam.getOriginUrl())
+                .describe(requestParam.getDescribe())
+                .reason(ex instanceof AbstractException ? ex.getMessage() : "短链接创建失败")
                 .build();
     }
 
@@ -301,8 +447,8 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                     .build();
             baseMapper.update(shortLinkDO, updateWrapper);
         } else {
-            RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(String.format(LOCK_GID_UPDATE_KEY, requestParam.getFullShortUrl()));
-            RLock rLock = readWriteLock.writeLock();
+            // 只串行同一短链接的并发修改分组，监控消费不再加读锁，改为按分组路由写入
+            RLock rLock = redissonClient.getLock(String.format(LOCK_GID_UPDATE_KEY, requestParam.getFullShortUrl()));
             rLock.lock();
             try {
                 LambdaUpdateWrapper<ShortLinkDO> linkUpdateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
@@ -311,8 +457,9 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                         .eq(ShortLinkDO::getDelFlag, 0)
                         .eq(ShortLinkDO::getDelTime, 0L)
                         .eq(ShortLinkDO::getEnableStatus, 0);
+                long delTime = System.currentTimeMillis();
                 ShortLinkDO delShortLinkDO = ShortLinkDO.builder()
-                        .delTime(System.currentTimeMillis())
+                        .delTime(delTime)
                         .build();
                 delShortLinkDO.setDelFlag(1);
                 baseMapper.update(delShortLinkDO, linkUpdateWrapper);
@@ -354,14 +501,25 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 shortLinkGotoMapper.deleteById(shortLinkGotoDO.getId());
                 shortLinkGotoDO.setGid(requestParam.getGid());
                 shortLinkGotoMapper.insert(shortLinkGotoDO);
+                linkGidRouteService.publishRoute(hasShortLinkDO, delTime, requestParam.getGid());
             } finally {
                 rLock.unlock();
             }
+            linkRankService.invalidate(hasShortLinkDO.getGid());
+            linkRankService.invalidate(requestParam.getGid());
         }
 
-        if (!Objects.equals(hasShortLinkDO.getValidDateType(), requestParam.getValidDateType())
-                || !Objects.equals(hasShortLinkDO.getValidDate(), requestParam.getValidDate())) {
+        shortLinkGotoLocalCache.invalidate(requestParam.getFullShortUrl());
+        boolean validDateChanged = !Objects.equals(hasShortLinkDO.getValidDateType(), requestParam.getValidDateType())
+                || !Objects.equals(hasShortLinkDO.getValidDate(), requestParam.getValidDate());
+        // 跳转缓存记录包含分组标识与原始链接，任一变化都需要删除后回源重建
+        if (validDateChanged
+                || !Objects.equals(hasShortLinkDO.getGid(), requestParam.getGid())
+                || !Objects.equals(hasShortLinkDO.getOriginUrl(), requestParam.getOriginUrl())) {
             stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
+            shortLinkHotKeyService.deleteGotoCacheReplicas(requestParam.getFullShortUrl());
+        }
+        if (validDateChanged) {
             if (hasShortLinkDO.getValidDate() != null && hasShortLinkDO.getValidDate().before(new Date())) {
                 if (Objects.equals(requestParam.getValidDateType(), VailDateTypeEnum.PERMANENT.getType()) || requestParam.getValidDate().after(new Date())) {
                     stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
@@ -372,7 +530,9 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
 
     @Override
     public IPage<ShortLinkPageRespDTO> pageShortLink(ShortLinkPageReqDTO requestParam) {
-        IPage<ShortLinkDO> resultPage = baseMapper.pageLink(requestParam);
+        IPage<ShortLinkDO> resultPage = linkRankService.isRankedOrderTag(requestParam.getOrderTag())
+                ? linkRankService.pageLink(requestParam)
+                : baseMapper.pageLink(requestParam);
         return resultPage.convert(each -> {
             ShortLinkPageRespDTO result = BeanUtil.toBean(each, ShortLinkPageRespDTO.class);
             result.setDomain("http://" + result.getDomain());
@@ -380,6 +540,23 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
         });
     }
 
+    @Override
+    public CursorPageRespDTO<ShortLinkPageRespDTO> pageShortLinkByCursor(ShortLinkCursorPageReqDTO requestParam) {
+        int size = CursorUtil.normalizeSize(requestParam.getSize());
+        CursorUtil.Cursor cursor = CursorUtil.decode(requestParam.getCursor());
+        List<ShortLinkDO> shortLinkDOList = baseMapper.cursorPageLink(
+                requestParam.getGid(),
+                cursor != null ? cursor.time() : null,
+                cursor != null ? cursor.id() : null,
+                size + 1
+        );
+        return CursorUtil.toCursorPage(shortLinkDOList, size, ShortLinkDO::getCreateTime, ShortLinkDO::getId, each -> {
+            ShortLinkPageRespDTO result = BeanUtil.toBean(each, ShortLinkPageRespDTO.class);
+            result.setDomain("http://" + result.getDomain());
+            return result;
+        });
+    }
+
     @Override
     public List<ShortLinkGroupCountQueryRespDTO> listGroupShortLinkCount(List<String> requestParam) {
         QueryWrapper<ShortLinkDO> queryWrapper = Wrappers.query(new ShortLinkDO())
@@ -396,115 +573,93 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
     @SneakyThrows
     @Override
     public void restoreUrl(String shortUri, ServletRequest request, ServletResponse response) {
-        String serverName = request.getServerName();
-        String serverPort = Optional.of(request.getServerPort())
-                .filter(each -> !Objects.equals(each, 80))
-                .map(String::valueOf)
-                .map(each -> ":" + each)
-                .orElse("");
-        String fullShortUrl = serverName + serverPort + "/" + shortUri;
-        String originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-        if (StrUtil.isNotBlank(originalLink)) {
-            ShortLinkStatsRecordDTO statsRecord = buildLinkStatsRecordAndSetUser(fullShortUrl, request, response);
-            shortLinkStats(fullShortUrl, null, statsRecord);
-            ((HttpServletResponse) response).sendRedirect(originalLink);
-            return;
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String uv = Optional.ofNullable(httpRequest.getCookies())
+                .flatMap(cookies -> Arrays.stream(cookies)
+                        .filter(each -> Objects.equals(each.getName(), UV_COOKIE_NAME))
+                        .findFirst())
+                .map(Cookie::getValue)
+                .orElse(null);
+        ShortLinkRestoreReqDTO restoreReqDTO = ShortLinkRestoreReqDTO.builder()
+                .fullShortUrl(LinkUtil.getFullShortUrl(request.getServerName(), request.getServerPort(), shortUri))
+                .uv(uv)
+                .remoteAddr(LinkUtil.getActualIp(httpRequest))
+                .userAgent(httpRequest.getHeader("User-Agent"))
+                .build();
+        ShortLinkRestoreRespDTO restoreRespDTO = restoreUrl(restoreReqDTO);
+        if (restoreRespDTO.getNewUv() != null) {
+            Cookie uvCookie = new Cookie(UV_COOKIE_NAME, restoreRespDTO.getNewUv());
+            uvCookie.setMaxAge(UV_COOKIE_MAX_AGE);
+            uvCookie.setPath("/" + shortUri);
+            httpResponse.addCookie(uvCookie);
+        }
+        httpResponse.sendRedirect(Optional.ofNullable(restoreRespDTO.getOriginUrl()).orElse(GOTO_NOT_FOUND_PATH));
+    }
+
+    @Override
+    public ShortLinkRestoreRespDTO restoreUrl(ShortLinkRestoreReqDTO requestParam) {
+        String fullShortUrl = requestParam.getFullShortUrl();
+        shortLinkHotKeyService.record(fullShortUrl);
+        ShortLinkGotoRecord localGotoRecord = shortLinkGotoLocalCache.getIfPresent(fullShortUrl);
+        if (localGotoRecord != null) {
+            if (shortLinkGotoLocalCache.isNullValue(localGotoRecord) || !localGotoRecord.enable()) {
+                return new ShortLinkRestoreRespDTO();
+            }
+            if (shortLinkGotoLocalCache.needsRefresh(fullShortUrl)) {
+                shortLinkGotoLoader.refreshAsync(fullShortUrl);
+            }
+            return redirect(requestParam, localGotoRecord);
+        }
+        ShortLinkGotoRecord gotoRecord = ShortLinkGotoRecord.decode(shortLinkHotKeyService.getGotoCache(fullShortUrl));
+        // 旧格式缓存不含分组标识，交给回源加载器按新格式重建
+        if (gotoRecord != null && gotoRecord.gid() != null) {
+            if (!gotoRecord.enable()) {
+                return new ShortLinkRestoreRespDTO();
+            }
+            shortLinkGotoLocalCache.put(fullShortUrl, gotoRecord);
+            return redirect(requestParam, gotoRecord);
         }
-        boolean contains = shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl);
+        boolean contains = shortLinkBloomFilter.containsConfirmed(fullShortUrl);
         if (!contains) {
-            ((HttpServletResponse) response).sendRedirect("/page/notfound");
-            return;
+            shortLinkGotoLocalCache.putNull(fullShortUrl);
+            return new ShortLinkRestoreRespDTO();
         }
         String gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
         if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
-            ((HttpServletResponse) response).sendRedirect("/page/notfound");
-            return;
+            shortLinkGotoLocalCache.putNull(fullShortUrl);
+            return new ShortLinkRestoreRespDTO();
         }
-        RLock lock = redissonClient.getLock(String.format(LOCK_GOTO_SHORT_LINK_KEY, fullShortUrl));
-        lock.lock();
-        try {
-            originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-            if (StrUtil.isNotBlank(originalLink)) {
-                ShortLinkStatsRecordDTO statsRecord = buildLinkStatsRecordAndSetUser(fullShortUrl, request, response);
-                shortLinkStats(fullShortUrl, null, statsRecord);
-                ((HttpServletResponse) response).sendRedirect(originalLink);
-                return;
-            }
-            LambdaQueryWrapper<ShortLinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
-                    .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
-            ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(linkGotoQueryWrapper);
-            if (shortLinkGotoDO == null) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
-                    .eq(ShortLinkDO::getGid, shortLinkGotoDO.getGid())
-                    .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
-                    .eq(ShortLinkDO::getDelFlag, 0)
-                    .eq(ShortLinkDO::getEnableStatus, 0);
-            ShortLinkDO shortLinkDO = baseMapper.selectOne(queryWrapper);
-            if (shortLinkDO == null || (shortLinkDO.getValidDate() != null && shortLinkDO.getValidDate().before(new Date()))) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            stringRedisTemplate.opsForValue().set(
-                    String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                    shortLinkDO.getOriginUrl(),
-                    LinkUtil.getLinkCacheValidTime(shortLinkDO.getValidDate()), TimeUnit.MILLISECONDS
-            );
-            ShortLinkStatsRecordDTO statsRecord = buildLinkStatsRecordAndSetUser(fullShortUrl, request, response);
-            shortLinkStats(fullShortUrl, shortLinkDO.getGid(), statsRecord);
-            ((HttpServletResponse) response).sendRedirect(shortLinkDO.getOriginUrl());
-        } finally {
-            lock.unlock();
+        gotoRecord = shortLinkGotoLoader.load(fullShortUrl);
+        if (gotoRecord == null || !gotoRecord.enable()) {
+            return new ShortLinkRestoreRespDTO();
         }
+        return redirect(requestParam, gotoRecord);
     }
 
-    private ShortLinkStatsRecordDTO buildLinkStatsRecordAndSetUser(String fullShortUrl, ServletRequest request, ServletResponse response) {
-        AtomicBoolean uvFirstFlag = new AtomicBoolean();
-        Cookie[] cookies = ((HttpServletRequest) request).getCookies();
-        AtomicReference<String> uv = new AtomicReference<>();
-        Runnable addResponseCookieTask = () -> {
-            uv.set(UUID.fastUUID().toString());
-            Cookie uvCookie = new Cookie("uv", uv.get());
-            uvCookie.setMaxAge(60 * 60 * 24 * 30);
-            uvCookie.setPath(StrUtil.sub(fullShortUrl, fullShortUrl.indexOf("/"), fullShortUrl.length()));
-            ((HttpServletResponse) response).addCookie(uvCookie);
-            uvFirstFlag.set(Boolean.TRUE);
-            stringRedisTemplate.opsForSet().add(SHORT_LINK_STATS_UV_KEY + fullShortUrl, uv.get());
-        };
-        if (ArrayUtil.isNotEmpty(cookies)) {
-            Arrays.stream(cookies)
-                    .filter(each -> Objects.equals(each.getName(), "uv"))
-                    .findFirst()
-                    .map(Cookie::getValue)
-                    .ifPresentOrElse(each -> {
-                        uv.set(each);
-                        Long uvAdded = stringRedisTemplate.opsForSet().add(SHORT_LINK_STATS_UV_KEY + fullShortUrl, each);
-                        uvFirstFlag.set(uvAdded != null && uvAdded > 0L);
-                    }, addResponseCookieTask);
-        } else {
-            addResponseCookieTask.run();
-        }
-        String remoteAddr = LinkUtil.getActualIp(((HttpServletRequest) request));
-        String os = LinkUtil.getOs(((HttpServletRequest) request));
-        String browser = LinkUtil.getBrowser(((HttpServletRequest) request));
-        String device = LinkUtil.getDevice(((HttpServletRequest) request));
-        String network = LinkUtil.getNetwork(((HttpServletRequest) request));
-        Long uipAdded = stringRedisTemplate.opsForSet().add(SHORT_LINK_STATS_UIP_KEY + fullShortUrl, remoteAddr);
-        boolean uipFirstFlag = uipAdded != null && uipAdded > 0L;
-        return ShortLinkStatsRecordDTO.builder()
+    private ShortLinkRestoreRespDTO redirect(ShortLinkRestoreReqDTO requestParam, ShortLinkGotoRecord gotoRecord) {
+        String fullShortUrl = requestParam.getFullShortUrl();
+        boolean uvCreated = requestParam.getUv() == null;
+        String uv = uvCreated ? UUID.fastUUID().toString() : requestParam.getUv();
+        String remoteAddr = requestParam.getRemoteAddr();
+        UserAgentClassifier.Result userAgent = UserAgentClassifier.classify(requestParam.getUserAgent());
+        ShortLinkFirstVisitDTO firstVisit = linkUniqueVisitorService.recordVisit(fullShortUrl, uv, uvCreated, remoteAddr);
+        ShortLinkStatsRecordDTO statsRecord = ShortLinkStatsRecordDTO.builder()
                 .fullShortUrl(fullShortUrl)
-                .uv(uv.get())
-                .uvFirstFlag(uvFirstFlag.get())
-                .uipFirstFlag(uipFirstFlag)
+                .uv(uv)
+                .uvFirstFlag(firstVisit.getUvFirstFlag())
+                .uipFirstFlag(firstVisit.getUipFirstFlag())
                 .remoteAddr(remoteAddr)
-                .os(os)
-                .browser(browser)
-                .device(device)
-                .network(network)
+                .os(userAgent.os())
+                .browser(userAgent.browser())
+                .device(userAgent.device())
+                .network(LinkUtil.getNetwork(remoteAddr))
+                .currentDate(new Date())
+                .build();
+        shortLinkStats(fullShortUrl, gotoRecord.gid(), statsRecord);
+        return ShortLinkRestoreRespDTO.builder()
+                .originUrl(gotoRecord.originUrl())
+                .newUv(uvCreated ? uv : null)
                 .build();
     }
 
@@ -517,7 +672,47 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
         shortLinkStatsSaveProducer.send(producerMap);
     }
 
+    private ShortLinkDO buildShortLinkDO(ShortLinkCreateReqDTO requestParam, String shortLinkSuffix) {
+        return ShortLinkDO.builder()
+                .domain(createShortLinkDefaultDomain)
+                .originUrl(requestParam.getOriginUrl())
+                .gid(requestParam.getGid())
+                .createdType(requestParam.getCreatedType())
+                .validDateType(requestParam.getValidDateType())
+                .validDate(requestParam.getValidDate())
+                .describe(requestParam.getDescribe())
+                .shortUri(shortLinkSuffix)
+                .enableStatus(0)
+                .totalPv(0)
+                .totalUv(0)
+                .totalUip(0)
+                .delTime(0L)
+                .fullShortUrl(createShortLinkDefaultDomain + "/" + shortLinkSuffix)
+//                .favicon(getFavicon(requestParam.getOriginUrl()))
+                .favicon(null)
+                .build();
+    }
+
+    private String generateBatchSuffix(String originUrl) {
+        if (shortLinkCreateConfiguration.isSegmentMode()) {
+            return ShortCodeUtil.encode(
+                    shortLinkSequenceService.nextSequence(),
+                    shortLinkCreateConfiguration.getScramble(),
+                    shortLinkCreateConfiguration.getScrambleSalt()
+            );
+        }
+        // 批量创建不逐条探测布隆过滤器，后缀冲突由唯一索引兜底并降级逐条创建
+        return HashUtil.hashToBase62(originUrl + UUID.randomUUID());
+    }
+
     private String generateSuffix(ShortLinkCreateReqDTO requestParam) {
+        if (shortLinkCreateConfiguration.isSegmentMode()) {
+            return ShortCodeUtil.encode(
+                    shortLinkSequenceService.nextSequence(),
+                    shortLinkCreateConfiguration.getScramble(),
+                    shortLinkCreateConfiguration.getScrambleSalt()
+            );
+        }
         int customGenerateCount = 0;
         String shorUri;
         while (true) {
@@ -527,7 +722,7 @@ public class ShortLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
             String originUrl = requestParam.getOriginUrl();
             originUrl += UUID.randomUUID().toString();
             shorUri = HashUtil.hashToBase62(originUrl);
-            if (!shortUriCreateCachePenetrationBloomFilter.contains(createShortLinkDefaultDomain + "/" + shorUri)) {
+            if (!shortLinkBloomFilter.contains(createShortLinkDefaultDomain + "/" + shorUri)) {
                 break;
             }
             customGenerateCount++;
@@ -21,25 +21,32 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.date.DateField;
 import cn.hutool.core.date.DateUtil;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fennel.shortlink.project.common.convention.errorcode.BaseErrorCode;
+import com.fennel.shortlink.project.common.convention.exception.ServiceException;
+import com.fennel.shortlink.project.common.database.QueryDeadlineInterceptor;
+import com.fennel.shortlink.project.config.StatsFirstVisitConfiguration;
+import com.fennel.shortlink.project.config.StatsQueryConfiguration;
+import com.fennel.shortlink.project.config.StatsRollupConfiguration;
 import com.fennel.shortlink.project.dao.entity.LinkAccessLogsDO;
 import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
 import com.fennel.shortlink.project.dao.entity.LinkDeviceStatsDO;
 import com.fennel.shortlink.project.dao.entity.LinkLocaleStatsDO;
 import com.fennel.shortlink.project.dao.entity.LinkNetworkStatsDO;
-import com.fennel.shortlink.project.dao.mapper.LinkAccessLogsMapper;
 import com.fennel.shortlink.project.dao.mapper.LinkAccessStatsMapper;
 import com.fennel.shortlink.project.dao.mapper.LinkBrowserStatsMapper;
 import com.fennel.shortlink.project.dao.mapper.LinkDeviceStatsMapper;
 import com.fennel.shortlink.project.dao.mapper.LinkLocaleStatsMapper;
 import com.fennel.shortlink.project.dao.mapper.LinkNetworkStatsMapper;
 import com.fennel.shortlink.project.dao.mapper.LinkOsStatsMapper;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsDailySummaryDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkGroupStatsReqDTO;
+import com.fennel.shortlink.project.dto.req.ShortLinkStatsAccessRecordCursorReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkStatsAccessRecordReqDTO;
 import com.fennel.shortlink.project.dto.req.ShortLinkStatsReqDTO;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsAccessDailyRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsAccessRecordRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsBrowserRespDTO;
@@ -50,7 +57,13 @@ import com.fennel.shortlink.project.dto.resp.ShortLinkStatsOsRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsTopIpRespDTO;
 import com.fennel.shortlink.project.dto.resp.ShortLinkStatsUvRespDTO;
+import com.fennel.shortlink.project.service.LinkAccessLogsService;
+import com.fennel.shortlink.project.service.LinkFirstVisitService;
+import com.fennel.shortlink.project.service.LinkStatsDailyService;
+import com.fennel.shortlink.project.service.LinkUniqueVisitorService;
 import com.fennel.shortlink.project.service.ShortLinkStatsService;
+import com.fennel.shortlink.project.toolkit.CursorUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -60,7 +73,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * 短链接监控接口实现层
@@ -71,20 +95,50 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
 
     private final LinkAccessStatsMapper linkAccessStatsMapper;
     private final LinkLocaleStatsMapper linkLocaleStatsMapper;
-    private final LinkAccessLogsMapper linkAccessLogsMapper;
+    private final LinkAccessLogsService linkAccessLogsService;
     private final LinkBrowserStatsMapper linkBrowserStatsMapper;
     private final LinkOsStatsMapper linkOsStatsMapper;
     private final LinkDeviceStatsMapper linkDeviceStatsMapper;
     private final LinkNetworkStatsMapper linkNetworkStatsMapper;
+    private final LinkUniqueVisitorService linkUniqueVisitorService;
+    private final LinkStatsDailyService linkStatsDailyService;
+    private final StatsRollupConfiguration statsRollupConfiguration;
+    private final StatsFirstVisitConfiguration statsFirstVisitConfiguration;
+    private final LinkFirstVisitService linkFirstVisitService;
+    private final StatsQueryConfiguration statsQueryConfiguration;
+    private final ExecutorService statsQueryExecutor;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public ShortLinkStatsRespDTO oneShortLinkStats(ShortLinkStatsReqDTO requestParam) {
-        List<LinkAccessStatsDO> listStatsByShortLink = linkAccessStatsMapper.listStatsByShortLink(requestParam);
+        QueryBatch queryBatch = new QueryBatch();
+        CompletableFuture<List<LinkAccessStatsDO>> listStatsFuture = queryBatch.submit("listStatsByShortLink", () -> linkAccessStatsMapper.listStatsByShortLink(requestParam));
+        CompletableFuture<ShortLinkStatsDailySummaryDTO> dailySummaryFuture = statsRollupConfiguration.getReadEnable()
+                ? queryBatch.submit("summarizeByShortLink", () -> linkStatsDailyService.summarizeByShortLink(requestParam))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<LinkAccessStatsDO> pvUvUipFuture = dailySummaryFuture.thenCompose(dailySummary -> dailySummary != null
+                ? CompletableFuture.completedFuture(toPvUvUipStats(dailySummary))
+                : listStatsFuture.thenCompose(listStats -> queryBatch.submit("findPvUvUipStatsByShortLink", () -> findPvUvUipStats(requestParam, listStats))));
+        CompletableFuture<List<LinkLocaleStatsDO>> localeFuture = queryBatch.submit("listLocaleByShortLink", () -> linkLocaleStatsMapper.listLocaleByShortLink(requestParam));
+        CompletableFuture<List<LinkAccessStatsDO>> hourFuture = queryBatch.submit("listHourStatsByShortLink", () -> linkAccessStatsMapper.listHourStatsByShortLink(requestParam));
+        CompletableFuture<List<HashMap<String, Object>>> topIpFuture = dailySummaryFuture.thenCompose(dailySummary -> dailySummary != null
+                ? CompletableFuture.completedFuture(toTopIpList(dailySummary))
+                : queryBatch.submit("listTopIpByShortLink", () -> linkAccessLogsService.listTopIpByShortLink(requestParam)));
+        CompletableFuture<List<LinkAccessStatsDO>> weekdayFuture = queryBatch.submit("listWeekdayStatsByShortLink", () -> linkAccessStatsMapper.listWeekdayStatsByShortLink(requestParam));
+        CompletableFuture<List<HashMap<String, Object>>> browserFuture = queryBatch.submit("listBrowserStatsByShortLink", () -> linkBrowserStatsMapper.listBrowserStatsByShortLink(requestParam));
+        CompletableFuture<List<HashMap<String, Object>>> osFuture = queryBatch.submit("listOsStatsByShortLink", () -> linkOsStatsMapper.listOsStatsByShortLink(requestParam));
+        CompletableFuture<HashMap<String, Object>> uvTypeFuture = dailySummaryFuture.thenCompose(dailySummary -> dailySummary != null
+                ? CompletableFuture.completedFuture(toUvTypeCnt(dailySummary))
+                : queryBatch.submit("findUvTypeCntByShortLink", () -> findUvTypeCnt(requestParam)));
+        CompletableFuture<List<LinkDeviceStatsDO>> deviceFuture = queryBatch.submit("listDeviceStatsByShortLink", () -> linkDeviceStatsMapper.listDeviceStatsByShortLink(requestParam));
+        CompletableFuture<List<LinkNetworkStatsDO>> networkFuture = queryBatch.submit("listNetworkStatsByShortLink", () -> linkNetworkStatsMapper.listNetworkStatsByShortLink(requestParam));
+        List<LinkAccessStatsDO> listStatsByShortLink = queryBatch.join(listStatsFuture);
         if (CollUtil.isEmpty(listStatsByShortLink)) {
+            queryBatch.cancel();
             return null;
         }
         // 基础访问数据
-        LinkAccessStatsDO pvUvUidStatsByShortLink = linkAccessLogsMapper.findPvUvUidStatsByShortLink(requestParam);
+        LinkAccessStatsDO pvUvUidStatsByShortLink = queryBatch.join(pvUvUipFuture);
         // 基础访问详情
         List<ShortLinkStatsAccessDailyRespDTO> daily = new ArrayList<>();
         List<String> rangeDates = DateUtil.rangeToList(DateUtil.parse(requestParam.getStartDate()), DateUtil.parse(requestParam.getEndDate()), DateField.DAY_OF_MONTH).stream()
@@ -112,7 +166,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
                 }));
         // 地区访问详情（仅国内）
         List<ShortLinkStatsLocaleCNRespDTO> localeCnStats = new ArrayList<>();
-        List<LinkLocaleStatsDO> listedLocaleByShortLink = linkLocaleStatsMapper.listLocaleByShortLink(requestParam);
+        List<LinkLocaleStatsDO> listedLocaleByShortLink = queryBatch.join(localeFuture);
         int localeCnSum = listedLocaleByShortLink.stream()
                 .mapToInt(LinkLocaleStatsDO::getCnt)
                 .sum();
@@ -128,7 +182,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 小时访问详情
         List<Integer> hourStats = new ArrayList<>();
-        List<LinkAccessStatsDO> listHourStatsByShortLink = linkAccessStatsMapper.listHourStatsByShortLink(requestParam);
+        List<LinkAccessStatsDO> listHourStatsByShortLink = queryBatch.join(hourFuture);
         for (int i = 0; i < 24; i++) {
             AtomicInteger hour = new AtomicInteger(i);
             int hourCnt = listHourStatsByShortLink.stream()
@@ -140,7 +194,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         }
         // 高频访问IP详情
         List<ShortLinkStatsTopIpRespDTO> topIpStats = new ArrayList<>();
-        List<HashMap<String, Object>> listTopIpByShortLink = linkAccessLogsMapper.listTopIpByShortLink(requestParam);
+        List<HashMap<String, Object>> listTopIpByShortLink = queryBatch.join(topIpFuture);
         listTopIpByShortLink.forEach(each -> {
             ShortLinkStatsTopIpRespDTO statsTopIpRespDTO = ShortLinkStatsTopIpRespDTO.builder()
                     .ip(each.get("ip").toString())
@@ -150,7 +204,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 一周访问详情
         List<Integer> weekdayStats = new ArrayList<>();
-        List<LinkAccessStatsDO> listWeekdayStatsByShortLink = linkAccessStatsMapper.listWeekdayStatsByShortLink(requestParam);
+        List<LinkAccessStatsDO> listWeekdayStatsByShortLink = queryBatch.join(weekdayFuture);
         for (int i = 1; i < 8; i++) {
             AtomicInteger weekday = new AtomicInteger(i);
             int weekdayCnt = listWeekdayStatsByShortLink.stream()
@@ -162,7 +216,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         }
         // 浏览器访问详情
         List<ShortLinkStatsBrowserRespDTO> browserStats = new ArrayList<>();
-        List<HashMap<String, Object>> listBrowserStatsByShortLink = linkBrowserStatsMapper.listBrowserStatsByShortLink(requestParam);
+        List<HashMap<String, Object>> listBrowserStatsByShortLink = queryBatch.join(browserFuture);
         int browserSum = listBrowserStatsByShortLink.stream()
                 .mapToInt(each -> Integer.parseInt(each.get("count").toString()))
                 .sum();
@@ -178,7 +232,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 操作系统访问详情
         List<ShortLinkStatsOsRespDTO> osStats = new ArrayList<>();
-        List<HashMap<String, Object>> listOsStatsByShortLink = linkOsStatsMapper.listOsStatsByShortLink(requestParam);
+        List<HashMap<String, Object>> listOsStatsByShortLink = queryBatch.join(osFuture);
         int osSum = listOsStatsByShortLink.stream()
                 .mapToInt(each -> Integer.parseInt(each.get("count").toString()))
                 .sum();
@@ -194,7 +248,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 访客访问类型详情
         List<ShortLinkStatsUvRespDTO> uvTypeStats = new ArrayList<>();
-        HashMap<String, Object> findUvTypeByShortLink = linkAccessLogsMapper.findUvTypeCntByShortLink(requestParam);
+        HashMap<String, Object> findUvTypeByShortLink = queryBatch.join(uvTypeFuture);
         int oldUserCnt = Integer.parseInt(
                 Optional.ofNullable(findUvTypeByShortLink)
                         .map(each -> each.get("oldUserCnt"))
@@ -226,7 +280,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         uvTypeStats.add(oldUvRespDTO);
         // 访问设备类型详情
         List<ShortLinkStatsDeviceRespDTO> deviceStats = new ArrayList<>();
-        List<LinkDeviceStatsDO> listDeviceStatsByShortLink = linkDeviceStatsMapper.listDeviceStatsByShortLink(requestParam);
+        List<LinkDeviceStatsDO> listDeviceStatsByShortLink = queryBatch.join(deviceFuture);
         int deviceSum = listDeviceStatsByShortLink.stream()
                 .mapToInt(LinkDeviceStatsDO::getCnt)
                 .sum();
@@ -242,7 +296,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 访问网络类型详情
         List<ShortLinkStatsNetworkRespDTO> networkStats = new ArrayList<>();
-        List<LinkNetworkStatsDO> listNetworkStatsByShortLink = linkNetworkStatsMapper.listNetworkStatsByShortLink(requestParam);
+        List<LinkNetworkStatsDO> listNetworkStatsByShortLink = queryBatch.join(networkFuture);
         int networkSum = listNetworkStatsByShortLink.stream()
                 .mapToInt(LinkNetworkStatsDO::getCnt)
                 .sum();
@@ -275,12 +329,31 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
 
     @Override
     public ShortLinkStatsRespDTO groupShortLinkStats(ShortLinkGroupStatsReqDTO requestParam) {
-        List<LinkAccessStatsDO> listStatsByGroup = linkAccessStatsMapper.listStatsByGroup(requestParam);
+        QueryBatch queryBatch = new QueryBatch();
+        CompletableFuture<List<LinkAccessStatsDO>> listStatsFuture = queryBatch.submit("listStatsByGroup", () -> linkAccessStatsMapper.listStatsByGroup(requestParam));
+        CompletableFuture<ShortLinkStatsDailySummaryDTO> dailySummaryFuture = statsRollupConfiguration.getReadEnable()
+                ? queryBatch.submit("summarizeByGroup", () -> linkStatsDailyService.summarizeByGroup(requestParam))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<LinkAccessStatsDO> pvUvUipFuture = dailySummaryFuture.thenCompose(dailySummary -> dailySummary != null
+                ? CompletableFuture.completedFuture(toPvUvUipStats(dailySummary))
+                : queryBatch.submit("findPvUvUidStatsByGroup", () -> linkAccessLogsService.findPvUvUidStatsByGroup(requestParam)));
+        CompletableFuture<List<LinkLocaleStatsDO>> localeFuture = queryBatch.submit("listLocaleByGroup", () -> linkLocaleStatsMapper.listLocaleByGroup(requestParam));
+        CompletableFuture<List<LinkAccessStatsDO>> hourFuture = queryBatch.submit("listHourStatsByGroup", () -> linkAccessStatsMapper.listHourStatsByGroup(requestParam));
+        CompletableFuture<List<HashMap<String, Object>>> topIpFuture = dailySummaryFuture.thenCompose(dailySummary -> dailySummary != null
+                ? CompletableFuture.completedFuture(toTopIpList(dailySummary))
+                : queryBatch.submit("listTopIpByGroup", () -> linkAccessLogsService.listTopIpByGroup(requestParam)));
+        CompletableFuture<List<LinkAccessStatsDO>> weekdayFuture = queryBatch.submit("listWeekdayStatsByGroup", () -> linkAccessStatsMapper.listWeekdayStatsByGroup(requestParam));
+        CompletableFuture<List<HashMap<String, Object>>> browserFuture = queryBatch.submit("listBrowserStatsByGroup", () -> linkBrowserStatsMapper.listBrowserStatsByGroup(requestParam));
+        CompletableFuture<List<HashMap<String, Object>>> osFuture = queryBatch.submit("listOsStatsByGroup", () -> linkOsStatsMapper.listOsStatsByGroup(requestParam));
+        CompletableFuture<List<LinkDeviceStatsDO>> deviceFuture = queryBatch.submit("listDeviceStatsByGroup", () -> linkDeviceStatsMapper.listDeviceStatsByGroup(requestParam));
+        CompletableFuture<List<LinkNetworkStatsDO>> networkFuture = queryBatch.submit("listNetworkStatsByGroup", () -> linkNetworkStatsMapper.listNetworkStatsByGroup(requestParam));
+        List<LinkAccessStatsDO> listStatsByGroup = queryBatch.join(listStatsFuture);
         if (CollUtil.isEmpty(listStatsByGroup)) {
+            queryBatch.cancel();
             return null;
         }
         // 基础访问数据
-        LinkAccessStatsDO pvUvUidStatsByGroup = linkAccessLogsMapper.findPvUvUidStatsByGroup(requestParam);
+        LinkAccessStatsDO pvUvUidStatsByGroup = queryBatch.join(pvUvUipFuture);
         // 基础访问详情
         List<ShortLinkStatsAccessDailyRespDTO> daily = new ArrayList<>();
         List<String> rangeDates = DateUtil.rangeToList(DateUtil.parse(requestParam.getStartDate()), DateUtil.parse(requestParam.getEndDate()), DateField.DAY_OF_MONTH).stream()
@@ -308,7 +381,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
                 }));
         // 地区访问详情（仅国内）
         List<ShortLinkStatsLocaleCNRespDTO> localeCnStats = new ArrayList<>();
-        List<LinkLocaleStatsDO> listedLocaleByGroup = linkLocaleStatsMapper.listLocaleByGroup(requestParam);
+        List<LinkLocaleStatsDO> listedLocaleByGroup = queryBatch.join(localeFuture);
         int localeCnSum = listedLocaleByGroup.stream()
                 .mapToInt(LinkLocaleStatsDO::getCnt)
                 .sum();
@@ -324,7 +397,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 小时访问详情
         List<Integer> hourStats = new ArrayList<>();
-        List<LinkAccessStatsDO> listHourStatsByGroup = linkAccessStatsMapper.listHourStatsByGroup(requestParam);
+        List<LinkAccessStatsDO> listHourStatsByGroup = queryBatch.join(hourFuture);
         for (int i = 0; i < 24; i++) {
             AtomicInteger hour = new AtomicInteger(i);
             int hourCnt = listHourStatsByGroup.stream()
@@ -336,7 +409,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         }
         // 高频访问IP详情
         List<ShortLinkStatsTopIpRespDTO> topIpStats = new ArrayList<>();
-        List<HashMap<String, Object>> listTopIpByGroup = linkAccessLogsMapper.listTopIpByGroup(requestParam);
+        List<HashMap<String, Object>> listTopIpByGroup = queryBatch.join(topIpFuture);
         listTopIpByGroup.forEach(each -> {
             ShortLinkStatsTopIpRespDTO statsTopIpRespDTO = ShortLinkStatsTopIpRespDTO.builder()
                     .ip(each.get("ip").toString())
@@ -346,7 +419,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 一周访问详情
         List<Integer> weekdayStats = new ArrayList<>();
-        List<LinkAccessStatsDO> listWeekdayStatsByGroup = linkAccessStatsMapper.listWeekdayStatsByGroup(requestParam);
+        List<LinkAccessStatsDO> listWeekdayStatsByGroup = queryBatch.join(weekdayFuture);
         for (int i = 1; i < 8; i++) {
             AtomicInteger weekday = new AtomicInteger(i);
             int weekdayCnt = listWeekdayStatsByGroup.stream()
@@ -358,7 +431,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         }
         // 浏览器访问详情
         List<ShortLinkStatsBrowserRespDTO> browserStats = new ArrayList<>();
-        List<HashMap<String, Object>> listBrowserStatsByGroup = linkBrowserStatsMapper.listBrowserStatsByGroup(requestParam);
+        List<HashMap<String, Object>> listBrowserStatsByGroup = queryBatch.join(browserFuture);
         int browserSum = listBrowserStatsByGroup.stream()
                 .mapToInt(each -> Integer.parseInt(each.get("count").toString()))
                 .sum();
@@ -374,7 +447,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 操作系统访问详情
         List<ShortLinkStatsOsRespDTO> osStats = new ArrayList<>();
-        List<HashMap<String, Object>> listOsStatsByGroup = linkOsStatsMapper.listOsStatsByGroup(requestParam);
+        List<HashMap<String, Object>> listOsStatsByGroup = queryBatch.join(osFuture);
         int osSum = listOsStatsByGroup.stream()
                 .mapToInt(each -> Integer.parseInt(each.get("count").toString()))
                 .sum();
@@ -390,7 +463,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 访问设备类型详情
         List<ShortLinkStatsDeviceRespDTO> deviceStats = new ArrayList<>();
-        List<LinkDeviceStatsDO> listDeviceStatsByGroup = linkDeviceStatsMapper.listDeviceStatsByGroup(requestParam);
+        List<LinkDeviceStatsDO> listDeviceStatsByGroup = queryBatch.join(deviceFuture);
         int deviceSum = listDeviceStatsByGroup.stream()
                 .mapToInt(LinkDeviceStatsDO::getCnt)
                 .sum();
@@ -406,7 +479,7 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
         });
         // 访问网络类型详情
         List<ShortLinkStatsNetworkRespDTO> networkStats = new ArrayList<>();
-        List<LinkNetworkStatsDO> listNetworkStatsByGroup = linkNetworkStatsMapper.listNetworkStatsByGroup(requestParam);
+        List<LinkNetworkStatsDO> listNetworkStatsByGroup = queryBatch.join(networkFuture);
         int networkSum = listNetworkStatsByGroup.stream()
                 .mapToInt(LinkNetworkStatsDO::getCnt)
                 .sum();
@@ -438,63 +511,288 @@ public class ShortLinkStatsServiceImpl implements ShortLinkStatsService {
 
     @Override
     public IPage<ShortLinkStatsAccessRecordRespDTO> shortLinkStatsAccessRecord(ShortLinkStatsAccessRecordReqDTO requestParam) {
-        LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = Wrappers.lambdaQuery(LinkAccessLogsDO.class)
-                .eq(LinkAccessLogsDO::getGid, requestParam.getGid())
-                .eq(LinkAccessLogsDO::getFullShortUrl, requestParam.getFullShortUrl())
-                .between(LinkAccessLogsDO::getCreateTime, requestParam.getStartDate(), requestParam.getEndDate())
-                .eq(LinkAccessLogsDO::getDelFlag, 0)
-                .orderByDesc(LinkAccessLogsDO::getCreateTime);
-        IPage<LinkAccessLogsDO> linkAccessLogsDOIPage = linkAccessLogsMapper.selectPage(requestParam, queryWrapper);
+        IPage<LinkAccessLogsDO> linkAccessLogsDOIPage = linkAccessLogsService.pageAccessLogs(
+                requestParam,
+                requestParam.getGid(),
+                requestParam.getFullShortUrl(),
+                requestParam.getStartDate(),
+                requestParam.getEndDate()
+        );
         IPage<ShortLinkStatsAccessRecordRespDTO> actualResult = linkAccessLogsDOIPage.convert(each -> BeanUtil.toBean(each, ShortLinkStatsAccessRecordRespDTO.class));
         List<String> userAccessLogsList = actualResult.getRecords().stream()
                 .map(ShortLinkStatsAccessRecordRespDTO::getUser)
                 .toList();
-        List<Map<String, Object>> uvTypeList = linkAccessLogsMapper.selectUvTypeByUsers(
+        List<Map<String, Object>> uvTypeList = selectUvTypeByUsers(
                 requestParam.getGid(),
                 requestParam.getFullShortUrl(),
                 requestParam.getStartDate(),
                 requestParam.getEndDate(),
                 userAccessLogsList
         );
-        actualResult.getRecords().forEach(each -> {
-            String uvType = uvTypeList.stream()
-                    .filter(item -> Objects.equals(each.getUser(), item.get("user")))
-                    .findFirst()
-                    .map(item -> item.get("uvType"))
-                    .map(Object::toString)
-                    .orElse("旧访客");
-            each.setUvType(uvType);
-        });
+        fillUvType(actualResult.getRecords(), uvTypeList);
         return actualResult;
     }
 
     @Override
     public IPage<ShortLinkStatsAccessRecordRespDTO> groupShortLinkStatsAccessRecord(ShortLinkGroupStatsAccessRecordReqDTO requestParam) {
-        LambdaQueryWrapper<LinkAccessLogsDO> queryWrapper = Wrappers.lambdaQuery(LinkAccessLogsDO.class)
-                .eq(LinkAccessLogsDO::getGid, requestParam.getGid())
-                .between(LinkAccessLogsDO::getCreateTime, requestParam.getStartDate(), requestParam.getEndDate())
-                .eq(LinkAccessLogsDO::getDelFlag, 0)
-                .orderByDesc(LinkAccessLogsDO::getCreateTime);
-        IPage<LinkAccessLogsDO> linkAccessLogsDOIPage = linkAccessLogsMapper.selectPage(requestParam, queryWrapper);
+        IPage<LinkAccessLogsDO> linkAccessLogsDOIPage = linkAccessLogsService.pageAccessLogs(
+                requestParam,
+                requestParam.getGid(),
+                null,
+                requestParam.getStartDate(),
+                requestParam.getEndDate()
+        );
         IPage<ShortLinkStatsAccessRecordRespDTO> actualResult = linkAccessLogsDOIPage.convert(each -> BeanUtil.toBean(each, ShortLinkStatsAccessRecordRespDTO.class));
         List<String> userAccessLogsList = actualResult.getRecords().stream()
                 .map(ShortLinkStatsAccessRecordRespDTO::getUser)
                 .toList();
-        List<Map<String, Object>> uvTypeList = linkAccessLogsMapper.selectGroupUvTypeByUsers(
+        List<Map<String, Object>> uvTypeList = selectGroupUvTypeByUsers(
                 requestParam.getGid(),
                 requestParam.getStartDate(),
                 requestParam.getEndDate(),
                 userAccessLogsList
         );
-        actualResult.getRecords().forEach(each -> {
-            String uvType = uvTypeList.stream()
-                    .filter(item -> Objects.equals(each.getUser(), item.get("user")))
-                    .findFirst()
-                    .map(item -> item.get("uvType"))
-                    .map(Object::toString)
-                    .orElse("旧访客");
-            each.setUvType(uvType);
-        });
+        fillUvType(actualResult.getRecords(), uvTypeList);
+        return actualResult;
+    }
+
+    @Override
+    public CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> shortLinkStatsAccessRecordByCursor(ShortLinkStatsAccessRecordCursorReqDTO requestParam) {
+        int size = CursorUtil.normalizeSize(requestParam.getSize());
+        List<LinkAccessLogsDO> linkAccessLogsDOList = linkAccessLogsService.listAccessLogsByCursor(
+                requestParam.getGid(),
+                requestParam.getFullShortUrl(),
+                requestParam.getStartDate(),
+                requestParam.getEndDate(),
+                requestParam.getCursor(),
+                size
+        );
+        CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> actualResult = CursorUtil.toCursorPage(
+                linkAccessLogsDOList,
+                size,
+                LinkAccessLogsDO::getCreateTime,
+                LinkAccessLogsDO::getId,
+                each -> BeanUtil.toBean(each, ShortLinkStatsAccessRecordRespDTO.class)
+        );
+        if (CollUtil.isEmpty(actualResult.getRecords())) {
+            return actualResult;
+        }
+        List<String> userAccessLogsList = actualResult.getRecords().stream()
+                .map(ShortLinkStatsAccessRecordRespDTO::getUser)
+                .distinct()
+                .toList();
+        List<Map<String, Object>> uvTypeList = selectUvTypeByUsers(
+                requestParam.getGid(),
+                requestParam.getFullShortUrl(),
+                requestParam.getStartDate(),
+                requestParam.getEndDate(),
+                userAccessLogsList
+        );
+        fillUvType(actualResult.getRecords(), uvTypeList);
+        return actualResult;
+    }
+
+    @Override
+    public CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> groupShortLinkStatsAccessRecordByCursor(ShortLinkGroupStatsAccessRecordCursorReqDTO requestParam) {
+        int size = CursorUtil.normalizeSize(requestParam.getSize());
+        List<LinkAccessLogsDO> linkAccessLogsDOList = linkAccessLogsService.listAccessLogsByCursor(
+                requestParam.getGid(),
+                null,
+                requestParam.getStartDate(),
+                requestParam.getEndDate(),
+                requestParam.getCursor(),
+                size
+        );
+        CursorPageRespDTO<ShortLinkStatsAccessRecordRespDTO> actualResult = CursorUtil.toCursorPage(
+                linkAccessLogsDOList,
+                size,
+                LinkAccessLogsDO::getCreateTime,
+                LinkAccessLogsDO::getId,
+                each -> BeanUtil.toBean(each, ShortLinkStatsAccessRecordRespDTO.class)
+        );
+        if (CollUtil.isEmpty(actualResult.getRecords())) {
+            return actualResult;
+        }
+        List<String> userAccessLogsList = actualResult.getRecords().stream()
+                .map(ShortLinkStatsAccessRecordRespDTO::getUser)
+                .distinct()
+                .toList();
+        List<Map<String, Object>> uvTypeList = selectGroupUvTypeByUsers(
+                requestParam.getGid(),
+                requestParam.getStartDate(),
+                requestParam.getEndDate(),
+                userAccessLogsList
+        );
+        fillUvType(actualResult.getRecords(), uvTypeList);
         return actualResult;
     }
+
+    /**
+     * 获取用户信息是否新老访客，开启首次访问索引读取时按访客查询索引，否则按访问日志判断
+     */
+    private List<Map<String, Object>> selectUvTypeByUsers(String gid, String fullShortUrl, String startDate, String endDate, List<String> userAccessLogsList) {
+        return statsFirstVisitConfiguration.getReadEnable()
+                ? linkFirstVisitService.selectUvTypeByUsers(gid, fullShortUrl, startDate, endDate, userAccessLogsList)
+                : linkAccessLogsService.selectUvTypeByUsers(gid, fullShortUrl, startDate, endDate, userAccessLogsList);
+    }
+
+    /**
+     * 获取分组用户信息是否新老访客
+     */
+    private List<Map<String, Object>> selectGroupUvTypeByUsers(String gid, String startDate, String endDate, List<String> userAccessLogsList) {
+        return statsFirstVisitConfiguration.getReadEnable()
+                ? linkFirstVisitService.selectGroupUvTypeByUsers(gid, startDate, endDate, userAccessLogsList)
+                : linkAccessLogsService.selectGroupUvTypeByUsers(gid, startDate, endDate, userAccessLogsList);
+    }
+
+    /**
+     * 获取短链接指定日期内新旧访客数据
+     */
+    private HashMap<String, Object> findUvTypeCnt(ShortLinkStatsReqDTO requestParam) {
+        return statsFirstVisitConfiguration.getReadEnable()
+                ? linkFirstVisitService.findUvTypeCntByShortLink(requestParam)
+                : linkAccessLogsService.findUvTypeCntByShortLink(requestParam);
+    }
+
+    /**
+     * 根据访客类型查询结果填充访问记录的新老访客标识
+     */
+    private void fillUvType(List<ShortLinkStatsAccessRecordRespDTO> records, List<Map<String, Object>> uvTypeList) {
+        Map<String, String> uvTypeMap = new HashMap<>();
+        uvTypeList.forEach(each -> uvTypeMap.putIfAbsent(String.valueOf(each.get("user")), String.valueOf(each.get("uvType"))));
+        records.forEach(each -> each.setUvType(uvTypeMap.getOrDefault(each.getUser(), "旧访客")));
+    }
+
+    /**
+     * 获取基础访问数据，HyperLogLog 模式且日期范围在保留期内时由按天访问数据与 HyperLogLog 合并得出，避免扫描访问日志
+     */
+    private LinkAccessStatsDO findPvUvUipStats(ShortLinkStatsReqDTO requestParam, List<LinkAccessStatsDO> listStatsByShortLink) {
+        Long uv = linkUniqueVisitorService.countUv(requestParam.getFullShortUrl(), requestParam.getStartDate(), requestParam.getEndDate());
+        Long uip = linkUniqueVisitorService.countUip(requestParam.getFullShortUrl(), requestParam.getStartDate(), requestParam.getEndDate());
+        if (uv == null || uip == null) {
+            return linkAccessLogsService.findPvUvUidStatsByShortLink(requestParam);
+        }
+        return LinkAccessStatsDO.builder()
+                .pv(listStatsByShortLink.stream().mapToInt(LinkAccessStatsDO::getPv).sum())
+                .uv(uv.intValue())
+                .uip(uip.intValue())
+                .build();
+    }
+
+    private LinkAccessStatsDO toPvUvUipStats(ShortLinkStatsDailySummaryDTO dailySummary) {
+        return LinkAccessStatsDO.builder()
+                .pv(dailySummary.getPv())
+                .uv(dailySummary.getUv())
+                .uip(dailySummary.getUip())
+                .build();
+    }
+
+    private List<HashMap<String, Object>> toTopIpList(ShortLinkStatsDailySummaryDTO dailySummary) {
+        List<HashMap<String, Object>> topIpList = new ArrayList<>();
+        dailySummary.getTopIp().forEach((ip, cnt) -> {
+            HashMap<String, Object> topIp = new HashMap<>();
+            topIp.put("ip", ip);
+            topIp.put("count", cnt);
+            topIpList.add(topIp);
+        });
+        return topIpList;
+    }
+
+    /**
+     * 新访客为首次访问发生在查询范围内的访客，其余独立访客为老访客
+     */
+    private HashMap<String, Object> toUvTypeCnt(ShortLinkStatsDailySummaryDTO dailySummary) {
+        int newUserCnt = Math.min(dailySummary.getNewUv(), dailySummary.getUv());
+        HashMap<String, Object> uvTypeCnt = new HashMap<>();
+        uvTypeCnt.put("newUserCnt", newUserCnt);
+        uvTypeCnt.put("oldUserCnt", dailySummary.getUv() - newUserCnt);
+        return uvTypeCnt;
+    }
+
+    /**
+     * 单次监控请求的查询批次
+     * <p>
+     * 各查询共享同一截止时间，SQL 语句超时不超过剩余时间；任一查询超时、失败或结果为空提前返回时取消批次内其余查询，
+     * 已排队的查询不再执行。未开启并发查询时在等待结果时按提交顺序在当前线程执行
+     */
+    private final class QueryBatch {
+
+        private final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(statsQueryConfiguration.getTimeout());
+        private final boolean concurrent = statsQueryConfiguration.getConcurrentEnable();
+        private final List<CompletableFuture<?>> futures = new CopyOnWriteArrayList<>();
+        private final Queue<Runnable> pendingQueries = new ConcurrentLinkedQueue<>();
+        private volatile boolean cancelled;
+
+        /**
+         * 提交监控查询并记录耗时
+         */
+        <T> CompletableFuture<T> submit(String queryName, Supplier<T> query) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            if (cancelled) {
+                future.cancel(false);
+                return future;
+            }
+            futures.add(future);
+            Runnable task = () -> {
+                if (cancelled || future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(QueryDeadlineInterceptor.callWithDeadline(deadlineNanos,
+                            () -> meterRegistry.timer("short-link.stats.query", "query", queryName).record(query)));
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            };
+            if (!concurrent) {
+                pendingQueries.add(task);
+                return future;
+            }
+            try {
+                statsQueryExecutor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                future.completeExceptionally(new ServiceException("监控数据查询繁忙，请稍后再试", ex, BaseErrorCode.SERVICE_ERROR));
+            }
+            return future;
+        }
+
+        /**
+         * 在本次请求截止时间前等待查询结果，超时抛出系统执行超时异常
+         */
+        <T> T join(CompletableFuture<T> future) {
+            try {
+                Runnable pendingQuery;
+                while (!future.isDone() && (pendingQuery = pendingQueries.poll()) != null) {
+                    if (System.nanoTime() - deadlineNanos >= 0L) {
+                        throw new TimeoutException();
+                    }
+                    pendingQuery.run();
+                }
+                return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                cancel();
+                throw new ServiceException("监控数据查询超时", ex, BaseErrorCode.SERVICE_TIMEOUT_ERROR);
+            } catch (InterruptedException ex) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new ServiceException("监控数据查询中断", ex, BaseErrorCode.SERVICE_ERROR);
+            } catch (ExecutionException ex) {
+                cancel();
+                Throwable cause = ex.getCause() instanceof CompletionException && ex.getCause().getCause() != null ? ex.getCause().getCause() : ex.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new ServiceException("监控数据查询异常", cause, BaseErrorCode.SERVICE_ERROR);
+            }
+        }
+
+        /**
+         * 取消批次内尚未完成的查询，已开始执行的查询由语句超时终止
+         */
+        void cancel() {
+            cancelled = true;
+            pendingQueries.clear();
+            futures.forEach(each -> each.cancel(true));
+        }
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.fennel.shortlink.project.cache.ShortLinkGotoLocalCache;
+import com.fennel.shortlink.project.cache.ShortLinkGotoRecord;
+import com.fennel.shortlink.project.common.convention.exception.ClientException;
+import com.fennel.shortlink.project.config.GotoWarmUpConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkAccessStatsDO;
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import com.fennel.shortlink.project.dao.mapper.LinkAccessStatsMapper;
+import com.fennel.shortlink.project.dao.mapper.ShortLinkMapper;
+import com.fennel.shortlink.project.dto.resp.ShortLinkWarmUpRespDTO;
+import com.fennel.shortlink.project.service.ShortLinkWarmUpService;
+import com.fennel.shortlink.project.toolkit.LinkUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.fennel.shortlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接跳转缓存预热接口实现层
+ * 按最近访问量取热点短链接，按分组拆分批次后并行查询分表，每批通过一次 Redis 管道写入跳转缓存并同步写入本地缓存
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortLinkWarmUpServiceImpl implements ShortLinkWarmUpService {
+
+    private final GotoWarmUpConfiguration gotoWarmUpConfiguration;
+    private final LinkAccessStatsMapper linkAccessStatsMapper;
+    private final ShortLinkMapper shortLinkMapper;
+    private final RedissonClient redissonClient;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Override
+    public ShortLinkWarmUpRespDTO warmUp() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ClientException("短链接跳转缓存预热进行中");
+        }
+        // 就绪状态只在启动预热时由 ApplicationRunner 控制，运行中按需预热不摘除流量，跳转请求未命中时照常回源
+        try {
+            return doWarmUp();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ShortLinkWarmUpRespDTO doWarmUp() {
+        long startTime = System.currentTimeMillis();
+        Date startDate = DateUtil.beginOfDay(DateUtil.offsetDay(new Date(), 1 - gotoWarmUpConfiguration.getStatsDays()));
+        List<LinkAccessStatsDO> rankedList = linkAccessStatsMapper.listTopPvShortLink(startDate, gotoWarmUpConfiguration.getTopN());
+        Map<String, List<String>> gidShortLinkMap = rankedList.stream().collect(Collectors.groupingBy(
+                LinkAccessStatsDO::getGid,
+                LinkedHashMap::new,
+                Collectors.mapping(LinkAccessStatsDO::getFullShortUrl, Collectors.toList())
+        ));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(gotoWarmUpConfiguration.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "short-link-goto-warm-up-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int loadedCount = 0;
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            gidShortLinkMap.forEach((gid, fullShortUrls) -> CollUtil.split(fullShortUrls, gotoWarmUpConfiguration.getBatchSize())
+                    .forEach(each -> futures.add(executorService.submit(() -> loadBatch(gid, each)))));
+            long deadline = startTime + gotoWarmUpConfiguration.getTimeout();
+            for (Future<Integer> each : futures) {
+                try {
+                    loadedCount += each.get(Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                } catch (ExecutionException ex) {
+                    log.error("短链接跳转缓存预热批次失败", ex.getCause());
+                } catch (TimeoutException ex) {
+                    log.warn("短链接跳转缓存预热超时，剩余批次放弃");
+                    break;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        ShortLinkWarmUpRespDTO result = ShortLinkWarmUpRespDTO.builder()
+                .rankedCount(rankedList.size())
+                .loadedCount(loadedCount)
+                .elapsedTime(System.currentTimeMillis() - startTime)
+                .build();
+        log.info("短链接跳转缓存预热完成，排序短链接数：{}，写入缓存数：{}，耗时：{}ms", result.getRankedCount(), result.getLoadedCount(), result.getElapsedTime());
+        return result;
+    }
+
+    private int loadBatch(String gid, List<String> fullShortUrls) {
+        List<ShortLinkDO> shortLinkDOList = shortLinkMapper.selectList(Wrappers.lambdaQuery(ShortLinkDO.class)
+                .eq(ShortLinkDO::getGid, gid)
+                .in(ShortLinkDO::getFullShortUrl, fullShortUrls)
+                .eq(ShortLinkDO::getDelFlag, 0)
+                .eq(ShortLinkDO::getDelTime, 0L)
+                .eq(ShortLinkDO::getEnableStatus, 0));
+        Date now = new Date();
+        List<ShortLinkDO> validList = shortLinkDOList.stream()
+                .filter(each -> each.getValidDate() == null || each.getValidDate().after(now))
+                .toList();
+        if (validList.isEmpty()) {
+            return 0;
+        }
+        // Redis 只写入不存在的缓存，避免覆盖预热查询期间修改短链接后写入的新值
+        RBatch batch = redissonClient.createBatch();
+        validList.forEach(each -> batch.getBucket(String.format(GOTO_SHORT_LINK_KEY, each.getFullShortUrl()), StringCodec.INSTANCE)
+                .setIfAbsentAsync(ShortLinkGotoRecord.of(each).encode(), Duration.ofMillis(LinkUtil.getLinkCacheValidTime(each.getValidDate()))));
+        batch.execute();
+        // 本地缓存不论 Redis 是否已存在都写入，新实例启动时本地缓存为空，预热的目的就是让本实例的热点跳转不再访问 Redis，
+        // 修改短链接时会广播本地缓存失效，覆盖预热写入的旧值
+        validList.forEach(each -> shortLinkGotoLocalCache.put(each.getFullShortUrl(), ShortLinkGotoRecord.of(each)));
+        return validList.size();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 滑动窗口 Count-Min Sketch 频率估算
+ * 窗口拆分为若干子窗口，每个子窗口一份计数矩阵，另维护一份所有子窗口之和用于估算；滚动时从总和中减去最旧子窗口并清零复用。
+ * 计数只会高估不会低估，高估上限约为窗口总次数的 e / width，概率上限为 e^-depth。
+ * 每个键只计算一次 64 位 MurmurHash，高低 32 位按 h1 + i * h2 派生各行下标，各行相互独立且不受 String.hashCode 碰撞影响
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicIntegerArray[] windows;
+    private final AtomicIntegerArray total;
+    private volatile int current;
+
+    /**
+     * @param depth       哈希行数
+     * @param width       每行计数器数量，向上取整为 2 的幂
+     * @param windowCount 子窗口数量
+     */
+    public CountMinSketch(int depth, int width, int windowCount) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Count-Min Sketch 哈希行数需大于 0");
+        }
+        int actualWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = actualWidth - 1;
+        this.windows = new AtomicIntegerArray[Math.max(1, windowCount)];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new AtomicIntegerArray(depth * actualWidth);
+        }
+        this.total = new AtomicIntegerArray(depth * actualWidth);
+    }
+
+    /**
+     * 计数加一
+     *
+     * @return 计数后窗口内的估算次数
+     */
+    public int add(String key) {
+        AtomicIntegerArray window = windows[current];
+        long hash = MurmurHash.hash64(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int index = index(hash, i);
+            window.incrementAndGet(index);
+            estimate = Math.min(estimate, total.incrementAndGet(index));
+        }
+        return estimate;
+    }
+
+    /**
+     * 窗口内的估算次数
+     */
+    public int estimate(String key) {
+        long hash = MurmurHash.hash64(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            estimate = Math.min(estimate, total.get(index(hash, i)));
+        }
+        return Math.max(0, estimate);
+    }
+
+    /**
+     * 滚动到下一个子窗口，丢弃最旧子窗口的计数，只允许单线程调用
+     */
+    public void rotate() {
+        int next = (current + 1) % windows.length;
+        AtomicIntegerArray expired = windows[next];
+        for (int i = 0; i < expired.length(); i++) {
+            int count = expired.getAndSet(i, 0);
+            if (count != 0) {
+                total.addAndGet(i, -count);
+            }
+        }
+        current = next;
+    }
+
+    private int index(long hash, int row) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        if (combined < 0) {
+            combined = ~combined;
+        }
+        return row * (mask + 1) + (combined & mask);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.fennel.shortlink.project.common.convention.exception.ClientException;
+import com.fennel.shortlink.project.dto.resp.CursorPageRespDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页工具类
+ * 游标为 (排序时间, id) 的 Base64 编码，按 (时间, id) 倒序做 keyset 查询，不统计总数
+ */
+public final class CursorUtil {
+
+    private static final int DEFAULT_SIZE = 10;
+    private static final int MAX_SIZE = 100;
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 为查询追加游标条件、排序与条数限制，多查一条用于判断是否还有下一页
+     *
+     * @param queryWrapper 查询条件
+     * @param cursor       上一页返回的游标
+     * @param size         每页数量
+     * @param timeColumn   排序时间列
+     * @param idColumn     id 列
+     */
+    public static <T> void keyset(LambdaQueryWrapper<T> queryWrapper, String cursor, int size, SFunction<T, Date> timeColumn, SFunction<T, Long> idColumn) {
+        Cursor decoded = decode(cursor);
+        if (decoded != null) {
+            queryWrapper.and(wrapper -> wrapper.lt(timeColumn, decoded.time())
+                    .or(each -> each.eq(timeColumn, decoded.time()).lt(idColumn, decoded.id())));
+        }
+        queryWrapper.orderByDesc(timeColumn)
+                .orderByDesc(idColumn)
+                .last("LIMIT " + (size + 1));
+    }
+
+    /**
+     * 规范每页数量，为空时取默认值，最大不超过 100
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 将多查一条的结果转换为游标分页响应
+     */
+    public static <T, R> CursorPageRespDTO<R> toCursorPage(List<T> rows, int size, Function<T, Date> timeGetter, Function<T, Long> idGetter, Function<T, R> converter) {
+        boolean hasMore = rows.size() > size;
+        List<T> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encode(timeGetter.apply(last), idGetter.apply(last));
+        }
+        return CursorPageRespDTO.<R>builder()
+                .records(pageRows.stream().map(converter).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 编码游标
+     */
+    public static String encode(Date time, Long id) {
+        String raw = time.getTime() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，游标为空时返回 null
+     *
+     * @throws ClientException 游标格式不合法
+     */
+    public static Cursor decode(String cursor) {
+        if (StrUtil.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf('|');
+            return new Cursor(new Date(Long.parseLong(raw.substring(0, separatorIndex))), Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException ex) {
+            throw new ClientException("分页游标不合法");
+        }
+    }
+
+    /**
+     * 游标位置
+     *
+     * @param time 排序时间
+     * @param id   记录 id
+     */
+    public record Cursor(Date time, long id) {
+    }
+}
@@ -41,6 +41,21 @@ public class HashUtil {
         return sb.reverse().toString();
     }
 
+    /**
+     * 转换为定长 62 进制字符串，位数不足时高位补 0
+     *
+     * @param num    非负整数，需小于 62 的 length 次方
+     * @param length 字符串长度
+     */
+    public static String encodeToBase62(long num, int length) {
+        char[] result = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            result[i] = CHARS[(int) (num % SIZE)];
+            num /= SIZE;
+        }
+        return new String(result);
+    }
+
     public static String hashToBase62(String str) {
         int i = MurmurHash.hash32(str);
         long num = i < 0 ? Integer.MAX_VALUE - (long) i : i;
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog 基数估算
+ * 精度 2^12 个寄存器，标准误差约 1.6%，可序列化后持久化并跨天合并；非零寄存器较少时在内存中以有序的 (寄存器下标, 值) 数组保存并以稀疏格式序列化，
+ * 低访问量短链接只占用几十字节，合并与序列化也不需要遍历全部寄存器，非零寄存器超过阈值后转为稠密数组
+ */
+public final class HyperLogLog {
+
+    private static final int PRECISION = 12;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+    private static final byte FORMAT_SPARSE = 1;
+    private static final byte FORMAT_DENSE = 2;
+
+    /**
+     * 稀疏数组最多保存的非零寄存器数量，达到时数组与稠密寄存器占用相同的 4KB
+     */
+    private static final int SPARSE_MAX_SIZE = REGISTER_COUNT / 4;
+    private static final int SPARSE_INITIAL_CAPACITY = 8;
+
+    /**
+     * 稠密寄存器，稀疏模式下为 null
+     */
+    private byte[] registers;
+
+    /**
+     * 稀疏模式下按寄存器下标升序保存的非零寄存器，每项为 寄存器下标 << 8 | 值
+     */
+    private int[] sparse;
+    private int sparseSize;
+
+    public HyperLogLog() {
+        this.sparse = new int[SPARSE_INITIAL_CAPACITY];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    private HyperLogLog(int[] sparse, int sparseSize) {
+        this.sparse = sparse;
+        this.sparseSize = sparseSize;
+    }
+
+    /**
+     * 添加元素
+     */
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+        long hash = MurmurHash.hash64(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        set(index, rank);
+    }
+
+    /**
+     * 合并另一个 HyperLogLog，结果等价于两者元素并集的估算
+     */
+    public void merge(HyperLogLog other) {
+        if (other == null) {
+            return;
+        }
+        if (other.registers != null) {
+            if (registers == null) {
+                toDense();
+            }
+            for (int i = 0; i < REGISTER_COUNT; i++) {
+                if (other.registers[i] > registers[i]) {
+                    registers[i] = other.registers[i];
+                }
+            }
+            return;
+        }
+        if (registers != null) {
+            for (int i = 0; i < other.sparseSize; i++) {
+                set(other.sparse[i] >>> 8, (byte) other.sparse[i]);
+            }
+            return;
+        }
+        mergeSparse(other);
+    }
+
+    /**
+     * 估算基数
+     */
+    public long cardinality() {
+        double sum = 0;
+        int zeroCount = 0;
+        if (registers != null) {
+            for (byte each : registers) {
+                sum += 1.0 / (1L << each);
+                if (each == 0) {
+                    zeroCount++;
+                }
+            }
+        } else {
+            zeroCount = REGISTER_COUNT - sparseSize;
+            sum = zeroCount;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (byte) sparse[i]);
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeroCount > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeroCount);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 序列化，稀疏格式：格式标识 + 非零寄存器数量 + (寄存器下标, 值) 列表；稠密格式：格式标识 + 全部寄存器
+     */
+    public byte[] toBytes() {
+        int nonZeroCount = sparseSize;
+        if (registers != null) {
+            for (byte each : registers) {
+                if (each != 0) {
+                    nonZeroCount++;
+                }
+            }
+        }
+        int sparseBytes = 1 + Short.BYTES + nonZeroCount * (Short.BYTES + 1);
+        if (sparseBytes >= 1 + REGISTER_COUNT) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + REGISTER_COUNT);
+            buffer.put(FORMAT_DENSE).put(registers);
+            return buffer.array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(sparseBytes);
+        buffer.put(FORMAT_SPARSE).putShort((short) nonZeroCount);
+        if (registers != null) {
+            for (int i = 0; i < REGISTER_COUNT; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+        } else {
+            for (int i = 0; i < sparseSize; i++) {
+                buffer.putShort((short) (sparse[i] >>> 8)).put((byte) sparse[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 反序列化，参数为空时返回空的 HyperLogLog
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return new HyperLogLog();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        if (format == FORMAT_DENSE) {
+            byte[] registers = new byte[REGISTER_COUNT];
+            buffer.get(registers);
+            return new HyperLogLog(registers);
+        }
+        if (format != FORMAT_SPARSE) {
+            throw new IllegalArgumentException("Unknown HyperLogLog format: " + format);
+        }
+        int nonZeroCount = buffer.getShort() & 0xFFFF;
+        if (nonZeroCount > SPARSE_MAX_SIZE) {
+            byte[] registers = new byte[REGISTER_COUNT];
+            for (int i = 0; i < nonZeroCount; i++) {
+                int index = buffer.getShort() & 0xFFFF;
+                registers[index] = buffer.get();
+            }
+            return new HyperLogLog(registers);
+        }
+        // 序列化时按寄存器下标升序写入，可直接作为稀疏数组
+        int[] sparse = new int[Math.max(nonZeroCount, SPARSE_INITIAL_CAPACITY)];
+        for (int i = 0; i < nonZeroCount; i++) {
+            int index = buffer.getShort() & 0xFFFF;
+            sparse[i] = index << 8 | buffer.get();
+        }
+        return new HyperLogLog(sparse, nonZeroCount);
+    }
+
+    private void set(int index, byte rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = rank;
+            }
+            return;
+        }
+        int position = search(index);
+        if (position >= 0) {
+            if (rank > (byte) sparse[position]) {
+                sparse[position] = index << 8 | rank;
+            }
+            return;
+        }
+        if (sparseSize >= SPARSE_MAX_SIZE) {
+            toDense();
+            registers[index] = rank;
+            return;
+        }
+        int insertion = -position - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, sparse.length << 1);
+        }
+        System.arraycopy(sparse, insertion, sparse, insertion + 1, sparseSize - insertion);
+        sparse[insertion] = index << 8 | rank;
+        sparseSize++;
+    }
+
+    /**
+     * 两个稀疏数组按寄存器下标归并，结果超过阈值时转为稠密寄存器
+     */
+    private void mergeSparse(HyperLogLog other) {
+        int[] merged = new int[Math.max(sparseSize + other.sparseSize, SPARSE_INITIAL_CAPACITY)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sparseSize || j < other.sparseSize) {
+            int left = i < sparseSize ? sparse[i] >>> 8 : Integer.MAX_VALUE;
+            int right = j < other.sparseSize ? other.sparse[j] >>> 8 : Integer.MAX_VALUE;
+            if (left < right) {
+                merged[size++] = sparse[i++];
+            } else if (left > right) {
+                merged[size++] = other.sparse[j++];
+            } else {
+                merged[size++] = (byte) sparse[i] >= (byte) other.sparse[j] ? sparse[i] : other.sparse[j];
+                i++;
+                j++;
+            }
+        }
+        sparse = merged;
+        sparseSize = size;
+        if (sparseSize > SPARSE_MAX_SIZE) {
+            toDense();
+        }
+    }
+
+    private int search(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = sparse[mid] >>> 8;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        registers = new byte[REGISTER_COUNT];
+        for (int i = 0; i < sparseSize; i++) {
+            registers[sparse[i] >>> 8] = (byte) sparse[i];
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+}
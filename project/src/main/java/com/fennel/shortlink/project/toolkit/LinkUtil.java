@@ -25,6 +25,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.util.Date;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.DEFAULT_CACHE_VALID_TIME;
 
@@ -45,6 +46,18 @@ public class LinkUtil {
                 .orElse(DEFAULT_CACHE_VALID_TIME);
     }
 
+    /**
+     * 拼接完整短链接，默认端口不拼入
+     *
+     * @param serverName 请求域名
+     * @param serverPort 请求端口
+     * @param shortUri   短链接后缀
+     * @return 完整短链接
+     */
+    public static String getFullShortUrl(String serverName, int serverPort, String shortUri) {
+        return serverPort == 80 ? serverName + "/" + shortUri : serverName + ":" + serverPort + "/" + shortUri;
+    }
+
     /**
      * 获取用户真实IP
      *
@@ -52,21 +65,32 @@ public class LinkUtil {
      * @return 用户真实IP
      */
     public static String getActualIp(HttpServletRequest request) {
-        String ipAddress = request.getHeader("X-Forwarded-For");
+        return getActualIp(request::getHeader, request.getRemoteAddr());
+    }
+
+    /**
+     * 获取用户真实IP
+     *
+     * @param headerReader 按名称读取请求头
+     * @param remoteAddr   连接对端地址
+     * @return 用户真实IP
+     */
+    public static String getActualIp(Function<String, String> headerReader, String remoteAddr) {
+        String ipAddress = headerReader.apply("X-Forwarded-For");
         if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("Proxy-Client-IP");
+            ipAddress = headerReader.apply("Proxy-Client-IP");
         }
         if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("WL-Proxy-Client-IP");
+            ipAddress = headerReader.apply("WL-Proxy-Client-IP");
         }
         if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_CLIENT_IP");
+            ipAddress = headerReader.apply("HTTP_CLIENT_IP");
         }
         if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("HTTP_X_FORWARDED_FOR");
+            ipAddress = headerReader.apply("HTTP_X_FORWARDED_FOR");
         }
         if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getRemoteAddr();
+            ipAddress = remoteAddr;
         }
         return ipAddress;
     }
@@ -78,20 +102,7 @@ public class LinkUtil {
      * @return 访问操作系统
      */
     public static String getOs(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("windows")) {
-            return "Windows";
-        } else if (userAgent.toLowerCase().contains("mac")) {
-            return "Mac OS";
-        } else if (userAgent.toLowerCase().contains("linux")) {
-            return "Linux";
-        } else if (userAgent.toLowerCase().contains("android")) {
-            return "Android";
-        } else if (userAgent.toLowerCase().contains("iphone") || userAgent.toLowerCase().contains("ipad")) {
-            return "iOS";
-        } else {
-            return "Unknown";
-        }
+        return UserAgentClassifier.classify(request.getHeader("User-Agent")).os();
     }
 
     /**
@@ -101,22 +112,7 @@ public class LinkUtil {
      * @return 访问浏览器
      */
     public static String getBrowser(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("edg")) {
-            return "Microsoft Edge";
-        } else if (userAgent.toLowerCase().contains("chrome")) {
-            return "Google Chrome";
-        } else if (userAgent.toLowerCase().contains("firefox")) {
-            return "Mozilla Firefox";
-        } else if (userAgent.toLowerCase().contains("safari")) {
-            return "Apple Safari";
-        } else if (userAgent.toLowerCase().contains("opera")) {
-            return "Opera";
-        } else if (userAgent.toLowerCase().contains("msie") || userAgent.toLowerCase().contains("trident")) {
-            return "Internet Explorer";
-        } else {
-            return "Unknown";
-        }
+        return UserAgentClassifier.classify(request.getHeader("User-Agent")).browser();
     }
 
     /**
@@ -126,11 +122,7 @@ public class LinkUtil {
      * @return 访问设备
      */
     public static String getDevice(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("mobile")) {
-            return "Mobile";
-        }
-        return "PC";
+        return UserAgentClassifier.classify(request.getHeader("User-Agent")).device();
     }
 
     /**
@@ -140,7 +132,16 @@ public class LinkUtil {
      * @return 访问设备
      */
     public static String getNetwork(HttpServletRequest request) {
-        String actualIp = getActualIp(request);
+        return getNetwork(getActualIp(request));
+    }
+
+    /**
+     * 获取用户访问网络
+     *
+     * @param actualIp 用户真实IP
+     * @return 访问网络
+     */
+    public static String getNetwork(String actualIp) {
         // 这里简单判断IP地址范围，您可能需要更复杂的逻辑
         // 例如，通过调用IP地址库或调用第三方服务来判断网络类型
         return actualIp.startsWith("192.168.") || actualIp.startsWith("10.") ? "WIFI" : "Mobile";
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+/**
+ * 短链接后缀编码工具类
+ * 将号段分配的递增序列号一一映射为定长 62 进制后缀，可选置乱避免相邻后缀可被猜测
+ */
+public final class ShortCodeUtil {
+
+    /**
+     * 号段模式短链接后缀长度，哈希模式生成的后缀不超过 6 位，两种模式之间不会冲突
+     */
+    public static final int SUFFIX_LENGTH = 7;
+
+    /**
+     * 序列号上限，即 62 的 7 次方
+     */
+    public static final long MAX_SEQUENCE = 3521614606208L;
+
+    private static final int HALF_BITS = 21;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private ShortCodeUtil() {
+    }
+
+    /**
+     * 序列号编码为短链接后缀
+     *
+     * @param sequence 序列号，取值范围 [0, {@link #MAX_SEQUENCE})
+     * @param scramble 是否置乱
+     * @param salt     置乱密钥，不同密钥得到不同的排列
+     */
+    public static String encode(long sequence, boolean scramble, long salt) {
+        if (sequence < 0 || sequence >= MAX_SEQUENCE) {
+            throw new IllegalArgumentException("短链接序列号超出范围：" + sequence);
+        }
+        return HashUtil.encodeToBase62(scramble ? scramble(sequence, salt) : sequence, SUFFIX_LENGTH);
+    }
+
+    /**
+     * 在 [0, {@link #MAX_SEQUENCE}) 上的双射置乱
+     * 42 位 Feistel 网络本身是 [0, 2^42) 上的置换，结果超出范围时继续迭代（cycle walking），平均迭代约 1.25 次
+     */
+    static long scramble(long sequence, long salt) {
+        long value = sequence;
+        do {
+            value = feistel(value, salt);
+        } while (value >= MAX_SEQUENCE);
+        return value;
+    }
+
+    private static long feistel(long value, long salt) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ (mix(right ^ (salt + round * 0x9E3779B97F4A7C15L)) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE1E5A0B3L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
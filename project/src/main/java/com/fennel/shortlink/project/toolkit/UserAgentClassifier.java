@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * User-Agent 识别工具类
+ * 关键字编译为 Aho-Corasick 自动机，单次扫描 User-Agent 得到命中关键字位图，再按 {@link LinkUtil} 原有优先级一次得出操作系统、浏览器与设备；
+ * 识别结果为预先创建的常量，按 User-Agent 缓存，缓存命中时不产生额外对象
+ */
+public final class UserAgentClassifier {
+
+    private static final String UNKNOWN = "Unknown";
+
+    /**
+     * 缓存最大权重，按 User-Agent 字符数估算
+     */
+    private static final long CACHE_MAXIMUM_WEIGHT = 2L * 1024 * 1024;
+
+    /**
+     * 超过该长度的 User-Agent 不缓存，避免异常请求头占满缓存
+     */
+    private static final int CACHE_MAX_KEY_LENGTH = 512;
+
+    private static final String[] KEYWORDS = {
+            "windows", "mac", "linux", "android", "iphone", "ipad",
+            "edg", "chrome", "firefox", "safari", "opera", "msie", "trident",
+            "mobile"
+    };
+
+    private static final int WINDOWS = 1;
+    private static final int MAC = 1 << 1;
+    private static final int LINUX = 1 << 2;
+    private static final int ANDROID = 1 << 3;
+    private static final int IPHONE = 1 << 4;
+    private static final int IPAD = 1 << 5;
+    private static final int EDG = 1 << 6;
+    private static final int CHROME = 1 << 7;
+    private static final int FIREFOX = 1 << 8;
+    private static final int SAFARI = 1 << 9;
+    private static final int OPERA = 1 << 10;
+    private static final int MSIE = 1 << 11;
+    private static final int TRIDENT = 1 << 12;
+    private static final int MOBILE = 1 << 13;
+
+    private static final String[] OS_NAMES = {"Windows", "Mac OS", "Linux", "Android", "iOS", UNKNOWN};
+    private static final String[] BROWSER_NAMES = {"Microsoft Edge", "Google Chrome", "Mozilla Firefox", "Apple Safari", "Opera", "Internet Explorer", UNKNOWN};
+    private static final String[] DEVICE_NAMES = {"Mobile", "PC"};
+
+    private static final int ALPHABET_SIZE = 26;
+
+    /**
+     * 自动机状态转移表，只包含小写字母，其他字符回到初始状态
+     */
+    private static final int[][] TRANSITIONS;
+
+    /**
+     * 各状态命中的关键字位图，已合并失败链上的输出
+     */
+    private static final int[] OUTPUTS;
+
+    private static final Result[][][] RESULTS;
+
+    private static final Result UNKNOWN_RESULT;
+
+    private static final Cache<String, Result> CACHE = Caffeine.newBuilder()
+            .maximumWeight(CACHE_MAXIMUM_WEIGHT)
+            .weigher((String key, Result value) -> key.length())
+            .build();
+
+    static {
+        int maxStates = Arrays.stream(KEYWORDS).mapToInt(String::length).sum() + 1;
+        int[][] transitions = new int[maxStates][ALPHABET_SIZE];
+        int[] outputs = new int[maxStates];
+        for (int[] each : transitions) {
+            Arrays.fill(each, -1);
+        }
+        int stateCount = 1;
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            int state = 0;
+            for (char each : KEYWORDS[i].toCharArray()) {
+                int symbol = each - 'a';
+                if (transitions[state][symbol] < 0) {
+                    transitions[state][symbol] = stateCount++;
+                }
+                state = transitions[state][symbol];
+            }
+            outputs[state] |= 1 << i;
+        }
+        int[] failures = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+            int next = transitions[0][symbol];
+            if (next < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failures[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[failures[state]];
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                int next = transitions[state][symbol];
+                if (next < 0) {
+                    transitions[state][symbol] = transitions[failures[state]][symbol];
+                } else {
+                    failures[next] = transitions[failures[state]][symbol];
+                    queue.add(next);
+                }
+            }
+        }
+        TRANSITIONS = Arrays.copyOf(transitions, stateCount);
+        OUTPUTS = Arrays.copyOf(outputs, stateCount);
+        RESULTS = new Result[OS_NAMES.length][BROWSER_NAMES.length][DEVICE_NAMES.length];
+        for (int os = 0; os < OS_NAMES.length; os++) {
+            for (int browser = 0; browser < BROWSER_NAMES.length; browser++) {
+                for (int device = 0; device < DEVICE_NAMES.length; device++) {
+                    RESULTS[os][browser][device] = new Result(OS_NAMES[os], BROWSER_NAMES[browser], DEVICE_NAMES[device]);
+                }
+            }
+        }
+        UNKNOWN_RESULT = RESULTS[OS_NAMES.length - 1][BROWSER_NAMES.length - 1][DEVICE_NAMES.length - 1];
+    }
+
+    private UserAgentClassifier() {
+    }
+
+    /**
+     * 识别 User-Agent 对应的操作系统、浏览器与设备
+     *
+     * @param userAgent User-Agent 请求头，为空时返回未知操作系统与浏览器、PC 设备
+     * @return 识别结果
+     */
+    public static Result classify(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return UNKNOWN_RESULT;
+        }
+        if (userAgent.length() > CACHE_MAX_KEY_LENGTH) {
+            return toResult(match(userAgent));
+        }
+        Result result = CACHE.getIfPresent(userAgent);
+        if (result == null) {
+            result = toResult(match(userAgent));
+            CACHE.put(userAgent, result);
+        }
+        return result;
+    }
+
+    /**
+     * 单次扫描 User-Agent，返回命中关键字位图，按 ASCII 忽略大小写；
+     * 与 String.toLowerCase 一致，开尔文符号视为 k，带点大写 I 视为 i 与其后的组合点
+     */
+    static int match(String userAgent) {
+        int state = 0;
+        int matched = 0;
+        for (int i = 0, length = userAgent.length(); i < length; i++) {
+            char each = userAgent.charAt(i);
+            if (each >= 'A' && each <= 'Z') {
+                each = (char) (each + ('a' - 'A'));
+            } else if (each == '\u212A') {
+                each = 'k';
+            } else if (each == '\u0130') {
+                matched |= OUTPUTS[TRANSITIONS[state]['i' - 'a']];
+                state = 0;
+                continue;
+            }
+            if (each < 'a' || each > 'z') {
+                state = 0;
+                continue;
+            }
+            state = TRANSITIONS[state][each - 'a'];
+            matched |= OUTPUTS[state];
+        }
+        return matched;
+    }
+
+    private static Result toResult(int matched) {
+        int os;
+        if ((matched & WINDOWS) != 0) {
+            os = 0;
+        } else if ((matched & MAC) != 0) {
+            os = 1;
+        } else if ((matched & LINUX) != 0) {
+            os = 2;
+        } else if ((matched & ANDROID) != 0) {
+            os = 3;
+        } else if ((matched & (IPHONE | IPAD)) != 0) {
+            os = 4;
+        } else {
+            os = 5;
+        }
+        int browser;
+        if ((matched & EDG) != 0) {
+            browser = 0;
+        } else if ((matched & CHROME) != 0) {
+            browser = 1;
+        } else if ((matched & FIREFOX) != 0) {
+            browser = 2;
+        } else if ((matched & SAFARI) != 0) {
+            browser = 3;
+        } else if ((matched & OPERA) != 0) {
+            browser = 4;
+        } else if ((matched & (MSIE | TRIDENT)) != 0) {
+            browser = 5;
+        } else {
+            browser = 6;
+        }
+        int device = (matched & MOBILE) != 0 ? 0 : 1;
+        return RESULTS[os][browser][device];
+    }
+
+    /**
+     * User-Agent 识别结果
+     *
+     * @param os      操作系统
+     * @param browser 浏览器
+     * @param device  设备
+     */
+    public record Result(String os, String browser, String device) {
+    }
+}
@@ -0,0 +1,8 @@
+-- 游标分页索引，keyset 条件 (time, id) 与排序列需要与过滤列组成联合索引，t_link 需在每个分片表上执行
+ALTER TABLE `t_link`
+    ADD INDEX `idx_gid_create_time_id` (`gid`, `create_time`, `id`),
+    ADD INDEX `idx_gid_update_time_id` (`gid`, `update_time`, `id`);
+
+ALTER TABLE `t_link_access_logs`
+    ADD INDEX `idx_url_gid_create_time_id` (`full_short_url`, `gid`, `create_time`, `id`),
+    ADD INDEX `idx_gid_create_time_id` (`gid`, `create_time`, `id`);
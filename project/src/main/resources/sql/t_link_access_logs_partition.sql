@@ -0,0 +1,11 @@
+-- 访问日志按天分区，开启 short-link.stats.archive.partition-enable 前执行，之后由归档任务预建每天的分区并在归档后删除
+-- MySQL 分区表的主键与唯一索引必须包含分区列
+ALTER TABLE `t_link_access_logs`
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (`id`, `create_time`),
+    ADD INDEX `idx_create_time_id` (`create_time`, `id`);
+
+ALTER TABLE `t_link_access_logs`
+    PARTITION BY RANGE COLUMNS (`create_time`) (
+        PARTITION `p_max` VALUES LESS THAN (MAXVALUE)
+    );
@@ -0,0 +1,36 @@
+-- 访客首次访问索引，full_short_url 为空字符串的记录为分组维度
+CREATE TABLE `t_link_first_visit`
+(
+    `id`               bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
+    `full_short_url`   varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `gid`              varchar(32)  DEFAULT NULL COMMENT '分组标识',
+    `user`             varchar(64)  DEFAULT NULL COMMENT '访客标识',
+    `first_visit_time` datetime     DEFAULT NULL COMMENT '首次访问时间',
+    `last_visit_time`  datetime     DEFAULT NULL COMMENT '最近访问时间',
+    `multi_day`        tinyint(1)   DEFAULT NULL COMMENT '是否在多个日期访问过 0：否 1：是',
+    `create_time`      datetime     DEFAULT NULL COMMENT '创建时间',
+    `update_time`      datetime     DEFAULT NULL COMMENT '修改时间',
+    `del_flag`         tinyint(1)   DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `idx_unique_first_visit` (`full_short_url`, `gid`, `user`) USING BTREE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+-- 开启 write-enable 后执行一次，从访问日志回填历史访客，完成后再开启 read-enable
+INSERT INTO `t_link_first_visit` (full_short_url, gid, user, first_visit_time, last_visit_time, multi_day, create_time, update_time, del_flag)
+SELECT full_short_url, gid, user, MIN(create_time), MAX(create_time), IF(COUNT(DISTINCT DATE(create_time)) > 1, 1, 0), NOW(), NOW(), 0
+FROM t_link_access_logs
+WHERE user IS NOT NULL
+GROUP BY full_short_url, gid, user
+ON DUPLICATE KEY UPDATE multi_day = IF(multi_day = 1 OR VALUES(multi_day) = 1 OR DATE(VALUES(first_visit_time)) <> DATE(first_visit_time) OR DATE(VALUES(last_visit_time)) <> DATE(first_visit_time), 1, 0),
+                        first_visit_time = LEAST(first_visit_time, VALUES(first_visit_time)),
+                        last_visit_time = GREATEST(last_visit_time, VALUES(last_visit_time));
+
+INSERT INTO `t_link_first_visit` (full_short_url, gid, user, first_visit_time, last_visit_time, multi_day, create_time, update_time, del_flag)
+SELECT '', gid, user, MIN(create_time), MAX(create_time), IF(COUNT(DISTINCT DATE(create_time)) > 1, 1, 0), NOW(), NOW(), 0
+FROM t_link_access_logs
+WHERE user IS NOT NULL
+GROUP BY gid, user
+ON DUPLICATE KEY UPDATE multi_day = IF(multi_day = 1 OR VALUES(multi_day) = 1 OR DATE(VALUES(first_visit_time)) <> DATE(first_visit_time) OR DATE(VALUES(last_visit_time)) <> DATE(first_visit_time), 1, 0),
+                        first_visit_time = LEAST(first_visit_time, VALUES(first_visit_time)),
+                        last_visit_time = GREATEST(last_visit_time, VALUES(last_visit_time));
@@ -0,0 +1,19 @@
+-- 短链接按天汇总统计，full_short_url 为空字符串的记录为分组按天汇总
+CREATE TABLE `t_link_stats_daily`
+(
+    `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
+    `full_short_url` varchar(128)  DEFAULT NULL COMMENT '完整短链接',
+    `gid`            varchar(32)   DEFAULT NULL COMMENT '分组标识',
+    `date`           date          DEFAULT NULL COMMENT '日期',
+    `pv`             int(11)       DEFAULT NULL COMMENT '访问量',
+    `new_uv`         int(11)       DEFAULT NULL COMMENT '新访客数',
+    `uv_sketch`      blob          DEFAULT NULL COMMENT '独立访客 HyperLogLog',
+    `uip_sketch`     blob          DEFAULT NULL COMMENT '独立 IP HyperLogLog',
+    `top_ip`         varchar(2048) DEFAULT NULL COMMENT '高频访问 IP',
+    `create_time`    datetime      DEFAULT NULL COMMENT '创建时间',
+    `update_time`    datetime      DEFAULT NULL COMMENT '修改时间',
+    `del_flag`       tinyint(1)    DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `idx_unique_daily_stats` (`full_short_url`, `gid`, `date`) USING BTREE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.cache;
+
+import com.fennel.shortlink.project.config.BloomFilterReplicaConfiguration;
+import org.junit.jupiter.api.Test;
+import org.redisson.RedissonBloomFilter;
+import org.redisson.RedissonObject;
+import org.redisson.api.RBloomFilter;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.Kryo5Codec;
+import org.redisson.command.CommandAsyncExecutor;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 布隆过滤器本地副本位下标测试
+ */
+class ShortLinkBloomFilterTest {
+
+    private static final long SIZE = 9585058377L;
+    private static final int HASH_ITERATIONS = 7;
+
+    @Test
+    void indexesMatchRedissonWithStringCodec() throws Exception {
+        assertIndexesMatch(StringCodec.INSTANCE);
+    }
+
+    @Test
+    void indexesMatchRedissonWithDefaultCodec() throws Exception {
+        assertIndexesMatch(new Kryo5Codec());
+    }
+
+    private static void assertIndexesMatch(Codec codec) throws Exception {
+        RBloomFilter<String> redissonBloomFilter = redissonBloomFilter(codec);
+        ShortLinkBloomFilter shortLinkBloomFilter = new ShortLinkBloomFilter(redissonBloomFilter, new BloomFilterReplicaConfiguration(), null);
+        ReflectionTestUtils.setField(shortLinkBloomFilter, "size", SIZE);
+        ReflectionTestUtils.setField(shortLinkBloomFilter, "hashIterations", HASH_ITERATIONS);
+        Method hashValue = RedissonBloomFilter.class.getDeclaredMethod("hash", Object.class);
+        Method hashIndexes = RedissonBloomFilter.class.getDeclaredMethod("hash", long.class, long.class, int.class, long.class);
+        hashValue.setAccessible(true);
+        hashIndexes.setAccessible(true);
+        for (String each : Arrays.asList("nurl.ink/1a2B3c", "nurl.ink/zzzzzzz", "127.0.0.1:8001/Q9x", "短链接/测试", "")) {
+            long[] hashes = (long[]) hashValue.invoke(redissonBloomFilter, each);
+            long[] expected = (long[]) hashIndexes.invoke(redissonBloomFilter, hashes[0], hashes[1], HASH_ITERATIONS, SIZE);
+            long[] actual = ReflectionTestUtils.invokeMethod(shortLinkBloomFilter, "indexes", each);
+            assertArrayEquals(expected, actual, each);
+        }
+    }
+
+    /**
+     * 只用于计算位下标的 Redisson 布隆过滤器，跳过构造器避免连接 Redis，编码交给指定编码器
+     */
+    @SuppressWarnings("unchecked")
+    private static RBloomFilter<String> redissonBloomFilter(Codec codec) {
+        CommandAsyncExecutor commandExecutor = mock(CommandAsyncExecutor.class);
+        when(commandExecutor.encode(any(Codec.class), any())).thenAnswer(invocation ->
+                invocation.<Codec>getArgument(0).getValueEncoder().encode(invocation.getArgument(1)));
+        RedissonBloomFilter<String> redissonBloomFilter = new ObjenesisStd().newInstance(RedissonBloomFilter.class);
+        ReflectionTestUtils.setField(redissonBloomFilter, RedissonObject.class, "codec", codec, Codec.class);
+        ReflectionTestUtils.setField(redissonBloomFilter, RedissonObject.class, "commandExecutor", commandExecutor, CommandAsyncExecutor.class);
+        return redissonBloomFilter;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.cache;
+
+import com.fennel.shortlink.project.config.GotoLocalCacheConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 短链接跳转本地缓存异步刷新版本测试
+ */
+class ShortLinkGotoLocalCacheTest {
+
+    private static final String FULL_SHORT_URL = "nurl.ink/1a2B3c";
+
+    private ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+
+    @BeforeEach
+    void setUp() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getTopic(anyString(), any())).thenReturn(mock(RTopic.class));
+        shortLinkGotoLocalCache = new ShortLinkGotoLocalCache(new GotoLocalCacheConfiguration(), redissonClient, new SimpleMeterRegistry());
+        shortLinkGotoLocalCache.afterPropertiesSet();
+    }
+
+    @Test
+    void replaceMatchingVersion() {
+        shortLinkGotoLocalCache.put(FULL_SHORT_URL, record("https://old.example.com"));
+        long version = shortLinkGotoLocalCache.version(FULL_SHORT_URL);
+        shortLinkGotoLocalCache.replace(FULL_SHORT_URL, version, record("https://new.example.com"));
+        assertEquals("https://new.example.com", shortLinkGotoLocalCache.getIfPresent(FULL_SHORT_URL).originUrl());
+    }
+
+    @Test
+    void invalidateWinsOverStaleRefresh() {
+        shortLinkGotoLocalCache.put(FULL_SHORT_URL, record("https://old.example.com"));
+        long version = shortLinkGotoLocalCache.version(FULL_SHORT_URL);
+        shortLinkGotoLocalCache.invalidate(FULL_SHORT_URL);
+        shortLinkGotoLocalCache.replace(FULL_SHORT_URL, version, record("https://old.example.com"));
+        assertNull(shortLinkGotoLocalCache.getIfPresent(FULL_SHORT_URL));
+    }
+
+    @Test
+    void reloadWinsOverStaleRefresh() {
+        shortLinkGotoLocalCache.put(FULL_SHORT_URL, record("https://old.example.com"));
+        long version = shortLinkGotoLocalCache.version(FULL_SHORT_URL);
+        shortLinkGotoLocalCache.invalidate(FULL_SHORT_URL);
+        shortLinkGotoLocalCache.put(FULL_SHORT_URL, record("https://new.example.com"));
+        shortLinkGotoLocalCache.replace(FULL_SHORT_URL, version, record("https://old.example.com"));
+        assertEquals("https://new.example.com", shortLinkGotoLocalCache.getIfPresent(FULL_SHORT_URL).originUrl());
+    }
+
+    private static ShortLinkGotoRecord record(String originUrl) {
+        return new ShortLinkGotoRecord(originUrl, "gid", null, true);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.cache;
+
+import com.fennel.shortlink.project.dao.entity.ShortLinkDO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 短链接跳转缓存记录编解码测试
+ */
+class ShortLinkGotoRecordTest {
+
+    @Test
+    void roundTrip() {
+        Date validDate = new Date(1767196800000L);
+        assertRoundTrip(new ShortLinkGotoRecord("https://nageoffer.com/path?a=1&b=2", "k7Xq2c", validDate, true));
+        assertRoundTrip(new ShortLinkGotoRecord("https://nageoffer.com", "k7Xq2c", null, true));
+        assertRoundTrip(new ShortLinkGotoRecord("https://nageoffer.com", "k7Xq2c", validDate, false));
+        // 原始链接中的分隔符与非 ASCII 字符不需要转义
+        assertRoundTrip(new ShortLinkGotoRecord("https://nageoffer.com/?q=a|b||c&中文=值|", "k7Xq2c", null, true));
+        assertRoundTrip(new ShortLinkGotoRecord("https://nageoffer.com", null, null, true));
+    }
+
+    @Test
+    void encodeLayout() {
+        assertEquals("@1|k7Xq2c|1767196800000|1|https://nageoffer.com",
+                new ShortLinkGotoRecord("https://nageoffer.com", "k7Xq2c", new Date(1767196800000L), true).encode());
+        assertEquals("@1|||0|https://nageoffer.com",
+                new ShortLinkGotoRecord("https://nageoffer.com", null, null, false).encode());
+    }
+
+    @Test
+    void decodeLegacyValueAsOriginUrl() {
+        ShortLinkGotoRecord record = ShortLinkGotoRecord.decode("https://nageoffer.com/path?a=1|2");
+        assertEquals(new ShortLinkGotoRecord("https://nageoffer.com/path?a=1|2", null, null, true), record);
+        assertTrue(record.enable());
+        assertNull(record.gid());
+        assertNull(record.validDate());
+    }
+
+    @Test
+    void decodeIllegalValueReturnsNull() {
+        assertNull(ShortLinkGotoRecord.decode(null));
+        assertNull(ShortLinkGotoRecord.decode(""));
+        assertNull(ShortLinkGotoRecord.decode("@1|"));
+        assertNull(ShortLinkGotoRecord.decode("@1|k7Xq2c"));
+        assertNull(ShortLinkGotoRecord.decode("@1|k7Xq2c|1767196800000"));
+        assertNull(ShortLinkGotoRecord.decode("@1|k7Xq2c|1767196800000|1"));
+        assertNull(ShortLinkGotoRecord.decode("@1|k7Xq2c|1767196800000|1|"));
+        assertNull(ShortLinkGotoRecord.decode("@1|k7Xq2c|tomorrow|1|https://nageoffer.com"));
+    }
+
+    @Test
+    void ofShortLink() {
+        ShortLinkDO shortLinkDO = ShortLinkDO.builder()
+                .originUrl("https://nageoffer.com")
+                .gid("k7Xq2c")
+                .validDate(new Date(1767196800000L))
+                .enableStatus(1)
+                .build();
+        ShortLinkGotoRecord record = ShortLinkGotoRecord.of(shortLinkDO);
+        assertFalse(record.enable());
+        shortLinkDO.setEnableStatus(0);
+        assertEquals(new ShortLinkGotoRecord("https://nageoffer.com", "k7Xq2c", new Date(1767196800000L), true), ShortLinkGotoRecord.of(shortLinkDO));
+    }
+
+    private static void assertRoundTrip(ShortLinkGotoRecord record) {
+        assertEquals(record, ShortLinkGotoRecord.decode(record.encode()));
+    }
+}
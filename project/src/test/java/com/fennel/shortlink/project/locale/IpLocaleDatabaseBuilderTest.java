@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 离线 IP 地区数据库构建工具测试
+ */
+class IpLocaleDatabaseBuilderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void buildSampleMatchesBundledDatabase() throws Exception {
+        Path databasePath = tempDir.resolve("ip-locale.db");
+        IpLocaleDatabaseBuilder.build(OfflineIpLocaleResolverTest.samplePath("ip/ip-locale-sample.csv"), databasePath);
+        assertArrayEquals(Files.readAllBytes(OfflineIpLocaleResolverTest.samplePath("ip/ip-locale-sample.db")), Files.readAllBytes(databasePath));
+    }
+
+    @Test
+    void buildSortsRangesAndSharesLocales() throws IOException {
+        Path databasePath = build(
+                "# 注释",
+                "",
+                "10.0.2.0,10.0.2.255,中国,浙江省,杭州市,330100",
+                "10.0.0.0,10.0.0.255,中国,浙江省,杭州市,330100",
+                "200.0.0.0,200.0.0.0,巴西,,,"
+        );
+        OfflineIpLocaleResolver resolver = new OfflineIpLocaleResolver(databasePath);
+        IpLocale hangzhou = new IpLocale("中国", "浙江省", "杭州市", "330100");
+        assertEquals(hangzhou, resolver.resolve("10.0.0.7"));
+        assertEquals(hangzhou, resolver.resolve("10.0.2.255"));
+        assertNull(resolver.resolve("10.0.1.0"));
+        assertEquals(new IpLocale("巴西", "", "", ""), resolver.resolve("200.0.0.0"));
+        assertNull(resolver.resolve("200.0.0.1"));
+        // 头部：魔数、版本、地区数量、IP 段数量
+        byte[] bytes = Files.readAllBytes(databasePath);
+        assertEquals(2, bytes[11]);
+        assertEquals(3, bytes[15]);
+    }
+
+    @Test
+    void buildRejectsIllegalInput() {
+        assertThrows(IOException.class, () -> build("10.0.0.0,10.0.0.255,中国,浙江省,杭州市"));
+        assertThrows(IOException.class, () -> build("10.0.0.255,10.0.0.0,中国,浙江省,杭州市,330100"));
+        assertThrows(IOException.class, () -> build("10.0.0.0,10.0.0.256,中国,浙江省,杭州市,330100"));
+        assertThrows(IOException.class, () -> build(
+                "10.0.0.0,10.0.1.255,中国,浙江省,杭州市,330100",
+                "10.0.1.0,10.0.2.255,中国,浙江省,宁波市,330200"
+        ));
+    }
+
+    @Test
+    void openRejectsUnknownFormat() throws IOException {
+        Path databasePath = tempDir.resolve("illegal.db");
+        Files.write(databasePath, new byte[16]);
+        assertThrows(IOException.class, () -> new OfflineIpLocaleResolver(databasePath));
+    }
+
+    private Path build(String... lines) throws IOException {
+        Path csvPath = Files.createTempFile(tempDir, "ip-locale", ".csv");
+        Files.write(csvPath, List.of(lines), StandardCharsets.UTF_8);
+        Path databasePath = tempDir.resolve(csvPath.getFileName() + ".db");
+        IpLocaleDatabaseBuilder.build(csvPath, databasePath);
+        return databasePath;
+    }
+}
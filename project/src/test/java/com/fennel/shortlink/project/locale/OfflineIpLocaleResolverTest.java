@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.locale;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 离线 IP 地区解析器测试，使用随应用发布的示例数据库
+ */
+class OfflineIpLocaleResolverTest {
+
+    private static final IpLocale FUZHOU = new IpLocale("中国", "福建省", "福州市", "350100");
+    private static final IpLocale QINGDAO = new IpLocale("中国", "山东省", "青岛市", "370200");
+    private static final IpLocale SHANGHAI = new IpLocale("中国", "上海市", "上海市", "310000");
+
+    private static OfflineIpLocaleResolver resolver;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        resolver = new OfflineIpLocaleResolver(samplePath("ip/ip-locale-sample.db"));
+    }
+
+    @Test
+    void resolveRangeBoundaries() {
+        assertEquals(FUZHOU, resolver.resolve("1.0.1.0"));
+        assertEquals(FUZHOU, resolver.resolve("1.0.2.128"));
+        assertEquals(FUZHOU, resolver.resolve("1.0.3.255"));
+        assertEquals(QINGDAO, resolver.resolve("221.3.127.255"));
+        assertEquals(SHANGHAI, resolver.resolve("222.73.255.255"));
+        assertEquals(new IpLocale("中国", "江苏省", "南京市", "320100"), resolver.resolve("117.136.38.154"));
+    }
+
+    @Test
+    void resolveOutsideRangesReturnsNull() {
+        assertNull(resolver.resolve("0.0.0.0"));
+        assertNull(resolver.resolve("1.0.0.255"));
+        assertNull(resolver.resolve("1.0.4.0"));
+        assertNull(resolver.resolve("221.3.128.0"));
+        assertNull(resolver.resolve("222.74.0.0"));
+        assertNull(resolver.resolve("255.255.255.255"));
+        assertNull(resolver.resolve("192.168.3.18"));
+    }
+
+    @Test
+    void resolveIllegalAddressReturnsNull() {
+        assertNull(resolver.resolve(null));
+        assertNull(resolver.resolve(""));
+        assertNull(resolver.resolve("1.0.1"));
+        assertNull(resolver.resolve("1.0.1.0.1"));
+        assertNull(resolver.resolve("1.0.1.256"));
+        assertNull(resolver.resolve("1..1.1"));
+        assertNull(resolver.resolve("1.0.1.0."));
+        assertNull(resolver.resolve("1.0.1.a"));
+        assertNull(resolver.resolve("::ffff:1.0.1.0"));
+    }
+
+    @Test
+    void parseIpv4() {
+        assertEquals(0L, OfflineIpLocaleResolver.parseIpv4("0.0.0.0"));
+        assertEquals(0x01000100L, OfflineIpLocaleResolver.parseIpv4("1.0.1.0"));
+        assertEquals(0xFFFFFFFFL, OfflineIpLocaleResolver.parseIpv4("255.255.255.255"));
+        assertEquals(-1L, OfflineIpLocaleResolver.parseIpv4("1000.0.0.1"));
+    }
+
+    static Path samplePath(String resource) throws Exception {
+        return Paths.get(Objects.requireNonNull(OfflineIpLocaleResolverTest.class.getClassLoader().getResource(resource)).toURI());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.service.impl;
+
+import com.alibaba.fastjson2.JSON;
+import com.fennel.shortlink.project.config.StatsRollupConfiguration;
+import com.fennel.shortlink.project.dao.entity.LinkStatsDailyDO;
+import com.fennel.shortlink.project.dao.mapper.LinkStatsDailyMapper;
+import com.fennel.shortlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.fennel.shortlink.project.toolkit.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 短链接按天汇总统计合并测试
+ */
+class LinkStatsDailyServiceImplTest {
+
+    private static final String FULL_SHORT_URL = "nurl.ink/1a2B3c";
+    private static final String GID = "k7Xq2c";
+
+    private final Map<String, LinkStatsDailyDO> rows = new HashMap<>();
+
+    private LinkStatsDailyMapper linkStatsDailyMapper;
+    private LinkStatsDailyServiceImpl linkStatsDailyService;
+
+    @BeforeEach
+    void setUp() {
+        linkStatsDailyMapper = mock(LinkStatsDailyMapper.class);
+        when(linkStatsDailyMapper.selectForUpdate(any(), any(), any())).thenAnswer(invocation -> rows.computeIfAbsent(invocation.getArgument(0),
+                each -> LinkStatsDailyDO.builder().fullShortUrl(each).gid(invocation.getArgument(1)).date(invocation.getArgument(2)).build()));
+        linkStatsDailyService = new LinkStatsDailyServiceImpl(linkStatsDailyMapper, new StatsRollupConfiguration(), new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(StringRedisTemplate.class));
+    }
+
+    @Test
+    void saveStatsDailyMergesSketchesIntoExistingRow() {
+        HyperLogLog existingUv = new HyperLogLog();
+        existingUv.add("u1");
+        existingUv.add("u2");
+        HyperLogLog existingUip = new HyperLogLog();
+        existingUip.add("1.1.1.1");
+        rows.put(FULL_SHORT_URL, LinkStatsDailyDO.builder()
+                .fullShortUrl(FULL_SHORT_URL)
+                .gid(GID)
+                .pv(3)
+                .newUv(2)
+                .uvSketch(existingUv.toBytes())
+                .uipSketch(existingUip.toBytes())
+                .topIp("{\"1.1.1.1\":3}")
+                .build());
+
+        linkStatsDailyService.saveStatsDaily(List.of(record("u2", "1.1.1.1", false), record("u3", "2.2.2.2", true)));
+
+        LinkStatsDailyDO linkRow = rows.get(FULL_SHORT_URL);
+        assertEquals(5, linkRow.getPv());
+        assertEquals(3, linkRow.getNewUv());
+        assertEquals(3L, HyperLogLog.fromBytes(linkRow.getUvSketch()).cardinality());
+        assertEquals(2L, HyperLogLog.fromBytes(linkRow.getUipSketch()).cardinality());
+        assertEquals(Map.of("1.1.1.1", 4L, "2.2.2.2", 1L), topIp(linkRow));
+
+        verify(linkStatsDailyMapper).initStatsDaily(eq(FULL_SHORT_URL), eq(GID), any());
+        assertNull(rows.get(""));
+
+        // 分组汇总记录由回写周期合并写入
+        linkStatsDailyService.saveStatsDaily(List.of(record("u4", "3.3.3.3", true)));
+        linkStatsDailyService.flush();
+        LinkStatsDailyDO groupRow = rows.get("");
+        assertEquals(3, groupRow.getPv());
+        assertEquals(2, groupRow.getNewUv());
+        assertEquals(3L, HyperLogLog.fromBytes(groupRow.getUvSketch()).cardinality());
+        verify(linkStatsDailyMapper, times(1)).initStatsDaily(eq(""), eq(GID), any());
+    }
+
+    @Test
+    void bufferedRecordsMergeOncePerRow() {
+        for (int i = 0; i < 100; i++) {
+            linkStatsDailyService.bufferStatsDaily(record("u" + (i % 10), "10.0.0." + (i % 4), i < 10));
+        }
+        verify(linkStatsDailyMapper, times(0)).updateStatsDaily(any());
+
+        linkStatsDailyService.flush();
+
+        verify(linkStatsDailyMapper, times(2)).updateStatsDaily(any());
+        LinkStatsDailyDO linkRow = rows.get(FULL_SHORT_URL);
+        assertEquals(100, linkRow.getPv());
+        assertEquals(10, linkRow.getNewUv());
+        assertEquals(10L, HyperLogLog.fromBytes(linkRow.getUvSketch()).cardinality());
+        assertEquals(4L, HyperLogLog.fromBytes(linkRow.getUipSketch()).cardinality());
+        assertEquals(100, rows.get("").getPv());
+
+        linkStatsDailyService.flush();
+        verify(linkStatsDailyMapper, times(2)).updateStatsDaily(any());
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextRound() {
+        for (int i = 0; i < 5; i++) {
+            linkStatsDailyService.bufferStatsDaily(record("u" + i, "10.0.0.1", true));
+        }
+        doThrow(new IllegalStateException("db down")).when(linkStatsDailyMapper).updateStatsDaily(any());
+        assertThrows(IllegalStateException.class, () -> linkStatsDailyService.flush());
+        rows.clear();
+
+        linkStatsDailyService.bufferStatsDaily(record("u5", "10.0.0.2", true));
+        reset(linkStatsDailyMapper);
+        when(linkStatsDailyMapper.selectForUpdate(any(), any(), any())).thenAnswer(invocation -> rows.computeIfAbsent(invocation.getArgument(0),
+                each -> LinkStatsDailyDO.builder().fullShortUrl(each).gid(invocation.getArgument(1)).date(invocation.getArgument(2)).build()));
+        linkStatsDailyService.flush();
+
+        LinkStatsDailyDO linkRow = rows.get(FULL_SHORT_URL);
+        assertEquals(6, linkRow.getPv());
+        assertEquals(6, linkRow.getNewUv());
+        assertEquals(6L, HyperLogLog.fromBytes(linkRow.getUvSketch()).cardinality());
+        assertEquals(Map.of("10.0.0.1", 5L, "10.0.0.2", 1L), topIp(linkRow));
+    }
+
+    private static ShortLinkStatsRecordDTO record(String uv, String remoteAddr, boolean uvFirstFlag) {
+        return ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl(FULL_SHORT_URL)
+                .gid(GID)
+                .uv(uv)
+                .remoteAddr(remoteAddr)
+                .uvFirstFlag(uvFirstFlag)
+                .currentDate(new Date())
+                .build();
+    }
+
+    private static Map<String, Long> topIp(LinkStatsDailyDO linkStatsDailyDO) {
+        Map<String, Long> result = new HashMap<>();
+        JSON.parseObject(linkStatsDailyDO.getTopIp()).forEach((ip, cnt) -> result.put(ip, ((Number) cnt).longValue()));
+        return result;
+    }
+}
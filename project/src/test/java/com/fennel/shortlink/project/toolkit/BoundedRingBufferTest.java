@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 有界无锁环形队列测试
+ */
+class BoundedRingBufferTest {
+
+    @Test
+    void capacityRoundsUpToPowerOfTwo() {
+        assertEquals(2, new BoundedRingBuffer<>(2).capacity());
+        assertEquals(8, new BoundedRingBuffer<>(5).capacity());
+        assertEquals(1024, new BoundedRingBuffer<>(1024).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<>(1));
+    }
+
+    @Test
+    void offerFailsWhenFullAndKeepsFifoOrder() {
+        BoundedRingBuffer<Integer> ringBuffer = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertFalse(ringBuffer.offer(4));
+        assertEquals(4, ringBuffer.size());
+        assertEquals(0, ringBuffer.poll());
+        assertTrue(ringBuffer.offer(4));
+        assertFalse(ringBuffer.offer(5));
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, ringBuffer.drainTo(drained, 3));
+        assertEquals(List.of(1, 2, 3), drained);
+        assertEquals(4, ringBuffer.poll());
+        assertNull(ringBuffer.poll());
+        assertEquals(0, ringBuffer.size());
+        assertThrows(NullPointerException.class, () -> ringBuffer.offer(null));
+    }
+
+    /**
+     * 多生产者多消费者并发读写，小容量队列使入队频繁失败，每个元素恰好被消费一次；
+     * 失败重试时让出 CPU，单核环境下占用槽位尚未发布的线程也能及时被调度
+     */
+    @Test
+    void concurrentProducersAndConsumersNeitherLoseNorDuplicate() throws Exception {
+        int producerCount = 4;
+        int consumerCount = 4;
+        int perProducer = 50_000;
+        int total = producerCount * perProducer;
+        BoundedRingBuffer<Integer> ringBuffer = new BoundedRingBuffer<>(64);
+        AtomicIntegerArray consumed = new AtomicIntegerArray(total);
+        AtomicLong consumedCount = new AtomicLong();
+        AtomicLong rejectedCount = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(producerCount + consumerCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producerCount; p++) {
+                int base = p * perProducer;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ringBuffer.offer(base + i)) {
+                            rejectedCount.incrementAndGet();
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < consumerCount; c++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    List<Integer> batch = new ArrayList<>(16);
+                    while (consumedCount.get() < total) {
+                        batch.clear();
+                        if (ringBuffer.drainTo(batch, 16) == 0) {
+                            Thread.yield();
+                            continue;
+                        }
+                        for (Integer each : batch) {
+                            consumed.incrementAndGet(each);
+                        }
+                        consumedCount.addAndGet(batch.size());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> each : futures) {
+                each.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(total, consumedCount.get());
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, consumed.get(i), "element " + i);
+        }
+        assertNull(ringBuffer.poll());
+        assertTrue(rejectedCount.get() > 0, "队列容量过大，未覆盖队列满的情况");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 滑动窗口 Count-Min Sketch 测试
+ */
+class CountMinSketchTest {
+
+    @Test
+    void estimateNeverUnderCounts() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024, 1);
+        for (int i = 0; i < 2000; i++) {
+            for (int j = 0; j <= i % 7; j++) {
+                sketch.add("nurl.ink/" + i);
+            }
+        }
+        int overCounted = 0;
+        for (int i = 0; i < 2000; i++) {
+            int estimate = sketch.estimate("nurl.ink/" + i);
+            assertTrue(estimate >= i % 7 + 1, "nurl.ink/" + i);
+            // 总次数约 8000，单次高估上限约 e / 1024 * 8000 ≈ 21
+            if (estimate > i % 7 + 1 + 21) {
+                overCounted++;
+            }
+        }
+        assertTrue(overCounted < 2000 * 0.05, "over counted: " + overCounted);
+    }
+
+    @Test
+    void addReturnsEstimate() {
+        CountMinSketch sketch = new CountMinSketch(4, 4096, 3);
+        for (int i = 1; i <= 50; i++) {
+            assertEquals(i, sketch.add("nurl.ink/hot"));
+        }
+        assertEquals(50, sketch.estimate("nurl.ink/hot"));
+        assertEquals(0, sketch.estimate("nurl.ink/cold"));
+    }
+
+    @Test
+    void rotateExpiresOldestWindow() {
+        CountMinSketch sketch = new CountMinSketch(4, 4096, 3);
+        for (int i = 0; i < 10; i++) {
+            sketch.add("nurl.ink/a");
+        }
+        sketch.rotate();
+        for (int i = 0; i < 5; i++) {
+            sketch.add("nurl.ink/a");
+            sketch.add("nurl.ink/b");
+        }
+        sketch.rotate();
+        sketch.add("nurl.ink/b");
+        assertEquals(15, sketch.estimate("nurl.ink/a"));
+        assertEquals(6, sketch.estimate("nurl.ink/b"));
+        // 第一个子窗口滚出窗口
+        sketch.rotate();
+        assertEquals(5, sketch.estimate("nurl.ink/a"));
+        assertEquals(6, sketch.estimate("nurl.ink/b"));
+        sketch.rotate();
+        assertEquals(0, sketch.estimate("nurl.ink/a"));
+        assertEquals(1, sketch.estimate("nurl.ink/b"));
+        sketch.rotate();
+        assertEquals(0, sketch.estimate("nurl.ink/b"));
+    }
+
+    @Test
+    void collidingStringHashCodesAreCountedSeparately() {
+        // "Aa" 与 "BB" 的 String.hashCode 相同
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        CountMinSketch sketch = new CountMinSketch(4, 4096, 1);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("Aa");
+        }
+        assertEquals(0, sketch.estimate("BB"));
+    }
+}
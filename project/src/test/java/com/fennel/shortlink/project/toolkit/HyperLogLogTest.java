@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HyperLogLog 基数估算测试
+ */
+class HyperLogLogTest {
+
+    @Test
+    void cardinalityWithinStandardError() {
+        for (int expected : new int[]{100, 1000, 10000, 100000}) {
+            HyperLogLog hyperLogLog = new HyperLogLog();
+            for (int i = 0; i < expected; i++) {
+                hyperLogLog.add("visitor-" + i);
+                hyperLogLog.add("visitor-" + i);
+            }
+            double error = Math.abs(hyperLogLog.cardinality() - expected) / (double) expected;
+            // 标准误差约 1.6%，按三倍标准误差判断
+            assertTrue(error < 0.05, "expected " + expected + " but was " + hyperLogLog.cardinality());
+        }
+    }
+
+    @Test
+    void mergeEqualsUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 60000; i++) {
+            left.add("visitor-" + i);
+            union.add("visitor-" + i);
+        }
+        for (int i = 40000; i < 100000; i++) {
+            right.add("visitor-" + i);
+            union.add("visitor-" + i);
+        }
+        left.merge(right);
+        left.merge(null);
+        assertArrayEquals(union.toBytes(), left.toBytes());
+        assertTrue(Math.abs(left.cardinality() - 100000) < 5000);
+    }
+
+    @Test
+    void mergeAfterSerialization() {
+        HyperLogLog day1 = new HyperLogLog();
+        HyperLogLog day2 = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 30; i++) {
+            day1.add("visitor-" + i);
+            day2.add("visitor-" + (i + 20));
+            union.add("visitor-" + i);
+            union.add("visitor-" + (i + 20));
+        }
+        HyperLogLog merged = HyperLogLog.fromBytes(day1.toBytes());
+        merged.merge(HyperLogLog.fromBytes(day2.toBytes()));
+        assertArrayEquals(union.toBytes(), merged.toBytes());
+        assertTrue(Math.abs(merged.cardinality() - 50) <= 2, "was " + merged.cardinality());
+    }
+
+    @Test
+    void sparseAndDenseRoundTrip() {
+        HyperLogLog sparse = new HyperLogLog();
+        for (int i = 0; i < 10; i++) {
+            sparse.add("visitor-" + i);
+        }
+        byte[] sparseBytes = sparse.toBytes();
+        assertTrue(sparseBytes.length < 64, "low cardinality should use sparse format");
+        assertArrayEquals(sparseBytes, HyperLogLog.fromBytes(sparseBytes).toBytes());
+        assertEquals(sparse.cardinality(), HyperLogLog.fromBytes(sparseBytes).cardinality());
+
+        HyperLogLog dense = new HyperLogLog();
+        for (int i = 0; i < 100000; i++) {
+            dense.add("visitor-" + i);
+        }
+        byte[] denseBytes = dense.toBytes();
+        assertEquals(1 + 4096, denseBytes.length);
+        assertArrayEquals(denseBytes, HyperLogLog.fromBytes(denseBytes).toBytes());
+        assertEquals(dense.cardinality(), HyperLogLog.fromBytes(denseBytes).cardinality());
+    }
+
+    @Test
+    void sparseAndDenseMergeAgree() {
+        // 1000 个元素时仍为稀疏，合并后超过阈值转为稠密，各种合并顺序结果一致
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            left.add("left-" + i);
+            right.add("right-" + i);
+            union.add("left-" + i);
+            union.add("right-" + i);
+        }
+        HyperLogLog sparseMerged = HyperLogLog.fromBytes(left.toBytes());
+        sparseMerged.merge(right);
+        assertArrayEquals(union.toBytes(), sparseMerged.toBytes());
+        assertEquals(union.cardinality(), sparseMerged.cardinality());
+
+        HyperLogLog denseMerged = HyperLogLog.fromBytes(union.toBytes());
+        denseMerged.merge(left);
+        assertArrayEquals(union.toBytes(), denseMerged.toBytes());
+
+        HyperLogLog sparseIntoDense = HyperLogLog.fromBytes(right.toBytes());
+        sparseIntoDense.merge(denseMerged);
+        assertArrayEquals(union.toBytes(), sparseIntoDense.toBytes());
+        assertEquals(union.cardinality(), sparseIntoDense.cardinality());
+    }
+
+    @Test
+    void emptyAndNull() {
+        HyperLogLog hyperLogLog = HyperLogLog.fromBytes(null);
+        hyperLogLog.add(null);
+        assertEquals(0L, hyperLogLog.cardinality());
+        assertEquals(0L, HyperLogLog.fromBytes(new byte[0]).cardinality());
+    }
+}
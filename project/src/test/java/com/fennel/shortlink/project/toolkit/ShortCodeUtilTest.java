@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.project.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 短链接后缀编码测试
+ */
+class ShortCodeUtilTest {
+
+    private static final long SALT = 0x2F6A91C3L;
+
+    /**
+     * 在序列号区间开头、结尾与随机位置的采样上置乱结果互不相同且不超出范围
+     */
+    @Test
+    void scrambleIsInjectiveOnSampledRanges() {
+        int blockSize = 500_000;
+        long[] sequences = new long[blockSize * 3];
+        for (int i = 0; i < blockSize; i++) {
+            sequences[i] = i;
+            sequences[blockSize + i] = ShortCodeUtil.MAX_SEQUENCE - 1 - i;
+        }
+        Random random = new Random(20240501L);
+        Set<Long> randomSequences = new HashSet<>();
+        while (randomSequences.size() < blockSize) {
+            long sequence = Math.floorMod(random.nextLong(), ShortCodeUtil.MAX_SEQUENCE);
+            if (sequence >= blockSize && sequence < ShortCodeUtil.MAX_SEQUENCE - blockSize) {
+                randomSequences.add(sequence);
+            }
+        }
+        int index = blockSize * 2;
+        for (long each : randomSequences) {
+            sequences[index++] = each;
+        }
+        long[] scrambled = new long[sequences.length];
+        for (int i = 0; i < sequences.length; i++) {
+            scrambled[i] = ShortCodeUtil.scramble(sequences[i], SALT);
+            assertTrue(scrambled[i] >= 0 && scrambled[i] < ShortCodeUtil.MAX_SEQUENCE, "sequence " + sequences[i]);
+        }
+        Arrays.sort(scrambled);
+        for (int i = 1; i < scrambled.length; i++) {
+            assertNotEquals(scrambled[i - 1], scrambled[i], "collision at " + scrambled[i]);
+        }
+    }
+
+    @Test
+    void scrambleDependsOnSalt() {
+        int differences = 0;
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(ShortCodeUtil.scramble(i, SALT), ShortCodeUtil.scramble(i, SALT));
+            if (ShortCodeUtil.scramble(i, SALT) != ShortCodeUtil.scramble(i, SALT + 1)) {
+                differences++;
+            }
+        }
+        assertTrue(differences > 990, "differences: " + differences);
+    }
+
+    @Test
+    void encodeAlwaysYieldsSevenBase62Characters() {
+        long[] sequences = {0L, 1L, 61L, 62L, 3843L, 1L << 32, ShortCodeUtil.MAX_SEQUENCE / 2, ShortCodeUtil.MAX_SEQUENCE - 1};
+        Random random = new Random(20240502L);
+        for (int i = 0; i < 100_000; i++) {
+            long sequence = i < sequences.length ? sequences[i] : Math.floorMod(random.nextLong(), ShortCodeUtil.MAX_SEQUENCE);
+            for (boolean scramble : new boolean[]{false, true}) {
+                String suffix = ShortCodeUtil.encode(sequence, scramble, SALT);
+                assertEquals(ShortCodeUtil.SUFFIX_LENGTH, suffix.length(), suffix);
+                assertTrue(suffix.chars().allMatch(Character::isLetterOrDigit) && suffix.chars().allMatch(each -> each < 128), suffix);
+            }
+        }
+        assertEquals("0000000", ShortCodeUtil.encode(0L, false, SALT));
+        assertEquals("0000001", ShortCodeUtil.encode(1L, false, SALT));
+    }
+
+    @Test
+    void encodeRejectsOutOfRangeSequence() {
+        assertThrows(IllegalArgumentException.class, () -> ShortCodeUtil.encode(-1L, true, SALT));
+        assertThrows(IllegalArgumentException.class, () -> ShortCodeUtil.encode(ShortCodeUtil.MAX_SEQUENCE, true, SALT));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.redirect;
+
+import com.fennel.shortlink.project.ShortLinkApplication;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+/**
+ * 短链接独立跳转应用
+ * <p>
+ * 复用短链接应用的缓存、回源与监控投递组件，不启动 Servlet 容器，只由 Netty 处理 GET /{short-uri}，其余接口仍由短链接应用提供。
+ * 控制器、监控消息消费者与启动任务不参与扫描，归档、访问计数回写与分组路由定期检查由 redirect.yaml 关闭，这些后台任务只在短链接应用中运行
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(
+        basePackages = {"com.fennel.shortlink.project", "com.fennel.shortlink.redirect"},
+        excludeFilters = {
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ShortLinkApplication.class),
+                @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = {Controller.class, ControllerAdvice.class}),
+                @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.fennel\\.shortlink\\.project\\.(mq\\.consumer|initialize)\\..*")
+        }
+)
+@MapperScan("com.fennel.shortlink.project.dao.mapper")
+public class ShortLinkRedirectApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ShortLinkRedirectApplication.class)
+                .web(WebApplicationType.NONE)
+                // 先加载短链接应用的 application.yaml，再由 redirect.yaml 覆盖跳转服务自身配置
+                .properties("spring.config.name=application,redirect")
+                .run(args);
+    }
+}
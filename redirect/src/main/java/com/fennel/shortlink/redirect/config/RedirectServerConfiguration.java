@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.redirect.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转服务配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.redirect.server")
+public class RedirectServerConfiguration {
+
+    /**
+     * 监听端口
+     */
+    private Integer port = 8004;
+
+    /**
+     * 网络读写线程数，0 表示使用 Netty 默认值，即 CPU 核数的两倍
+     */
+    private Integer ioThreads = 0;
+
+    /**
+     * 请求行与请求头最大长度，单位：字节
+     */
+    private Integer maxHeaderSize = 8192;
+
+    /**
+     * 连接空闲超时时间，单位：秒
+     */
+    private Integer idleTimeout = 60;
+
+    /**
+     * 是否使用虚拟线程执行跳转逻辑，需要 JDK 21 及以上运行时，不支持时回退到线程池
+     */
+    private Boolean virtualThreads = Boolean.TRUE;
+
+    /**
+     * 跳转逻辑线程池大小
+     */
+    private Integer poolSize = 256;
+
+    /**
+     * 跳转逻辑线程池队列容量，队列满时直接返回 503，不阻塞网络读写线程
+     */
+    private Integer queueCapacity = 4096;
+
+    /**
+     * 短链接不存在时跳转地址
+     */
+    private String notFoundUrl = "/page/notfound";
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.redirect.server;
+
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreReqDTO;
+import com.fennel.shortlink.project.dto.biz.ShortLinkRestoreRespDTO;
+import com.fennel.shortlink.project.service.ShortLinkService;
+import com.fennel.shortlink.project.toolkit.LinkUtil;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.cookie.Cookie;
+import io.netty.handler.codec.http.cookie.DefaultCookie;
+import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
+import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.AttributeKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.UV_COOKIE_MAX_AGE;
+import static com.fennel.shortlink.project.common.constant.ShortLinkConstant.UV_COOKIE_NAME;
+
+/**
+ * 短链接跳转请求处理器
+ * <p>
+ * 网络读写线程只负责解析请求与写回响应，跳转逻辑中阻塞的 Redis、数据库与消息发送调用交给执行器；
+ * 同一连接上流水线发送的多个请求按到达顺序写回响应
+ */
+@Slf4j
+@ChannelHandler.Sharable
+@RequiredArgsConstructor
+public class ShortLinkRedirectHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    private static final AttributeKey<CompletableFuture<Void>> RESPONSE_TAIL = AttributeKey.valueOf("short-link-redirect-response-tail");
+
+    private final ShortLinkService shortLinkService;
+    private final ExecutorService executorService;
+    private final String notFoundUrl;
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+        String uri = request.uri();
+        boolean keepAlive = request.decoderResult().isSuccess() && HttpUtil.isKeepAlive(request);
+        CompletableFuture<FullHttpResponse> responseFuture = handle(ctx, request);
+        CompletableFuture<Void> previous = ctx.channel().attr(RESPONSE_TAIL).get();
+        CompletableFuture<Void> tail = (previous == null ? responseFuture : previous.thenCombine(responseFuture, (ignored, response) -> response))
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        log.error("短链接跳转处理失败，uri：{}", uri, ex);
+                        response = response(HttpResponseStatus.INTERNAL_SERVER_ERROR);
+                    }
+                    write(ctx, response, keepAlive);
+                    return null;
+                });
+        ctx.channel().attr(RESPONSE_TAIL).set(tail);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            ctx.close();
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        log.debug("短链接跳转连接异常：{}", ctx.channel().remoteAddress(), cause);
+        ctx.close();
+    }
+
+    private CompletableFuture<FullHttpResponse> handle(ChannelHandlerContext ctx, FullHttpRequest request) {
+        if (!request.decoderResult().isSuccess()) {
+            return CompletableFuture.completedFuture(response(HttpResponseStatus.BAD_REQUEST));
+        }
+        if (!HttpMethod.GET.equals(request.method()) && !HttpMethod.HEAD.equals(request.method())) {
+            FullHttpResponse response = response(HttpResponseStatus.METHOD_NOT_ALLOWED);
+            response.headers().set(HttpHeaderNames.ALLOW, "GET, HEAD");
+            return CompletableFuture.completedFuture(response);
+        }
+        String path = new QueryStringDecoder(request.uri()).path();
+        String shortUri = path.length() > 1 ? path.substring(1) : "";
+        // 不存在页面由短链接应用提供，同域部署时直接返回 404，避免再次当作短链接查询形成循环跳转
+        if (shortUri.isEmpty() || shortUri.indexOf('/') >= 0 || path.equals(notFoundUrl)) {
+            return CompletableFuture.completedFuture(response(HttpResponseStatus.NOT_FOUND));
+        }
+        HttpHeaders headers = request.headers();
+        String fullShortUrl = getFullShortUrl(headers.get(HttpHeaderNames.HOST), shortUri);
+        if (fullShortUrl == null) {
+            return CompletableFuture.completedFuture(response(HttpResponseStatus.BAD_REQUEST));
+        }
+        ShortLinkRestoreReqDTO restoreReqDTO = ShortLinkRestoreReqDTO.builder()
+                .fullShortUrl(fullShortUrl)
+                .uv(getUv(headers.get(HttpHeaderNames.COOKIE)))
+                .remoteAddr(LinkUtil.getActualIp(headers::get, ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress().getHostAddress()))
+                .userAgent(headers.get(HttpHeaderNames.USER_AGENT))
+                .build();
+        try {
+            return CompletableFuture.supplyAsync(() -> redirect(restoreReqDTO, shortUri), executorService);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(response(HttpResponseStatus.SERVICE_UNAVAILABLE));
+        }
+    }
+
+    private FullHttpResponse redirect(ShortLinkRestoreReqDTO restoreReqDTO, String shortUri) {
+        ShortLinkRestoreRespDTO restoreRespDTO = shortLinkService.restoreUrl(restoreReqDTO);
+        FullHttpResponse response = response(HttpResponseStatus.FOUND);
+        response.headers().set(HttpHeaderNames.LOCATION, restoreRespDTO.getOriginUrl() != null ? restoreRespDTO.getOriginUrl() : notFoundUrl);
+        if (restoreRespDTO.getNewUv() != null) {
+            Cookie uvCookie = new DefaultCookie(UV_COOKIE_NAME, restoreRespDTO.getNewUv());
+            uvCookie.setMaxAge(UV_COOKIE_MAX_AGE);
+            uvCookie.setPath("/" + shortUri);
+            response.headers().set(HttpHeaderNames.SET_COOKIE, ServerCookieEncoder.STRICT.encode(uvCookie));
+        }
+        return response;
+    }
+
+    private static FullHttpResponse response(HttpResponseStatus status) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+        response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, 0);
+        return response;
+    }
+
+    private static void write(ChannelHandlerContext ctx, FullHttpResponse response, boolean keepAlive) {
+        if (keepAlive) {
+            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            ctx.writeAndFlush(response);
+        } else {
+            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    /**
+     * 与 Servlet 的 getServerName、getServerPort 保持一致，未携带端口时按 80 处理，Host 不合法时返回空
+     */
+    private static String getFullShortUrl(String host, String shortUri) {
+        if (host == null || host.isEmpty()) {
+            return null;
+        }
+        int portIndex = host.lastIndexOf(':');
+        if (portIndex <= host.lastIndexOf(']')) {
+            return LinkUtil.getFullShortUrl(host, 80, shortUri);
+        }
+        try {
+            return LinkUtil.getFullShortUrl(host.substring(0, portIndex), Integer.parseInt(host.substring(portIndex + 1)), shortUri);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String getUv(String cookieHeader) {
+        if (cookieHeader == null) {
+            return null;
+        }
+        for (Cookie each : ServerCookieDecoder.LAX.decode(cookieHeader)) {
+            if (UV_COOKIE_NAME.equals(each.name())) {
+                return each.value();
+            }
+        }
+        return null;
+    }
+}
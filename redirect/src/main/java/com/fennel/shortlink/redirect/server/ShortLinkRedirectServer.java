@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fennel.shortlink.redirect.server;
+
+import com.fennel.shortlink.project.service.ShortLinkService;
+import com.fennel.shortlink.redirect.config.RedirectServerConfiguration;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 短链接跳转 Netty 服务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkRedirectServer implements InitializingBean, DisposableBean {
+
+    private static final int MAX_CONTENT_LENGTH = 8192;
+
+    private final ShortLinkService shortLinkService;
+    private final RedirectServerConfiguration redirectServerConfiguration;
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private ExecutorService executorService;
+    private Channel serverChannel;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        executorService = newExecutorService();
+        ShortLinkRedirectHandler redirectHandler = new ShortLinkRedirectHandler(shortLinkService, executorService, redirectServerConfiguration.getNotFoundUrl());
+        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("short-link-redirect-boss", true));
+        workerGroup = new NioEventLoopGroup(redirectServerConfiguration.getIoThreads(), new DefaultThreadFactory("short-link-redirect-io", true));
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .option(ChannelOption.SO_BACKLOG, 1024)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        channel.pipeline()
+                                .addLast(new IdleStateHandler(0, 0, redirectServerConfiguration.getIdleTimeout(), TimeUnit.SECONDS))
+                                .addLast(new HttpServerCodec(4096, redirectServerConfiguration.getMaxHeaderSize(), MAX_CONTENT_LENGTH))
+                                .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                                .addLast(redirectHandler);
+                    }
+                });
+        serverChannel = bootstrap.bind(redirectServerConfiguration.getPort()).sync().channel();
+        log.info("短链接跳转服务已启动，端口：{}", redirectServerConfiguration.getPort());
+    }
+
+    @Override
+    public void destroy() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+        if (executorService != null) {
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+
+    private ExecutorService newExecutorService() {
+        if (redirectServerConfiguration.getVirtualThreads()) {
+            try {
+                // 编译目标为 JDK 17，通过反射在 JDK 21 及以上运行时启用虚拟线程
+                ExecutorService virtualExecutorService = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("短链接跳转逻辑使用虚拟线程执行");
+                return virtualExecutorService;
+            } catch (ReflectiveOperationException ignored) {
+            }
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                redirectServerConfiguration.getPoolSize(),
+                redirectServerConfiguration.getPoolSize(),
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(redirectServerConfiguration.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "short-link-redirect-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}